@@ -1,10 +1,15 @@
 package com.pdfanalyzer.core.analysis.scoring;
 
+import com.pdfanalyzer.core.frequency.SpectralEngineType;
 import com.pdfanalyzer.core.frequency.fft.FFTEngine;
+import com.pdfanalyzer.core.frequency.fft.StreamingResonance;
 import com.pdfanalyzer.core.frequency.filter.DocumentType;
 import com.pdfanalyzer.core.frequency.filter.ResonanceFilter;
 import com.pdfanalyzer.core.frequency.filter.ResonanceFilterRegistry;
+import com.pdfanalyzer.core.frequency.wavelet.WaveletEngine;
 import com.pdfanalyzer.core.ml.classification.DocumentClassifier;
+import com.pdfanalyzer.core.ml.classification.DocumentProfile;
+import com.pdfanalyzer.core.ml.classification.SpectralFingerprintIndex;
 import com.pdfanalyzer.core.ml.scoring.StructuralScorePredictor;
 import com.pdfanalyzer.core.semantic.model.SemanticCell;
 import lombok.RequiredArgsConstructor;
@@ -12,7 +17,10 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * 스펙트럼 점수 주입기
@@ -24,51 +32,246 @@ import java.util.List;
 public class SpectralScoreInjector {
 
     private final FFTEngine fftEngine;
+    private final WaveletEngine waveletEngine;
     private final ResonanceFilterRegistry filterRegistry;
     private final DocumentClassifier documentClassifier;
     private final StructuralScorePredictor scorePredictor;
+    private final SpectralFingerprintIndex fingerprintIndex;
 
     @Value("${djl.score.hybrid.weight:0.7}")
     private double mlWeight; // ML 가중치 (0.7 = ML 70%, 규칙 30%)
 
+    @Value("${spectral.engine.wavelet-types:}")
+    private String waveletTypes; // 웨이블릿 엔진을 기본으로 쓰는 문서 타입 (쉼표 구분)
+
+    @Value("${spectral.streaming.window-size:128}")
+    private int streamingWindowSize; // 단시간 FFT 윈도우 크기 (셀 수)
+
+    @Value("${spectral.streaming.score-batch:16}")
+    private int streamingScoreBatch; // 방출된 셀을 모아 한 번에 점수 예측할 묶음 크기
+
+    @Value("${spectral.multichannel.enabled:false}")
+    private boolean multiChannelEnabled; // 임베딩 주성분 다채널 공명 사용 여부
+
+    @Value("${spectral.multichannel.components:4}")
+    private int multiChannelComponents; // 투영할 주성분 개수 (= 채널 수)
+
+    @Value("${spectral.multichannel.weight:0.3}")
+    private double multiChannelWeight; // 임베딩 채널 공명 가중치
+
     public List<SemanticCell> injectSpectralScores(List<SemanticCell> cells, DocumentType documentType) {
-        log.info("스펙트럼 점수 주입: {} 셀, 타입: {}", cells.size(), documentType);
+        return injectSpectralScores(cells, documentType, null);
+    }
+
+    /**
+     * 지정한 공명 엔진으로 점수 주입 (engine이 null이면 문서 타입별 설정을 따름)
+     */
+    public List<SemanticCell> injectSpectralScores(List<SemanticCell> cells, DocumentType documentType,
+                                                   SpectralEngineType engine) {
+        SpectralEngineType resolved = engine != null ? engine : resolveEngine(documentType);
+        log.info("스펙트럼 점수 주입: {} 셀, 타입: {}, 엔진: {}", cells.size(), documentType, resolved);
 
         if (cells.isEmpty()) return cells;
 
         ResonanceFilter filter = filterRegistry.getFilter(documentType);
-        double[] resonances = fftEngine.analyzeResonance(cells, filter.getCoefficients());
+        double[] resonances = resolved == SpectralEngineType.WAVELET
+                ? waveletEngine.analyzeResonance(cells, filter.getCoefficients())
+                : fftEngine.analyzeResonance(cells, filter.getCoefficients());
+        double[] semantic = multiChannelEnabled
+                ? fftEngine.analyzeMultiChannelResonance(cells, filter.getCoefficients(), multiChannelComponents)
+                : null;
+
+        applyScores(cells, resonances, semantic);
+
+        log.info("점수 주입 완료");
+        return cells;
+    }
 
-        for (int i = 0; i < Math.min(cells.size(), resonances.length); i++) {
-            SemanticCell cell = cells.get(i);
+    /**
+     * 여러 문서를 한 번에 재점수화 (필터 재조정 후 저장된 코퍼스 일괄 처리용)
+     * 엔진 선택(spectral.engine.wavelet-types)과 다채널 결합은 injectSpectralScores 와 같게 적용하고,
+     * FFT 엔진일 때만 문서들의 공명을 한 번에 계산하므로 점수는 문서별 분석과 같다.
+     */
+    public List<List<SemanticCell>> injectSpectralScoresBatch(List<List<SemanticCell>> documents, DocumentType documentType) {
+        SpectralEngineType resolved = resolveEngine(documentType);
+        log.info("일괄 스펙트럼 점수 주입: {} 문서, 타입: {}, 엔진: {}", documents.size(), documentType, resolved);
+
+        ResonanceFilter filter = filterRegistry.getFilter(documentType);
+        List<double[]> resonances = resolved == SpectralEngineType.FFT
+                ? fftEngine.analyzeResonanceBatch(documents, filter.getCoefficients())
+                : null;
+
+        for (int d = 0; d < documents.size(); d++) {
+            List<SemanticCell> cells = documents.get(d);
+            if (cells.isEmpty()) continue;
+
+            double[] resonance = resonances != null
+                    ? resonances.get(d)
+                    : waveletEngine.analyzeResonance(cells, filter.getCoefficients());
+            double[] semantic = multiChannelEnabled
+                    ? fftEngine.analyzeMultiChannelResonance(cells, filter.getCoefficients(), multiChannelComponents)
+                    : null;
+            applyScores(cells, resonance, semantic);
+        }
+
+        log.info("일괄 점수 주입 완료");
+        return documents;
+    }
+
+    private void applyScores(List<SemanticCell> cells, double[] resonances, double[] semantic) {
+        int count = Math.min(cells.size(), resonances.length);
+        double[] intensities = new double[count];
+
+        for (int i = 0; i < count; i++) {
             double resonance = Math.abs(resonances[i]);
-            cell.setResonanceIntensity(resonance);
+            if (semantic != null) {
+                // 스칼라 신호 공명과 임베딩 궤적 공명의 가중 결합
+                resonance = resonance * (1 - multiChannelWeight) + semantic[i] * multiChannelWeight;
+            }
+            intensities[i] = resonance;
+            cells.get(i).setResonanceIntensity(resonance);
+        }
+
+        scoreCells(cells.subList(0, count), intensities);
+    }
 
-            // ML 기반 점수 예측 (가능하면 하이브리드)
-            double score = calculateScoreWithML(cell, resonance);
-            cell.setStructuralScore(score);
+    /**
+     * 공명 강도가 정해진 셀들의 구조 점수 계산 (ML 사용 가능하면 한 번의 배치 예측)
+     */
+    private void scoreCells(List<SemanticCell> cells, double[] intensities) {
+        if (scorePredictor.isAvailable()) {
+            // 하이브리드: ML + 규칙 앙상블
+            double[] scores = scorePredictor.calculateHybridScores(cells, intensities, mlWeight);
+            for (int i = 0; i < cells.size(); i++) {
+                cells.get(i).setStructuralScore(scores[i]);
+            }
+            return;
         }
 
-        log.info("점수 주입 완료");
-        return cells;
+        // 폴백: 규칙 기반만
+        for (int i = 0; i < cells.size(); i++) {
+            cells.get(i).setStructuralScore(calculateScore(cells.get(i), intensities[i]));
+        }
+    }
+
+    /**
+     * 스트리밍 점수 주입 세션 생성
+     * 셀을 도착 순서대로 넣으면, 윈도우 중앙을 지난 셀부터 점수가 매겨져 onScored로 전달됨
+     * 방출된 셀은 score-batch 개씩 모아 배치 예측하므로 onScored 는 최대 score-batch - 1 셀 더 늦게 불린다.
+     * 다채널(임베딩) 공명은 문서 전체의 주성분이 필요하므로 여기서는 반영되지 않는다 (completeStream 참고).
+     */
+    public StreamingScoreSession openStream(DocumentType documentType, Consumer<SemanticCell> onScored) {
+        ResonanceFilter filter = filterRegistry.getFilter(documentType);
+        log.info("스트리밍 점수 주입 시작: 타입 {}, 윈도우 {}", documentType, streamingWindowSize);
+
+        ScoreBatch batch = new ScoreBatch(Math.max(1, streamingScoreBatch), onScored);
+        StreamingResonance stream = fftEngine.openStream(streamingWindowSize, filter.getCoefficients(), batch::add);
+        return new StreamingScoreSession(stream, batch);
+    }
+
+    /**
+     * 스트리밍으로 점수를 매긴 문서 마무리
+     * 다채널 공명이 켜져 있으면 스트림이 남긴 단시간 FFT 공명에 임베딩 채널 공명을 결합하여
+     * 일괄 경로와 같은 점수 계산(applyScores, ML 배치 예측 포함)으로 다시 점수를 매긴다.
+     */
+    public void completeStream(List<SemanticCell> cells, DocumentType documentType) {
+        if (!multiChannelEnabled || cells.isEmpty()) {
+            return;
+        }
+        ResonanceFilter filter = filterRegistry.getFilter(documentType);
+        double[] semantic = fftEngine.analyzeMultiChannelResonance(cells, filter.getCoefficients(), multiChannelComponents);
+        if (semantic == null) {
+            return; // 임베딩 없음: 스트리밍 점수 그대로
+        }
+        double[] resonances = new double[cells.size()];
+        for (int i = 0; i < resonances.length; i++) {
+            resonances[i] = cells.get(i).getResonanceIntensity();
+        }
+        applyScores(cells, resonances, semantic);
+        log.info("스트리밍 점수에 다채널 공명 반영: {} 셀", cells.size());
     }
 
     public List<SemanticCell> injectSpectralScoresAutoDetect(List<SemanticCell> cells) {
+        return injectSpectralScoresAutoDetect(cells, null);
+    }
+
+    public List<SemanticCell> injectSpectralScoresAutoDetect(List<SemanticCell> cells, SpectralEngineType engine) {
         DocumentType detectedType = detectDocumentTypeWithML(cells);
-        return injectSpectralScores(cells, detectedType);
+        return injectSpectralScores(cells, detectedType, engine);
+    }
+
+    /**
+     * 문서 타입별 기본 공명 엔진 (spectral.engine.wavelet-types 에 포함된 타입은 웨이블릿)
+     */
+    public SpectralEngineType resolveEngine(DocumentType documentType) {
+        if (documentType != null && waveletTypes != null) {
+            for (String type : waveletTypes.split(",")) {
+                if (type.trim().equalsIgnoreCase(documentType.name())) {
+                    return SpectralEngineType.WAVELET;
+                }
+            }
+        }
+        return SpectralEngineType.FFT;
     }
 
     /**
      * ML 기반 문서 타입 감지 (DJL 우선, 규칙 기반 폴백)
      */
     public DocumentType detectDocumentTypeWithML(List<SemanticCell> cells) {
+        return detectDocumentTypeWithML(DocumentProfile.of(cells));
+    }
+
+    /**
+     * ML 기반 문서 타입 감지 (분석당 한 번 계산한 프로파일을 DJL과 규칙 기반이 공유)
+     */
+    public DocumentType detectDocumentTypeWithML(DocumentProfile profile) {
+        return detectDocumentTypeWithML(profile, null);
+    }
+
+    /**
+     * 문서 타입 결정 + 지문 인덱스 학습
+     * 요청에 타입이 지정되었으면 그대로 사용하고, 어느 경우든 확실한 라벨은 지문 인덱스에 추가
+     */
+    public DocumentType resolveDocumentType(List<SemanticCell> cells, DocumentProfile profile, DocumentType requested) {
+        return resolveDocumentType(cells, profile, requested, true);
+    }
+
+    /**
+     * 문서 타입 결정 (useModels 가 false 면 DJL·지문 k-NN 을 건너뛰고 규칙 기반만 사용, 지문 학습도 생략)
+     */
+    public DocumentType resolveDocumentType(List<SemanticCell> cells, DocumentProfile profile, DocumentType requested,
+                                            boolean useModels) {
+        if (!useModels) {
+            return requested != null ? requested : detectDocumentType(profile);
+        }
+        float[] fingerprint = fingerprintIndex.fingerprint(cells, profile);
+
+        if (requested != null) {
+            fingerprintIndex.add(fingerprint, requested);
+            return requested;
+        }
+        return detectDocumentTypeWithML(profile, fingerprint);
+    }
+
+    /**
+     * 문서 타입 감지: DJL 분류기 → 지문 k-NN → 규칙 기반 순
+     * 지문 k-NN은 DJL 예측의 교차 검증에도 사용
+     */
+    private DocumentType detectDocumentTypeWithML(DocumentProfile profile, float[] fingerprint) {
+        SpectralFingerprintIndex.FingerprintMatch match = fingerprintIndex.classify(fingerprint);
+
         // DJL 분류기 시도
         if (documentClassifier.isAvailable()) {
-            DocumentClassifier.ClassificationResult result = documentClassifier.predict(cells);
+            DocumentClassifier.ClassificationResult result = documentClassifier.predict(profile);
 
             if (documentClassifier.isConfident(result)) {
                 log.info("✅ DJL 문서 분류 사용: {} (신뢰도: {:.2f})",
                         result.getDocumentType(), result.getConfidence());
+                if (fingerprintIndex.isConfident(match) && match.getDocumentType() != result.getDocumentType()) {
+                    log.warn("⚠️ DJL 분류({})와 지문 k-NN 분류({}, 신뢰도 {})가 다릅니다",
+                            result.getDocumentType(), match.getDocumentType(), match.getConfidence());
+                }
+                fingerprintIndex.add(fingerprint, result.getDocumentType());
                 return result.getDocumentType();
             } else if (result != null) {
                 log.warn("⚠️ DJL 신뢰도 낮음 ({:.2f}), 규칙 기반 폴백",
@@ -76,24 +279,16 @@ public class SpectralScoreInjector {
             }
         }
 
-        // 폴백: 규칙 기반 분류
-        log.info("📊 규칙 기반 문서 분류 사용");
-        return detectDocumentType(cells);
-    }
-
-    /**
-     * ML 기반 점수 계산 (하이브리드 또는 규칙 기반 폴백)
-     */
-    private double calculateScoreWithML(SemanticCell cell, double resonance) {
-        if (scorePredictor.isAvailable()) {
-            // 하이브리드: ML + 규칙 앙상블
-            double hybridScore = scorePredictor.calculateHybridScore(cell, resonance, mlWeight);
-            log.debug("✅ 하이브리드 점수 사용: {:.3f} (ML weight: {:.1f})", hybridScore, mlWeight);
-            return hybridScore;
+        // 지문 k-NN: 이미 분석한 문서들로부터 학습된 분류
+        if (fingerprintIndex.isConfident(match)) {
+            log.info("🔎 지문 k-NN 문서 분류 사용: {} (신뢰도: {}, 이웃 {})",
+                    match.getDocumentType(), match.getConfidence(), match.getNeighbours());
+            return match.getDocumentType();
         }
 
-        // 폴백: 규칙 기반만
-        return calculateScore(cell, resonance);
+        // 폴백: 규칙 기반 분류
+        log.info("📊 규칙 기반 문서 분류 사용");
+        return detectDocumentType(profile);
     }
 
     /**
@@ -106,14 +301,79 @@ public class SpectralScoreInjector {
         return cell.isHeader() ? Math.min(1.0, score * 1.2) : score;
     }
 
-    private DocumentType detectDocumentType(List<SemanticCell> cells) {
-        int headers = (int) cells.stream().filter(SemanticCell::isHeader).count();
-        int lists = (int) cells.stream().filter(c -> c.getType().toString().contains("LIST")).count();
-        int paragraphs = (int) cells.stream().filter(c -> c.getType().toString().contains("PARAGRAPH")).count();
+    /**
+     * 스트림이 방출한 셀을 모아 두었다가 묶음 단위로 점수를 매기고 순서대로 전달
+     */
+    private class ScoreBatch {
+        private final List<SemanticCell> cells;
+        private final double[] intensities;
+        private final Consumer<SemanticCell> onScored;
+
+        private ScoreBatch(int size, Consumer<SemanticCell> onScored) {
+            this.cells = new ArrayList<>(size);
+            this.intensities = new double[size];
+            this.onScored = onScored;
+        }
+
+        private void add(SemanticCell cell, double resonance) {
+            double intensity = Math.abs(resonance);
+            cell.setResonanceIntensity(intensity);
+            intensities[cells.size()] = intensity;
+            cells.add(cell);
+            if (cells.size() == intensities.length) {
+                flush();
+            }
+        }
+
+        private void flush() {
+            if (cells.isEmpty()) {
+                return;
+            }
+            scoreCells(cells, Arrays.copyOf(intensities, cells.size()));
+            cells.forEach(onScored);
+            cells.clear();
+        }
+    }
+
+    /**
+     * 스트리밍 점수 주입 세션 (문서 길이와 무관하게 윈도우 크기만큼의 메모리 사용)
+     */
+    public static class StreamingScoreSession {
+        private final StreamingResonance stream;
+        private final ScoreBatch batch;
+        private int accepted;
+
+        private StreamingScoreSession(StreamingResonance stream, ScoreBatch batch) {
+            this.stream = stream;
+            this.batch = batch;
+        }
+
+        public void accept(SemanticCell cell) {
+            stream.accept(cell);
+            accepted++;
+        }
+
+        public void acceptAll(List<SemanticCell> cells) {
+            cells.forEach(this::accept);
+        }
+
+        /**
+         * 남은 셀의 점수를 모두 방출하고 세션 종료
+         */
+        public void finish() {
+            stream.finish();
+            batch.flush();
+            log.info("스트리밍 점수 주입 완료: {} 셀", accepted);
+        }
+    }
+
+    private DocumentType detectDocumentType(DocumentProfile profile) {
+        int headers = profile.getHeaders();
+        int total = profile.getTotalCells();
 
-        if (paragraphs > cells.size() * 0.6 && headers > 3) return DocumentType.RESEARCH_PAPER;
-        if (lists > cells.size() * 0.3) return DocumentType.CONTRACT;
-        if (headers > cells.size() * 0.3) return DocumentType.PRESENTATION;
+        if (profile.getParagraphs() > total * 0.6 && headers > 3) return DocumentType.RESEARCH_PAPER;
+        if (profile.getLists() > total * 0.3) return DocumentType.CONTRACT;
+        if (headers > total * 0.3) return DocumentType.PRESENTATION;
         if (headers > 2) return DocumentType.REPORT;
         return DocumentType.GENERAL;
     }
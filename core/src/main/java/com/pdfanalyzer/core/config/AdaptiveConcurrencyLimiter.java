@@ -0,0 +1,155 @@
+package com.pdfanalyzer.core.config;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 응답 시간 기울기로 동시 처리 한도를 조절하는 리미터
+ *
+ * 1. 응답 시간의 단기 EWMA 와 기준선을 유지
+ *    - 기준선은 천천히 오르고 빨리 내려옴 (과부하가 길어져도 느려진 응답을 정상으로 받아들이지 않도록)
+ * 2. 요청이 끝날 때마다 새 한도 = 한도 × clamp(기준선 / 단기, 0.5, 1.0) + √한도 (작은 대기 여유분)
+ *    - 응답이 느려지면 기울기가 1 아래로 떨어져 한도가 줄고, 안정적이면 √한도 만큼씩 늘어남
+ *    - 한도의 절반도 쓰지 않는 동안에는 늘리지 않음 (부하가 없을 때 한도가 무한정 커지는 것 방지)
+ * 3. 5xx·예외로 끝난 요청은 한도를 10% 줄임
+ * 4. 한도가 차면 max-queue 개까지만 max-wait-ms 동안 기다리게 하고, 나머지는 즉시 거절
+ *
+ * 과부하에서 요청을 모두 받아 다 같이 느려지는 대신, 한도 밖의 요청을 빨리 거절하여 처리량을 유지한다.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private static final double SHORT_ALPHA = 0.3;
+    private static final double BASELINE_RISE_ALPHA = 0.005;
+    private static final double BASELINE_FALL_ALPHA = 0.2;
+
+    private final String name;
+    private final int minLimit;
+    private final int maxLimit;
+    private final int maxQueue;
+    private final long maxWaitMs;
+    private final double smoothing;
+
+    private double limit;
+    private int inFlight;
+    private int waiting;
+    private double shortRttMs;
+    private double longRttMs;
+    private long accepted;
+    private long rejected;
+    private long dropped;
+
+    public AdaptiveConcurrencyLimiter(String name, int initialLimit, int minLimit, int maxLimit,
+                                      int maxQueue, long maxWaitMs, double smoothing) {
+        this.name = name;
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.maxQueue = Math.max(0, maxQueue);
+        this.maxWaitMs = maxWaitMs;
+        this.smoothing = smoothing;
+        this.limit = Math.min(this.maxLimit, Math.max(this.minLimit, initialLimit));
+    }
+
+    /**
+     * 처리 허가 획득 (한도가 차 있으면 대기열에서 max-wait-ms 까지 기다림, 실패하면 false)
+     */
+    public synchronized boolean tryAcquire() throws InterruptedException {
+        if (inFlight < (int) limit) {
+            inFlight++;
+            accepted++;
+            return true;
+        }
+        if (waiting >= maxQueue) {
+            rejected++;
+            return false;
+        }
+
+        waiting++;
+        try {
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxWaitMs);
+            while (inFlight >= (int) limit) {
+                long remainingMs = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                if (remainingMs <= 0) {
+                    rejected++;
+                    return false;
+                }
+                wait(remainingMs);
+            }
+            inFlight++;
+            accepted++;
+            return true;
+        } finally {
+            waiting--;
+        }
+    }
+
+    /**
+     * 처리 완료 (rttMs: 허가 획득부터 완료까지, failed: 5xx·예외 여부)
+     */
+    public synchronized void release(long rttMs, boolean failed) {
+        int inFlightBefore = inFlight;
+        inFlight = Math.max(0, inFlight - 1);
+        if (failed) {
+            dropped++;
+            limit = Math.max(minLimit, limit * 0.9);
+        } else {
+            update(rttMs, inFlightBefore);
+        }
+        notifyAll();
+    }
+
+    private void update(long rttMs, int inFlightBefore) {
+        if (shortRttMs == 0) {
+            shortRttMs = rttMs;
+            longRttMs = rttMs;
+            return;
+        }
+        shortRttMs += SHORT_ALPHA * (rttMs - shortRttMs);
+        longRttMs += (rttMs > longRttMs ? BASELINE_RISE_ALPHA : BASELINE_FALL_ALPHA) * (rttMs - longRttMs);
+
+        double gradient = Math.max(0.5, Math.min(1.0, longRttMs / Math.max(1e-3, shortRttMs)));
+        double newLimit = limit * gradient + Math.sqrt(limit);
+        if (newLimit > limit && inFlightBefore < limit / 2) {
+            return; // 한도를 다 쓰지 않는 동안에는 늘리지 않음
+        }
+        limit = limit * (1 - smoothing) + newLimit * smoothing;
+        limit = Math.max(minLimit, Math.min(maxLimit, limit));
+    }
+
+    /**
+     * 거절된 요청에 알려줄 재시도 대기 시간 (현재 대기열을 비우는 데 걸릴 예상 시간, 1 ~ 60초)
+     */
+    public synchronized long retryAfterSeconds() {
+        double drainMs = shortRttMs * (waiting + 1) / Math.max(1.0, limit);
+        return Math.max(1, Math.min(60, (long) Math.ceil(drainMs / 1000)));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    public synchronized Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("name", name);
+        stats.put("limit", (int) limit);
+        stats.put("minLimit", minLimit);
+        stats.put("maxLimit", maxLimit);
+        stats.put("inFlight", inFlight);
+        stats.put("waiting", waiting);
+        stats.put("maxQueue", maxQueue);
+        stats.put("accepted", accepted);
+        stats.put("rejected", rejected);
+        stats.put("dropped", dropped);
+        stats.put("shortRttMs", Math.round(shortRttMs));
+        stats.put("longRttMs", Math.round(longRttMs));
+        return stats;
+    }
+}
@@ -0,0 +1,231 @@
+package com.pdfanalyzer.core.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 분석 엔드포인트 동시 처리 제한·부하 차단
+ *
+ * 전체 분석(/analyze, /analyze/stream, /analyze/bulk)과 빠른 분석(/analyze/quick)은 한도를 따로 두어,
+ * 무거운 전체 분석이 몰려도 가벼운 빠른 분석이 굶지 않게 한다.
+ * 힙 사용률이 임계치를 넘거나 대기열이 차면 503 + Retry-After 로 즉시 거절한다.
+ *
+ * 멀티파트 업로드를 파싱하기 전에 거절해야 대용량 업로드가 몰려도 힙에 쌓이지 않으므로 인터셉터가 아닌 필터로 둔다.
+ * SSE 요청은 비동기 처리가 끝날 때(완료·타임아웃·오류) 허가를 반환한다.
+ */
+@Slf4j
+@Component
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private static final String QUICK_PATH = "/api/v1/analyze/quick";
+    private static final Set<String> FULL_PATHS = Set.of(
+            "/api/v1/analyze", "/api/v1/analyze/stream", "/api/v1/analyze/bulk");
+
+    @Value("${analysis.limits.full.initial:8}")
+    private int fullInitial;
+
+    @Value("${analysis.limits.full.min:2}")
+    private int fullMin;
+
+    @Value("${analysis.limits.full.max:64}")
+    private int fullMax;
+
+    @Value("${analysis.limits.full.queue:16}")
+    private int fullQueue; // 한도가 찼을 때 기다릴 수 있는 요청 수
+
+    @Value("${analysis.limits.full.max-wait-ms:5000}")
+    private long fullMaxWaitMs;
+
+    @Value("${analysis.limits.full.heap-threshold:0.85}")
+    private double fullHeapThreshold; // 힙 사용률이 이 값을 넘으면 전체 분석 거절
+
+    @Value("${analysis.limits.quick.initial:16}")
+    private int quickInitial;
+
+    @Value("${analysis.limits.quick.min:4}")
+    private int quickMin;
+
+    @Value("${analysis.limits.quick.max:128}")
+    private int quickMax;
+
+    @Value("${analysis.limits.quick.queue:64}")
+    private int quickQueue;
+
+    @Value("${analysis.limits.quick.max-wait-ms:2000}")
+    private long quickMaxWaitMs;
+
+    @Value("${analysis.limits.quick.heap-threshold:0.95}")
+    private double quickHeapThreshold;
+
+    @Value("${analysis.limits.smoothing:0.2}")
+    private double smoothing; // 한도 변경 반영 비율
+
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+    private final AtomicLong heapRejections = new AtomicLong();
+
+    private AdaptiveConcurrencyLimiter fullLimiter;
+    private AdaptiveConcurrencyLimiter quickLimiter;
+
+    @PostConstruct
+    public void initialize() {
+        fullLimiter = new AdaptiveConcurrencyLimiter("full", fullInitial, fullMin, fullMax,
+                fullQueue, fullMaxWaitMs, smoothing);
+        quickLimiter = new AdaptiveConcurrencyLimiter("quick", quickInitial, quickMin, quickMax,
+                quickQueue, quickMaxWaitMs, smoothing);
+        log.info("분석 동시 처리 제한: 전체 {} ({}~{}), 빠른 {} ({}~{})",
+                fullInitial, fullMin, fullMax, quickInitial, quickMin, quickMax);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!"POST".equals(request.getMethod())) {
+            return true;
+        }
+        String path = request.getRequestURI();
+        return !path.equals(QUICK_PATH) && !FULL_PATHS.contains(path);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        AdaptiveConcurrencyLimiter limiter = request.getRequestURI().equals(QUICK_PATH) ? quickLimiter : fullLimiter;
+
+        double heapUsage = heapUsage();
+        if (heapUsage > (limiter == quickLimiter ? quickHeapThreshold : fullHeapThreshold)) {
+            heapRejections.incrementAndGet();
+            log.warn("힙 사용률 {}% - {} 분석 요청 거절", Math.round(heapUsage * 100), limiter.getName());
+            reject(response, limiter, "서버 메모리가 부족합니다. 잠시 후 다시 시도해주세요");
+            return;
+        }
+
+        boolean acquired;
+        try {
+            acquired = limiter.tryAcquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            log.warn("{} 분석 동시 처리 한도 초과 (한도 {}) - 요청 거절", limiter.getName(), limiter.getLimit());
+            reject(response, limiter, "요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해주세요");
+            return;
+        }
+
+        Permit permit = new Permit(limiter);
+        boolean failed = true;
+        try {
+            chain.doFilter(request, response);
+            failed = false;
+        } finally {
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(permit);
+            } else {
+                permit.release(failed || response.getStatus() >= 500);
+            }
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("full", fullLimiter.getStats());
+        stats.put("quick", quickLimiter.getStats());
+        stats.put("heapUsage", Math.round(heapUsage() * 1000) / 1000.0);
+        stats.put("heapRejections", heapRejections.get());
+        return stats;
+    }
+
+    /**
+     * 힙 사용률 (old 영역의 마지막 GC 직후 사용량 기준, 곧 수거될 젊은 객체로 거절하지 않도록)
+     */
+    private double heapUsage() {
+        double oldGen = -1;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() != MemoryType.HEAP || !pool.isUsageThresholdSupported()
+                    || !pool.isCollectionUsageThresholdSupported()) {
+                continue;
+            }
+            MemoryUsage afterGc = pool.getCollectionUsage();
+            long max = afterGc != null && afterGc.getMax() > 0 ? afterGc.getMax() : pool.getUsage().getMax();
+            if (afterGc != null && max > 0) {
+                oldGen = Math.max(oldGen, (double) afterGc.getUsed() / max);
+            }
+        }
+        if (oldGen >= 0) {
+            return oldGen;
+        }
+        MemoryUsage heap = memory.getHeapMemoryUsage();
+        long max = heap.getMax() > 0 ? heap.getMax() : heap.getCommitted();
+        return max > 0 ? (double) heap.getUsed() / max : 0.0;
+    }
+
+    private void reject(HttpServletResponse response, AdaptiveConcurrencyLimiter limiter, String message) throws IOException {
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(limiter.retryAfterSeconds()));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.getWriter().write("{\"success\":false,\"error\":\"" + message + "\"}");
+    }
+
+    /**
+     * 요청 하나가 쥔 허가 (비동기 요청은 AsyncListener 로 반환, 한 번만 반환됨)
+     */
+    private static class Permit implements AsyncListener {
+        private final AdaptiveConcurrencyLimiter limiter;
+        private final long startNanos = System.nanoTime();
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(AdaptiveConcurrencyLimiter limiter) {
+            this.limiter = limiter;
+        }
+
+        private void release(boolean failed) {
+            if (released.compareAndSet(false, true)) {
+                limiter.release((System.nanoTime() - startNanos) / 1_000_000, failed);
+            }
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release(false);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release(true);
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release(true);
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.pdfanalyzer.core.controller;
+
+import com.pdfanalyzer.core.frequency.SpectralEngineType;
+import com.pdfanalyzer.core.frequency.filter.DocumentType;
+import com.pdfanalyzer.core.integration.llm.SummaryMode;
+import com.pdfanalyzer.core.service.AnalysisDeadline;
+import com.pdfanalyzer.core.service.StagedPipelineExecutor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.regex.Pattern;
+
+/**
+ * 분석 요청 파라미터 해석 (잘못된 값은 경고 후 기본값)
+ */
+@Slf4j
+final class AnalysisRequestParams {
+
+    static final String TENANT_HEADER = "X-Tenant-Id";
+    static final String USER_HEADER = "X-User-Id";
+
+    private static final Pattern TENANT_ID = Pattern.compile("[A-Za-z0-9._@:-]{1,64}");
+
+    private AnalysisRequestParams() {
+    }
+
+    static SpectralEngineType parseEngine(String engine) {
+        if (engine == null || engine.isEmpty()) {
+            return null;
+        }
+        try {
+            return SpectralEngineType.valueOf(engine.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            log.warn("유효하지 않은 공명 엔진: {}", engine);
+            return null;
+        }
+    }
+
+    static SummaryMode parseSummaryMode(String mode) {
+        if (mode == null || mode.isEmpty()) {
+            return SummaryMode.LLM;
+        }
+        try {
+            return SummaryMode.valueOf(mode.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            log.warn("유효하지 않은 요약 방식: {}", mode);
+            return SummaryMode.LLM;
+        }
+    }
+
+    static DocumentType parseDocumentType(String type) {
+        if (type == null || type.isEmpty()) {
+            return null;
+        }
+        try {
+            return DocumentType.valueOf(type.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            log.warn("유효하지 않은 문서 타입: {}", type);
+            return null;
+        }
+    }
+
+    /**
+     * 마감 해석 (deadlineMs 파라미터 우선, 없으면 X-Deadline-Ms 헤더, 둘 다 없으면 마감 없음)
+     * 예산은 이 시점(컨트롤러 진입)부터 계산된다.
+     */
+    static AnalysisDeadline parseDeadline(String param, String header) {
+        String value = param != null && !param.isBlank() ? param : header;
+        if (value == null || value.isBlank()) {
+            return AnalysisDeadline.none();
+        }
+        try {
+            return AnalysisDeadline.in(Long.parseLong(value.trim()));
+        } catch (NumberFormatException e) {
+            log.warn("유효하지 않은 마감: {}", value);
+            return AnalysisDeadline.none();
+        }
+    }
+
+    /**
+     * 공정 큐 테넌트 해석 (X-Tenant-Id 우선, 없으면 X-User-Id, 둘 다 없거나 형식이 잘못되면 anonymous)
+     * 두 헤더는 인증하지 않으므로 앞단 게이트웨이가 설정한다고 믿는 값이며,
+     * analysis.tenants 에 등록된 ID 만 인정하고 나머지는 anonymous 공용 정책으로 보낸다.
+     */
+    static String parseTenant(String tenantHeader, String userHeader, StagedPipelineExecutor pipeline) {
+        String value = tenantHeader != null && !tenantHeader.isBlank() ? tenantHeader : userHeader;
+        if (value == null || value.isBlank()) {
+            return StagedPipelineExecutor.DEFAULT_TENANT;
+        }
+        value = value.trim();
+        if (!TENANT_ID.matcher(value).matches()) {
+            log.warn("유효하지 않은 테넌트 ID: {}", value);
+            return StagedPipelineExecutor.DEFAULT_TENANT;
+        }
+        return pipeline.resolveTenant(value);
+    }
+}
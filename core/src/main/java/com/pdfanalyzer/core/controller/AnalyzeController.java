@@ -1,17 +1,38 @@
 package com.pdfanalyzer.core.controller;
 
+import com.pdfanalyzer.core.config.ConcurrencyLimitFilter;
 import com.pdfanalyzer.core.frequency.filter.DocumentType;
+import com.pdfanalyzer.core.integration.llm.LLMAdapter;
+import com.pdfanalyzer.core.integration.llm.TfIdfKeywordExtractor;
+import com.pdfanalyzer.core.ml.classification.SpectralFingerprintIndex;
 import com.pdfanalyzer.core.model.AnalysisResult;
+import com.pdfanalyzer.core.service.AnalysisDeadline;
 import com.pdfanalyzer.core.service.DocumentAnalysisService;
+import com.pdfanalyzer.core.service.StagedPipelineExecutor;
+import com.pdfanalyzer.core.service.TenantQuotaExceededException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+
+import static com.pdfanalyzer.core.controller.AnalysisRequestParams.parseDeadline;
+import static com.pdfanalyzer.core.controller.AnalysisRequestParams.parseDocumentType;
+import static com.pdfanalyzer.core.controller.AnalysisRequestParams.parseEngine;
+import static com.pdfanalyzer.core.controller.AnalysisRequestParams.parseSummaryMode;
+import static com.pdfanalyzer.core.controller.AnalysisRequestParams.parseTenant;
 
 /**
  * 문서 분석 REST API
@@ -24,16 +45,37 @@ public class AnalyzeController {
 
     private final DocumentAnalysisService analysisService;
     private final com.pdfanalyzer.core.service.AnalysisCacheService cacheService;
+    private final SpectralFingerprintIndex fingerprintIndex;
+    private final LLMAdapter llmAdapter;
+    private final TfIdfKeywordExtractor keywordExtractor;
+    private final StagedPipelineExecutor pipeline;
+    private final ConcurrencyLimitFilter concurrencyLimitFilter;
+
+    @Value("${analysis.stream.timeout-ms:180000}")
+    private long streamTimeoutMs; // SSE 연결 유지 한도
+
+    @Value("${analysis.bulk.max-files:50}")
+    private int bulkMaxFiles; // 일괄 분석 요청당 최대 파일 수
 
     /**
-     * 전체 분석 (LLM 포함)
+     * 전체 분석 (LLM 포함, summaryMode=extractive 이면 로컬 발췌 요약만 사용)
+     * deadlineMs(또는 X-Deadline-Ms 헤더)를 주면 예산 안에 끝나도록 단계별로 품질을 낮추고 응답의 deadline 에 보고한다.
+     * X-Tenant-Id(또는 X-User-Id) 헤더별로 가중 공정 큐에서 입장 순서가 정해지고, 테넌트 할당량을 넘으면 429.
      */
     @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     public ResponseEntity<?> analyze(
             @RequestPart("file") MultipartFile file,
-            @RequestParam(value = "documentType", required = false) String documentType) {
+            @RequestParam(value = "documentType", required = false) String documentType,
+            @RequestParam(value = "engine", required = false) String engine,
+            @RequestParam(value = "summaryMode", required = false) String summaryMode,
+            @RequestParam(value = "deadlineMs", required = false) String deadlineMs,
+            @RequestHeader(value = "X-Deadline-Ms", required = false) String deadlineHeader,
+            @RequestHeader(value = AnalysisRequestParams.TENANT_HEADER, required = false) String tenantHeader,
+            @RequestHeader(value = AnalysisRequestParams.USER_HEADER, required = false) String userHeader) {
 
-        log.info("분석 요청: {}", file.getOriginalFilename());
+        AnalysisDeadline deadline = parseDeadline(deadlineMs, deadlineHeader);
+        String tenant = parseTenant(tenantHeader, userHeader, pipeline);
+        log.info("분석 요청: {} ({})", file.getOriginalFilename(), tenant);
 
         if (file.isEmpty()) {
             return ResponseEntity.badRequest().body(Map.of("error", "파일이 비어있습니다"));
@@ -41,7 +83,8 @@ public class AnalyzeController {
 
         try {
             DocumentType type = parseDocumentType(documentType);
-            AnalysisResult result = analysisService.analyze(file, type);
+            AnalysisResult result = analysisService.analyze(file, type, parseEngine(engine), parseSummaryMode(summaryMode),
+                    tenant, deadline);
 
             if (result.isSuccess()) {
                 return ResponseEntity.ok(result.getFormattedResult());
@@ -50,6 +93,8 @@ public class AnalyzeController {
                         .body(Map.of("error", result.getError()));
             }
 
+        } catch (RejectedExecutionException e) {
+            return busy(e);
         } catch (Exception e) {
             log.error("분석 실패", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -61,6 +106,109 @@ public class AnalyzeController {
         }
     }
 
+    /**
+     * 전체 분석 (SSE 스트리밍)
+     * structure → statistics → summary(조각 반복) → keywords → result 순으로 이벤트를 보내고 (단계마다 stage 이벤트),
+     * 실패하면 error 이벤트 후 종료한다. 요약은 LLM이 생성하는 대로 조각 단위로 전달된다.
+     */
+    @PostMapping(value = "/stream", consumes = MediaType.MULTIPART_FORM_DATA_VALUE,
+            produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter analyzeStream(
+            @RequestPart("file") MultipartFile file,
+            @RequestParam(value = "documentType", required = false) String documentType,
+            @RequestParam(value = "engine", required = false) String engine,
+            @RequestParam(value = "summaryMode", required = false) String summaryMode,
+            @RequestParam(value = "deadlineMs", required = false) String deadlineMs,
+            @RequestHeader(value = "X-Deadline-Ms", required = false) String deadlineHeader,
+            @RequestHeader(value = AnalysisRequestParams.TENANT_HEADER, required = false) String tenantHeader,
+            @RequestHeader(value = AnalysisRequestParams.USER_HEADER, required = false) String userHeader) throws IOException {
+
+        AnalysisDeadline deadline = parseDeadline(deadlineMs, deadlineHeader);
+        String tenant = parseTenant(tenantHeader, userHeader, pipeline);
+        log.info("스트리밍 분석 요청: {} ({})", file.getOriginalFilename(), tenant);
+        SseEmitter emitter = new SseEmitter(streamTimeoutMs);
+        if (file.isEmpty()) {
+            emitter.send(SseEmitter.event().name("error").data(Map.of("error", "파일이 비어있습니다")));
+            emitter.complete();
+            return emitter;
+        }
+
+        SseEventSender sender = new SseEventSender(emitter);
+        analysisService.analyzeStreaming(file, parseDocumentType(documentType), parseEngine(engine),
+                        parseSummaryMode(summaryMode), sender, tenant, deadline)
+                .whenComplete((result, error) -> {
+                    if (error == null && result.isSuccess()) {
+                        sender.send("result", result.getFormattedResult());
+                    } else {
+                        String message = error != null ? error.getMessage() : result.getError();
+                        log.error("스트리밍 분석 실패: {}", message);
+                        sender.send("error", Map.of("error", String.valueOf(message), "success", false));
+                    }
+                    emitter.complete();
+                });
+        return emitter;
+    }
+
+    /**
+     * 일괄 분석 (짧은 문서들의 요약을 여러 문서씩 묶어 LLM 호출 수를 줄임)
+     * 문서별 결과는 입력 순서대로 반환되며, 실패한 문서는 해당 항목에만 error 가 담긴다.
+     */
+    @PostMapping(value = "/bulk", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<?> analyzeBulk(
+            @RequestPart("files") List<MultipartFile> files,
+            @RequestParam(value = "documentType", required = false) String documentType,
+            @RequestParam(value = "engine", required = false) String engine,
+            @RequestHeader(value = AnalysisRequestParams.TENANT_HEADER, required = false) String tenantHeader,
+            @RequestHeader(value = AnalysisRequestParams.USER_HEADER, required = false) String userHeader) {
+
+        String tenant = parseTenant(tenantHeader, userHeader, pipeline);
+        log.info("일괄 분석 요청: {} 파일 ({})", files.size(), tenant);
+
+        if (files.isEmpty() || files.stream().anyMatch(MultipartFile::isEmpty)) {
+            return ResponseEntity.badRequest().body(Map.of("error", "비어있는 파일이 있습니다"));
+        }
+        if (files.size() > bulkMaxFiles) {
+            return ResponseEntity.badRequest().body(Map.of("error", "한 번에 최대 " + bulkMaxFiles + "개 파일까지 분석할 수 있습니다"));
+        }
+
+        try {
+            List<AnalysisResult> results = analysisService.analyzeBulk(files, parseDocumentType(documentType), parseEngine(engine),
+                    tenant);
+
+            List<Map<String, Object>> documents = new ArrayList<>(results.size());
+            for (int i = 0; i < results.size(); i++) {
+                AnalysisResult result = results.get(i);
+                if (result.isSuccess()) {
+                    documents.add(result.getFormattedResult());
+                } else {
+                    documents.add(Map.of(
+                            "fileName", String.valueOf(files.get(i).getOriginalFilename()),
+                            "success", false,
+                            "error", String.valueOf(result.getError())));
+                }
+            }
+            long succeeded = results.stream().filter(AnalysisResult::isSuccess).count();
+
+            return ResponseEntity.ok(Map.of(
+                    "success", true,
+                    "succeeded", succeeded,
+                    "failed", results.size() - succeeded,
+                    "documents", documents
+            ));
+
+        } catch (RejectedExecutionException e) {
+            return busy(e);
+        } catch (Exception e) {
+            log.error("일괄 분석 실패", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of(
+                        "error", e.getMessage(),
+                        "message", e.getMessage(),
+                        "success", false
+                    ));
+        }
+    }
+
     /**
      * 빠른 분석 (LLM 제외)
      */
@@ -124,7 +272,9 @@ public class AnalyzeController {
      */
     @GetMapping("/cache/stats")
     public ResponseEntity<?> getCacheStats() {
-        return ResponseEntity.ok(cacheService.getStats());
+        Map<String, Object> stats = new HashMap<>(cacheService.getStats());
+        stats.put("llmInFlight", llmAdapter.getInFlightStats());
+        return ResponseEntity.ok(stats);
     }
 
     /**
@@ -139,15 +289,58 @@ public class AnalyzeController {
         ));
     }
 
-    private DocumentType parseDocumentType(String type) {
-        if (type == null || type.isEmpty()) {
-            return null;
-        }
-        try {
-            return DocumentType.valueOf(type.toUpperCase());
-        } catch (IllegalArgumentException e) {
-            log.warn("유효하지 않은 문서 타입: {}", type);
-            return null;
+    /**
+     * 스펙트럼 지문 인덱스 통계 조회
+     */
+    @GetMapping("/fingerprints/stats")
+    public ResponseEntity<?> getFingerprintStats() {
+        return ResponseEntity.ok(fingerprintIndex.getStats());
+    }
+
+    /**
+     * TF-IDF 키워드 추출기의 코퍼스 통계 조회
+     */
+    @GetMapping("/keywords/stats")
+    public ResponseEntity<?> getKeywordStats() {
+        return ResponseEntity.ok(keywordExtractor.getStats());
+    }
+
+    /**
+     * 단계별 파이프라인 통계 (단계별 대기열·처리 시간, 병목 단계)
+     */
+    @GetMapping("/pipeline/stats")
+    public ResponseEntity<?> getPipelineStats() {
+        return ResponseEntity.ok(pipeline.getStats());
+    }
+
+    /**
+     * 테넌트별 공정 큐 통계 (가중치, 처리 중·대기 수, 대기 시간 EWMA·최대, 할당량 거절 수)
+     */
+    @GetMapping("/tenants/stats")
+    public ResponseEntity<?> getTenantStats() {
+        return ResponseEntity.ok(pipeline.getTenantStats());
+    }
+
+    /**
+     * 분석 엔드포인트 동시 처리 한도 통계 (전체·빠른 분석별 현재 한도, 거절 수, 힙 사용률)
+     */
+    @GetMapping("/limits/stats")
+    public ResponseEntity<?> getLimitStats() {
+        return ResponseEntity.ok(concurrencyLimitFilter.getStats());
+    }
+
+    /**
+     * 파이프라인 입장 거절 (503, 테넌트 할당량 초과는 429, 둘 다 Retry-After 포함)
+     */
+    private ResponseEntity<?> busy(RejectedExecutionException e) {
+        log.warn("분석 요청 거절: {}", e.getMessage());
+        if (e instanceof TenantQuotaExceededException quota) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(quota.getRetryAfterSeconds()))
+                    .body(Map.of("error", e.getMessage(), "tenant", quota.getTenant(), "success", false));
         }
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(pipeline.retryAfterSeconds()))
+                .body(Map.of("error", e.getMessage(), "success", false));
     }
 }
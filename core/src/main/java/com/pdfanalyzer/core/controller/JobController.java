@@ -0,0 +1,185 @@
+package com.pdfanalyzer.core.controller;
+
+import com.pdfanalyzer.core.service.AnalysisJob;
+import com.pdfanalyzer.core.service.AnalysisJobService;
+import com.pdfanalyzer.core.service.StagedPipelineExecutor;
+import com.pdfanalyzer.core.service.TenantQuotaExceededException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
+
+import static com.pdfanalyzer.core.controller.AnalysisRequestParams.parseDocumentType;
+import static com.pdfanalyzer.core.controller.AnalysisRequestParams.parseEngine;
+import static com.pdfanalyzer.core.controller.AnalysisRequestParams.parseSummaryMode;
+import static com.pdfanalyzer.core.controller.AnalysisRequestParams.parseTenant;
+
+/**
+ * 비동기 분석 작업 REST API
+ * 제출 즉시 작업 ID 를 받고, 상태 폴링 또는 SSE 로 단계별 진행 상황을 확인한 뒤 결과를 조회한다.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/jobs")
+@RequiredArgsConstructor
+public class JobController {
+
+    private final AnalysisJobService jobService;
+    private final StagedPipelineExecutor pipeline;
+
+    @Value("${analysis.stream.timeout-ms:180000}")
+    private long streamTimeoutMs; // SSE 연결 유지 한도
+
+    /**
+     * 분석 작업 제출 (202 + 작업 ID, 대기열이 가득 차면 503)
+     */
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<?> submit(
+            @RequestPart("file") MultipartFile file,
+            @RequestParam(value = "documentType", required = false) String documentType,
+            @RequestParam(value = "engine", required = false) String engine,
+            @RequestParam(value = "summaryMode", required = false) String summaryMode,
+            @RequestHeader(value = AnalysisRequestParams.TENANT_HEADER, required = false) String tenantHeader,
+            @RequestHeader(value = AnalysisRequestParams.USER_HEADER, required = false) String userHeader) {
+
+        String tenant = parseTenant(tenantHeader, userHeader, pipeline);
+        log.info("분석 작업 요청: {} ({})", file.getOriginalFilename(), tenant);
+
+        if (file.isEmpty()) {
+            return ResponseEntity.badRequest().body(Map.of("error", "파일이 비어있습니다"));
+        }
+
+        try {
+            AnalysisJob job = jobService.submit(file, parseDocumentType(documentType), parseEngine(engine),
+                    parseSummaryMode(summaryMode), tenant);
+            String statusUrl = "/api/v1/jobs/" + job.getId();
+
+            Map<String, Object> body = new LinkedHashMap<>();
+            body.put("jobId", job.getId());
+            body.put("status", job.getStatus().name());
+            body.put("statusUrl", statusUrl);
+            body.put("eventsUrl", statusUrl + "/events");
+            body.put("resultUrl", statusUrl + "/result");
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .header(HttpHeaders.LOCATION, statusUrl)
+                    .body(body);
+
+        } catch (TenantQuotaExceededException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                    .body(Map.of("error", e.getMessage(), "tenant", e.getTenant(), "success", false));
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(jobService.retryAfterSeconds()))
+                    .body(Map.of("error", "분석 대기열이 가득 찼습니다. 잠시 후 다시 시도해주세요", "success", false));
+        } catch (IOException e) {
+            log.error("분석 작업 제출 실패", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("error", e.getMessage(), "success", false));
+        }
+    }
+
+    /**
+     * 작업 상태·단계별 진행 상황
+     */
+    @GetMapping("/{jobId}")
+    public ResponseEntity<?> getStatus(@PathVariable String jobId) {
+        return jobService.find(jobId)
+                .<ResponseEntity<?>>map(job -> ResponseEntity.ok(job.snapshot()))
+                .orElseGet(() -> notFound(jobId));
+    }
+
+    /**
+     * 작업 진행 상황 (SSE)
+     * 현재 상태(status) 이벤트 후 stage·structure·statistics·summary·keywords 이벤트를 그대로 보내고,
+     * 작업이 끝나면 result / error / cancelled 중 하나를 보내고 종료한다.
+     */
+    @GetMapping(value = "/{jobId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter events(@PathVariable String jobId) throws IOException {
+        SseEmitter emitter = new SseEmitter(streamTimeoutMs);
+        Optional<AnalysisJob> found = jobService.find(jobId);
+        if (found.isEmpty()) {
+            emitter.send(SseEmitter.event().name("error").data(Map.of("error", "작업을 찾을 수 없습니다: " + jobId)));
+            emitter.complete();
+            return emitter;
+        }
+
+        AnalysisJob job = found.get();
+        SseEventSender sender = new SseEventSender(emitter);
+        // 구독 후 상태를 보내야 그 사이 이벤트를 놓치지 않음 (중복은 클라이언트가 덮어씀)
+        job.subscribe(sender);
+        emitter.onCompletion(() -> job.unsubscribe(sender));
+        sender.send("status", job.snapshot());
+
+        job.completion().whenComplete((done, error) -> {
+            job.unsubscribe(sender);
+            switch (job.getStatus()) {
+                case SUCCEEDED -> sender.send("result", job.getResult().getFormattedResult());
+                case CANCELLED -> sender.send("cancelled", job.snapshot());
+                default -> sender.send("error", Map.of("error", String.valueOf(job.getError()), "success", false));
+            }
+            emitter.complete();
+        });
+        return emitter;
+    }
+
+    /**
+     * 작업 결과 (완료 200, 진행 중 202, 실패 500, 취소 409, 없거나 만료 404)
+     */
+    @GetMapping("/{jobId}/result")
+    public ResponseEntity<?> getResult(@PathVariable String jobId) {
+        Optional<AnalysisJob> found = jobService.find(jobId);
+        if (found.isEmpty()) {
+            return notFound(jobId);
+        }
+
+        AnalysisJob job = found.get();
+        return switch (job.getStatus()) {
+            case SUCCEEDED -> ResponseEntity.ok(job.getResult().getFormattedResult());
+            case QUEUED, RUNNING -> ResponseEntity.status(HttpStatus.ACCEPTED).body(job.snapshot());
+            case CANCELLED -> ResponseEntity.status(HttpStatus.CONFLICT).body(job.snapshot());
+            case FAILED -> ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("error", String.valueOf(job.getError()), "success", false));
+        };
+    }
+
+    /**
+     * 작업 취소 (이미 끝난 작업이면 409)
+     */
+    @DeleteMapping("/{jobId}")
+    public ResponseEntity<?> cancel(@PathVariable String jobId) {
+        Optional<AnalysisJob> found = jobService.find(jobId);
+        if (found.isEmpty()) {
+            return notFound(jobId);
+        }
+        if (!jobService.cancel(jobId)) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(found.get().snapshot());
+        }
+        return ResponseEntity.ok(found.get().snapshot());
+    }
+
+    /**
+     * 작업 풀 통계
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<?> getStats() {
+        return ResponseEntity.ok(jobService.getStats());
+    }
+
+    private ResponseEntity<?> notFound(String jobId) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(Map.of("error", "작업을 찾을 수 없거나 결과 보관 기간이 지났습니다: " + jobId));
+    }
+}
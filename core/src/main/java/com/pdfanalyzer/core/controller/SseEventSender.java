@@ -0,0 +1,68 @@
+package com.pdfanalyzer.core.controller;
+
+import com.pdfanalyzer.core.service.AnalysisStage;
+import com.pdfanalyzer.core.service.AnalysisStreamListener;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * 분석 단계 이벤트를 SSE 로 전송 (클라이언트가 끊기면 이후 이벤트는 버림)
+ */
+@Slf4j
+class SseEventSender implements AnalysisStreamListener {
+
+    private final SseEmitter emitter;
+    private volatile boolean closed;
+
+    SseEventSender(SseEmitter emitter) {
+        this.emitter = emitter;
+        emitter.onTimeout(() -> closed = true);
+        emitter.onError(error -> closed = true);
+    }
+
+    @Override
+    public void onStageStarted(AnalysisStage stage) {
+        send("stage", Map.of("stage", stage.name(), "status", "STARTED"));
+    }
+
+    @Override
+    public void onStageCompleted(AnalysisStage stage, long elapsedMs) {
+        send("stage", Map.of("stage", stage.name(), "status", "COMPLETED", "elapsedMs", elapsedMs));
+    }
+
+    @Override
+    public void onStructure(Map<String, Object> structure) {
+        send("structure", structure);
+    }
+
+    @Override
+    public void onStatistics(Map<String, Object> statistics) {
+        send("statistics", statistics);
+    }
+
+    @Override
+    public void onSummaryDelta(String delta) {
+        send("summary", Map.of("delta", delta));
+    }
+
+    @Override
+    public void onKeywords(Map<String, Object> keywords) {
+        send("keywords", keywords);
+    }
+
+    void send(String name, Object data) {
+        if (closed) {
+            return;
+        }
+        try {
+            emitter.send(SseEmitter.event().name(name).data(data, MediaType.APPLICATION_JSON));
+        } catch (IOException | IllegalStateException e) {
+            closed = true;
+            log.info("SSE 클라이언트 연결 종료 - 이후 이벤트 생략 ({})", name);
+        }
+    }
+}
@@ -12,6 +12,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.ObjIntConsumer;
 
 /**
  * PDF 문서에서 텍스트와 기본 구조 정보를 추출하는 컴포넌트
@@ -25,9 +26,35 @@ public class PDFExtractor {
      * 향상된 레이아웃 및 포맷 보존
      */
     public List<String> extractTextByPages(File pdfFile) throws IOException {
-        log.info("PDF 텍스트 추출 시작: {}", pdfFile.getName());
+        return extractTextByPages(pdfFile, Integer.MAX_VALUE);
+    }
 
+    /**
+     * 앞쪽 maxPages 페이지만 추출
+     */
+    public List<String> extractTextByPages(File pdfFile, int maxPages) throws IOException {
         List<String> pages = new ArrayList<>();
+        extractTextByPages(pdfFile, maxPages, (pageText, pageNumber) -> pages.add(pageText));
+        return pages;
+    }
+
+    /**
+     * PDF 파일에서 텍스트를 페이지별로 추출하여 페이지가 준비되는 즉시 콜백으로 전달
+     * 뒤쪽 페이지 추출을 기다리지 않고 앞쪽 페이지부터 후속 처리 가능
+     *
+     * @return 총 페이지 수
+     */
+    public int extractTextByPages(File pdfFile, ObjIntConsumer<String> pageConsumer) throws IOException {
+        return extractTextByPages(pdfFile, Integer.MAX_VALUE, pageConsumer);
+    }
+
+    /**
+     * 앞쪽 maxPages 페이지만 콜백으로 전달 (마감이 촉박할 때)
+     *
+     * @return 추출한 페이지 수
+     */
+    public int extractTextByPages(File pdfFile, int maxPages, ObjIntConsumer<String> pageConsumer) throws IOException {
+        log.info("PDF 텍스트 추출 시작: {}", pdfFile.getName());
 
         try (PDDocument document = Loader.loadPDF(pdfFile)) {
             PDFTextStripper stripper = new PDFTextStripper();
@@ -40,7 +67,7 @@ public class PDFExtractor {
             stripper.setParagraphStart("");  // 문단 시작
             stripper.setParagraphEnd("\n\n");  // 문단 끝 (두 줄 개행)
 
-            int totalPages = document.getNumberOfPages();
+            int totalPages = Math.min(document.getNumberOfPages(), maxPages);
 
             for (int i = 1; i <= totalPages; i++) {
                 stripper.setStartPage(i);
@@ -50,14 +77,13 @@ public class PDFExtractor {
                 // 불필요한 공백 정리 (하지만 구조는 유지)
                 pageText = cleanupText(pageText);
 
-                pages.add(pageText);
+                pageConsumer.accept(pageText, i);
                 log.debug("페이지 {} 추출 완료: {} 문자", i, pageText.length());
             }
 
             log.info("총 {} 페이지 추출 완료", totalPages);
+            return totalPages;
         }
-
-        return pages;
     }
 
     /**
@@ -0,0 +1,9 @@
+package com.pdfanalyzer.core.frequency;
+
+/**
+ * 공명 분석 엔진 종류
+ */
+public enum SpectralEngineType {
+    FFT,      // 전역 FFT 공명 (O(n log n))
+    WAVELET   // Haar 웨이블릿 다중 해상도 공명 (O(n), 국소화)
+}
@@ -5,7 +5,17 @@ import lombok.extern.slf4j.Slf4j;
 import org.jtransforms.fft.DoubleFFT_1D;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.ObjDoubleConsumer;
+import java.util.stream.IntStream;
 
 /**
  * FFT 기반 주파수 영역 분석 엔진
@@ -20,18 +30,26 @@ public class FFTEngine {
         log.info("FFT 변환 시작: {} 셀", cells.size());
 
         double[] signal = cellsToSignal(cells);
+        FFTSpectrum spectrum = transformSignal(signal);
+        spectrum.setOriginalCells(cells);
+
+        log.info("FFT 변환 완료: {} 포인트", signal.length);
+        return spectrum;
+    }
+
+    /**
+     * 임의의 실수 신호에 대한 FFT 변환
+     */
+    public FFTSpectrum transformSignal(double[] signal) {
         DoubleFFT_1D fft = new DoubleFFT_1D(signal.length);
         double[] spectrum = new double[signal.length * 2];
 
         System.arraycopy(signal, 0, spectrum, 0, signal.length);
         fft.realForwardFull(spectrum);
 
-        log.info("FFT 변환 완료: {} 포인트", signal.length);
-
         return FFTSpectrum.builder()
                 .complexSpectrum(spectrum)
                 .size(signal.length)
-                .originalCells(cells)
                 .build();
     }
 
@@ -83,6 +101,100 @@ public class FFTEngine {
         return resonance;
     }
 
+    /**
+     * 여러 문서의 공명을 한 번에 분석 (일괄 재점수화용)
+     * 모든 문서를 한 번의 병렬 패스로 나눠 실행하고, 셀 수가 같은 문서끼리만 FFT 플랜을 공유.
+     * 플랜 캐시는 호출 범위에서만 살아 있으므로 처리한 길이 수만큼 메모리가 쌓이지 않는다
+     * (DoubleFFT_1D 는 생성 후 읽기 전용이라 여러 스레드가 같이 써도 됨).
+     * 0 패딩을 하지 않으므로 결과는 문서별 analyzeResonance 와 같다
+     * (패딩하면 주파수 빈 간격이 바뀌어 같은 필터가 다른 대역에 걸림).
+     *
+     * @return 입력 순서와 같은 문서별 공명 값
+     */
+    public List<double[]> analyzeResonanceBatch(List<List<SemanticCell>> documents, double[] filter) {
+        long start = System.currentTimeMillis();
+        double[][] results = new double[documents.size()][];
+        Map<Integer, DoubleFFT_1D> plans = new ConcurrentHashMap<>();
+
+        IntStream.range(0, documents.size()).parallel().forEach(d -> {
+            List<SemanticCell> cells = documents.get(d);
+            int size = cells.size();
+            if (size == 0) {
+                results[d] = new double[0];
+                return;
+            }
+
+            double[] data = new double[size * 2];
+            for (int i = 0; i < size; i++) {
+                data[i] = signalValue(cells.get(i));
+            }
+
+            DoubleFFT_1D plan = plans.computeIfAbsent(size, DoubleFFT_1D::new);
+            plan.realForwardFull(data);
+            for (int i = 0; i < size && i < filter.length; i++) {
+                data[i * 2] *= filter[i];
+                data[i * 2 + 1] *= filter[i];
+            }
+            plan.complexInverse(data, true);
+
+            double[] resonance = new double[size];
+            for (int i = 0; i < size; i++) {
+                resonance[i] = data[i * 2];
+            }
+            results[d] = resonance;
+        });
+
+        log.info("일괄 공명 분석 완료: {} 문서, {} 길이, {}ms",
+                documents.size(), plans.size(), System.currentTimeMillis() - start);
+        return Arrays.asList(results);
+    }
+
+    /**
+     * 다채널 공명 분석
+     * 임베딩 행렬의 상위 k개 주성분 투영을 k개의 병렬 신호로 보고,
+     * 채널별 FFT → 필터 → IFFT를 fork-join으로 병렬 실행한 뒤 RMS로 결합
+     *
+     * @return 셀별 결합 공명 강도, 임베딩이 없으면 null
+     */
+    public double[] analyzeMultiChannelResonance(List<SemanticCell> cells, double[] filter, int components) {
+        long start = System.currentTimeMillis();
+        double[][] channels = PrincipalProjection.project(cells, components);
+        if (channels.length == 0) {
+            log.debug("임베딩이 없어 다채널 공명 분석 생략");
+            return null;
+        }
+
+        List<Callable<double[]>> tasks = new ArrayList<>(channels.length);
+        for (double[] channel : channels) {
+            tasks.add(() -> inverseTransform(applyFilter(transformSignal(channel), filter)));
+        }
+
+        double[] combined = new double[cells.size()];
+        for (Future<double[]> future : ForkJoinPool.commonPool().invokeAll(tasks)) {
+            double[] resonance = join(future);
+            for (int i = 0; i < combined.length; i++) {
+                combined[i] += resonance[i] * resonance[i];
+            }
+        }
+        for (int i = 0; i < combined.length; i++) {
+            combined[i] = Math.sqrt(combined[i] / channels.length);
+        }
+
+        log.info("다채널 공명 분석 완료: {} 채널, {}ms", channels.length, System.currentTimeMillis() - start);
+        return combined;
+    }
+
+    private static double[] join(Future<double[]> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("다채널 FFT 중단", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("다채널 FFT 실패", e.getCause());
+        }
+    }
+
     public double[] calculatePowerSpectrum(FFTSpectrum spectrum) {
         double[] complex = spectrum.getComplexSpectrum();
         int size = spectrum.getSize();
@@ -97,25 +209,40 @@ public class FFTEngine {
         return power;
     }
 
+    /**
+     * 단시간 FFT 스트리밍 분석 세션 생성
+     * 셀이 도착할 때마다 공명을 갱신하고, 윈도우 중앙에 도달한 셀부터 방출
+     */
+    public StreamingResonance openStream(int windowSize, double[] filter, ObjDoubleConsumer<SemanticCell> listener) {
+        log.info("스트리밍 공명 분석 시작: 윈도우 {}", windowSize);
+        return new StreamingResonance(windowSize, filter, listener);
+    }
+
     private double[] cellsToSignal(List<SemanticCell> cells) {
         double[] signal = new double[cells.size()];
 
         for (int i = 0; i < cells.size(); i++) {
-            SemanticCell cell = cells.get(i);
-            double value = 0.0;
+            signal[i] = signalValue(cells.get(i));
+        }
 
-            value += cell.getImportance() * 2.0;
-            double normalizedLength = Math.log(cell.getLength() + 1) / 10.0;
-            value += normalizedLength;
+        return signal;
+    }
 
-            if (cell.isHeader()) {
-                value += 1.0;
-            }
+    /**
+     * 셀 하나의 신호 값: 중요도·길이·헤더 여부의 결합
+     */
+    public static double signalValue(SemanticCell cell) {
+        double value = 0.0;
 
-            signal[i] = value;
+        value += cell.getImportance() * 2.0;
+        double normalizedLength = Math.log(cell.getLength() + 1) / 10.0;
+        value += normalizedLength;
+
+        if (cell.isHeader()) {
+            value += 1.0;
         }
 
-        return signal;
+        return value;
     }
 
     public double[] calculateBandEnergy(FFTSpectrum spectrum, int numBands) {
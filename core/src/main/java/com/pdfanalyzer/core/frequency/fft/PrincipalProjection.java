@@ -0,0 +1,148 @@
+package com.pdfanalyzer.core.frequency.fft;
+
+import com.pdfanalyzer.core.semantic.model.SemanticCell;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * 임베딩 행렬의 주성분 투영
+ * 셀 임베딩(n × d)을 상위 k개 주성분 방향으로 투영하여 k개의 1차원 신호 생성
+ *
+ * 공분산 행렬(d × d)을 만들지 않고 Cv = Xᵀ(Xv)/n 을 직접 계산하는 거듭제곱법 + 수축(deflation) 사용
+ */
+final class PrincipalProjection {
+
+    private static final int POWER_ITERATIONS = 20;
+
+    private PrincipalProjection() {
+    }
+
+    /**
+     * @return [k][n] 채널별 신호 (각 채널은 평균 0, 분산 1로 표준화), 임베딩이 없으면 빈 배열
+     */
+    static double[][] project(List<SemanticCell> cells, int components) {
+        int n = cells.size();
+        int dim = embeddingDimension(cells);
+        if (n < 2 || dim == 0) {
+            return new double[0][];
+        }
+
+        // 중심화된 임베딩 행렬 (차원이 다르거나 없는 셀은 0 벡터)
+        double[][] x = new double[n][];
+        double[] mean = new double[dim];
+        for (int i = 0; i < n; i++) {
+            double[] e = cells.get(i).getEmbeddingVector();
+            x[i] = (e != null && e.length == dim) ? e.clone() : new double[dim];
+            for (int d = 0; d < dim; d++) {
+                mean[d] += x[i][d];
+            }
+        }
+        for (int d = 0; d < dim; d++) {
+            mean[d] /= n;
+        }
+        for (double[] row : x) {
+            for (int d = 0; d < dim; d++) {
+                row[d] -= mean[d];
+            }
+        }
+
+        int k = Math.min(components, Math.min(n, dim));
+        double[][] channels = new double[k][];
+        Random random = new Random(42);
+
+        for (int c = 0; c < k; c++) {
+            double[] v = new double[dim];
+            for (int d = 0; d < dim; d++) {
+                v[d] = random.nextGaussian();
+            }
+            normalize(v);
+
+            double[] scores = new double[n];
+            for (int iter = 0; iter < POWER_ITERATIONS; iter++) {
+                multiply(x, v, scores);
+                double[] next = new double[dim];
+                for (int i = 0; i < n; i++) {
+                    double s = scores[i];
+                    double[] row = x[i];
+                    for (int d = 0; d < dim; d++) {
+                        next[d] += row[d] * s;
+                    }
+                }
+                if (normalize(next) == 0.0) {
+                    break;
+                }
+                v = next;
+            }
+
+            multiply(x, v, scores);
+            channels[c] = standardize(scores);
+
+            // 수축: 찾은 주성분 방향을 행렬에서 제거
+            for (int i = 0; i < n; i++) {
+                double s = scores[i];
+                double[] row = x[i];
+                for (int d = 0; d < dim; d++) {
+                    row[d] -= s * v[d];
+                }
+            }
+        }
+
+        return channels;
+    }
+
+    private static int embeddingDimension(List<SemanticCell> cells) {
+        for (SemanticCell cell : cells) {
+            double[] e = cell.getEmbeddingVector();
+            if (e != null && e.length > 0) {
+                return e.length;
+            }
+        }
+        return 0;
+    }
+
+    private static void multiply(double[][] x, double[] v, double[] out) {
+        for (int i = 0; i < x.length; i++) {
+            double sum = 0.0;
+            double[] row = x[i];
+            for (int d = 0; d < v.length; d++) {
+                sum += row[d] * v[d];
+            }
+            out[i] = sum;
+        }
+    }
+
+    private static double normalize(double[] v) {
+        double norm = 0.0;
+        for (double value : v) {
+            norm += value * value;
+        }
+        norm = Math.sqrt(norm);
+        if (norm > 0.0) {
+            for (int d = 0; d < v.length; d++) {
+                v[d] /= norm;
+            }
+        }
+        return norm;
+    }
+
+    private static double[] standardize(double[] scores) {
+        double mean = 0.0;
+        for (double s : scores) {
+            mean += s;
+        }
+        mean /= scores.length;
+
+        double variance = 0.0;
+        for (double s : scores) {
+            variance += (s - mean) * (s - mean);
+        }
+        double std = Math.sqrt(variance / scores.length);
+
+        double[] result = new double[scores.length];
+        for (int i = 0; i < scores.length; i++) {
+            result[i] = std > 1e-12 ? (scores[i] - mean) / std : 0.0;
+        }
+        return result;
+    }
+}
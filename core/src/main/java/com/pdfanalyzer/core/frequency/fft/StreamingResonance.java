@@ -0,0 +1,164 @@
+package com.pdfanalyzer.core.frequency.fft;
+
+import com.pdfanalyzer.core.semantic.model.SemanticCell;
+import lombok.extern.slf4j.Slf4j;
+import org.jtransforms.fft.DoubleFFT_1D;
+
+import java.util.ArrayDeque;
+import java.util.function.ObjDoubleConsumer;
+
+/**
+ * 단시간 푸리에 변환(STFT) 기반 스트리밍 공명 분석기
+ * 길이 W의 슬라이딩 윈도우에 대해 Sliding DFT로 스펙트럼을 갱신
+ * X_k(n+1) = (X_k(n) - x_old + x_new) · e^{j2πk/W}
+ *
+ * 셀은 윈도우 중앙(W/2 지연)에 도달했을 때 공명 강도와 함께 방출된다.
+ * 메모리 사용량은 문서 길이와 무관하게 O(W)로 고정된다.
+ */
+@Slf4j
+public class StreamingResonance {
+
+    private final int windowSize;
+    private final int lag;
+    private final double[] multiplier;
+
+    private final double[] window;
+    private final double[] re;
+    private final double[] im;
+    private final double[] slideCos;
+    private final double[] slideSin;
+    private final double[] emitCos;
+    private final double[] emitSin;
+
+    private final ArrayDeque<SemanticCell> pending = new ArrayDeque<>();
+    private final ObjDoubleConsumer<SemanticCell> listener;
+    private final DoubleFFT_1D fft;
+
+    private int head;
+    private long pushed;
+    private long accepted;
+    private int sinceRecompute;
+    private boolean finished;
+
+    StreamingResonance(int windowSize, double[] filter, ObjDoubleConsumer<SemanticCell> listener) {
+        if (windowSize < 4) {
+            throw new IllegalArgumentException("윈도우 크기는 4 이상이어야 합니다: " + windowSize);
+        }
+
+        this.windowSize = windowSize;
+        this.lag = windowSize / 2;
+        this.listener = listener;
+        this.fft = new DoubleFFT_1D(windowSize);
+
+        this.window = new double[windowSize];
+        this.re = new double[windowSize];
+        this.im = new double[windowSize];
+        this.slideCos = new double[windowSize];
+        this.slideSin = new double[windowSize];
+        this.emitCos = new double[windowSize];
+        this.emitSin = new double[windowSize];
+        this.multiplier = new double[windowSize];
+
+        // 방출 위치: 윈도우 내에서 최신 샘플보다 lag만큼 앞선 인덱스
+        int emitIndex = windowSize - 1 - lag;
+        for (int k = 0; k < windowSize; k++) {
+            double slide = 2.0 * Math.PI * k / windowSize;
+            slideCos[k] = Math.cos(slide);
+            slideSin[k] = Math.sin(slide);
+
+            double emit = 2.0 * Math.PI * k * emitIndex / windowSize;
+            emitCos[k] = Math.cos(emit);
+            emitSin[k] = Math.sin(emit);
+
+            // 필터 계수는 FFTEngine.applyFilter 와 같이 빈 번호 그대로 적용 (filter.length 이상 빈은 1.0)
+            // 기본 필터 길이(128)와 기본 윈도우 크기가 같아 이 경우 상대 주파수 매핑과도 같다.
+            multiplier[k] = k < filter.length ? filter[k] : 1.0;
+        }
+    }
+
+    /**
+     * 셀 하나를 윈도우에 추가하고, 중앙에 도달한 셀이 있으면 방출
+     */
+    public void accept(SemanticCell cell) {
+        if (finished) {
+            throw new IllegalStateException("이미 종료된 스트림입니다");
+        }
+        pending.addLast(cell);
+        accepted++;
+        push(FFTEngine.signalValue(cell));
+    }
+
+    /**
+     * 남은 셀을 0 패딩으로 밀어내며 모두 방출
+     */
+    public void finish() {
+        if (finished) {
+            return;
+        }
+        int flushed = pending.size();
+        for (int i = 0; i < lag && !pending.isEmpty(); i++) {
+            push(0.0);
+        }
+        finished = true;
+        log.debug("스트리밍 공명 분석 종료: {} 셀 처리 (플러시 {} 셀)", accepted, flushed);
+    }
+
+    public int getWindowSize() {
+        return windowSize;
+    }
+
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    private void push(double value) {
+        double oldest = window[head];
+        window[head] = value;
+        head = (head + 1) % windowSize;
+        pushed++;
+
+        if (++sinceRecompute >= windowSize) {
+            // 누적 부동소수점 오차 제거를 위해 W번마다 전체 FFT로 재계산
+            recompute();
+            sinceRecompute = 0;
+        } else {
+            slide(value - oldest);
+        }
+
+        if (pushed > lag && !pending.isEmpty()) {
+            listener.accept(pending.pollFirst(), resonanceAtCenter());
+        }
+    }
+
+    private void slide(double delta) {
+        for (int k = 0; k < windowSize; k++) {
+            double r = re[k] + delta;
+            double i = im[k];
+            re[k] = r * slideCos[k] - i * slideSin[k];
+            im[k] = r * slideSin[k] + i * slideCos[k];
+        }
+    }
+
+    private void recompute() {
+        double[] spectrum = new double[windowSize * 2];
+        for (int j = 0; j < windowSize; j++) {
+            spectrum[j] = window[(head + j) % windowSize];
+        }
+        fft.realForwardFull(spectrum);
+        for (int k = 0; k < windowSize; k++) {
+            re[k] = spectrum[k * 2];
+            im[k] = spectrum[k * 2 + 1];
+        }
+    }
+
+    /**
+     * 필터링된 스펙트럼의 단일 지점 역변환: Re( (1/W) Σ P[k]·X[k]·e^{j2πkm/W} )
+     */
+    private double resonanceAtCenter() {
+        double sum = 0.0;
+        for (int k = 0; k < windowSize; k++) {
+            sum += multiplier[k] * (re[k] * emitCos[k] - im[k] * emitSin[k]);
+        }
+        return sum / windowSize;
+    }
+}
@@ -0,0 +1,144 @@
+package com.pdfanalyzer.core.frequency.wavelet;
+
+import com.pdfanalyzer.core.frequency.fft.FFTEngine;
+import com.pdfanalyzer.core.semantic.model.SemanticCell;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Haar 이산 웨이블릿 변환(DWT) 기반 다중 해상도 공명 엔진
+ * W = DWT(x), W'ₗ = Gₗ · Wₗ, R = IDWT(W')
+ *
+ * 레벨 l의 상세 계수는 정규화 주파수 대역 [0.5/2ˡ, 0.5/2ˡ⁻¹]에 대응하므로,
+ * ResonanceFilter 계수를 대역별 평균 이득 Gₗ로 변환하여 적용한다.
+ * FFT와 달리 각 계수의 지지 구간이 국소적이므로 한 섹션의 경계가 문서 전체로 번지지 않는다.
+ */
+@Slf4j
+@Component
+public class WaveletEngine {
+
+    private static final double INV_SQRT2 = 1.0 / Math.sqrt(2.0);
+
+    public double[] analyzeResonance(List<SemanticCell> cells, double[] filter) {
+        log.info("웨이블릿 공명 분석 시작: {} 셀", cells.size());
+
+        double[] signal = new double[cells.size()];
+        for (int i = 0; i < signal.length; i++) {
+            signal[i] = FFTEngine.signalValue(cells.get(i));
+        }
+
+        double[] resonance = analyzeSignal(signal, filter);
+        log.info("웨이블릿 공명 분석 완료");
+        return resonance;
+    }
+
+    /**
+     * 실수 신호에 대한 웨이블릿 필터링 (길이 n → 길이 n)
+     */
+    public double[] analyzeSignal(double[] signal, double[] filter) {
+        int n = signal.length;
+        if (n == 0) {
+            return new double[0];
+        }
+
+        double[] data = mirrorPad(signal);
+        int levels = Integer.numberOfTrailingZeros(data.length);
+
+        forward(data);
+
+        // 레벨 l 상세 계수: [N/2ˡ, N/2ˡ⁻¹)
+        for (int level = 1; level <= levels; level++) {
+            int from = data.length >> level;
+            int to = data.length >> (level - 1);
+            double gain = bandGain(filter, 0.5 / (1 << level), 0.5 / (1 << (level - 1)));
+            for (int i = from; i < to; i++) {
+                data[i] *= gain;
+            }
+        }
+        // 최종 근사 계수 (DC)
+        data[0] *= bandGain(filter, 0.0, 0.5 / (1 << levels));
+
+        inverse(data);
+
+        double[] result = new double[n];
+        System.arraycopy(data, 0, result, 0, n);
+        return result;
+    }
+
+    /**
+     * 다중 레벨 Haar 순변환 (제자리, 길이는 2의 거듭제곱)
+     * 결과 배치: [근사 | 상세_L | ... | 상세_2 | 상세_1]
+     */
+    void forward(double[] data) {
+        double[] tmp = new double[data.length];
+        for (int len = data.length; len >= 2; len >>= 1) {
+            int half = len >> 1;
+            for (int i = 0; i < half; i++) {
+                double a = data[2 * i];
+                double b = data[2 * i + 1];
+                tmp[i] = (a + b) * INV_SQRT2;
+                tmp[half + i] = (a - b) * INV_SQRT2;
+            }
+            System.arraycopy(tmp, 0, data, 0, len);
+        }
+    }
+
+    /**
+     * 다중 레벨 Haar 역변환 (제자리)
+     */
+    void inverse(double[] data) {
+        double[] tmp = new double[data.length];
+        for (int len = 2; len <= data.length; len <<= 1) {
+            int half = len >> 1;
+            for (int i = 0; i < half; i++) {
+                double a = data[i];
+                double d = data[half + i];
+                tmp[2 * i] = (a + d) * INV_SQRT2;
+                tmp[2 * i + 1] = (a - d) * INV_SQRT2;
+            }
+            System.arraycopy(tmp, 0, data, 0, len);
+        }
+    }
+
+    /**
+     * 2의 거듭제곱 길이로 대칭 확장 (경계 불연속으로 인한 가짜 상세 계수 방지)
+     */
+    private double[] mirrorPad(double[] signal) {
+        int n = signal.length;
+        int size = Integer.highestOneBit(n);
+        if (size < n) {
+            size <<= 1;
+        }
+
+        double[] padded = new double[size];
+        System.arraycopy(signal, 0, padded, 0, n);
+        for (int i = n; i < size; i++) {
+            int mirrored = 2 * n - 2 - i;
+            padded[i] = signal[Math.max(0, mirrored)];
+        }
+        return padded;
+    }
+
+    /**
+     * 정규화 주파수 대역 [low, high)에 해당하는 필터 계수 평균
+     * 필터 계수 인덱스 i는 주파수 i / filter.length 에 대응
+     */
+    private double bandGain(double[] filter, double low, double high) {
+        if (filter == null || filter.length == 0) {
+            return 1.0;
+        }
+
+        int from = (int) Math.floor(low * filter.length);
+        int to = Math.max(from + 1, (int) Math.ceil(high * filter.length));
+        to = Math.min(to, filter.length);
+        from = Math.min(from, to - 1);
+
+        double sum = 0.0;
+        for (int i = from; i < to; i++) {
+            sum += filter[i];
+        }
+        return sum / (to - from);
+    }
+}
@@ -23,25 +23,43 @@ public class ResultFormatter {
             Map<String, List<LLMAdapter.KeywordLocation>> keywordLocations,
             StructureValidator.ValidationResult validation) {
 
+        return formatResult(fileName, cells.size(),
+                new LLMAdapter.SummaryAndKeywords(summary, keywords, keywordLocations),
+                validation, formatStatistics(cells), formatKeySections(cells));
+    }
+
+    /**
+     * 미리 계산된 부분 결과를 조립
+     * 통계·핵심 섹션은 LLM 호출과 병렬로 계산한 뒤 마지막에 요약과 합친다.
+     */
+    public Map<String, Object> formatResult(
+            String fileName,
+            int totalCells,
+            LLMAdapter.SummaryAndKeywords summaryAndKeywords,
+            StructureValidator.ValidationResult validation,
+            Map<String, Object> statistics,
+            List<Map<String, Object>> keySections) {
+
         Map<String, Object> result = new HashMap<>();
 
         // 분석 ID 생성 (타임스탬프 기반)
         String analysisId = String.valueOf(System.currentTimeMillis());
         result.put("analysisId", analysisId);
         result.put("fileName", fileName);
-        result.put("totalCells", cells.size());
-        result.put("summary", summary);
-        result.put("keywords", keywords);
-        result.put("keywordLocations", keywordLocations);
-        result.put("statistics", formatStatistics(cells));
+        result.put("totalCells", totalCells);
+        result.put("summary", summaryAndKeywords.summary);
+        result.put("keywords", summaryAndKeywords.keywords);
+        result.put("keywordLocations", summaryAndKeywords.keywordLocations);
+        result.put("promptTokens", summaryAndKeywords.promptTokens);
+        result.put("statistics", statistics);
         result.put("validation", formatValidation(validation));
-        result.put("keySections", formatKeySections(cells));
+        result.put("keySections", keySections);
         result.put("success", true);
 
         return result;
     }
 
-    private Map<String, Object> formatStatistics(List<SemanticCell> cells) {
+    public Map<String, Object> formatStatistics(List<SemanticCell> cells) {
         Map<String, Object> stats = new HashMap<>();
 
         Map<String, Long> types = cells.stream()
@@ -74,7 +92,7 @@ public class ResultFormatter {
         return stats;
     }
 
-    private Map<String, Object> formatValidation(StructureValidator.ValidationResult validation) {
+    public Map<String, Object> formatValidation(StructureValidator.ValidationResult validation) {
         Map<String, Object> val = new HashMap<>();
         val.put("isValid", validation.isValid());
         val.put("errors", validation.getErrors());
@@ -82,7 +100,7 @@ public class ResultFormatter {
         return val;
     }
 
-    private List<Map<String, Object>> formatKeySections(List<SemanticCell> cells) {
+    public List<Map<String, Object>> formatKeySections(List<SemanticCell> cells) {
         return cells.stream()
                 .filter(c -> c.getStructuralScore() > 0.7)
                 .limit(10)
@@ -0,0 +1,262 @@
+package com.pdfanalyzer.core.integration.llm;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pdfanalyzer.core.integration.llm.provider.LlmRequest;
+import com.pdfanalyzer.core.integration.llm.provider.LlmRouter;
+import com.pdfanalyzer.core.semantic.model.SemanticCell;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 짧은 문서 여러 개를 한 번의 LLM 호출로 요약 (대량 수집용)
+ *
+ * 1. document-tokens 이하인 문서만 대상으로, 입력 순서대로 batch-tokens·max-documents 까지 한 배치에 담음
+ * 2. 배치마다 문서별 ID(d1, d2 ...)를 붙인 프롬프트로 한 번 호출하고, JSON 배열 응답을 ID 로 나눔
+ * 3. 배치 호출이 실패하거나 응답에서 빠진 문서는 결과에 넣지 않음 (호출 측이 문서별로 다시 처리)
+ *
+ * 문서마다 왕복하던 호출이 배치 수만큼으로 줄어든다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BulkSummarizer {
+
+    private final LlmRouter llmRouter;
+
+    @Value("${llm.bulk.batch-tokens:6000}")
+    private int batchTokens; // 지시문 포함 배치 프롬프트 예산
+
+    @Value("${llm.bulk.max-documents:10}")
+    private int maxDocuments; // 배치당 최대 문서 수 (응답 길이 한도 고려)
+
+    @Value("${llm.bulk.document-tokens:1200}")
+    private int documentTokens; // 이보다 긴 문서는 배치하지 않고 단일 호출
+
+    @Value("${llm.bulk.max-concurrency:4}")
+    private int maxConcurrency;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final AtomicLong batchCount = new AtomicLong();
+    private final AtomicLong batchedDocuments = new AtomicLong();
+    private final AtomicLong failedBatches = new AtomicLong();
+    private final AtomicLong missingDocuments = new AtomicLong();
+
+    /**
+     * 배치에 넣을 수 있는 짧은 문서인지
+     */
+    public boolean fits(List<SemanticCell> cells) {
+        return TokenEstimator.estimate(documentText(cells)) <= documentTokens;
+    }
+
+    /**
+     * 문서 묶음 요약 (문서 ID → 결과, 실패하거나 응답에 없는 문서는 빠짐, 예외 완료 없음)
+     * 결과의 promptTokens 는 배치 프롬프트 토큰을 문서 수로 나눈 값이다.
+     */
+    public CompletableFuture<Map<String, LLMAdapter.SummaryAndKeywords>> summarizeAsync(
+            Map<String, List<SemanticCell>> documents) {
+        List<List<String>> batches = pack(documents);
+        log.info("📦 일괄 요약 시작: {} 문서 → {} 배치 (동시 호출 {})", documents.size(), batches.size(), maxConcurrency);
+        long start = System.currentTimeMillis();
+
+        Semaphore permits = new Semaphore(maxConcurrency);
+        List<CompletableFuture<Map<String, LLMAdapter.SummaryAndKeywords>>> calls = new ArrayList<>(batches.size());
+        for (List<String> batch : batches) {
+            calls.add(CompletableFuture.supplyAsync(() -> callBatch(batch, documents, permits), executor));
+        }
+
+        return CompletableFuture.allOf(calls.toArray(new CompletableFuture[0]))
+                .thenApply(done -> {
+                    Map<String, LLMAdapter.SummaryAndKeywords> results = new HashMap<>();
+                    calls.forEach(call -> results.putAll(call.join()));
+                    log.info("일괄 요약 완료: {}/{} 문서, {} 배치, {}ms",
+                            results.size(), documents.size(), batches.size(), System.currentTimeMillis() - start);
+                    return results;
+                });
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("batches", batchCount.get());
+        stats.put("batchedDocuments", batchedDocuments.get());
+        stats.put("failedBatches", failedBatches.get());
+        stats.put("missingDocuments", missingDocuments.get());
+        return stats;
+    }
+
+    /**
+     * 입력 순서대로 토큰·문서 수 한도까지 채워 배치 구성
+     */
+    List<List<String>> pack(Map<String, List<SemanticCell>> documents) {
+        int budget = Math.max(documentTokens, batchTokens - TokenEstimator.estimate(buildInstructions(maxDocuments)));
+
+        List<List<String>> batches = new ArrayList<>();
+        List<String> current = new ArrayList<>();
+        int tokens = 0;
+        for (Map.Entry<String, List<SemanticCell>> document : documents.entrySet()) {
+            int size = TokenEstimator.estimate(documentText(document.getValue()));
+            if (!current.isEmpty() && (current.size() >= maxDocuments || tokens + size > budget)) {
+                batches.add(current);
+                current = new ArrayList<>();
+                tokens = 0;
+            }
+            current.add(document.getKey());
+            tokens += size;
+        }
+        if (!current.isEmpty()) {
+            batches.add(current);
+        }
+        return batches;
+    }
+
+    private Map<String, LLMAdapter.SummaryAndKeywords> callBatch(List<String> batch,
+                                                                 Map<String, List<SemanticCell>> documents,
+                                                                 Semaphore permits) {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Map.of();
+        }
+        try {
+            String prompt = buildPrompt(batch, documents);
+            List<SemanticCell> cells = new ArrayList<>();
+            batch.forEach(id -> cells.addAll(documents.get(id)));
+            batchCount.incrementAndGet();
+            batchedDocuments.addAndGet(batch.size());
+
+            // 로컬 발췌 제공자는 배열 형식으로 답하지 못하므로 원격 제공자만 사용
+            String response = llmRouter.generate(new LlmRequest(prompt, cells), false).join().getText();
+            Map<String, LLMAdapter.SummaryAndKeywords> results =
+                    parseResponse(response, batch, TokenEstimator.estimate(prompt) / batch.size());
+            if (results.size() < batch.size()) {
+                missingDocuments.addAndGet(batch.size() - results.size());
+                log.warn("일괄 요약 응답에서 {} 문서가 빠짐 - 해당 문서는 단일 호출로 처리", batch.size() - results.size());
+            }
+            return results;
+        } catch (Exception e) {
+            failedBatches.incrementAndGet();
+            log.warn("일괄 요약 배치 실패 ({} 문서): {}", batch.size(), e.getMessage());
+            return Map.of();
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * JSON 배열 응답을 배치 내 ID 로 나눔 (요약이 비어 있거나 모르는 ID 는 무시)
+     */
+    Map<String, LLMAdapter.SummaryAndKeywords> parseResponse(String response, List<String> batch, int promptTokens) {
+        Map<String, LLMAdapter.SummaryAndKeywords> results = new LinkedHashMap<>();
+        if (response == null) {
+            return results;
+        }
+
+        String json = response.replaceAll("```json\\s*", "").replaceAll("```\\s*", "").trim();
+        int open = json.indexOf('[');
+        int close = json.lastIndexOf(']');
+        if (open == -1 || close <= open) {
+            return results;
+        }
+
+        try {
+            for (JsonNode node : objectMapper.readTree(json.substring(open, close + 1))) {
+                String id = node.path("id").asText("");
+                int index = id.startsWith("d") ? parseIndex(id.substring(1)) : -1;
+                String summary = node.path("summary").asText("").trim();
+                if (index < 0 || index >= batch.size() || summary.isEmpty()) {
+                    continue;
+                }
+                List<String> keywords = new ArrayList<>();
+                node.path("keywords").forEach(keyword -> {
+                    String text = keyword.asText("").trim();
+                    if (!text.isEmpty() && keywords.size() < 10) {
+                        keywords.add(text);
+                    }
+                });
+                results.putIfAbsent(batch.get(index),
+                        new LLMAdapter.SummaryAndKeywords(summary, keywords, new HashMap<>(), promptTokens));
+            }
+        } catch (Exception e) {
+            log.warn("일괄 요약 응답 파싱 실패: {}", e.getMessage());
+        }
+        return results;
+    }
+
+    private String buildPrompt(List<String> batch, Map<String, List<SemanticCell>> documents) {
+        StringBuilder sb = new StringBuilder(buildInstructions(batch.size()));
+        for (int i = 0; i < batch.size(); i++) {
+            sb.append("<document id=\"d").append(i + 1).append("\">\n");
+            sb.append(TokenEstimator.truncate(documentText(documents.get(batch.get(i))), documentTokens));
+            sb.append("\n</document>\n\n");
+        }
+        return sb.toString();
+    }
+
+    private String buildInstructions(int documentCount) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("다음 ").append(documentCount).append("개 문서를 각각 독립적으로 분석하여 JSON 배열로 응답해주세요.\n\n");
+        sb.append("요구사항:\n");
+        sb.append("1. 문서마다 핵심 내용을 3-5문장으로 요약 (summary)\n");
+        sb.append("   - 구체적인 수치, 날짜, 인명, 조직명이 있으면 포함\n");
+        sb.append("2. 문서마다 핵심 키워드 5-10개 추출 (keywords 배열)\n");
+        sb.append("3. 다른 문서의 내용을 섞지 말 것\n");
+        sb.append("4. id 는 <document id=\"...\"> 의 값을 그대로 사용하고, 모든 문서에 대해 하나씩 응답할 것\n\n");
+        sb.append("응답 형식 (JSON 배열만 반환, 다른 텍스트 없이):\n");
+        sb.append("[\n");
+        sb.append("  {\"id\": \"d1\", \"summary\": \"요약...\", \"keywords\": [\"키워드1\", \"키워드2\", ...]},\n");
+        sb.append("  ...\n");
+        sb.append("]\n\n");
+        sb.append("문서 목록:\n\n");
+        return sb.toString();
+    }
+
+    /**
+     * 문서 본문 (헤더는 ## 로 표시)
+     */
+    private static String documentText(List<SemanticCell> cells) {
+        StringBuilder sb = new StringBuilder();
+        for (SemanticCell cell : cells) {
+            if (cell.getContent() == null || cell.getContent().isBlank()) {
+                continue;
+            }
+            if (sb.length() > 0) {
+                sb.append('\n');
+            }
+            if (cell.isHeader()) {
+                sb.append("## ");
+            }
+            sb.append(cell.getContent().trim());
+        }
+        return sb.toString();
+    }
+
+    private static int parseIndex(String number) {
+        try {
+            return Integer.parseInt(number) - 1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    @PreDestroy
+    public void cleanup() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,326 @@
+package com.pdfanalyzer.core.integration.llm;
+
+import com.pdfanalyzer.core.semantic.model.SemanticCell;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * 로컬 발췌 요약기 (TextRank 방식 문장 그래프, 네트워크 호출 없음)
+ *
+ * 1. 본문 셀을 문장으로 나누고, 후보가 많으면 구조 점수 상위 셀의 문장만 남김
+ * 2. 문장 간 유사도 그래프: 서로 다른 셀의 문장은 셀 임베딩 코사인, 같은 셀이거나 임베딩이 없으면 어휘 중첩
+ *    (어휘 중첩 = 공통 특징 수 / (log|A| + log|B|), 한글은 음절 바이그램, 그 외는 단어)
+ * 3. PageRank 반복으로 문장 점수 계산 후 구조 점수로 가중
+ * 4. 유사 문장을 건너뛰며 상위 문장을 골라 문서 순서대로 출력
+ *
+ * 전체 과정은 budget-ms 안에서 끝나야 하며, 시간을 넘기면 그 시점까지의 점수
+ * (그래프를 만들지 못했으면 구조 점수)로 바로 문장을 고른다.
+ */
+@Slf4j
+@Component
+public class ExtractiveSummarizer {
+
+    private static final Pattern SENTENCE_BREAK = Pattern.compile("(?<=[.!?。])\\s+|\\n+");
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    @Value("${llm.extractive.budget-ms:80}")
+    private long budgetMs; // 요약 전체 시간 한도
+
+    @Value("${llm.extractive.max-candidates:300}")
+    private int maxCandidates; // 그래프에 넣을 최대 문장 수 (유사도 계산은 제곱에 비례)
+
+    @Value("${llm.extractive.summary-sentences:8}")
+    private int summarySentences;
+
+    @Value("${llm.extractive.min-sentence-chars:20}")
+    private int minSentenceChars;
+
+    @Value("${llm.extractive.damping:0.85}")
+    private double damping;
+
+    @Value("${llm.extractive.max-iterations:30}")
+    private int maxIterations;
+
+    @Value("${llm.extractive.structural-weight:0.5}")
+    private double structuralWeight; // 문장 점수 = rank × (1 + w × 셀 구조 점수)
+
+    @Value("${llm.extractive.redundancy-overlap:0.6}")
+    private double redundancyOverlap; // 이미 고른 문장과 특징이 이 비율 이상 겹치면 건너뜀
+
+    /**
+     * 발췌 요약 생성 (문장이 없으면 빈 텍스트)
+     */
+    public Summary summarize(List<SemanticCell> cells) {
+        long start = System.nanoTime();
+        long deadline = start + budgetMs * 1_000_000L;
+
+        List<Sentence> sentences = candidates(cells);
+        if (sentences.isEmpty()) {
+            return new Summary("", 0, 0, elapsedMs(start), false);
+        }
+
+        int n = sentences.size();
+        double[][] weights = new double[n][];
+        boolean degraded = false;
+        for (int i = 0; i < n && !degraded; i++) {
+            weights[i] = new double[n];
+            for (int j = 0; j < i; j++) {
+                double similarity = similarity(sentences.get(i), sentences.get(j));
+                weights[i][j] = similarity;
+                weights[j][i] = similarity;
+            }
+            degraded = System.nanoTime() > deadline;
+        }
+
+        double[] rank;
+        if (degraded) {
+            // 그래프를 다 만들지 못함: 구조 점수만으로 선택
+            rank = new double[n];
+            Arrays.fill(rank, 1.0);
+        } else {
+            rank = pageRank(weights, deadline);
+            degraded = System.nanoTime() > deadline;
+        }
+
+        for (int i = 0; i < n; i++) {
+            Sentence sentence = sentences.get(i);
+            sentence.score = rank[i] * (1 + structuralWeight * sentence.cell.getStructuralScore());
+        }
+        List<Sentence> selected = select(sentences);
+
+        StringBuilder text = new StringBuilder();
+        for (Sentence sentence : selected) {
+            if (text.length() > 0) {
+                text.append('\n');
+            }
+            text.append(sentence.text);
+        }
+
+        Summary summary = new Summary(text.toString(), selected.size(), n, elapsedMs(start), degraded);
+        log.info("📝 발췌 요약: 후보 {} 문장 → {} 문장, {}ms{}", n, selected.size(), summary.getElapsedMs(),
+                degraded ? " (시간 한도 초과, 부분 점수 사용)" : "");
+        return summary;
+    }
+
+    /**
+     * 본문 셀의 문장 후보 (후보가 너무 많으면 구조 점수 상위 셀부터 채움)
+     */
+    private List<Sentence> candidates(List<SemanticCell> cells) {
+        List<Integer> order = new ArrayList<>();
+        for (int i = 0; i < cells.size(); i++) {
+            if (!cells.get(i).isHeader() && cells.get(i).getContent() != null) {
+                order.add(i);
+            }
+        }
+        order.sort(Comparator.comparingDouble((Integer i) -> -cells.get(i).getStructuralScore()).thenComparingInt(i -> i));
+
+        Map<String, Integer> featureIds = new HashMap<>();
+        List<Sentence> sentences = new ArrayList<>();
+        outer:
+        for (int cellIndex : order) {
+            SemanticCell cell = cells.get(cellIndex);
+            int offset = 0;
+            for (String raw : SENTENCE_BREAK.split(cell.getContent())) {
+                String text = raw.trim();
+                if (text.length() < minSentenceChars) {
+                    continue;
+                }
+                sentences.add(new Sentence(cell, cellIndex, offset++, text, features(text, featureIds)));
+                if (sentences.size() >= maxCandidates) {
+                    break outer;
+                }
+            }
+        }
+        return sentences;
+    }
+
+    private double[] pageRank(double[][] weights, long deadline) {
+        int n = weights.length;
+        double[] outWeight = new double[n];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                outWeight[i] += weights[i][j];
+            }
+        }
+
+        double[] rank = new double[n];
+        Arrays.fill(rank, 1.0);
+        double[] next = new double[n];
+        for (int iteration = 0; iteration < maxIterations && System.nanoTime() < deadline; iteration++) {
+            double delta = 0.0;
+            for (int i = 0; i < n; i++) {
+                double sum = 0.0;
+                for (int j = 0; j < n; j++) {
+                    if (weights[j][i] > 0 && outWeight[j] > 0) {
+                        sum += weights[j][i] / outWeight[j] * rank[j];
+                    }
+                }
+                next[i] = (1 - damping) + damping * sum;
+                delta += Math.abs(next[i] - rank[i]);
+            }
+            double[] swap = rank;
+            rank = next;
+            next = swap;
+            if (delta < 1e-4 * n) {
+                break;
+            }
+        }
+        return rank;
+    }
+
+    /**
+     * 점수 순으로 고르되 이미 고른 문장과 겹치는 문장은 건너뛰고, 문서 순서로 정렬
+     */
+    private List<Sentence> select(List<Sentence> sentences) {
+        Integer[] byScore = new Integer[sentences.size()];
+        for (int i = 0; i < byScore.length; i++) {
+            byScore[i] = i;
+        }
+        Arrays.sort(byScore, Comparator.comparingDouble((Integer i) -> -sentences.get(i).score));
+
+        List<Integer> picked = new ArrayList<>();
+        for (int candidate : byScore) {
+            if (picked.size() >= summarySentences) {
+                break;
+            }
+            boolean redundant = false;
+            int[] features = sentences.get(candidate).features;
+            for (int chosen : picked) {
+                int[] chosenFeatures = sentences.get(chosen).features;
+                int smaller = Math.min(features.length, chosenFeatures.length);
+                if (smaller > 0 && (double) common(features, chosenFeatures) / smaller >= redundancyOverlap) {
+                    redundant = true;
+                    break;
+                }
+            }
+            if (!redundant) {
+                picked.add(candidate);
+            }
+        }
+
+        List<Sentence> selected = new ArrayList<>();
+        for (int index : picked) {
+            selected.add(sentences.get(index));
+        }
+        selected.sort(Comparator.comparingInt((Sentence s) -> s.cellIndex).thenComparingInt(s -> s.offset));
+        return selected;
+    }
+
+    private static double similarity(Sentence a, Sentence b) {
+        double[] ea = a.cell.getEmbeddingVector();
+        double[] eb = b.cell.getEmbeddingVector();
+        if (a.cell != b.cell && ea != null && eb != null && ea.length == eb.length && ea.length > 0) {
+            return Math.max(0.0, cosine(ea, eb));
+        }
+        return lexicalSimilarity(a.features, b.features);
+    }
+
+    private static double cosine(double[] a, double[] b) {
+        double dot = 0.0, normA = 0.0, normB = 0.0;
+        for (int i = 0; i < a.length; i++) {
+            dot += a[i] * b[i];
+            normA += a[i] * a[i];
+            normB += b[i] * b[i];
+        }
+        return normA > 0 && normB > 0 ? dot / Math.sqrt(normA * normB) : 0.0;
+    }
+
+    /**
+     * TextRank 문장 유사도: 공통 특징 수 / (log|A| + log|B|), 특징 ID 는 정렬된 배열
+     */
+    private static double lexicalSimilarity(int[] a, int[] b) {
+        if (a.length < 2 || b.length < 2) {
+            return 0.0;
+        }
+        return common(a, b) / (Math.log(a.length) + Math.log(b.length));
+    }
+
+    private static int common(int[] a, int[] b) {
+        int common = 0;
+        int i = 0, j = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] == b[j]) {
+                common++;
+                i++;
+                j++;
+            } else if (a[i] < b[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return common;
+    }
+
+    /**
+     * 문장 특징: 한글 단어는 음절 바이그램 (조사·어미가 달라도 겹치도록), 그 외 단어는 소문자 단어
+     */
+    private static int[] features(String text, Map<String, Integer> featureIds) {
+        List<Integer> ids = new ArrayList<>();
+        for (String word : NON_WORD.split(text.toLowerCase())) {
+            if (word.length() < 2) {
+                continue;
+            }
+            if (isHangul(word.charAt(0))) {
+                for (int k = 0; k + 1 < word.length(); k++) {
+                    ids.add(featureIds.computeIfAbsent(word.substring(k, k + 2), f -> featureIds.size()));
+                }
+            } else {
+                ids.add(featureIds.computeIfAbsent(word, f -> featureIds.size()));
+            }
+        }
+        return ids.stream().mapToInt(Integer::intValue).sorted().distinct().toArray();
+    }
+
+    private static boolean isHangul(char c) {
+        return c >= '가' && c <= '힣';
+    }
+
+    private static long elapsedMs(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+
+    private static class Sentence {
+        private final SemanticCell cell;
+        private final int cellIndex;
+        private final int offset; // 셀 안에서의 문장 순서
+        private final String text;
+        private final int[] features;
+        private double score;
+
+        private Sentence(SemanticCell cell, int cellIndex, int offset, String text, int[] features) {
+            this.cell = cell;
+            this.cellIndex = cellIndex;
+            this.offset = offset;
+            this.text = text;
+            this.features = features;
+        }
+    }
+
+    @Getter
+    public static class Summary {
+        private final String text;
+        private final int sentenceCount;
+        private final int candidateCount;
+        private final long elapsedMs;
+        private final boolean degraded; // 시간 한도를 넘겨 부분 점수로 선택했는지
+
+        public Summary(String text, int sentenceCount, int candidateCount, long elapsedMs, boolean degraded) {
+            this.text = text;
+            this.sentenceCount = sentenceCount;
+            this.candidateCount = candidateCount;
+            this.elapsedMs = elapsedMs;
+            this.degraded = degraded;
+        }
+    }
+}
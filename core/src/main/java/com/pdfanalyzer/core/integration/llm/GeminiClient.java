@@ -0,0 +1,268 @@
+package com.pdfanalyzer.core.integration.llm;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Gemini generateContent 비동기 HTTP 클라이언트
+ * java.net.http.HttpClient (HTTP/2, 연결 재사용) + 가상 스레드 실행기
+ *
+ * 요청 스레드는 응답을 기다리며 점유되지 않으므로, 동시 호출 수는
+ * 서버 스레드 풀이 아니라 Gemini 쿼터에 의해 제한된다.
+ */
+@Slf4j
+@Component
+public class GeminiClient {
+
+    /** ResilienceGuard 대상 이름 */
+    public static final String TARGET_NAME = "gemini";
+
+    @Value("${gemini.api.key:}")
+    private String apiKey;
+
+    @Value("${gemini.model:gemini-pro}")
+    private String modelName;
+
+    @Value("${gemini.api.base-url:https://generativelanguage.googleapis.com/v1beta/models/}")
+    private String baseUrl;
+
+    @Value("${gemini.http.connect-timeout-ms:5000}")
+    private long connectTimeoutMs;
+
+    @Value("${gemini.http.read-timeout-ms:60000}")
+    private long readTimeoutMs;
+
+    @Value("${gemini.http.stream-idle-timeout-ms:30000}")
+    private long streamIdleTimeoutMs; // 스트리밍 본문에서 다음 줄을 기다리는 한도 (read-timeout 은 헤더까지만 적용)
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private ExecutorService executor;
+    private HttpClient httpClient;
+
+    @PostConstruct
+    public void initialize() {
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .executor(executor)
+                .build();
+        log.info("Gemini HTTP 클라이언트 초기화 - 모델: {}, 연결 타임아웃: {}ms, 응답 타임아웃: {}ms",
+                modelName, connectTimeoutMs, readTimeoutMs);
+    }
+
+    public boolean isConfigured() {
+        return apiKey != null && !apiKey.isEmpty();
+    }
+
+    public String getModelName() {
+        return modelName;
+    }
+
+    /**
+     * 프롬프트 한 건을 비동기로 전송하고 응답 텍스트를 반환
+     * HTTP 오류·타임아웃은 LlmApiException 으로 예외 완료된다.
+     */
+    public CompletableFuture<String> generateAsync(String prompt) {
+        HttpRequest request;
+        try {
+            request = buildRequest(":generateContent", prompt);
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(new LlmApiException(LlmApiException.REQUEST_INVALID, "요청 생성 실패: " + e.getMessage(), e));
+        }
+
+        log.info("📤 Gemini API 요청 전송 - 모델: {}, 프롬프트 길이: {} 문자", modelName, prompt.length());
+        long startTime = System.currentTimeMillis();
+
+        CompletableFuture<HttpResponse<String>> exchange =
+                httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+        CompletableFuture<String> result = detach(exchange
+                .handle((response, error) -> {
+                    long duration = System.currentTimeMillis() - startTime;
+                    if (error != null) {
+                        throw new LlmApiException(-1, "Gemini API 호출 실패 (" + duration + "ms): " + error.getMessage(), error);
+                    }
+
+                    log.info("📥 Gemini API 응답 수신 - 상태: {}, 소요시간: {}ms, {}",
+                            response.statusCode(), duration, response.version());
+                    if (response.statusCode() != 200) {
+                        throw new LlmApiException(response.statusCode(),
+                                "Gemini API 오류 응답: " + response.statusCode() + ", 본문: " + response.body(), null);
+                    }
+                    return extractText(response.body());
+                }));
+
+        // 호출자가 취소하면 (헤징에서 진 요청 등) 진행 중인 HTTP 교환도 중단
+        result.whenComplete((text, error) -> {
+            if (result.isCancelled()) {
+                exchange.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * streamGenerateContent (SSE) 로 전송하고, 생성되는 텍스트 조각을 onDelta 로 전달
+     * 완료 값은 조각을 이어 붙인 전체 텍스트이며, 취소하면 응답 스트림을 닫는다.
+     * 본문이 stream-idle-timeout 동안 멈추면 LlmApiException(-1) 로 완료하고 연결을 끊는다.
+     */
+    public CompletableFuture<String> streamAsync(String prompt, Consumer<String> onDelta) {
+        HttpRequest request;
+        try {
+            request = buildRequest(":streamGenerateContent?alt=sse", prompt);
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(new LlmApiException(LlmApiException.REQUEST_INVALID, "요청 생성 실패: " + e.getMessage(), e));
+        }
+
+        log.info("📤 Gemini 스트리밍 요청 전송 - 모델: {}, 프롬프트 길이: {} 문자", modelName, prompt.length());
+        long startTime = System.currentTimeMillis();
+        AtomicReference<Stream<String>> body = new AtomicReference<>();
+        StreamIdleTimeout idle = new StreamIdleTimeout(streamIdleTimeoutMs, "Gemini");
+
+        CompletableFuture<HttpResponse<Stream<String>>> exchange =
+                httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofLines());
+        // 본문은 줄 단위로 블로킹 읽기이므로 가상 스레드 실행기에서 소비
+        CompletableFuture<String> result = detach(exchange.handleAsync((response, error) -> {
+            if (error != null) {
+                throw new LlmApiException(-1, "Gemini 스트리밍 호출 실패: " + error.getMessage(), error);
+            }
+            try (Stream<String> lines = response.body()) {
+                body.set(lines);
+                idle.touch();
+                if (response.statusCode() != 200) {
+                    throw new LlmApiException(response.statusCode(), "Gemini API 오류 응답: " + response.statusCode()
+                            + ", 본문: " + lines.collect(Collectors.joining("\n")), null);
+                }
+
+                // SSE 이벤트는 빈 줄로 끝나며, 한 이벤트의 JSON 이 여러 data: 줄에 나뉘어 올 수 있음 (줄바꿈으로 이어 붙임)
+                StringBuilder text = new StringBuilder();
+                StringBuilder data = new StringBuilder();
+                long firstDeltaAt = 0;
+                Iterator<String> iterator = lines.iterator();
+                while (true) {
+                    String line = iterator.hasNext() ? iterator.next() : null;
+                    idle.touch();
+                    if (line == null || line.isEmpty()) {
+                        if (data.length() > 0) {
+                            String delta = extractText(data.toString());
+                            data.setLength(0);
+                            if (!delta.isEmpty()) {
+                                if (firstDeltaAt == 0) {
+                                    firstDeltaAt = System.currentTimeMillis();
+                                }
+                                text.append(delta);
+                                onDelta.accept(delta);
+                            }
+                        }
+                        if (line == null) {
+                            break;
+                        }
+                    } else if (line.startsWith("data:")) {
+                        if (data.length() > 0) {
+                            data.append('\n');
+                        }
+                        data.append(line, line.startsWith("data: ") ? 6 : 5, line.length());
+                    }
+                }
+                log.info("📥 Gemini 스트리밍 완료 - 첫 조각: {}ms, 전체: {}ms, {} 문자",
+                        firstDeltaAt == 0 ? -1 : firstDeltaAt - startTime,
+                        System.currentTimeMillis() - startTime, text.length());
+                return text.toString();
+            } catch (LlmApiException e) {
+                throw e;
+            } catch (RuntimeException e) {
+                throw new LlmApiException(-1, "Gemini 스트리밍 중단: " + e.getMessage(), e);
+            }
+        }, executor));
+
+        Runnable abort = () -> {
+            exchange.cancel(true);
+            Stream<String> lines = body.get();
+            if (lines != null) {
+                lines.close();
+            }
+        };
+        idle.watch(result, abort);
+        result.whenComplete((text, error) -> {
+            if (result.isCancelled()) {
+                abort.run();
+            }
+        });
+        return result;
+    }
+
+    /**
+     * HTTP 교환과 분리된 결과 future
+     * JDK 클라이언트의 의존 future 는 cancel() 을 교환 쪽으로 먼저 전파하므로, 취소가 호출 실패(예외 완료)로
+     * 바뀌어 회로 차단기에 실패로 집계될 수 있다. 취소는 이 future 에서 확정한 뒤 교환에 따로 전달한다.
+     */
+    private static CompletableFuture<String> detach(CompletableFuture<String> stage) {
+        CompletableFuture<String> result = new CompletableFuture<>();
+        stage.whenComplete((text, error) -> {
+            if (error != null) {
+                result.completeExceptionally(error);
+            } else {
+                result.complete(text);
+            }
+        });
+        return result;
+    }
+
+    private HttpRequest buildRequest(String method, String prompt) throws Exception {
+        return HttpRequest.newBuilder(URI.create(baseUrl + modelName + method))
+                .timeout(Duration.ofMillis(readTimeoutMs))
+                .header("Content-Type", "application/json")
+                .header("x-goog-api-key", apiKey)
+                .POST(HttpRequest.BodyPublishers.ofString(buildRequestBody(prompt), StandardCharsets.UTF_8))
+                .build();
+    }
+
+    private String buildRequestBody(String prompt) throws Exception {
+        Map<String, Object> body = Map.of(
+                "contents", List.of(Map.of("parts", List.of(Map.of("text", prompt)))));
+        return objectMapper.writeValueAsString(body);
+    }
+
+    /**
+     * candidates[0].content.parts[0].text 추출 (없으면 빈 문자열)
+     */
+    private String extractText(String body) {
+        try {
+            JsonNode text = objectMapper.readTree(body)
+                    .path("candidates").path(0).path("content").path("parts").path(0).path("text");
+            return text.isTextual() ? text.asText() : "";
+        } catch (Exception e) {
+            log.error("Gemini 응답 파싱 중 오류", e);
+            return "";
+        }
+    }
+
+    @PreDestroy
+    public void cleanup() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package com.pdfanalyzer.core.integration.llm;
+
+import com.pdfanalyzer.core.semantic.model.SemanticCell;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * 키워드 위치 탐색 (Aho-Corasick 다중 패턴 매칭)
+ *
+ * 키워드 전체로 오토마톤을 한 번 만들고, 셀마다 소문자 변환한 본문을 한 번만 훑어 모든 키워드의 출현 횟수를 센다.
+ * 출현 횟수는 소문자 본문에서 indexOf 를 소문자 키워드 길이만큼 건너뛰며 반복하는 방식(겹치지 않는 출현)과 같고,
+ * 키워드별 상위 결과는 크기 제한 힙으로 유지한다 (관련도 내림차순, 같으면 앞쪽 셀 우선).
+ */
+final class KeywordLocator {
+
+    static final int MAX_LOCATIONS = 5;
+    static final int PREVIEW_LENGTH = 300;
+
+    private final List<String> keywords;
+    private final int[] steps;            // 키워드별 다음 출현 탐색 간격 (소문자 키워드 길이, 원본과 다를 수 있음)
+    private final int[] patternLengths;   // 패턴(소문자 키워드)별 길이
+    private final int[][] patternKeywords; // 패턴별 해당 키워드 인덱스 (대소문자만 다른 키워드는 패턴 공유)
+
+    // 트라이 노드 (배열 기반)
+    private char[][] edgeChars;
+    private int[][] edgeTargets;
+    private int[] failure;
+    private int[][] outputs; // 노드에서 끝나는 패턴 (접미 링크로 이어진 패턴 포함)
+
+    KeywordLocator(List<String> keywords) {
+        this.keywords = keywords;
+        this.steps = new int[keywords.size()];
+
+        Map<String, List<Integer>> byPattern = new LinkedHashMap<>();
+        for (int k = 0; k < keywords.size(); k++) {
+            String pattern = keywords.get(k).toLowerCase();
+            steps[k] = pattern.length(); // 매칭은 소문자 본문에서 하므로 건너뛸 간격도 소문자 기준
+            if (!pattern.isEmpty()) {
+                byPattern.computeIfAbsent(pattern, p -> new ArrayList<>()).add(k);
+            }
+        }
+
+        List<String> patterns = new ArrayList<>(byPattern.keySet());
+        patternLengths = new int[patterns.size()];
+        patternKeywords = new int[patterns.size()][];
+        for (int p = 0; p < patterns.size(); p++) {
+            patternLengths[p] = patterns.get(p).length();
+            patternKeywords[p] = byPattern.get(patterns.get(p)).stream().mapToInt(Integer::intValue).toArray();
+        }
+        build(patterns);
+    }
+
+    /**
+     * 키워드별 상위 위치 (키워드 → 관련도 순 최대 5개, 출현하지 않으면 빈 목록)
+     */
+    Map<String, List<LLMAdapter.KeywordLocation>> locate(List<SemanticCell> cells) {
+        int keywordCount = keywords.size();
+        List<PriorityQueue<Candidate>> heaps = new ArrayList<>(keywordCount);
+        for (int k = 0; k < keywordCount; k++) {
+            heaps.add(new PriorityQueue<>(MAX_LOCATIONS + 1, Candidate.WORST_FIRST));
+        }
+
+        int[] counts = new int[keywordCount];
+        int[] nextAllowed = new int[keywordCount];
+        int[] touched = new int[keywordCount];
+
+        for (int i = 0; i < cells.size(); i++) {
+            SemanticCell cell = cells.get(i);
+            String text = cell.getContent().toLowerCase();
+            int touchedCount = 0;
+
+            int state = 0;
+            for (int pos = 0; pos < text.length(); pos++) {
+                state = next(state, text.charAt(pos));
+                for (int p : outputs[state]) {
+                    int start = pos - patternLengths[p] + 1;
+                    for (int k : patternKeywords[p]) {
+                        if (start < nextAllowed[k]) {
+                            continue; // 직전 출현과 겹침 (indexOf 가 건너뛴 구간)
+                        }
+                        if (counts[k] == 0) {
+                            touched[touchedCount++] = k;
+                        }
+                        counts[k]++;
+                        nextAllowed[k] = start + steps[k];
+                    }
+                }
+            }
+
+            for (int t = 0; t < touchedCount; t++) {
+                int k = touched[t];
+                double relevance = (counts[k] * 0.5) + (cell.getStructuralScore() * 0.5);
+                PriorityQueue<Candidate> heap = heaps.get(k);
+                heap.offer(new Candidate(i, relevance));
+                if (heap.size() > MAX_LOCATIONS) {
+                    heap.poll();
+                }
+                counts[k] = 0;
+                nextAllowed[k] = 0;
+            }
+        }
+
+        Map<String, List<LLMAdapter.KeywordLocation>> locations = new HashMap<>();
+        for (int k = 0; k < keywordCount; k++) {
+            List<Candidate> top = new ArrayList<>(heaps.get(k));
+            top.sort(Candidate.BEST_FIRST);
+            List<LLMAdapter.KeywordLocation> keywordLocs = new ArrayList<>(top.size());
+            for (Candidate candidate : top) {
+                SemanticCell cell = cells.get(candidate.cellIndex);
+                String content = cell.getContent();
+                keywordLocs.add(new LLMAdapter.KeywordLocation(
+                        cell.getId(),
+                        content.substring(0, Math.min(PREVIEW_LENGTH, content.length())),
+                        candidate.cellIndex + 1, // 페이지 번호 근사치 (실제로는 셀 순서)
+                        candidate.relevance));
+            }
+            locations.put(keywords.get(k), keywordLocs);
+        }
+        return locations;
+    }
+
+    /**
+     * goto 함수 (간선이 없으면 실패 링크를 따라 올라감)
+     */
+    private int next(int state, char c) {
+        while (true) {
+            int target = edge(state, c);
+            if (target >= 0) {
+                return target;
+            }
+            if (state == 0) {
+                return 0;
+            }
+            state = failure[state];
+        }
+    }
+
+    private int edge(int node, char c) {
+        char[] chars = edgeChars[node];
+        int index = Arrays.binarySearch(chars, 0, edgeTargets[node].length, c);
+        return index >= 0 ? edgeTargets[node][index] : -1;
+    }
+
+    private void build(List<String> patterns) {
+        int capacity = 1 + patterns.stream().mapToInt(String::length).sum();
+        List<Map<Character, Integer>> children = new ArrayList<>(capacity);
+        List<List<Integer>> ends = new ArrayList<>(capacity);
+        children.add(new HashMap<>());
+        ends.add(new ArrayList<>());
+
+        for (int p = 0; p < patterns.size(); p++) {
+            int node = 0;
+            for (char c : patterns.get(p).toCharArray()) {
+                Integer child = children.get(node).get(c);
+                if (child == null) {
+                    child = children.size();
+                    children.get(node).put(c, child);
+                    children.add(new HashMap<>());
+                    ends.add(new ArrayList<>());
+                }
+                node = child;
+            }
+            ends.get(node).add(p);
+        }
+
+        int nodeCount = children.size();
+        edgeChars = new char[nodeCount][];
+        edgeTargets = new int[nodeCount][];
+        for (int node = 0; node < nodeCount; node++) {
+            char[] chars = new char[children.get(node).size()];
+            int n = 0;
+            for (char c : children.get(node).keySet()) {
+                chars[n++] = c;
+            }
+            Arrays.sort(chars);
+            int[] targets = new int[chars.length];
+            for (int j = 0; j < chars.length; j++) {
+                targets[j] = children.get(node).get(chars[j]);
+            }
+            edgeChars[node] = chars;
+            edgeTargets[node] = targets;
+        }
+
+        // BFS 로 실패 링크와 출력 집합 계산 (부모의 실패 링크가 먼저 확정됨)
+        failure = new int[nodeCount];
+        outputs = new int[nodeCount][];
+        outputs[0] = new int[0];
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        for (int target : edgeTargets[0]) {
+            failure[target] = 0;
+            outputs[target] = ends.get(target).stream().mapToInt(Integer::intValue).toArray();
+            queue.add(target);
+        }
+        while (!queue.isEmpty()) {
+            int node = queue.poll();
+            for (int j = 0; j < edgeChars[node].length; j++) {
+                char c = edgeChars[node][j];
+                int child = edgeTargets[node][j];
+                failure[child] = next(failure[node], c);
+
+                int[] own = ends.get(child).stream().mapToInt(Integer::intValue).toArray();
+                int[] inherited = outputs[failure[child]];
+                int[] merged = Arrays.copyOf(own, own.length + inherited.length);
+                System.arraycopy(inherited, 0, merged, own.length, inherited.length);
+                outputs[child] = merged;
+                queue.add(child);
+            }
+        }
+    }
+
+    private static final class Candidate {
+        /** 관련도 내림차순, 같으면 앞쪽 셀 우선 (기존 안정 정렬 결과와 같은 순서) */
+        static final Comparator<Candidate> BEST_FIRST = (a, b) -> {
+            int byRelevance = Double.compare(b.relevance, a.relevance);
+            return byRelevance != 0 ? byRelevance : Integer.compare(a.cellIndex, b.cellIndex);
+        };
+        static final Comparator<Candidate> WORST_FIRST = BEST_FIRST.reversed();
+
+        private final int cellIndex;
+        private final double relevance;
+
+        private Candidate(int cellIndex, double relevance) {
+            this.cellIndex = cellIndex;
+            this.relevance = relevance;
+        }
+    }
+}
@@ -1,38 +1,144 @@
 package com.pdfanalyzer.core.integration.llm;
 
+import com.pdfanalyzer.core.integration.llm.provider.ExtractiveLlmProvider;
+import com.pdfanalyzer.core.integration.llm.provider.LlmRequest;
+import com.pdfanalyzer.core.integration.llm.provider.LlmResponse;
+import com.pdfanalyzer.core.integration.llm.provider.LlmRouter;
 import com.pdfanalyzer.core.semantic.model.SemanticCell;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.*;
 import org.springframework.stereotype.Component;
-import org.springframework.web.client.RestTemplate;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Slf4j
 @Component
 public class LLMAdapter {
 
-    private final RestTemplate restTemplate = new RestTemplate();
+    private final LlmRouter llmRouter;
+    private final ExtractiveLlmProvider extractiveProvider;
+    private final MapReduceSummarizer mapReduceSummarizer;
+    private final BulkSummarizer bulkSummarizer;
+    private final PromptBuilder promptBuilder;
+    private final ResilienceGuard resilienceGuard;
     private final com.pdfanalyzer.core.service.AnalysisCacheService cacheService;
+    private final SingleFlight<String, SummaryAndKeywords> singleFlight = new SingleFlight<>();
+
+    public LLMAdapter(LlmRouter llmRouter, ExtractiveLlmProvider extractiveProvider,
+                      MapReduceSummarizer mapReduceSummarizer, BulkSummarizer bulkSummarizer, PromptBuilder promptBuilder,
+                      ResilienceGuard resilienceGuard, com.pdfanalyzer.core.service.AnalysisCacheService cacheService) {
+        this.llmRouter = llmRouter;
+        this.extractiveProvider = extractiveProvider;
+        this.mapReduceSummarizer = mapReduceSummarizer;
+        this.bulkSummarizer = bulkSummarizer;
+        this.promptBuilder = promptBuilder;
+        this.resilienceGuard = resilienceGuard;
+        this.cacheService = cacheService;
+    }
 
-    @Value("${gemini.api.key:}")
-    private String apiKey;
+    /**
+     * 한 번의 API 호출로 요약과 키워드를 함께 생성 (캐싱 포함)
+     * 비동기 버전의 결과를 기다리는 블로킹 래퍼
+     */
+    public SummaryAndKeywords generateSummaryAndKeywords(List<SemanticCell> cells) {
+        return generateSummaryAndKeywordsAsync(cells).join();
+    }
 
-    @Value("${gemini.model:gemini-pro}")
-    private String modelName;
+    /**
+     * 요약과 키워드를 비동기로 생성
+     * 제공자 선택은 LlmRouter 가 담당하며, 모든 제공자가 실패하면 폴백 결과로 완료된다 (예외 완료 없음).
+     */
+    public CompletableFuture<SummaryAndKeywords> generateSummaryAndKeywordsAsync(List<SemanticCell> cells) {
+        return summarize(cells, null);
+    }
 
-    private static final String GEMINI_API_URL = "https://generativelanguage.googleapis.com/v1beta/models/";
+    /**
+     * 요약 텍스트를 생성되는 대로 onSummaryDelta 로 전달하며 요약과 키워드를 생성
+     * 캐시·맵-리듀스·폴백처럼 스트리밍할 수 없는 경로는 완성된 요약을 한 번에 전달한다.
+     * 스트리밍 도중 실패하여 폴백으로 바뀐 경우 최종 요약은 반환값의 summary 가 기준이다.
+     */
+    public CompletableFuture<SummaryAndKeywords> streamSummaryAndKeywordsAsync(List<SemanticCell> cells,
+                                                                               Consumer<String> onSummaryDelta) {
+        AtomicBoolean streamed = new AtomicBoolean();
+        Consumer<String> sink = delta -> {
+            streamed.set(true);
+            onSummaryDelta.accept(delta);
+        };
+        CompletableFuture<SummaryAndKeywords> summary = summarize(cells, sink);
+        return cancelling(summary.thenApply(result -> {
+            if (!streamed.get() && result.summary != null) {
+                onSummaryDelta.accept(result.summary);
+            }
+            return result;
+        }), summary);
+    }
 
-    public LLMAdapter(com.pdfanalyzer.core.service.AnalysisCacheService cacheService) {
-        this.cacheService = cacheService;
+    /**
+     * 여러 문서의 요약과 키워드를 생성 (문서 ID → 결과, 입력 순서 유지)
+     * 캐시에 없는 짧은 문서는 BulkSummarizer 로 묶어 배치당 한 번만 호출하고,
+     * 긴 문서나 배치에서 실패·누락된 문서는 문서별 단일 경로(캐시·병합·폴백 포함)로 처리한다.
+     */
+    public CompletableFuture<Map<String, SummaryAndKeywords>> generateBulkSummaryAndKeywordsAsync(
+            Map<String, List<SemanticCell>> documents) {
+        Map<String, CompletableFuture<SummaryAndKeywords>> futures = new LinkedHashMap<>();
+        Map<String, List<SemanticCell>> batchable = new LinkedHashMap<>();
+        Map<String, String> hashes = new HashMap<>();
+
+        boolean remote = llmRouter.hasRemoteProvider();
+        for (Map.Entry<String, List<SemanticCell>> document : documents.entrySet()) {
+            String id = document.getKey();
+            List<SemanticCell> cells = document.getValue();
+            String documentHash = cacheService.generateDocumentHash(
+                cells.stream().map(SemanticCell::getContent).collect(Collectors.joining("\n")));
+            com.pdfanalyzer.core.service.AnalysisCacheService.CachedAnalysis cached =
+                documentHash != null ? cacheService.get(documentHash) : null;
+
+            if (cached != null) {
+                futures.put(id, CompletableFuture.completedFuture(
+                    new SummaryAndKeywords(cached.getSummary(), cached.getKeywords(), cached.getKeywordLocations())));
+            } else if (remote && bulkSummarizer.fits(cells)) {
+                batchable.put(id, cells);
+                hashes.put(id, documentHash);
+                futures.put(id, null); // 배치 결과로 채움 (입력 순서 유지용 자리)
+            } else {
+                futures.put(id, summarize(cells, null));
+            }
+        }
+
+        if (!batchable.isEmpty()) {
+            log.info("📦 일괄 요약 대상: {}/{} 문서 (나머지는 캐시 또는 단일 호출)", batchable.size(), documents.size());
+            CompletableFuture<Map<String, SummaryAndKeywords>> bulk = bulkSummarizer.summarizeAsync(batchable);
+            batchable.forEach((id, cells) -> futures.put(id, bulk.thenCompose(results -> {
+                SummaryAndKeywords result = results.get(id);
+                if (result == null) {
+                    // 배치 실패·응답 누락: 이 문서만 단일 경로로 다시 처리
+                    return summarize(cells, null);
+                }
+                Map<String, List<KeywordLocation>> keywordLocations = findKeywordLocations(result.keywords, cells);
+                if (hashes.get(id) != null) {
+                    cacheService.put(hashes.get(id), result.summary, result.keywords, keywordLocations);
+                }
+                return CompletableFuture.completedFuture(new SummaryAndKeywords(
+                    result.summary, result.keywords, keywordLocations, result.promptTokens));
+            })));
+        }
+
+        return CompletableFuture.allOf(futures.values().toArray(new CompletableFuture[0]))
+            .thenApply(done -> {
+                Map<String, SummaryAndKeywords> results = new LinkedHashMap<>();
+                futures.forEach((id, future) -> results.put(id, future.join()));
+                return results;
+            });
     }
 
     /**
-     * 한 번의 API 호출로 요약과 키워드를 함께 생성 (캐싱 포함)
+     * @param onSummaryDelta null 이면 스트리밍하지 않음
      */
-    public SummaryAndKeywords generateSummaryAndKeywords(List<SemanticCell> cells) {
+    private CompletableFuture<SummaryAndKeywords> summarize(List<SemanticCell> cells, Consumer<String> onSummaryDelta) {
         // 문서 내용으로 해시 생성
         String documentContent = cells.stream()
             .map(SemanticCell::getContent)
@@ -44,68 +150,127 @@ public class LLMAdapter {
             com.pdfanalyzer.core.service.AnalysisCacheService.CachedAnalysis cached = cacheService.get(documentHash);
             if (cached != null) {
                 log.info("캐시된 분석 결과 사용 (API 호출 생략)");
-                return new SummaryAndKeywords(cached.getSummary(), cached.getKeywords(), cached.getKeywordLocations());
+                return CompletableFuture.completedFuture(
+                    new SummaryAndKeywords(cached.getSummary(), cached.getKeywords(), cached.getKeywordLocations()));
             }
         }
 
-        if (apiKey == null || apiKey.isEmpty()) {
-            log.warn("⚠️ Gemini API 키가 설정되지 않았습니다. 폴백 요약을 생성합니다.");
-            log.warn("환경변수 GEMINI_API_KEY를 설정하거나 application.yml에서 gemini.api.key를 설정하세요.");
-            return new SummaryAndKeywords(
-                generateFallbackSummary(cells),
-                generateFallbackKeywords(cells)
-            );
+        if (!llmRouter.hasRemoteProvider()) {
+            log.warn("⚠️ 호출 가능한 원격 LLM 제공자가 없습니다. 폴백 요약을 생성합니다.");
+            log.warn("환경변수 GEMINI_API_KEY를 설정하거나 llm.providers.openai.enabled 로 다른 제공자를 활성화하세요.");
+            return CompletableFuture.completedFuture(fallback(cells));
         }
 
-        log.info("✅ Gemini API 키 확인 완료 (길이: {}자)", apiKey.length());
+        if (documentHash == null) {
+            return requestSummaryAndKeywords(cells, null, onSummaryDelta);
+        }
 
-        try {
-            // 구조 점수 통계 출력
-            double avgScore = cells.stream()
-                    .mapToDouble(SemanticCell::getStructuralScore)
-                    .average()
-                    .orElse(0.0);
-            long highScoreCells = cells.stream()
-                    .filter(c -> c.getStructuralScore() > 0.6)
-                    .count();
-
-            log.info("셀 통계 - 전체: {}, 평균 점수: {:.2f}, 높은 점수(>0.6): {}",
-                    cells.size(), avgScore, highScoreCells);
-
-            // 점수 기준을 낮춰서 더 많은 셀 포함
-            List<SemanticCell> important = cells.stream()
-                    .filter(c -> c.getStructuralScore() > 0.3)  // 0.6 -> 0.3으로 완화
-                    .limit(30)  // 20 -> 30으로 증가
-                    .collect(Collectors.toList());
+        // 같은 문서의 호출이 이미 진행 중이면 새로 호출하지 않고 그 결과를 공유
+        boolean[] leader = {false};
+        CompletableFuture<SummaryAndKeywords> shared = singleFlight.execute(documentHash, () -> {
+            leader[0] = true;
+            com.pdfanalyzer.core.service.AnalysisCacheService.CachedAnalysis cached = cacheService.get(documentHash);
+            if (cached != null) {
+                // 캐시 확인 직후 앞선 호출이 끝난 경우
+                return CompletableFuture.completedFuture(
+                    new SummaryAndKeywords(cached.getSummary(), cached.getKeywords(), cached.getKeywordLocations()));
+            }
+            return requestSummaryAndKeywords(cells, documentHash, onSummaryDelta);
+        });
 
-            // 필터링된 셀이 없으면 모든 셀 사용
-            if (important.isEmpty()) {
-                log.warn("⚠️ 구조 점수가 0.3 이상인 셀이 없어 상위 30개 셀 사용");
-                important = cells.stream().limit(30).collect(Collectors.toList());
-            } else {
-                log.info("✅ 선택된 셀: {}개 (점수 > 0.3)", important.size());
+        if (!leader[0]) {
+            log.info("🔗 동일 문서의 LLM 호출이 진행 중 - 결과 공유 대기 ({}...)", documentHash.substring(0, 8));
+            return cancelling(shared.thenApply(result -> result.withPromptTokens(0)), shared);
+        }
+        return shared;
+    }
+
+    /**
+     * 실제 LLM 호출 (단일 프롬프트 또는 맵-리듀스)
+     */
+    private CompletableFuture<SummaryAndKeywords> requestSummaryAndKeywords(List<SemanticCell> cells, String documentHash,
+                                                                           Consumer<String> onSummaryDelta) {
+        AtomicInteger promptTokens = new AtomicInteger();
+        CompletableFuture<LlmResponse> responseFuture;
+        if (mapReduceSummarizer.shouldUse(cells)) {
+            // 긴 문서: 청크별 병렬 요약 후 합치기 (문서 전체가 모델에 전달됨)
+            long start = System.currentTimeMillis();
+            responseFuture = mapReduceSummarizer.summarizeAsync(cells, promptTokens::addAndGet)
+                .thenApply(text -> new LlmResponse(text, "map-reduce", false, System.currentTimeMillis() - start));
+        } else {
+            PromptBuilder.Prompt prompt;
+            try {
+                prompt = promptBuilder.build(buildCombinedInstructions(), cells);
+                promptTokens.addAndGet(prompt.getTokens());
+                log.debug("프롬프트 내용: {}", prompt.getText());
+            } catch (Exception e) {
+                log.error("프롬프트 생성 실패", e);
+                return CompletableFuture.completedFuture(fallback(cells));
             }
+            LlmRequest request = new LlmRequest(prompt.getText(), cells);
+            responseFuture = onSummaryDelta == null
+                ? llmRouter.generate(request)
+                : llmRouter.stream(request, new SummaryStreamExtractor(onSummaryDelta)::accept);
+        }
 
-            String prompt = buildCombinedPrompt(important);
-            log.debug("프롬프트 내용: {}", prompt);
-            String response = callGeminiAPI(prompt);
+        return cancelling(responseFuture
+            .handle((response, error) -> {
+                SummaryAndKeywords result;
+                if (error != null) {
+                    log.error("❌ LLM 호출 실패: {}", error.getMessage());
+                    result = fallback(cells);
+                } else {
+                    log.info("✅ 응답 수신 - 제공자: {}, 길이: {} 문자, {}ms",
+                        response.getProvider(), response.getText().length(), response.getLatencyMs());
+                    // 로컬 제공자의 발췌 결과는 원격 제공자가 회복되면 다시 받을 수 있도록 캐시하지 않음
+                    result = parseCombinedResponse(response.getText(), cells, response.isLocal() ? null : documentHash);
+                }
+                log.info("📊 프롬프트 토큰(추정): {}", promptTokens.get());
+                return result.withPromptTokens(promptTokens.get());
+            }), responseFuture);
+    }
 
-            if (response.isEmpty()) {
-                return new SummaryAndKeywords(
-                    generateFallbackSummary(cells),
-                    generateFallbackKeywords(cells)
-                );
+    /**
+     * dependent 가 취소되면 source 도 취소 (CompletableFuture 는 파생 future 의 취소를 원본에 전파하지 않음)
+     * 요약을 기다리던 쪽이 포기하면 진행 중인 LLM 호출까지 끊기 위함
+     */
+    private static <T> CompletableFuture<T> cancelling(CompletableFuture<T> dependent, CompletableFuture<?> source) {
+        dependent.whenComplete((value, error) -> {
+            if (dependent.isCancelled()) {
+                source.cancel(true);
             }
+        });
+        return dependent;
+    }
 
-            return parseCombinedResponse(response, cells, documentHash);
+    private SummaryAndKeywords fallback(List<SemanticCell> cells) {
+        return new SummaryAndKeywords(
+            extractiveProvider.generateSummary(cells),
+            extractiveProvider.generateKeywords(cells)
+        );
+    }
 
-        } catch (Exception e) {
-            log.error("LLM 호출 실패", e);
-            return new SummaryAndKeywords(
-                generateFallbackSummary(cells),
-                generateFallbackKeywords(cells)
-            );
-        }
+    /**
+     * 로컬 발췌 요약·키워드 (네트워크 호출 없음, summaryMode=EXTRACTIVE 요청용)
+     */
+    public SummaryAndKeywords generateExtractiveSummaryAndKeywords(List<SemanticCell> cells) {
+        List<String> keywords = extractiveProvider.generateKeywords(cells);
+        return new SummaryAndKeywords(
+            extractiveProvider.generateSummary(cells), keywords, findKeywordLocations(keywords, cells));
+    }
+
+    /**
+     * 진행 중 호출 병합 통계
+     */
+    public Map<String, Object> getInFlightStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("inFlight", singleFlight.inFlightCount());
+        stats.put("llmCalls", singleFlight.callCount());
+        stats.put("coalescedCalls", singleFlight.coalescedCount());
+        stats.put("resilience", resilienceGuard.getStats());
+        stats.put("router", llmRouter.getStats());
+        stats.put("bulk", bulkSummarizer.getStats());
+        return stats;
     }
 
     @Deprecated
@@ -118,7 +283,10 @@ public class LLMAdapter {
         return generateSummaryAndKeywords(cells).keywords;
     }
 
-    private String buildCombinedPrompt(List<SemanticCell> cells) {
+    /**
+     * 요약·키워드 요청 지시문 (문서 내용은 PromptBuilder가 토큰 예산 안에서 덧붙임)
+     */
+    private String buildCombinedInstructions() {
         StringBuilder sb = new StringBuilder();
         sb.append("다음 문서를 분석하여 JSON 형식으로 응답해주세요.\n\n");
         sb.append("**중요**: 요약은 반드시 상세하고 포괄적이어야 하며, 내용 생략을 최소화해야 합니다.\n\n");
@@ -143,29 +311,12 @@ public class LLMAdapter {
         sb.append("  \"keywords\": [\"키워드1\", \"키워드2\", \"키워드3\", ...]\n");
         sb.append("}\n\n");
         sb.append("문서 내용:\n\n");
-
-        // 더 많은 셀을 포함하고, 내용을 충분히 길게 포함
-        int cellCount = 0;
-        for (SemanticCell cell : cells) {
-            if (cellCount >= 50) break; // 최대 50개 셀로 증가
-
-            // 헤더는 전체, 일반 셀은 800자까지 (이전 500자에서 증가)
-            int maxLength = cell.isHeader() ? cell.getContent().length() : 800;
-            String cellContent = cell.getContent().substring(0, Math.min(maxLength, cell.getContent().length()));
-
-            if (cell.isHeader()) {
-                sb.append("## ").append(cellContent).append("\n\n");
-            } else {
-                sb.append(cellContent).append("\n\n");
-            }
-            cellCount++;
-        }
         return sb.toString();
     }
 
     private SummaryAndKeywords parseCombinedResponse(String response, List<SemanticCell> cells, String documentHash) {
         try {
-            log.info("Gemini API 응답 내용: {}", response);
+            log.info("LLM 응답 내용: {}", response);
 
             // JSON 코드 블록 제거 (```json ... ```)
             response = response.replaceAll("```json\\s*", "").replaceAll("```\\s*$", "").trim();
@@ -218,27 +369,32 @@ public class LLMAdapter {
         }
 
         log.info("폴백 요약 사용");
-        return new SummaryAndKeywords(
-            generateFallbackSummary(cells),
-            generateFallbackKeywords(cells)
-        );
+        return fallback(cells);
     }
 
     public static class SummaryAndKeywords {
         public final String summary;
         public final List<String> keywords;
         public final Map<String, List<KeywordLocation>> keywordLocations;
+        public final int promptTokens; // 이 요청에서 보낸 프롬프트 토큰 수 (추정, 캐시·폴백이면 0)
 
         public SummaryAndKeywords(String summary, List<String> keywords) {
-            this.summary = summary;
-            this.keywords = keywords;
-            this.keywordLocations = new HashMap<>();
+            this(summary, keywords, new HashMap<>());
         }
 
         public SummaryAndKeywords(String summary, List<String> keywords, Map<String, List<KeywordLocation>> keywordLocations) {
+            this(summary, keywords, keywordLocations, 0);
+        }
+
+        public SummaryAndKeywords(String summary, List<String> keywords, Map<String, List<KeywordLocation>> keywordLocations, int promptTokens) {
             this.summary = summary;
             this.keywords = keywords;
             this.keywordLocations = keywordLocations;
+            this.promptTokens = promptTokens;
+        }
+
+        public SummaryAndKeywords withPromptTokens(int promptTokens) {
+            return new SummaryAndKeywords(summary, keywords, keywordLocations, promptTokens);
         }
     }
 
@@ -256,291 +412,10 @@ public class LLMAdapter {
         }
     }
 
-    @SuppressWarnings({"rawtypes", "unchecked"})
-    private String callGeminiAPI(String prompt) {
-        try {
-            String url = GEMINI_API_URL + modelName + ":generateContent?key=" + apiKey;
-            log.info("🌐 Gemini API 호출 시작 - 모델: {}, URL: {}", modelName, GEMINI_API_URL + modelName);
-            log.debug("프롬프트 길이: {} 문자", prompt.length());
-
-            Map<String, Object> requestBody = new HashMap<>();
-            Map<String, Object> content = new HashMap<>();
-            Map<String, String> part = new HashMap<>();
-            part.put("text", prompt);
-            content.put("parts", Collections.singletonList(part));
-            requestBody.put("contents", Collections.singletonList(content));
-
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-
-            HttpEntity<Map<String, Object>> entity = new HttpEntity<>(requestBody, headers);
-
-            log.info("📤 API 요청 전송 중...");
-            long startTime = System.currentTimeMillis();
-
-            ResponseEntity<Map> response = restTemplate.exchange(
-                    url,
-                    HttpMethod.POST,
-                    entity,
-                    Map.class
-            );
-
-            long duration = System.currentTimeMillis() - startTime;
-            log.info("📥 API 응답 수신 완료 - 상태: {}, 소요시간: {}ms", response.getStatusCode(), duration);
-
-            if (response.getStatusCode() == HttpStatus.OK && response.getBody() != null) {
-                String extracted = extractTextFromResponse(response.getBody());
-                if (extracted != null && !extracted.isEmpty()) {
-                    log.info("✅ 응답 텍스트 추출 성공 - 길이: {} 문자", extracted.length());
-                    return extracted;
-                } else {
-                    log.error("❌ 응답 본문이 비어있습니다. 응답 내용: {}", response.getBody());
-                    return "";
-                }
-            }
-
-            log.warn("⚠️ Gemini API 응답이 비정상입니다: {}, 본문: {}", response.getStatusCode(), response.getBody());
-            return "";
-
-        } catch (org.springframework.web.client.HttpClientErrorException e) {
-            log.error("❌ Gemini API HTTP 클라이언트 오류 - 상태: {}, 메시지: {}, 본문: {}",
-                    e.getStatusCode(), e.getMessage(), e.getResponseBodyAsString());
-            return "";
-        } catch (org.springframework.web.client.HttpServerErrorException e) {
-            log.error("❌ Gemini API 서버 오류 - 상태: {}, 메시지: {}, 본문: {}",
-                    e.getStatusCode(), e.getMessage(), e.getResponseBodyAsString());
-            return "";
-        } catch (Exception e) {
-            log.error("❌ Gemini API 호출 중 예상치 못한 오류 발생", e);
-            log.error("오류 타입: {}, 메시지: {}", e.getClass().getName(), e.getMessage());
-            return "";
-        }
-    }
-
-    @SuppressWarnings("unchecked")
-    private String extractTextFromResponse(Map<String, Object> responseBody) {
-        try {
-            List<Map<String, Object>> candidates = (List<Map<String, Object>>) responseBody.get("candidates");
-            if (candidates != null && !candidates.isEmpty()) {
-                Map<String, Object> content = (Map<String, Object>) candidates.get(0).get("content");
-                if (content != null) {
-                    List<Map<String, Object>> parts = (List<Map<String, Object>>) content.get("parts");
-                    if (parts != null && !parts.isEmpty()) {
-                        return (String) parts.get(0).get("text");
-                    }
-                }
-            }
-        } catch (Exception e) {
-            log.error("응답 파싱 중 오류", e);
-        }
-        return "";
-    }
-
-    private String generateFallbackSummary(List<SemanticCell> cells) {
-        StringBuilder sb = new StringBuilder();
-
-        sb.append("=== 문서 요약 ===\n\n");
-
-        // 헤더와 내용 셀을 분리
-        List<SemanticCell> headers = cells.stream()
-                .filter(SemanticCell::isHeader)
-                .sorted((a, b) -> Double.compare(b.getStructuralScore(), a.getStructuralScore()))
-                .limit(5)
-                .collect(Collectors.toList());
-
-        List<SemanticCell> contentCells = cells.stream()
-                .filter(c -> !c.isHeader())
-                .filter(c -> c.getContent().length() > 50) // 최소 50자 이상
-                .sorted((a, b) -> Double.compare(b.getStructuralScore(), a.getStructuralScore()))
-                .limit(20)
-                .collect(Collectors.toList());
-
-        // 주요 섹션과 내용을 최대한 상세하게 포함
-        int addedContent = 0;
-
-        // 모든 헤더와 관련 내용을 포함 (최대 10개 섹션)
-        for (int i = 0; i < Math.min(headers.size(), 10); i++) {
-            // 헤더 출력
-            if (i < headers.size()) {
-                sb.append("\n【 ").append(headers.get(i).getContent()).append(" 】\n");
-            }
-
-            // 해당 헤더 관련 내용 찾기 (섹션당 3-5개 내용 셀)
-            int contentStart = i * 3;
-            int contentEnd = Math.min(contentStart + 5, contentCells.size());
-
-            for (int j = contentStart; j < contentEnd && addedContent < 40; j++) {  // 최대 40개로 증가
-                SemanticCell cell = contentCells.get(j);
-                String content = cell.getContent().trim();
-
-                // 의미있는 부분을 더 길게 추출 (400자로 증가)
-                String summary = extractMeaningfulContent(content, 400);
-                if (!summary.isEmpty()) {
-                    sb.append("• ").append(summary).append("\n");
-                    addedContent++;
-                }
-            }
-        }
-
-        // 내용이 부족하면 추가 내용 보강
-        if (addedContent < 10) {
-            sb.append("\n【 추가 주요 내용 】\n");
-
-            // 아직 사용하지 않은 content cell들을 추가
-            int startIdx = addedContent * 3;
-            for (int i = startIdx; i < Math.min(startIdx + 20, contentCells.size()); i++) {
-                String excerpt = extractMeaningfulContent(contentCells.get(i).getContent(), 300);
-                if (!excerpt.isEmpty()) {
-                    sb.append("• ").append(excerpt).append("\n");
-                    addedContent++;
-                }
-            }
-        }
-
-        // 문서 구조도 함께 보여주기
-        if (headers.size() > 5) {
-            sb.append("\n【 문서 전체 구조 】\n");
-            List<SemanticCell> allHeaders = cells.stream()
-                    .filter(SemanticCell::isHeader)
-                    .limit(15)  // 최대 15개 헤더
-                    .collect(Collectors.toList());
-
-            for (int i = 0; i < allHeaders.size(); i++) {
-                sb.append((i + 1)).append(". ").append(allHeaders.get(i).getContent()).append("\n");
-            }
-        }
-
-        // 통계 정보
-        long headerCount = cells.stream().filter(SemanticCell::isHeader).count();
-        long contentCellCount = cells.size() - headerCount;
-        sb.append("\n【 문서 정보 】\n");
-        sb.append("• 총 ").append(cells.size()).append("개 섹션 (제목: ").append(headerCount)
-          .append(", 내용: ").append(contentCellCount).append(")\n");
-
-        int estimatedPages = cells.stream()
-                .mapToInt(c -> c.getPageNumber() != null ? c.getPageNumber() : 0)
-                .max()
-                .orElse(1);
-        sb.append("• 예상 페이지 수: 약 ").append(estimatedPages).append(" 페이지\n");
-
-        return sb.toString();
-    }
-
-    /**
-     * 내용에서 의미있는 부분 추출
-     */
-    private String extractMeaningfulContent(String content, int maxLength) {
-        if (content == null || content.trim().isEmpty()) return "";
-
-        content = content.trim();
-
-        // 너무 짧으면 그대로 반환
-        if (content.length() <= maxLength) {
-            return content;
-        }
-
-        // maxLength까지 자르되, 문장이 끊기지 않도록 마지막 마침표/줄바꿈 찾기
-        String truncated = content.substring(0, maxLength);
-
-        // 마지막 문장 구분자 찾기
-        int lastPeriod = Math.max(
-            truncated.lastIndexOf(". "),
-            Math.max(truncated.lastIndexOf(".\n"), truncated.lastIndexOf("。"))
-        );
-
-        if (lastPeriod > maxLength / 2) {
-            // 문장이 너무 짧지 않으면 문장 단위로 자르기
-            return truncated.substring(0, lastPeriod + 1).trim();
-        }
-
-        // 그냥 자르고 "..." 추가
-        return truncated.trim() + "...";
-    }
-
-    private List<String> generateFallbackKeywords(List<SemanticCell> cells) {
-        List<String> keywords = new ArrayList<>();
-
-        // 헤더에서 키워드 추출
-        cells.stream()
-                .filter(SemanticCell::isHeader)
-                .map(SemanticCell::getContent)
-                .map(String::trim)
-                .filter(s -> s.length() > 2 && s.length() < 100)
-                .limit(5)
-                .forEach(keywords::add);
-
-        // 중요도 높은 셀에서 긴 단어 추출
-        cells.stream()
-                .filter(c -> !c.isHeader() && c.getStructuralScore() > 0.6)
-                .flatMap(c -> Arrays.stream(c.getContent().split("\\s+")))
-                .filter(word -> word.length() > 4)  // 4자 이상
-                .map(word -> word.replaceAll("[^가-힣a-zA-Z0-9]", ""))  // 특수문자 제거
-                .filter(word -> word.length() > 4)
-                .distinct()
-                .limit(10)
-                .forEach(keywords::add);
-
-        // 최소 5개 보장
-        if (keywords.size() < 5) {
-            keywords.add("문서분석");
-            keywords.add("PDF");
-            keywords.add("자동추출");
-        }
-
-        return keywords.stream().distinct().limit(15).collect(Collectors.toList());
-    }
-
     /**
-     * 키워드가 등장하는 셀 위치를 찾습니다
+     * 키워드가 등장하는 셀 위치를 찾습니다 (키워드 전체를 한 번에 매칭, 셀당 한 번만 순회)
      */
     private Map<String, List<KeywordLocation>> findKeywordLocations(List<String> keywords, List<SemanticCell> cells) {
-        Map<String, List<KeywordLocation>> locations = new HashMap<>();
-
-        for (String keyword : keywords) {
-            List<KeywordLocation> keywordLocs = new ArrayList<>();
-
-            for (int i = 0; i < cells.size(); i++) {
-                SemanticCell cell = cells.get(i);
-                String content = cell.getContent().toLowerCase();
-                String keywordLower = keyword.toLowerCase();
-
-                // 키워드가 셀 내용에 포함되어 있는지 확인
-                if (content.contains(keywordLower)) {
-                    // 관련도 점수 계산 (키워드 출현 빈도 + 구조 점수)
-                    int occurrences = countOccurrences(content, keywordLower);
-                    double relevanceScore = (occurrences * 0.5) + (cell.getStructuralScore() * 0.5);
-
-                    KeywordLocation location = new KeywordLocation(
-                        cell.getId(),
-                        cell.getContent().substring(0, Math.min(300, cell.getContent().length())), // 처음 300자
-                        i + 1, // 페이지 번호 근사치 (실제로는 셀 순서)
-                        relevanceScore
-                    );
-                    keywordLocs.add(location);
-                }
-            }
-
-            // 관련도 점수로 정렬 (높은 순)
-            keywordLocs.sort((a, b) -> Double.compare(b.relevanceScore, a.relevanceScore));
-
-            // 상위 5개만 유지
-            if (keywordLocs.size() > 5) {
-                keywordLocs = keywordLocs.subList(0, 5);
-            }
-
-            locations.put(keyword, keywordLocs);
-        }
-
-        return locations;
-    }
-
-    private int countOccurrences(String text, String keyword) {
-        int count = 0;
-        int index = 0;
-        while ((index = text.indexOf(keyword, index)) != -1) {
-            count++;
-            index += keyword.length();
-        }
-        return count;
+        return new KeywordLocator(keywords).locate(cells);
     }
 }
@@ -0,0 +1,20 @@
+package com.pdfanalyzer.core.integration.llm;
+
+import lombok.Getter;
+
+/**
+ * LLM HTTP 호출 실패 (statusCode 는 HTTP 상태, 전송 오류·타임아웃이면 -1, 요청을 만들지 못했으면 0)
+ * ResilienceGuard 는 429·5xx·-1 만 재시도 대상으로 본다.
+ */
+@Getter
+public class LlmApiException extends RuntimeException {
+    /** 잘못된 설정·프롬프트로 요청을 만들지 못함 (보내지 않았으므로 재시도·서킷 실패 대상 아님) */
+    public static final int REQUEST_INVALID = 0;
+
+    private final int statusCode;
+
+    public LlmApiException(int statusCode, String message, Throwable cause) {
+        super(message, cause);
+        this.statusCode = statusCode;
+    }
+}
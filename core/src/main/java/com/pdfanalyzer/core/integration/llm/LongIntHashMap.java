@@ -0,0 +1,167 @@
+package com.pdfanalyzer.core.integration.llm;
+
+import java.util.function.IntPredicate;
+
+/**
+ * long → int 개방 주소 해시 맵 (선형 탐사, 박싱 없음)
+ *
+ * 용어 해시 → 문서 빈도처럼 항목이 수십만 개까지 늘어나는 통계를 HashMap&lt;Long, Integer&gt; 대비
+ * 항목당 12바이트 남짓으로 보관한다. 키 0 은 빈 슬롯 표시로 예약되어 있어 호출 측에서 피해야 한다.
+ * 동기화하지 않으므로 공유할 때는 외부에서 잠근다.
+ */
+final class LongIntHashMap {
+
+    private static final float LOAD_FACTOR = 0.6f;
+
+    private long[] keys;
+    private int[] values;
+    private int size;
+    private int resizeAt;
+
+    LongIntHashMap() {
+        this(16);
+    }
+
+    LongIntHashMap(int expectedSize) {
+        allocate(Integer.highestOneBit(Math.max(4, (int) (expectedSize / LOAD_FACTOR)) - 1) << 1);
+    }
+
+    /**
+     * 값 조회 (없으면 0)
+     */
+    int get(long key) {
+        int slot = find(key);
+        return slot >= 0 ? values[slot] : 0;
+    }
+
+    /**
+     * 값 덮어쓰기
+     */
+    void put(long key, int value) {
+        int slot = slotFor(key);
+        if (keys[slot] == 0) {
+            insert(slot, key, value);
+        } else {
+            values[slot] = value;
+        }
+    }
+
+    /**
+     * 값에 delta 를 더하고 결과를 반환 (없으면 0 에서 시작)
+     */
+    int add(long key, int delta) {
+        int slot = slotFor(key);
+        if (keys[slot] == 0) {
+            insert(slot, key, delta);
+            return delta;
+        }
+        return values[slot] += delta;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int capacity() {
+        return keys.length;
+    }
+
+    /**
+     * 같은 항목을 가진 독립 사본 (배열 복사만 하므로 재해싱 없음)
+     */
+    LongIntHashMap copy() {
+        LongIntHashMap copy = new LongIntHashMap(4);
+        copy.keys = keys.clone();
+        copy.values = values.clone();
+        copy.size = size;
+        copy.resizeAt = resizeAt;
+        return copy;
+    }
+
+    /**
+     * 값이 조건을 만족하는 항목 제거 (제거된 수 반환, 남은 항목으로 테이블 재구성)
+     */
+    int removeIf(IntPredicate valuePredicate) {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        int before = size;
+        allocate(oldKeys.length);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0 && !valuePredicate.test(oldValues[i])) {
+                insert(slotFor(oldKeys[i]), oldKeys[i], oldValues[i]);
+            }
+        }
+        return before - size;
+    }
+
+    void forEach(Entry consumer) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != 0) {
+                consumer.accept(keys[i], values[i]);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    interface Entry {
+        void accept(long key, int value);
+    }
+
+    private int find(long key) {
+        int slot = slotFor(key);
+        return keys[slot] == key ? slot : -1;
+    }
+
+    /**
+     * 키가 있는 슬롯, 없으면 삽입할 빈 슬롯
+     */
+    private int slotFor(long key) {
+        int mask = keys.length - 1;
+        int slot = mix(key) & mask;
+        while (keys[slot] != 0 && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void insert(int slot, long key, int value) {
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size > resizeAt) {
+            rehash(keys.length << 1);
+        }
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0) {
+                int slot = slotFor(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+                size++;
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new int[capacity];
+        size = 0;
+        resizeAt = (int) (capacity * LOAD_FACTOR);
+    }
+
+    /**
+     * 64비트 키를 슬롯 인덱스로 섞음 (MurmurHash3 fmix64)
+     */
+    private static int mix(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb93e53ca6cd3L;
+        key ^= key >>> 33;
+        return (int) key;
+    }
+}
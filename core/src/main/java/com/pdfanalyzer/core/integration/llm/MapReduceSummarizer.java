@@ -0,0 +1,370 @@
+package com.pdfanalyzer.core.integration.llm;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pdfanalyzer.core.integration.llm.provider.LlmRequest;
+import com.pdfanalyzer.core.integration.llm.provider.LlmResponse;
+import com.pdfanalyzer.core.integration.llm.provider.LlmRouter;
+import com.pdfanalyzer.core.semantic.model.SemanticCell;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.IntConsumer;
+import java.util.stream.Collectors;
+
+/**
+ * 긴 문서용 맵-리듀스 요약
+ *
+ * 1. 셀을 섹션 경계에 맞춘 청크로 나눔 (청크당 토큰 예산)
+ * 2. 각 청크를 병렬로 요약 (동시 호출 수는 세마포어로 제한)
+ * 3. 부분 요약·키워드를 한 번 더 호출하여 최종 요약으로 합침
+ *
+ * 문서 전체가 모델에 전달되면서도 소요 시간은 (청크 수 / 동시 호출 수 + 1)회 왕복 수준으로 유지된다.
+ * 최종 응답은 단일 호출 경로와 같은 {"summary", "keywords"} JSON 형식이다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MapReduceSummarizer {
+
+    private final LlmRouter llmRouter;
+
+    @Value("${llm.map-reduce.enabled:true}")
+    private boolean enabled;
+
+    @Value("${llm.map-reduce.threshold-tokens:8000}")
+    private int thresholdTokens; // 문서 전체 토큰이 이보다 크면 맵-리듀스 사용
+
+    @Value("${llm.map-reduce.chunk-tokens:4000}")
+    private int chunkTokens;
+
+    @Value("${llm.map-reduce.max-chunks:16}")
+    private int maxChunks; // 청크가 이보다 많아지면 청크 예산을 늘림
+
+    @Value("${llm.map-reduce.max-concurrency:8}")
+    private int maxConcurrency;
+
+    @Value("${llm.map-reduce.reduce-tokens:8000}")
+    private int reduceTokens; // 리듀스 프롬프트에 넣을 부분 요약 총 예산
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public boolean shouldUse(List<SemanticCell> cells) {
+        return enabled && totalTokens(cells) > thresholdTokens;
+    }
+
+    /**
+     * 맵-리듀스 요약 실행
+     * 모든 청크 호출이 실패하면 예외로 완료되고, 리듀스 호출만 실패하면 부분 요약을 이어 붙인 결과를 반환한다.
+     */
+    public CompletableFuture<String> summarizeAsync(List<SemanticCell> cells) {
+        return summarizeAsync(cells, tokens -> { });
+    }
+
+    /**
+     * 맵-리듀스 요약 실행 (전송한 프롬프트마다 추정 토큰 수를 promptTokens 로 보고)
+     */
+    public CompletableFuture<String> summarizeAsync(List<SemanticCell> cells, IntConsumer promptTokens) {
+        List<List<SemanticCell>> chunks = chunk(cells);
+        log.info("🗂️ 맵-리듀스 요약 시작: {} 셀 → {} 청크 (동시 호출 {})", cells.size(), chunks.size(), maxConcurrency);
+        long start = System.currentTimeMillis();
+
+        Semaphore permits = new Semaphore(maxConcurrency);
+        Calls calls = new Calls();
+        List<CompletableFuture<Partial>> mapped = new ArrayList<>(chunks.size());
+        for (int i = 0; i < chunks.size(); i++) {
+            String prompt = buildMapPrompt(chunks.get(i), i + 1, chunks.size());
+            promptTokens.accept(TokenEstimator.estimate(prompt));
+            List<SemanticCell> chunk = chunks.get(i);
+            int index = i;
+            mapped.add(CompletableFuture.supplyAsync(() -> mapChunk(prompt, chunk, index, permits, calls), executor));
+        }
+
+        CompletableFuture<String> result = CompletableFuture.allOf(mapped.toArray(new CompletableFuture[0]))
+                .thenCompose(done -> {
+                    List<Partial> partials = mapped.stream().map(CompletableFuture::join).collect(Collectors.toList());
+                    long failed = partials.stream().filter(p -> p.failed).count();
+                    log.info("맵 단계 완료: {} 청크 (실패 {}), {}ms", partials.size(), failed, System.currentTimeMillis() - start);
+                    if (failed == partials.size()) {
+                        throw new IllegalStateException("모든 청크 요약 호출이 실패했습니다.");
+                    }
+                    return reduce(partials, start, promptTokens, calls);
+                });
+        // 호출자가 취소하면 시작 전 청크는 건너뛰고 진행 중인 청크·리듀스 호출도 취소
+        result.whenComplete((text, error) -> {
+            if (result.isCancelled()) {
+                mapped.forEach(future -> future.cancel(true));
+                calls.cancel();
+            }
+        });
+        return result;
+    }
+
+    /**
+     * 섹션 경계에 맞춘 청크 분할
+     * 청크가 예산의 절반 이상 찼을 때 헤더를 만나면 새 청크를 시작하고,
+     * 예산을 넘으면 헤더가 아니어도 자른다.
+     */
+    List<List<SemanticCell>> chunk(List<SemanticCell> cells) {
+        int budget = Math.max(chunkTokens, totalTokens(cells) / Math.max(1, maxChunks) + 1);
+
+        List<List<SemanticCell>> chunks = new ArrayList<>();
+        List<SemanticCell> current = new ArrayList<>();
+        int tokens = 0;
+        for (SemanticCell cell : cells) {
+            int cellTokens = Math.min(TokenEstimator.estimate(cell.getContent()), budget / 2);
+            boolean sectionBreak = cell.isHeader() && tokens >= budget / 2;
+            if (!current.isEmpty() && (sectionBreak || tokens + cellTokens > budget)) {
+                chunks.add(current);
+                current = new ArrayList<>();
+                tokens = 0;
+            }
+            current.add(cell);
+            tokens += cellTokens;
+        }
+        if (!current.isEmpty()) {
+            chunks.add(current);
+        }
+        return chunks;
+    }
+
+    private Partial mapChunk(String prompt, List<SemanticCell> chunk, int index, Semaphore permits, Calls calls) {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Partial.failed(chunk);
+        }
+
+        try {
+            String response = calls.track(call(prompt, chunk)).join();
+            Partial partial = parsePartial(response);
+            if (partial == null) {
+                log.warn("청크 {} 응답 파싱 실패, 발췌 요약으로 대체", index + 1);
+                return Partial.failed(chunk);
+            }
+            return partial;
+        } catch (Exception e) {
+            log.warn("청크 {} 요약 실패, 발췌 요약으로 대체: {}", index + 1, e.getMessage());
+            return Partial.failed(chunk);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private CompletableFuture<String> reduce(List<Partial> partials, long start, IntConsumer promptTokens, Calls calls) {
+        List<String> candidateKeywords = rankKeywords(partials);
+        String prompt = buildReducePrompt(partials, candidateKeywords);
+        promptTokens.accept(TokenEstimator.estimate(prompt));
+
+        return calls.track(call(prompt, List.of()))
+                .handle((response, error) -> {
+                    log.info("리듀스 단계 완료: 총 {}ms", System.currentTimeMillis() - start);
+                    if (error == null && response != null && !response.isEmpty()) {
+                        return response;
+                    }
+                    log.warn("리듀스 호출 실패, 부분 요약을 이어 붙여 반환: {}",
+                            error != null ? error.getMessage() : "빈 응답");
+                    return concatenate(partials, candidateKeywords);
+                });
+    }
+
+    /**
+     * 원격 제공자만 시도 (실패한 청크·리듀스는 이 클래스가 발췌·이어 붙이기로 대체)
+     */
+    private CompletableFuture<String> call(String prompt, List<SemanticCell> cells) {
+        CompletableFuture<LlmResponse> response = llmRouter.generate(new LlmRequest(prompt, cells), false);
+        CompletableFuture<String> text = response.thenApply(LlmResponse::getText);
+        text.whenComplete((value, error) -> {
+            if (text.isCancelled()) {
+                response.cancel(true);
+            }
+        });
+        return text;
+    }
+
+    private String buildMapPrompt(List<SemanticCell> chunk, int index, int total) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("다음은 긴 문서의 일부(").append(index).append("/").append(total).append(" 구간)입니다.\n");
+        sb.append("이 구간의 내용을 JSON 형식으로 요약해주세요.\n\n");
+        sb.append("요구사항:\n");
+        sb.append("1. summary: 이 구간의 핵심 내용을 3-6문장으로 요약 (수치, 날짜, 인명, 조직명 등 구체적 정보 포함)\n");
+        sb.append("2. keywords: 이 구간의 핵심 키워드 5-10개\n\n");
+        sb.append("응답 형식 (JSON만 반환, 다른 텍스트 없이):\n");
+        sb.append("{\"summary\": \"...\", \"keywords\": [\"키워드1\", \"키워드2\", ...]}\n\n");
+        sb.append("구간 내용:\n\n");
+
+        int cellLimit = Math.max(chunkTokens, 1) / 2;
+        for (SemanticCell cell : chunk) {
+            String content = TokenEstimator.truncate(cell.getContent(), cellLimit);
+            if (cell.isHeader()) {
+                sb.append("## ").append(content).append("\n\n");
+            } else {
+                sb.append(content).append("\n\n");
+            }
+        }
+        return sb.toString();
+    }
+
+    private String buildReducePrompt(List<Partial> partials, List<String> candidateKeywords) {
+        int perPartial = Math.max(50, reduceTokens / Math.max(1, partials.size()));
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("다음은 긴 문서를 구간별로 요약한 결과입니다 (문서 순서대로).\n");
+        sb.append("구간 요약들을 종합하여 문서 전체의 요약과 키워드를 JSON 형식으로 작성해주세요.\n\n");
+        sb.append("요구사항:\n");
+        sb.append("1. summary: 문서 전체의 구조와 흐름에 따라 핵심 내용을 상세히 요약\n");
+        sb.append("   - 각 구간의 주요 내용을 빠짐없이 반영하고, 구체적인 수치·날짜·고유명사를 유지\n");
+        sb.append("   - 결론, 시사점, 제언사항이 있다면 포함\n");
+        sb.append("   - **최소 길이**: 500자 이상 (가능하면 800-1000자 권장)\n");
+        sb.append("2. keywords: 문서 전체를 대표하는 핵심 키워드 10-20개 (아래 후보 참고)\n\n");
+        sb.append("응답 형식 (JSON만 반환, 다른 텍스트 없이):\n");
+        sb.append("{\n");
+        sb.append("  \"summary\": \"문서 전체 요약...\",\n");
+        sb.append("  \"keywords\": [\"키워드1\", \"키워드2\", ...]\n");
+        sb.append("}\n\n");
+
+        for (int i = 0; i < partials.size(); i++) {
+            sb.append("[구간 ").append(i + 1).append("]\n");
+            sb.append(TokenEstimator.truncate(partials.get(i).summary, perPartial)).append("\n\n");
+        }
+
+        sb.append("키워드 후보 (빈도순): ").append(String.join(", ", candidateKeywords)).append("\n");
+        return sb.toString();
+    }
+
+    /**
+     * 구간 키워드를 등장 구간 수 기준으로 정렬 (동률이면 먼저 나온 순서)
+     */
+    private List<String> rankKeywords(List<Partial> partials) {
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        Map<String, String> original = new LinkedHashMap<>();
+        for (Partial partial : partials) {
+            for (String keyword : partial.keywords) {
+                String key = keyword.trim().toLowerCase();
+                if (!key.isEmpty()) {
+                    counts.merge(key, 1, Integer::sum);
+                    original.putIfAbsent(key, keyword.trim());
+                }
+            }
+        }
+
+        return counts.entrySet().stream()
+                .sorted((a, b) -> Integer.compare(b.getValue(), a.getValue()))
+                .limit(30)
+                .map(entry -> original.get(entry.getKey()))
+                .collect(Collectors.toList());
+    }
+
+    private String concatenate(List<Partial> partials, List<String> candidateKeywords) {
+        Map<String, Object> merged = new LinkedHashMap<>();
+        merged.put("summary", partials.stream().map(p -> p.summary).collect(Collectors.joining("\n\n")));
+        merged.put("keywords", candidateKeywords.stream().limit(20).collect(Collectors.toList()));
+        try {
+            return objectMapper.writeValueAsString(merged);
+        } catch (Exception e) {
+            return "";
+        }
+    }
+
+    private Partial parsePartial(String response) {
+        if (response == null || response.isEmpty()) {
+            return null;
+        }
+
+        String json = response.replaceAll("```json\\s*", "").replaceAll("```\\s*", "").trim();
+        int open = json.indexOf('{');
+        int close = json.lastIndexOf('}');
+        if (open == -1 || close <= open) {
+            return null;
+        }
+
+        try {
+            JsonNode root = objectMapper.readTree(json.substring(open, close + 1));
+            String summary = root.path("summary").asText("");
+            if (summary.isEmpty()) {
+                return null;
+            }
+            List<String> keywords = new ArrayList<>();
+            root.path("keywords").forEach(node -> keywords.add(node.asText()));
+            return new Partial(summary, keywords, false);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private static int totalTokens(List<SemanticCell> cells) {
+        long total = 0;
+        for (SemanticCell cell : cells) {
+            total += TokenEstimator.estimate(cell.getContent());
+        }
+        return (int) Math.min(Integer.MAX_VALUE, total);
+    }
+
+    @PreDestroy
+    public void cleanup() {
+        executor.shutdown();
+    }
+
+    /**
+     * 청크 하나의 요약 결과
+     */
+    private static class Partial {
+        private final String summary;
+        private final List<String> keywords;
+        private final boolean failed;
+
+        private Partial(String summary, List<String> keywords, boolean failed) {
+            this.summary = summary;
+            this.keywords = keywords;
+            this.failed = failed;
+        }
+
+        /**
+         * 호출 실패 시 청크 앞부분 발췌로 대체 (리듀스 입력에서 구간이 빠지지 않도록)
+         */
+        private static Partial failed(List<SemanticCell> chunk) {
+            String excerpt = chunk.stream()
+                    .limit(3)
+                    .map(cell -> TokenEstimator.truncate(cell.getContent(), 100))
+                    .collect(Collectors.joining(" "));
+            return new Partial(excerpt, List.of(), true);
+        }
+    }
+
+    /**
+     * 요약 한 번에 속한 진행 중 호출 (요약이 취소되면 모두 취소, 취소 뒤 등록된 호출은 바로 취소)
+     */
+    private static class Calls {
+        private final Set<CompletableFuture<String>> pending = ConcurrentHashMap.newKeySet();
+        private volatile boolean cancelled;
+
+        private CompletableFuture<String> track(CompletableFuture<String> call) {
+            pending.add(call);
+            call.whenComplete((text, error) -> pending.remove(call));
+            if (cancelled) {
+                call.cancel(true);
+            }
+            return call;
+        }
+
+        private void cancel() {
+            cancelled = true;
+            pending.forEach(call -> call.cancel(true));
+        }
+    }
+}
@@ -0,0 +1,308 @@
+package com.pdfanalyzer.core.integration.llm;
+
+import com.pdfanalyzer.core.semantic.model.SemanticCell;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 토큰 예산 기반 프롬프트 구성기
+ *
+ * 1. 반복 상용구 제거: 여러 페이지에 되풀이되는 줄(머리글·바닥글·면책 문구 등)과 완전 중복 셀 제거
+ * 2. 헤더는 문서 구조를 위해 예산 일부(header-share) 안에서 우선 포함
+ * 3. 본문 셀은 MMR(최대 한계 관련성)로 선택: λ·구조점수 − (1−λ)·기선택 셀과의 최대 유사도
+ *    유사도는 임베딩이 있으면 코사인, 없으면 단어 집합 Jaccard
+ * 4. 선택된 셀을 문서 순서대로 출력
+ *
+ * 문서 순서대로 개수 제한까지 채우는 방식보다 같은 토큰으로 더 넓은 범위를 덮는다.
+ */
+@Slf4j
+@Component
+public class PromptBuilder {
+
+    private static final int SHORT_LINE_LENGTH = 40;
+
+    @Value("${llm.prompt.token-budget:6000}")
+    private int tokenBudget; // 지시문 포함 전체 프롬프트 예산
+
+    @Value("${llm.prompt.cell-token-limit:400}")
+    private int cellTokenLimit;
+
+    @Value("${llm.prompt.header-share:0.2}")
+    private double headerShare;
+
+    @Value("${llm.prompt.mmr-lambda:0.7}")
+    private double lambda;
+
+    @Value("${llm.prompt.duplicate-similarity:0.9}")
+    private double duplicateSimilarity; // 이 유사도 이상이면 중복으로 보고 제외
+
+    @Value("${llm.prompt.boilerplate-page-ratio:0.3}")
+    private double boilerplatePageRatio;
+
+    /**
+     * 지시문 + 예산 안에서 선택한 셀로 프롬프트 생성
+     */
+    public Prompt build(String instructions, List<SemanticCell> cells) {
+        long start = System.nanoTime();
+        int budget = Math.max(0, tokenBudget - TokenEstimator.estimate(instructions));
+
+        List<Candidate> candidates = prepare(cells);
+        List<Candidate> headers = new ArrayList<>();
+        List<Candidate> body = new ArrayList<>();
+        for (Candidate candidate : candidates) {
+            (candidate.cell.isHeader() ? headers : body).add(candidate);
+        }
+
+        List<Candidate> selected = new ArrayList<>();
+        int used = selectHeaders(headers, (int) (budget * headerShare), selected);
+        used += selectByMmr(body, budget - used, selected);
+        selected.sort(Comparator.comparingInt(c -> c.index));
+
+        StringBuilder sb = new StringBuilder(instructions);
+        for (Candidate candidate : selected) {
+            sb.append(render(candidate.cell, candidate.text));
+        }
+
+        String text = sb.toString();
+        Prompt prompt = new Prompt(text, TokenEstimator.estimate(text), selected.size(), cells.size());
+        log.info("프롬프트 구성: {}/{} 셀 선택 (중복·상용구 제거 후 후보 {}), {} 토큰, {}ms",
+                prompt.getSelectedCells(), cells.size(), candidates.size(), prompt.getTokens(),
+                (System.nanoTime() - start) / 1_000_000);
+        return prompt;
+    }
+
+    /**
+     * 상용구 줄 제거, 공백 정리, 완전 중복 제거
+     */
+    private List<Candidate> prepare(List<SemanticCell> cells) {
+        Set<String> boilerplate = findBoilerplateLines(cells);
+        Set<String> seen = new HashSet<>();
+        List<Candidate> candidates = new ArrayList<>(cells.size());
+
+        for (int i = 0; i < cells.size(); i++) {
+            SemanticCell cell = cells.get(i);
+            if (cell.getContent() == null) {
+                continue;
+            }
+
+            StringBuilder cleaned = new StringBuilder();
+            for (String line : cell.getContent().split("\n")) {
+                String trimmed = line.trim();
+                if (trimmed.isEmpty() || boilerplate.contains(normalizeLine(trimmed))) {
+                    continue;
+                }
+                if (cleaned.length() > 0) {
+                    cleaned.append(' ');
+                }
+                cleaned.append(trimmed.replaceAll("\\s+", " "));
+            }
+
+            String text = cleaned.toString();
+            if (text.isEmpty() || !seen.add(text.toLowerCase())) {
+                continue;
+            }
+
+            String truncated = TokenEstimator.truncate(text, cellTokenLimit);
+            // 헤더 표시·문단 구분까지 포함해서 세어야 선택한 셀의 합이 예산을 넘지 않음
+            candidates.add(new Candidate(i, cell, truncated, TokenEstimator.estimate(render(cell, truncated))));
+        }
+        return candidates;
+    }
+
+    /**
+     * 프롬프트에 들어가는 셀 한 개의 형식 (헤더는 "## " 표시, 셀 사이는 빈 줄)
+     */
+    private static String render(SemanticCell cell, String text) {
+        return cell.isHeader() ? "## " + text + "\n\n" : text + "\n\n";
+    }
+
+    /**
+     * 전체 페이지의 일정 비율 이상에서 반복되는 줄 (최소 3페이지)
+     */
+    private Set<String> findBoilerplateLines(List<SemanticCell> cells) {
+        Map<String, Set<Integer>> linePages = new HashMap<>();
+        Set<Integer> pages = new HashSet<>();
+        for (SemanticCell cell : cells) {
+            if (cell.getContent() == null || cell.getPageNumber() == null) {
+                continue;
+            }
+            pages.add(cell.getPageNumber());
+            for (String line : cell.getContent().split("\n")) {
+                String normalized = normalizeLine(line.trim());
+                if (normalized.length() >= 4) {
+                    linePages.computeIfAbsent(normalized, key -> new HashSet<>()).add(cell.getPageNumber());
+                }
+            }
+        }
+
+        Set<String> boilerplate = new HashSet<>();
+        if (pages.size() < 3) {
+            return boilerplate;
+        }
+
+        int threshold = Math.max(3, (int) Math.ceil(pages.size() * boilerplatePageRatio));
+        linePages.forEach((line, linePageSet) -> {
+            if (linePageSet.size() >= threshold) {
+                boilerplate.add(line);
+            }
+        });
+        if (!boilerplate.isEmpty()) {
+            log.debug("반복 상용구 줄 {}개 제거 (기준: {} 페이지 이상)", boilerplate.size(), threshold);
+        }
+        return boilerplate;
+    }
+
+    /**
+     * 줄 정규화 (짧은 줄은 페이지 번호 등 숫자만 다른 머리글·바닥글을 같은 줄로 보도록 숫자도 치환)
+     */
+    private static String normalizeLine(String line) {
+        String normalized = line.toLowerCase().replaceAll("\\s+", " ");
+        return normalized.length() <= SHORT_LINE_LENGTH ? normalized.replaceAll("\\d+", "#") : normalized;
+    }
+
+    private int selectHeaders(List<Candidate> headers, int budget, List<Candidate> selected) {
+        int used = 0;
+        for (Candidate header : headers) {
+            if (used + header.tokens > budget) {
+                break;
+            }
+            selected.add(header);
+            used += header.tokens;
+        }
+        return used;
+    }
+
+    /**
+     * 탐욕적 MMR 선택
+     * maxSimilarity[i] 를 선택할 때마다 갱신하므로 O(선택 수 × 후보 수)
+     */
+    private int selectByMmr(List<Candidate> body, int budget, List<Candidate> selected) {
+        int n = body.size();
+        double[] maxSimilarity = new double[n];
+        boolean[] done = new boolean[n];
+        int used = 0;
+
+        while (true) {
+            int best = -1;
+            double bestScore = Double.NEGATIVE_INFINITY;
+            for (int i = 0; i < n; i++) {
+                if (done[i]) {
+                    continue;
+                }
+                Candidate candidate = body.get(i);
+                if (used + candidate.tokens > budget || maxSimilarity[i] >= duplicateSimilarity) {
+                    done[i] = true;
+                    continue;
+                }
+                double score = lambda * candidate.cell.getStructuralScore() - (1.0 - lambda) * maxSimilarity[i];
+                if (score > bestScore) {
+                    bestScore = score;
+                    best = i;
+                }
+            }
+            if (best == -1) {
+                return used;
+            }
+
+            Candidate picked = body.get(best);
+            done[best] = true;
+            selected.add(picked);
+            used += picked.tokens;
+
+            for (int i = 0; i < n; i++) {
+                if (!done[i]) {
+                    maxSimilarity[i] = Math.max(maxSimilarity[i], similarity(picked, body.get(i)));
+                }
+            }
+        }
+    }
+
+    private static double similarity(Candidate a, Candidate b) {
+        double[] ea = a.cell.getEmbeddingVector();
+        double[] eb = b.cell.getEmbeddingVector();
+        if (ea != null && eb != null && ea.length == eb.length && ea.length > 0) {
+            return cosine(ea, eb);
+        }
+        return jaccard(a.words(), b.words());
+    }
+
+    private static double cosine(double[] a, double[] b) {
+        double dot = 0.0, normA = 0.0, normB = 0.0;
+        for (int i = 0; i < a.length; i++) {
+            dot += a[i] * b[i];
+            normA += a[i] * a[i];
+            normB += b[i] * b[i];
+        }
+        return normA > 0 && normB > 0 ? dot / Math.sqrt(normA * normB) : 0.0;
+    }
+
+    private static double jaccard(Set<String> a, Set<String> b) {
+        if (a.isEmpty() || b.isEmpty()) {
+            return 0.0;
+        }
+        Set<String> smaller = a.size() <= b.size() ? a : b;
+        Set<String> larger = smaller == a ? b : a;
+        int intersection = 0;
+        for (String word : smaller) {
+            if (larger.contains(word)) {
+                intersection++;
+            }
+        }
+        return (double) intersection / (a.size() + b.size() - intersection);
+    }
+
+    private static class Candidate {
+        private final int index;
+        private final SemanticCell cell;
+        private final String text;
+        private final int tokens;
+        private Set<String> words;
+
+        private Candidate(int index, SemanticCell cell, String text, int tokens) {
+            this.index = index;
+            this.cell = cell;
+            this.text = text;
+            this.tokens = tokens;
+        }
+
+        private Set<String> words() {
+            if (words == null) {
+                words = new HashSet<>();
+                for (String word : text.toLowerCase().split("[^\\p{L}\\p{N}]+")) {
+                    if (word.length() > 1) {
+                        words.add(word);
+                    }
+                }
+            }
+            return words;
+        }
+    }
+
+    /**
+     * 완성된 프롬프트와 토큰 사용 정보
+     */
+    @Getter
+    public static class Prompt {
+        private final String text;
+        private final int tokens;
+        private final int selectedCells;
+        private final int totalCells;
+
+        public Prompt(String text, int tokens, int selectedCells, int totalCells) {
+            this.text = text;
+            this.tokens = tokens;
+            this.selectedCells = selectedCells;
+            this.totalCells = totalCells;
+        }
+    }
+}
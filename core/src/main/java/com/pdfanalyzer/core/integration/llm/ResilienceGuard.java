@@ -0,0 +1,454 @@
+package com.pdfanalyzer.core.integration.llm;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * LLM 호출 복원력 계층 (대상 이름별 상태)
+ *
+ * - 토큰 버킷 속도 제한: 쿼터에 맞춘 초당 허용량, 토큰이 없으면 max-wait 이내로 예약 대기
+ * - 재시도: 429·5xx·전송 오류만, full jitter 지수 백오프, 요청당 시도 횟수·시간 예산 안에서
+ * - 서킷 브레이커: 최근 N회 실패율이 기준을 넘으면 OPEN → 즉시 거부 (호출자는 로컬 폴백 사용)
+ *   open-ms 후 HALF_OPEN 에서 시험 호출 1건으로 복구 여부 판단
+ * - 헤징(선택): hedge-delay 안에 응답이 없으면 같은 요청을 한 번 더 보내고 먼저 성공한 쪽 사용
+ */
+@Slf4j
+@Component
+public class ResilienceGuard {
+
+    @Value("${llm.resilience.rate-limit.permits-per-second:5}")
+    private double permitsPerSecond;
+
+    @Value("${llm.resilience.rate-limit.burst:10}")
+    private int burst;
+
+    @Value("${llm.resilience.rate-limit.max-wait-ms:2000}")
+    private long maxWaitMs;
+
+    @Value("${llm.resilience.retry.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${llm.resilience.retry.base-delay-ms:200}")
+    private long baseDelayMs;
+
+    @Value("${llm.resilience.retry.max-delay-ms:2000}")
+    private long maxDelayMs;
+
+    @Value("${llm.resilience.retry.budget-ms:20000}")
+    private long retryBudgetMs; // 첫 시도부터 이 시간이 지나면 더 이상 재시도하지 않음
+
+    @Value("${llm.resilience.circuit.window:20}")
+    private int circuitWindow;
+
+    @Value("${llm.resilience.circuit.min-calls:5}")
+    private int circuitMinCalls;
+
+    @Value("${llm.resilience.circuit.failure-rate:0.5}")
+    private double circuitFailureRate;
+
+    @Value("${llm.resilience.circuit.open-ms:30000}")
+    private long circuitOpenMs;
+
+    @Value("${llm.resilience.hedge.enabled:false}")
+    private boolean hedgeEnabled;
+
+    @Value("${llm.resilience.hedge.delay-ms:3000}")
+    private long hedgeDelayMs;
+
+    private final Map<String, Target> targets = new ConcurrentHashMap<>();
+
+    /**
+     * 대상에 대한 비동기 호출을 복원력 정책으로 감싸 실행
+     * 거부(서킷 OPEN, 속도 제한 초과)는 CallNotPermittedException 으로 예외 완료된다.
+     */
+    public <T> CompletableFuture<T> execute(String name, Supplier<CompletableFuture<T>> call) {
+        Target target = targets.computeIfAbsent(name, Target::new);
+        target.requests.increment();
+
+        long permit = target.breaker.acquire(System.currentTimeMillis());
+        if (permit < 0) {
+            target.rejected.increment();
+            log.warn("⛔ {} 서킷 OPEN - 호출 생략", name);
+            return CompletableFuture.failedFuture(new CallNotPermittedException(name, "서킷 브레이커 OPEN"));
+        }
+
+        CompletableFuture<T> result = new CompletableFuture<>();
+        AtomicLong trial = new AtomicLong(permit);
+        // 결과를 기록하지 못하고 끝난 시험 호출(속도 제한 거부, 취소)은 시험 자리를 돌려줌
+        // 성공·실패가 기록된 경우에는 이미 HALF_OPEN 을 벗어났으므로 아무 일도 하지 않음
+        result.whenComplete((value, error) -> target.breaker.releaseTrial(trial.get()));
+        attempt(target, call, 1, System.currentTimeMillis() + retryBudgetMs, result, trial);
+        return result;
+    }
+
+    private <T> void attempt(Target target, Supplier<CompletableFuture<T>> call, int attempt, long deadline,
+                             CompletableFuture<T> result, AtomicLong trial) {
+        long wait = target.bucket.reserve(maxWaitMs);
+        if (wait < 0) {
+            target.rejected.increment();
+            log.warn("⏳ {} 속도 제한 초과 (대기 한도 {}ms)", target.name, maxWaitMs);
+            result.completeExceptionally(new CallNotPermittedException(target.name, "속도 제한 초과"));
+            return;
+        }
+
+        Runnable send = () -> {
+            if (result.isDone()) {
+                return;
+            }
+            CompletableFuture<T> response;
+            try {
+                response = hedged(target, call);
+            } catch (RuntimeException e) {
+                response = CompletableFuture.failedFuture(e);
+            }
+            // 호출자가 취소하면 (라우터 경합에서 진 경우 등) 진행 중인 요청도 취소
+            CompletableFuture<T> inFlight = response;
+            result.whenComplete((value, error) -> {
+                if (result.isCancelled()) {
+                    inFlight.cancel(true);
+                }
+            });
+            response.whenComplete((value, error) -> {
+                if (result.isDone()) {
+                    return;
+                }
+                long now = System.currentTimeMillis();
+                if (error == null) {
+                    target.breaker.onSuccess();
+                    result.complete(value);
+                    return;
+                }
+
+                Throwable cause = unwrap(error);
+                if (!isRetryable(cause)) {
+                    // 요청 자체의 문제(4xx 등)는 대상 장애로 보지 않음 (대상은 응답했으므로 성공으로 기록)
+                    target.breaker.onSuccess();
+                    result.completeExceptionally(cause);
+                    return;
+                }
+
+                target.failures.increment();
+                target.breaker.onFailure(now);
+                long backoff = backoff(attempt);
+                long permit = attempt < maxAttempts && now + backoff < deadline ? target.breaker.acquire(now) : -1;
+                if (permit >= 0) {
+                    trial.set(permit);
+                    target.retries.increment();
+                    log.info("🔁 {} 재시도 {}/{} ({}ms 후): {}", target.name, attempt + 1, maxAttempts, backoff, cause.getMessage());
+                    CompletableFuture.delayedExecutor(backoff, TimeUnit.MILLISECONDS)
+                            .execute(() -> attempt(target, call, attempt + 1, deadline, result, trial));
+                } else {
+                    result.completeExceptionally(cause);
+                }
+            });
+        };
+
+        if (wait == 0) {
+            send.run();
+        } else {
+            CompletableFuture.delayedExecutor(wait, TimeUnit.MILLISECONDS).execute(send);
+        }
+    }
+
+    /**
+     * 헤징: hedge-delay 후에도 응답이 없으면 두 번째 요청을 보내고, 먼저 성공한 결과를 사용
+     * 둘 다 실패해야 실패로 완료되며, 완료되면 남은 요청은 취소한다.
+     */
+    private <T> CompletableFuture<T> hedged(Target target, Supplier<CompletableFuture<T>> call) {
+        CompletableFuture<T> primary = call.get();
+        if (!hedgeEnabled) {
+            return primary;
+        }
+
+        CompletableFuture<T> result = new CompletableFuture<>();
+        AtomicInteger pending = new AtomicInteger(1);
+        AtomicReference<CompletableFuture<T>> hedge = new AtomicReference<>();
+
+        primary.whenComplete((value, error) -> complete(result, pending, value, error));
+        CompletableFuture.delayedExecutor(hedgeDelayMs, TimeUnit.MILLISECONDS).execute(() -> {
+            if (result.isDone() || !target.bucket.tryAcquire()) {
+                return;
+            }
+            pending.incrementAndGet();
+            target.hedges.increment();
+            log.info("🪞 {} 헤지 요청 전송 ({}ms 내 응답 없음)", target.name, hedgeDelayMs);
+            CompletableFuture<T> second;
+            try {
+                second = call.get();
+            } catch (RuntimeException e) {
+                second = CompletableFuture.failedFuture(e);
+            }
+            hedge.set(second);
+            second.whenComplete((value, error) -> complete(result, pending, value, error));
+        });
+
+        result.whenComplete((value, error) -> {
+            primary.cancel(true);
+            CompletableFuture<T> second = hedge.get();
+            if (second != null) {
+                second.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    private static <T> void complete(CompletableFuture<T> result, AtomicInteger pending, T value, Throwable error) {
+        if (error == null) {
+            result.complete(value);
+        } else if (pending.decrementAndGet() == 0) {
+            result.completeExceptionally(error);
+        }
+    }
+
+    /**
+     * full jitter: [0, min(max, base × 2^(attempt-1))]
+     */
+    private long backoff(int attempt) {
+        long cap = Math.min(maxDelayMs, baseDelayMs << Math.min(attempt - 1, 20));
+        return ThreadLocalRandom.current().nextLong(cap + 1);
+    }
+
+    static boolean isRetryable(Throwable error) {
+        if (error instanceof LlmApiException apiError) {
+            int status = apiError.getStatusCode();
+            return status == -1 || status == 429 || status >= 500;
+        }
+        return error instanceof IOException || error.getCause() instanceof IOException;
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        while ((error instanceof CompletionException || error instanceof ExecutionException) && error.getCause() != null) {
+            error = error.getCause();
+        }
+        return error;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        targets.forEach((name, target) -> stats.put(name, target.toStats()));
+        return stats;
+    }
+
+    /**
+     * 대상 하나의 속도 제한·서킷·카운터
+     */
+    private class Target {
+        private final String name;
+        private final TokenBucket bucket = new TokenBucket(burst, permitsPerSecond);
+        private final CircuitBreaker breaker = new CircuitBreaker(circuitWindow, circuitMinCalls, circuitFailureRate, circuitOpenMs);
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder retries = new LongAdder();
+        private final LongAdder hedges = new LongAdder();
+        private final LongAdder rejected = new LongAdder();
+
+        private Target(String name) {
+            this.name = name;
+        }
+
+        private Map<String, Object> toStats() {
+            Map<String, Object> stats = new HashMap<>();
+            stats.put("circuitState", breaker.getState().name());
+            stats.put("availablePermits", bucket.available());
+            stats.put("requests", requests.sum());
+            stats.put("failures", failures.sum());
+            stats.put("retries", retries.sum());
+            stats.put("hedges", hedges.sum());
+            stats.put("rejected", rejected.sum());
+            return stats;
+        }
+    }
+
+    /**
+     * 토큰 버킷 (토큰이 음수가 되는 것을 허용하여 대기 순서대로 예약)
+     */
+    static final class TokenBucket {
+        private final double capacity;
+        private final double permitsPerMs;
+        private double tokens;
+        private long lastRefill;
+
+        TokenBucket(double capacity, double permitsPerSecond) {
+            this.capacity = Math.max(1.0, capacity);
+            this.permitsPerMs = permitsPerSecond / 1000.0;
+            this.tokens = this.capacity;
+            this.lastRefill = System.currentTimeMillis();
+        }
+
+        /**
+         * 허가 1개 예약
+         *
+         * @return 대기해야 할 시간(ms), maxWaitMs 안에 허가를 받을 수 없으면 -1
+         */
+        synchronized long reserve(long maxWaitMs) {
+            refill();
+            if (tokens >= 1.0) {
+                tokens -= 1.0;
+                return 0;
+            }
+            if (permitsPerMs <= 0) {
+                return -1;
+            }
+            long wait = (long) Math.ceil((1.0 - tokens) / permitsPerMs);
+            if (wait > maxWaitMs) {
+                return -1;
+            }
+            tokens -= 1.0;
+            return wait;
+        }
+
+        synchronized boolean tryAcquire() {
+            refill();
+            if (tokens >= 1.0) {
+                tokens -= 1.0;
+                return true;
+            }
+            return false;
+        }
+
+        synchronized double available() {
+            refill();
+            return Math.max(0.0, tokens);
+        }
+
+        private void refill() {
+            long now = System.currentTimeMillis();
+            tokens = Math.min(capacity, tokens + (now - lastRefill) * permitsPerMs);
+            lastRefill = now;
+        }
+    }
+
+    /**
+     * 횟수 기반 슬라이딩 윈도우 서킷 브레이커
+     */
+    static final class CircuitBreaker {
+
+        enum State { CLOSED, OPEN, HALF_OPEN }
+
+        private final boolean[] outcomes; // true = 실패
+        private final int minCalls;
+        private final double failureRate;
+        private final long openMs;
+        private int size;
+        private int next;
+        private int failures;
+        private State state = State.CLOSED;
+        private long openedAt;
+        private boolean trialInFlight;
+        private long trialSeq;
+
+        CircuitBreaker(int window, int minCalls, double failureRate, long openMs) {
+            this.outcomes = new boolean[Math.max(1, window)];
+            this.minCalls = minCalls;
+            this.failureRate = failureRate;
+            this.openMs = openMs;
+        }
+
+        /**
+         * 호출 허가 (-1: 거부, 0: 일반 호출, 양수: HALF_OPEN 시험 호출 번호)
+         * 시험 호출은 성공·실패를 기록하거나 releaseTrial 로 자리를 돌려줘야 다음 시험이 가능하다.
+         */
+        synchronized long acquire(long now) {
+            if (state == State.OPEN) {
+                if (now - openedAt < openMs) {
+                    return -1;
+                }
+                state = State.HALF_OPEN;
+                trialInFlight = false;
+            }
+            if (state == State.HALF_OPEN) {
+                if (trialInFlight) {
+                    return -1;
+                }
+                trialInFlight = true;
+                return ++trialSeq;
+            }
+            return 0;
+        }
+
+        /**
+         * 결과 없이 끝난 시험 호출의 자리 반환 (이미 성공·실패가 기록됐거나 다른 시험이면 무시)
+         */
+        synchronized void releaseTrial(long trial) {
+            if (trial > 0 && state == State.HALF_OPEN && trialInFlight && trialSeq == trial) {
+                trialInFlight = false;
+            }
+        }
+
+        synchronized void onSuccess() {
+            if (state == State.HALF_OPEN) {
+                state = State.CLOSED;
+                reset();
+                return;
+            }
+            record(false);
+        }
+
+        synchronized void onFailure(long now) {
+            if (state == State.HALF_OPEN) {
+                open(now);
+                return;
+            }
+            record(true);
+            if (state == State.CLOSED && size >= minCalls && (double) failures / size >= failureRate) {
+                open(now);
+            }
+        }
+
+        synchronized State getState() {
+            return state;
+        }
+
+        private void open(long now) {
+            state = State.OPEN;
+            openedAt = now;
+            reset();
+        }
+
+        private void record(boolean failure) {
+            if (size == outcomes.length) {
+                if (outcomes[next]) {
+                    failures--;
+                }
+            } else {
+                size++;
+            }
+            outcomes[next] = failure;
+            if (failure) {
+                failures++;
+            }
+            next = (next + 1) % outcomes.length;
+        }
+
+        private void reset() {
+            size = 0;
+            next = 0;
+            failures = 0;
+        }
+    }
+
+    /**
+     * 서킷 OPEN 또는 속도 제한으로 호출이 거부됨
+     */
+    public static class CallNotPermittedException extends RuntimeException {
+        public CallNotPermittedException(String target, String reason) {
+            super(target + ": " + reason);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.pdfanalyzer.core.integration.llm;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 같은 키의 동시 비동기 호출 병합 (single-flight)
+ *
+ * 첫 호출자만 실제 호출을 시작하고, 완료 전에 같은 키로 들어온 호출자는 같은 결과를 기다린다.
+ * 완료되면 키를 제거하므로 결과 보관은 캐시가 담당한다.
+ * 호출자마다 복사본 future를 돌려주므로 한 호출자의 cancel()이 다른 호출자에게 전파되지 않는다.
+ * 기다리는 호출자가 모두 취소하면 실제 호출도 취소한다 (아무도 받지 않을 응답에 쿼터를 쓰지 않도록).
+ */
+final class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, Flight<V>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+
+    /**
+     * @param call 실제 호출 (이 키로 진행 중인 호출이 없을 때만 호출 스레드에서 실행)
+     */
+    CompletableFuture<V> execute(K key, Supplier<CompletableFuture<V>> call) {
+        while (true) {
+            Flight<V> flight = new Flight<>();
+            Flight<V> existing = inFlight.putIfAbsent(key, flight);
+            if (existing == null) {
+                calls.increment();
+                start(key, flight, call);
+                return flight.join();
+            }
+            CompletableFuture<V> joined = existing.join();
+            if (joined != null) {
+                coalesced.increment();
+                return joined;
+            }
+            // 모든 대기자가 취소하여 끝나는 중인 호출: 제거를 돕고 새로 시작
+            inFlight.remove(key, existing);
+        }
+    }
+
+    private void start(K key, Flight<V> flight, Supplier<CompletableFuture<V>> call) {
+        try {
+            CompletableFuture<V> upstream = call.get();
+            upstream.whenComplete((value, error) -> {
+                // 완료 전에 제거하여, 이후 호출자는 (이미 채워진) 캐시를 보게 함
+                inFlight.remove(key, flight);
+                if (error != null) {
+                    flight.promise.completeExceptionally(error);
+                } else {
+                    flight.promise.complete(value);
+                }
+            });
+            flight.promise.whenComplete((value, error) -> {
+                if (flight.promise.isCancelled()) {
+                    inFlight.remove(key, flight);
+                    upstream.cancel(true);
+                }
+            });
+        } catch (RuntimeException e) {
+            inFlight.remove(key, flight);
+            flight.promise.completeExceptionally(e);
+        }
+    }
+
+    boolean isInFlight(K key) {
+        return inFlight.containsKey(key);
+    }
+
+    int inFlightCount() {
+        return inFlight.size();
+    }
+
+    long callCount() {
+        return calls.sum();
+    }
+
+    long coalescedCount() {
+        return coalesced.sum();
+    }
+
+    /**
+     * 진행 중인 호출 하나 (대기자 수가 0 이 되면 promise 를 취소하고 더는 대기자를 받지 않음)
+     */
+    private static final class Flight<V> {
+        private final CompletableFuture<V> promise = new CompletableFuture<>();
+        private final AtomicInteger waiters = new AtomicInteger();
+
+        /**
+         * 대기자 추가 후 그 대기자의 복사본 future (이미 모두 취소되어 끝나는 중이면 null)
+         */
+        CompletableFuture<V> join() {
+            int current;
+            do {
+                current = waiters.get();
+                if (current < 0) {
+                    return null;
+                }
+            } while (!waiters.compareAndSet(current, current + 1));
+
+            CompletableFuture<V> copy = promise.copy();
+            copy.whenComplete((value, error) -> {
+                if (copy.isCancelled() && !promise.isDone() && waiters.decrementAndGet() == 0
+                        && waiters.compareAndSet(0, -1)) {
+                    promise.cancel(true);
+                }
+            });
+            return copy;
+        }
+    }
+}
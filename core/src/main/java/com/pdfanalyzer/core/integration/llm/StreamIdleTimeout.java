@@ -0,0 +1,64 @@
+package com.pdfanalyzer.core.integration.llm;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 스트리밍 응답 본문의 유휴 시간 제한
+ *
+ * HttpRequest.timeout 은 응답 헤더가 올 때까지만 적용되고, 그 뒤 본문 줄을 기다리는 동안에는 제한이 없다.
+ * 본문이 멈추면 LLM 단계 자리와 테넌트 입장 허가가 무기한 묶이므로, idleMs 동안 새 줄이 없으면
+ * 결과를 LlmApiException(-1) 로 완료하고 abort 로 연결을 끊는다. 줄을 읽을 때마다 touch() 로 시계를 되돌린다.
+ */
+public final class StreamIdleTimeout {
+
+    private final long idleMs;
+    private final String target;
+    private final AtomicLong lastRead = new AtomicLong(System.currentTimeMillis());
+    private volatile CompletableFuture<String> result;
+    private volatile Runnable abort;
+
+    /**
+     * @param idleMs 다음 줄을 기다리는 한도 (0 이하면 감시하지 않음)
+     * @param target 오류 메시지에 쓸 호출 대상 이름
+     */
+    public StreamIdleTimeout(long idleMs, String target) {
+        this.idleMs = idleMs;
+        this.target = target;
+    }
+
+    public void touch() {
+        lastRead.set(System.currentTimeMillis());
+    }
+
+    /**
+     * result 가 끝날 때까지 감시 시작
+     */
+    public void watch(CompletableFuture<String> result, Runnable abort) {
+        this.result = result;
+        this.abort = abort;
+        if (idleMs > 0) {
+            schedule(idleMs);
+        }
+    }
+
+    private void schedule(long delayMs) {
+        CompletableFuture.delayedExecutor(delayMs, TimeUnit.MILLISECONDS).execute(this::check);
+    }
+
+    private void check() {
+        if (result.isDone()) {
+            return;
+        }
+        long idle = System.currentTimeMillis() - lastRead.get();
+        if (idle < idleMs) {
+            schedule(idleMs - idle);
+            return;
+        }
+        if (result.completeExceptionally(new LlmApiException(-1,
+                target + " 스트리밍 응답이 " + idle + "ms 동안 멈춰 연결을 끊습니다", null))) {
+            abort.run();
+        }
+    }
+}
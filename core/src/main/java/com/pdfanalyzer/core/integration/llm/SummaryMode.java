@@ -0,0 +1,9 @@
+package com.pdfanalyzer.core.integration.llm;
+
+/**
+ * 요청별 요약 방식
+ */
+public enum SummaryMode {
+    LLM,        // 원격 LLM 요약 (호출 불가·실패 시 로컬 발췌 요약)
+    EXTRACTIVE  // 로컬 발췌 요약만 사용 (네트워크 호출 없음, 빠른 응답용)
+}
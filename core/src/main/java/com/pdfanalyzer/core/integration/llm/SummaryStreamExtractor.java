@@ -0,0 +1,82 @@
+package com.pdfanalyzer.core.integration.llm;
+
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 스트리밍 JSON 응답에서 "summary" 문자열 값만 점진적으로 추출
+ *
+ * 응답 조각을 누적하면서 "summary": " 이후의 문자를 JSON 이스케이프를 풀어 바로 전달하고,
+ * 닫는 따옴표를 만나면 멈춘다. 조각 경계에서 잘린 이스케이프 시퀀스는 다음 조각까지 보류한다.
+ */
+final class SummaryStreamExtractor {
+
+    private static final Pattern SUMMARY_START = Pattern.compile("\"summary\"\\s*:\\s*\"");
+
+    private final Consumer<String> sink;
+    private final StringBuilder raw = new StringBuilder();
+    private int position = -1; // 다음에 읽을 summary 값 위치 (-1: 아직 시작 전)
+    private boolean finished;
+
+    SummaryStreamExtractor(Consumer<String> sink) {
+        this.sink = sink;
+    }
+
+    void accept(String delta) {
+        if (finished) {
+            return;
+        }
+        raw.append(delta);
+        if (position < 0) {
+            Matcher matcher = SUMMARY_START.matcher(raw);
+            if (!matcher.find()) {
+                return;
+            }
+            position = matcher.end();
+        }
+
+        StringBuilder out = new StringBuilder();
+        while (position < raw.length()) {
+            char c = raw.charAt(position);
+            if (c == '"') {
+                finished = true;
+                break;
+            }
+            if (c != '\\') {
+                out.append(c);
+                position++;
+                continue;
+            }
+            if (position + 1 >= raw.length()) {
+                break; // 이스케이프가 조각 경계에서 잘림
+            }
+            char escaped = raw.charAt(position + 1);
+            if (escaped == 'u') {
+                if (position + 6 > raw.length()) {
+                    break;
+                }
+                try {
+                    out.append((char) Integer.parseInt(raw.substring(position + 2, position + 6), 16));
+                } catch (NumberFormatException e) {
+                    out.append(raw, position, position + 6);
+                }
+                position += 6;
+                continue;
+            }
+            out.append(switch (escaped) {
+                case 'n' -> '\n';
+                case 't' -> '\t';
+                case 'r' -> '\r';
+                case 'b' -> '\b';
+                case 'f' -> '\f';
+                default -> escaped;
+            });
+            position += 2;
+        }
+
+        if (out.length() > 0) {
+            sink.accept(out.toString());
+        }
+    }
+}
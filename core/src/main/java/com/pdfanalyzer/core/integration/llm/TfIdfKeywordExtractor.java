@@ -0,0 +1,540 @@
+package com.pdfanalyzer.core.integration.llm;
+
+import com.pdfanalyzer.core.semantic.model.SemanticCell;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 코퍼스 TF-IDF 키워드 추출기 (네트워크 호출 없음)
+ *
+ * 분석한 문서마다 용어·구(max-phrase-words 개까지 이어진 단어)의 문서 빈도를 누적하고, 새 문서의 후보 용어를
+ * (1 + log tf) × idf 로 점수 매겨 코퍼스에서 드문데 이 문서에 자주 나오는 용어를 고른다.
+ * 문서 빈도는 용어 문자열 대신 64비트 해시를 키로 하는 원시 타입 맵에 보관하고 디스크에 주기적으로 저장한다.
+ * 저장은 읽기 잠금 아래 테이블 사본만 뜬 뒤 백그라운드 스레드에서 파일로 쓴다 (learn 을 부른 요청 스레드는 기다리지 않음).
+ * 누적 문서가 min-documents 미만이면 idf 없이 빈도만으로 고른다.
+ */
+@Slf4j
+@Component
+public class TfIdfKeywordExtractor {
+
+    private static final int FILE_MAGIC = 0x54464446; // "TFDF"
+    private static final int FILE_VERSION = 1;
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    /** 한글 단어 끝에서 떼어낼 조사 (긴 것부터, 명사 끝 글자와 겹치기 쉬운 과·가·도는 제외) */
+    private static final String[] PARTICLES = {
+            "에서는", "으로는", "에서", "으로", "에게", "까지", "부터", "보다", "처럼", "이다",
+            "은", "는", "이", "을", "를", "의", "에", "와", "로", "만"
+    };
+
+    private static final Set<String> STOPWORDS = Set.of(
+            "the", "and", "for", "with", "this", "that", "from", "are", "was", "were", "which", "have", "has",
+            "not", "but", "can", "will", "its", "into", "our", "you", "your", "also", "been", "such", "than",
+            "these", "those", "their", "there", "they", "them", "then", "when", "where", "what", "who", "how",
+            "all", "any", "each", "more", "most", "other", "some", "only", "may", "use", "used", "using",
+            "is", "of", "to", "in", "on", "at", "by", "an", "or", "as", "be", "it", "we", "if", "no",
+            "그리고", "그러나", "하지만", "또한", "또는", "있다", "있는", "있으며", "한다", "하는", "하여", "위한",
+            "위해", "대한", "대해", "통해", "따라", "경우", "이다", "된다", "되는", "같은", "다음", "이러한", "그러한");
+
+    @Value("${llm.keywords.path:models/term_stats.bin}")
+    private String statsPath; // 비어 있으면 저장하지 않음
+
+    @Value("${llm.keywords.persist-interval:10}")
+    private int persistInterval; // N개 문서 학습마다 디스크 저장
+
+    @Value("${llm.keywords.max-terms:500000}")
+    private int maxTerms; // 초과하면 문서 빈도가 낮은 용어부터 정리
+
+    @Value("${llm.keywords.min-documents:5}")
+    private int minDocuments;
+
+    @Value("${llm.keywords.max-keywords:15}")
+    private int maxKeywords;
+
+    @Value("${llm.keywords.max-phrase-words:2}")
+    private int maxPhraseWords;
+
+    @Value("${llm.keywords.header-boost:3}")
+    private int headerBoost; // 헤더 셀의 출현은 이 배수로 셈
+
+    private final LongIntHashMap documentFrequency = new LongIntHashMap(1 << 12);
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private int documentCount;
+    private final AtomicInteger unsaved = new AtomicInteger(); // 쓰기 잠금 아래에서만 증가
+    private final AtomicBoolean saveScheduled = new AtomicBoolean();
+    private final ExecutorService saver = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "term-stats-saver");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @PostConstruct
+    public void initialize() {
+        if (statsPath == null || statsPath.isBlank()) {
+            return;
+        }
+
+        Path file = Paths.get(statsPath);
+        if (!Files.exists(file)) {
+            log.info("용어 통계 파일 없음, 빈 코퍼스로 시작: {}", statsPath);
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            load(file);
+            log.info("✅ 용어 통계 로딩 완료: {} 문서, {} 용어", documentCount, documentFrequency.size());
+        } catch (IOException | RuntimeException e) {
+            log.error("❌ 용어 통계 로딩 실패, 빈 코퍼스로 시작합니다.", e);
+            documentFrequency.removeIf(df -> true);
+            documentCount = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * TF-IDF 상위 키워드 (점수 순, 후보가 없으면 빈 목록)
+     */
+    public List<String> extract(List<SemanticCell> cells) {
+        long start = System.nanoTime();
+        DocumentTerms terms = collect(cells);
+        if (terms.size() == 0 || maxKeywords <= 0) {
+            return List.of();
+        }
+
+        double[] scores = new double[terms.size()];
+        lock.readLock().lock();
+        try {
+            boolean useIdf = documentCount >= minDocuments;
+            for (int t = 0; t < terms.size(); t++) {
+                if (terms.wordCounts[t] > 1 && terms.frequencies[t] < 2) {
+                    scores[t] = -1; // 한 번 나온 구는 우연한 단어 나열일 가능성이 높음
+                    continue;
+                }
+                double idf = useIdf
+                        ? Math.log((documentCount + 1.0) / (documentFrequency.get(terms.hashes[t]) + 1.0)) + 1.0
+                        : 1.0;
+                scores[t] = (1.0 + Math.log(terms.frequencies[t])) * idf;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        // 상위 후보만 힙으로 추림 (포함 관계로 건너뛸 몫까지 여유 있게)
+        int limit = maxKeywords * 4;
+        // 점수가 같으면 긴 구 우선 (구 안에서만 나온 단어는 구와 점수가 같음), 그다음 먼저 나온 용어 우선
+        Comparator<Integer> worstFirst = (a, b) -> {
+            if (scores[a] != scores[b]) {
+                return Double.compare(scores[a], scores[b]);
+            }
+            if (terms.wordCounts[a] != terms.wordCounts[b]) {
+                return Integer.compare(terms.wordCounts[a], terms.wordCounts[b]);
+            }
+            return Integer.compare(b, a);
+        };
+        PriorityQueue<Integer> heap = new PriorityQueue<>(limit + 1, worstFirst);
+        for (int t = 0; t < terms.size(); t++) {
+            if (scores[t] < 0) {
+                continue;
+            }
+            heap.offer(t);
+            if (heap.size() > limit) {
+                heap.poll();
+            }
+        }
+        Integer[] ranked = heap.toArray(new Integer[0]);
+        Arrays.sort(ranked, worstFirst.reversed());
+
+        List<String> keywords = new ArrayList<>(maxKeywords);
+        for (int t : ranked) {
+            if (keywords.size() >= maxKeywords) {
+                break;
+            }
+            String term = terms.surface(t, cells);
+            if (keywords.stream().noneMatch(chosen -> containsWord(chosen, term))) {
+                keywords.add(term);
+            }
+        }
+        log.debug("TF-IDF 키워드: 후보 {} → {} ({}μs)", terms.size(), keywords.size(), (System.nanoTime() - start) / 1000);
+        return keywords;
+    }
+
+    /**
+     * 분석을 마친 문서를 코퍼스 통계에 반영 (용어마다 문서 빈도 +1)
+     */
+    public void learn(List<SemanticCell> cells) {
+        DocumentTerms terms = collect(cells);
+        if (terms.size() == 0) {
+            return;
+        }
+
+        boolean persist;
+        lock.writeLock().lock();
+        try {
+            for (int t = 0; t < terms.size(); t++) {
+                documentFrequency.add(terms.hashes[t], 1);
+            }
+            documentCount++;
+            if (documentFrequency.size() > maxTerms) {
+                prune();
+            }
+            persist = unsaved.incrementAndGet() >= persistInterval;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        if (persist && saveScheduled.compareAndSet(false, true)) {
+            try {
+                saver.execute(() -> {
+                    saveScheduled.set(false);
+                    save();
+                });
+            } catch (RejectedExecutionException e) {
+                saveScheduled.set(false); // 종료 중: cleanup 에서 저장
+            }
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            stats.put("documents", documentCount);
+            stats.put("terms", documentFrequency.size());
+            stats.put("tableBytes", (long) documentFrequency.capacity() * (Long.BYTES + Integer.BYTES));
+            stats.put("idfActive", documentCount >= minDocuments);
+        } finally {
+            lock.readLock().unlock();
+        }
+        return stats;
+    }
+
+    /**
+     * 통계를 디스크에 저장 (임시 파일에 쓴 뒤 교체)
+     * 잠금은 테이블 사본을 뜨는 동안만 잡으므로 파일을 쓰는 동안에도 추출·학습이 막히지 않는다.
+     */
+    public void save() {
+        if (statsPath == null || statsPath.isBlank()) {
+            return;
+        }
+
+        LongIntHashMap snapshot;
+        int documents;
+        int saving;
+        lock.readLock().lock();
+        try {
+            // 증가는 쓰기 잠금 아래에서만 일어나므로 사본과 미저장 수가 같은 시점을 가리킴
+            snapshot = documentFrequency.copy();
+            documents = documentCount;
+            saving = unsaved.getAndSet(0);
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        Path file = Paths.get(statsPath);
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            Path temp = Files.createTempFile(file.toAbsolutePath().getParent(), "term-stats-", ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(FILE_MAGIC);
+                out.writeInt(FILE_VERSION);
+                out.writeInt(documents);
+                out.writeInt(snapshot.size());
+                IOException[] failure = new IOException[1];
+                snapshot.forEach((hash, df) -> {
+                    if (failure[0] != null) {
+                        return;
+                    }
+                    try {
+                        out.writeLong(hash);
+                        out.writeInt(df);
+                    } catch (IOException e) {
+                        failure[0] = e;
+                    }
+                });
+                if (failure[0] != null) {
+                    throw failure[0];
+                }
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.info("용어 통계 저장: {} 문서, {} 용어 → {}", documents, snapshot.size(), statsPath);
+        } catch (IOException e) {
+            unsaved.addAndGet(saving); // 다음 저장에서 다시 시도
+            log.error("용어 통계 저장 실패: {}", statsPath, e);
+        }
+    }
+
+    @PreDestroy
+    public void cleanup() {
+        saver.shutdown();
+        try {
+            saver.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (unsaved.get() > 0) {
+            save();
+        }
+    }
+
+    private void load(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != FILE_MAGIC || in.readInt() != FILE_VERSION) {
+                throw new IOException("지원하지 않는 용어 통계 형식입니다: " + file);
+            }
+            documentCount = in.readInt();
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                documentFrequency.put(in.readLong(), in.readInt());
+            }
+        }
+    }
+
+    /**
+     * 문서 빈도가 낮은 용어부터 정리해 max-terms 의 3/4 이하로 줄임 (쓰기 잠금 안에서 호출)
+     */
+    private void prune() {
+        int before = documentFrequency.size();
+        int target = maxTerms / 4 * 3;
+        for (int floor = 1; documentFrequency.size() > target; floor++) {
+            int threshold = floor;
+            documentFrequency.removeIf(df -> df <= threshold);
+        }
+        log.info("용어 통계 정리: {} → {} 용어", before, documentFrequency.size());
+    }
+
+    /**
+     * 문서의 용어·구와 출현 빈도 (구는 문장부호 없이 이어진 단어로만 구성)
+     */
+    private DocumentTerms collect(List<SemanticCell> cells) {
+        DocumentTerms terms = new DocumentTerms(1 << 10);
+        int window = Math.max(1, maxPhraseWords);
+        int[] starts = new int[window];    // 직전 단어들의 시작 위치 (starts[0] 이 현재 단어)
+        long[] running = new long[window]; // starts[i] 의 단어에서 시작하는 구의 누적 해시
+
+        for (int c = 0; c < cells.size(); c++) {
+            SemanticCell cell = cells.get(c);
+            String content = cell.getContent();
+            if (content == null) {
+                continue;
+            }
+            int weight = cell.isHeader() ? Math.max(1, headerBoost) : 1;
+            int chained = 0; // 현재 구에 이어 붙일 수 있는 직전 단어 수
+
+            int length = content.length();
+            int pos = 0;
+            while (pos < length) {
+                // 구분자 구간: 공백만 있으면 구를 이어가고, 문장부호가 있으면 끊음
+                boolean breaksPhrase = false;
+                while (pos < length && !Character.isLetterOrDigit(content.charAt(pos))) {
+                    breaksPhrase |= !Character.isWhitespace(content.charAt(pos));
+                    pos++;
+                }
+                if (pos >= length) {
+                    break;
+                }
+                int begin = pos;
+                while (pos < length && Character.isLetterOrDigit(content.charAt(pos))) {
+                    pos++;
+                }
+                if (breaksPhrase) {
+                    chained = 0;
+                }
+
+                String word = normalize(content.substring(begin, pos));
+                if (word == null) {
+                    chained = 0;
+                    continue;
+                }
+
+                // 직전 단어들로 시작하는 구에 현재 단어를 이어 붙임 (긴 구부터 밀어내며 갱신)
+                int keep = Math.min(chained, window - 1);
+                for (int i = keep; i > 0; i--) {
+                    starts[i] = starts[i - 1];
+                    running[i] = extend(extend(running[i - 1], ' '), word);
+                }
+                starts[0] = begin;
+                running[0] = extend(FNV_OFFSET, word);
+                chained = keep + 1;
+
+                for (int i = 0; i < chained; i++) {
+                    terms.add(running[i], i + 1, weight, c, starts[i], pos);
+                }
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * 소문자화·조사 제거 (불용어, 한 글자, 숫자뿐인 단어는 null)
+     */
+    private static String normalize(String raw) {
+        String word = raw.toLowerCase();
+        if (isHangul(word.charAt(word.length() - 1))) {
+            for (String particle : PARTICLES) {
+                if (word.length() - particle.length() >= 2 && word.endsWith(particle)) {
+                    word = word.substring(0, word.length() - particle.length());
+                    break;
+                }
+            }
+        }
+        if (word.length() < 2 || STOPWORDS.contains(word) || isNumeric(word)) {
+            return null;
+        }
+        return word;
+    }
+
+    private static boolean isNumeric(String word) {
+        for (int i = 0; i < word.length(); i++) {
+            if (!Character.isDigit(word.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isHangul(char c) {
+        return c >= '가' && c <= '힣';
+    }
+
+    private static long extend(long hash, String text) {
+        for (int i = 0; i < text.length(); i++) {
+            hash = extend(hash, text.charAt(i));
+        }
+        return hash;
+    }
+
+    private static long extend(long hash, char c) {
+        return (hash ^ c) * FNV_PRIME;
+    }
+
+    /**
+     * 키워드가 이미 고른 용어 안에 단어 단위로 포함되는지 ("문서 구조" 를 고른 뒤의 "구조")
+     */
+    private static boolean containsWord(String chosen, String term) {
+        int index = chosen.indexOf(term);
+        while (index >= 0) {
+            int end = index + term.length();
+            if ((index == 0 || chosen.charAt(index - 1) == ' ') && (end == chosen.length() || chosen.charAt(end) == ' ')) {
+                return true;
+            }
+            index = chosen.indexOf(term, index + 1);
+        }
+        return false;
+    }
+
+    /**
+     * 문서 한 건의 용어 목록 (해시 → 인덱스 맵 + 병렬 배열)
+     * 표면형 문자열은 처음 나온 위치만 기억해 두었다가 상위 후보에 대해서만 만든다.
+     */
+    private static final class DocumentTerms {
+        private final LongIntHashMap index; // 해시 → 인덱스 + 1
+        private int size;
+        private long[] hashes;
+        private int[] frequencies;
+        private int[] wordCounts;
+        private int[] cellIndexes; // 처음 나온 셀과 본문 구간
+        private int[] begins;
+        private int[] ends;
+
+        DocumentTerms(int expectedSize) {
+            int capacity = Math.max(16, expectedSize);
+            index = new LongIntHashMap(capacity);
+            hashes = new long[capacity];
+            frequencies = new int[capacity];
+            wordCounts = new int[capacity];
+            cellIndexes = new int[capacity];
+            begins = new int[capacity];
+            ends = new int[capacity];
+        }
+
+        void add(long hash, int words, int weight, int cellIndex, int begin, int end) {
+            long key = hash == 0 ? 1 : hash; // 0 은 맵의 빈 슬롯 표시
+            int slot = index.get(key);
+            if (slot > 0) {
+                frequencies[slot - 1] += weight;
+                return;
+            }
+
+            if (size == hashes.length) {
+                int capacity = size * 2;
+                hashes = Arrays.copyOf(hashes, capacity);
+                frequencies = Arrays.copyOf(frequencies, capacity);
+                wordCounts = Arrays.copyOf(wordCounts, capacity);
+                cellIndexes = Arrays.copyOf(cellIndexes, capacity);
+                begins = Arrays.copyOf(begins, capacity);
+                ends = Arrays.copyOf(ends, capacity);
+            }
+            hashes[size] = key;
+            frequencies[size] = weight;
+            wordCounts[size] = words;
+            cellIndexes[size] = cellIndex;
+            begins[size] = begin;
+            ends[size] = end;
+            index.put(key, ++size);
+        }
+
+        /**
+         * 정규화된 단어를 공백으로 이은 표면형 (구간 안의 단어는 모두 정규화를 통과한 단어)
+         */
+        String surface(int t, List<SemanticCell> cells) {
+            String content = cells.get(cellIndexes[t]).getContent();
+            StringBuilder surface = new StringBuilder();
+            int pos = begins[t];
+            while (pos < ends[t]) {
+                while (pos < ends[t] && !Character.isLetterOrDigit(content.charAt(pos))) {
+                    pos++;
+                }
+                int begin = pos;
+                while (pos < ends[t] && Character.isLetterOrDigit(content.charAt(pos))) {
+                    pos++;
+                }
+                if (pos > begin) {
+                    if (surface.length() > 0) {
+                        surface.append(' ');
+                    }
+                    surface.append(normalize(content.substring(begin, pos)));
+                }
+            }
+            return surface.toString();
+        }
+
+        int size() {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.pdfanalyzer.core.integration.llm;
+
+/**
+ * 토크나이저 없이 쓰는 LLM 토큰 수 근사치
+ * 라틴 문자·숫자·공백은 약 4자당 1토큰, 한글 등 비 ASCII 문자는 1자당 1토큰으로 계산한다.
+ * (실제 토크나이저보다 약간 크게 잡히므로 예산 계산에 안전한 쪽)
+ */
+public final class TokenEstimator {
+
+    private TokenEstimator() {
+    }
+
+    public static int estimate(CharSequence text) {
+        if (text == null) {
+            return 0;
+        }
+
+        int ascii = 0;
+        int other = 0;
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) < 0x80) {
+                ascii++;
+            } else {
+                other++;
+            }
+        }
+        return other + (ascii + 3) / 4;
+    }
+
+    /**
+     * 토큰 예산 안에 들어가도록 앞부분만 남김 (문자 단위 근사)
+     */
+    public static String truncate(String text, int maxTokens) {
+        if (text == null || estimate(text) <= maxTokens) {
+            return text;
+        }
+
+        int tokens4 = 0; // 토큰 × 4 단위로 누적
+        int budget4 = maxTokens * 4;
+        int end = 0;
+        while (end < text.length()) {
+            int cost = text.charAt(end) < 0x80 ? 1 : 4;
+            if (tokens4 + cost > budget4) {
+                break;
+            }
+            tokens4 += cost;
+            end++;
+        }
+        return text.substring(0, end);
+    }
+}
@@ -0,0 +1,235 @@
+package com.pdfanalyzer.core.integration.llm.provider;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pdfanalyzer.core.integration.llm.ExtractiveSummarizer;
+import com.pdfanalyzer.core.integration.llm.TfIdfKeywordExtractor;
+import com.pdfanalyzer.core.semantic.model.SemanticCell;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+/**
+ * 프로세스 내 발췌 요약 제공자 (네트워크 호출 없음)
+ * 원격 제공자가 모두 실패했을 때의 최종 폴백이자, 부하 테스트용 LLM 대역으로 쓴다.
+ */
+@Component
+@RequiredArgsConstructor
+public class ExtractiveLlmProvider implements LlmProvider {
+
+    public static final String NAME = "extractive";
+
+    private final ExtractiveSummarizer extractiveSummarizer;
+    private final TfIdfKeywordExtractor keywordExtractor;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return true;
+    }
+
+    @Override
+    public boolean isLocal() {
+        return true;
+    }
+
+    @Override
+    public CompletableFuture<String> generate(LlmRequest request) {
+        try {
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("summary", generateSummary(request.getCells()));
+            result.put("keywords", generateKeywords(request.getCells()));
+            return CompletableFuture.completedFuture(objectMapper.writeValueAsString(result));
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * TextRank 발췌 요약 (문장 후보가 없는 문서는 헤더·상위 셀 개요로 대체)
+     */
+    public String generateSummary(List<SemanticCell> cells) {
+        String summary = extractiveSummarizer.summarize(cells).getText();
+        return summary.isEmpty() ? generateOutline(cells) : summary;
+    }
+
+    /**
+     * 헤더와 구조 점수 상위 셀 발췌로 개요 생성
+     */
+    private String generateOutline(List<SemanticCell> cells) {
+        StringBuilder sb = new StringBuilder();
+
+        sb.append("=== 문서 요약 ===\n\n");
+
+        // 헤더와 내용 셀을 분리
+        List<SemanticCell> headers = cells.stream()
+                .filter(SemanticCell::isHeader)
+                .sorted((a, b) -> Double.compare(b.getStructuralScore(), a.getStructuralScore()))
+                .limit(5)
+                .collect(Collectors.toList());
+
+        List<SemanticCell> contentCells = cells.stream()
+                .filter(c -> !c.isHeader())
+                .filter(c -> c.getContent().length() > 50) // 최소 50자 이상
+                .sorted((a, b) -> Double.compare(b.getStructuralScore(), a.getStructuralScore()))
+                .limit(20)
+                .collect(Collectors.toList());
+
+        // 주요 섹션과 내용을 최대한 상세하게 포함
+        int addedContent = 0;
+
+        // 모든 헤더와 관련 내용을 포함 (최대 10개 섹션)
+        for (int i = 0; i < Math.min(headers.size(), 10); i++) {
+            // 헤더 출력
+            if (i < headers.size()) {
+                sb.append("\n【 ").append(headers.get(i).getContent()).append(" 】\n");
+            }
+
+            // 해당 헤더 관련 내용 찾기 (섹션당 3-5개 내용 셀)
+            int contentStart = i * 3;
+            int contentEnd = Math.min(contentStart + 5, contentCells.size());
+
+            for (int j = contentStart; j < contentEnd && addedContent < 40; j++) {  // 최대 40개로 증가
+                SemanticCell cell = contentCells.get(j);
+                String content = cell.getContent().trim();
+
+                // 의미있는 부분을 더 길게 추출 (400자로 증가)
+                String summary = extractMeaningfulContent(content, 400);
+                if (!summary.isEmpty()) {
+                    sb.append("• ").append(summary).append("\n");
+                    addedContent++;
+                }
+            }
+        }
+
+        // 내용이 부족하면 추가 내용 보강
+        if (addedContent < 10) {
+            sb.append("\n【 추가 주요 내용 】\n");
+
+            // 아직 사용하지 않은 content cell들을 추가
+            int startIdx = addedContent * 3;
+            for (int i = startIdx; i < Math.min(startIdx + 20, contentCells.size()); i++) {
+                String excerpt = extractMeaningfulContent(contentCells.get(i).getContent(), 300);
+                if (!excerpt.isEmpty()) {
+                    sb.append("• ").append(excerpt).append("\n");
+                    addedContent++;
+                }
+            }
+        }
+
+        // 문서 구조도 함께 보여주기
+        if (headers.size() > 5) {
+            sb.append("\n【 문서 전체 구조 】\n");
+            List<SemanticCell> allHeaders = cells.stream()
+                    .filter(SemanticCell::isHeader)
+                    .limit(15)  // 최대 15개 헤더
+                    .collect(Collectors.toList());
+
+            for (int i = 0; i < allHeaders.size(); i++) {
+                sb.append((i + 1)).append(". ").append(allHeaders.get(i).getContent()).append("\n");
+            }
+        }
+
+        // 통계 정보
+        long headerCount = cells.stream().filter(SemanticCell::isHeader).count();
+        long contentCellCount = cells.size() - headerCount;
+        sb.append("\n【 문서 정보 】\n");
+        sb.append("• 총 ").append(cells.size()).append("개 섹션 (제목: ").append(headerCount)
+          .append(", 내용: ").append(contentCellCount).append(")\n");
+
+        int estimatedPages = cells.stream()
+                .mapToInt(c -> c.getPageNumber() != null ? c.getPageNumber() : 0)
+                .max()
+                .orElse(1);
+        sb.append("• 예상 페이지 수: 약 ").append(estimatedPages).append(" 페이지\n");
+
+        return sb.toString();
+    }
+
+    /**
+     * 내용에서 의미있는 부분 추출
+     */
+    private String extractMeaningfulContent(String content, int maxLength) {
+        if (content == null || content.trim().isEmpty()) return "";
+
+        content = content.trim();
+
+        // 너무 짧으면 그대로 반환
+        if (content.length() <= maxLength) {
+            return content;
+        }
+
+        // maxLength까지 자르되, 문장이 끊기지 않도록 마지막 마침표/줄바꿈 찾기
+        String truncated = content.substring(0, maxLength);
+
+        // 마지막 문장 구분자 찾기
+        int lastPeriod = Math.max(
+            truncated.lastIndexOf(". "),
+            Math.max(truncated.lastIndexOf(".\n"), truncated.lastIndexOf("。"))
+        );
+
+        if (lastPeriod > maxLength / 2) {
+            // 문장이 너무 짧지 않으면 문장 단위로 자르기
+            return truncated.substring(0, lastPeriod + 1).trim();
+        }
+
+        // 그냥 자르고 "..." 추가
+        return truncated.trim() + "...";
+    }
+
+    /**
+     * 코퍼스 TF-IDF 키워드 (후보 용어가 없는 문서는 헤더·긴 단어 휴리스틱으로 대체)
+     */
+    public List<String> generateKeywords(List<SemanticCell> cells) {
+        List<String> keywords = keywordExtractor.extract(cells);
+        return keywords.isEmpty() ? generateHeaderKeywords(cells) : keywords;
+    }
+
+    /**
+     * 헤더와 고득점 셀의 긴 단어로 키워드 생성
+     */
+    private List<String> generateHeaderKeywords(List<SemanticCell> cells) {
+        List<String> keywords = new ArrayList<>();
+
+        // 헤더에서 키워드 추출
+        cells.stream()
+                .filter(SemanticCell::isHeader)
+                .map(SemanticCell::getContent)
+                .map(String::trim)
+                .filter(s -> s.length() > 2 && s.length() < 100)
+                .limit(5)
+                .forEach(keywords::add);
+
+        // 중요도 높은 셀에서 긴 단어 추출
+        cells.stream()
+                .filter(c -> !c.isHeader() && c.getStructuralScore() > 0.6)
+                .flatMap(c -> Arrays.stream(c.getContent().split("\\s+")))
+                .filter(word -> word.length() > 4)  // 4자 이상
+                .map(word -> word.replaceAll("[^가-힣a-zA-Z0-9]", ""))  // 특수문자 제거
+                .filter(word -> word.length() > 4)
+                .distinct()
+                .limit(10)
+                .forEach(keywords::add);
+
+        // 최소 5개 보장
+        if (keywords.size() < 5) {
+            keywords.add("문서분석");
+            keywords.add("PDF");
+            keywords.add("자동추출");
+        }
+
+        return keywords.stream().distinct().limit(15).collect(Collectors.toList());
+    }
+}
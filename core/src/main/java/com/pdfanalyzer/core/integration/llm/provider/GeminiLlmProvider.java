@@ -0,0 +1,38 @@
+package com.pdfanalyzer.core.integration.llm.provider;
+
+import com.pdfanalyzer.core.integration.llm.GeminiClient;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * Gemini generateContent 제공자
+ */
+@Component
+@RequiredArgsConstructor
+public class GeminiLlmProvider implements LlmProvider {
+
+    private final GeminiClient geminiClient;
+
+    @Override
+    public String getName() {
+        return GeminiClient.TARGET_NAME;
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return geminiClient.isConfigured();
+    }
+
+    @Override
+    public CompletableFuture<String> generate(LlmRequest request) {
+        return geminiClient.generateAsync(request.getPrompt());
+    }
+
+    @Override
+    public CompletableFuture<String> stream(LlmRequest request, Consumer<String> onDelta) {
+        return geminiClient.streamAsync(request.getPrompt(), onDelta);
+    }
+}
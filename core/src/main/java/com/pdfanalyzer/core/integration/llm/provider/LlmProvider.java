@@ -0,0 +1,47 @@
+package com.pdfanalyzer.core.integration.llm.provider;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * 요약·키워드 생성 제공자 SPI
+ *
+ * 원격 제공자는 프롬프트를 그대로 모델에 보내고, 로컬 제공자는 요청의 셀로 직접 결과를 만든다.
+ * 응답은 {"summary": ..., "keywords": [...]} JSON 텍스트이며 LlmRouter 가 제공자를 고른다.
+ * 새 제공자는 이 인터페이스를 구현한 Spring 빈으로 등록하면 라우터에 자동으로 포함된다.
+ */
+public interface LlmProvider {
+
+    /**
+     * 제공자 이름 (라우터 통계·ResilienceGuard 대상 이름)
+     */
+    String getName();
+
+    /**
+     * 설정(API 키, 활성화 여부)상 호출 가능한지
+     */
+    boolean isAvailable();
+
+    /**
+     * 프로세스 내 제공자 여부 (로컬 제공자는 복원력 계층을 거치지 않고, 결과를 캐시하지 않음)
+     */
+    default boolean isLocal() {
+        return false;
+    }
+
+    /**
+     * 요청 실행 (실패는 예외 완료, 반환 future 를 취소하면 진행 중인 호출도 취소)
+     */
+    CompletableFuture<String> generate(LlmRequest request);
+
+    /**
+     * 응답 텍스트를 생성되는 대로 onDelta 로 전달하며 실행 (완료 값은 전체 텍스트)
+     * 스트리밍을 지원하지 않는 제공자는 완성된 응답을 한 번에 전달한다.
+     */
+    default CompletableFuture<String> stream(LlmRequest request, Consumer<String> onDelta) {
+        return generate(request).thenApply(text -> {
+            onDelta.accept(text);
+            return text;
+        });
+    }
+}
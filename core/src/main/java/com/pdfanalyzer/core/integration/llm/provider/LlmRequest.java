@@ -0,0 +1,20 @@
+package com.pdfanalyzer.core.integration.llm.provider;
+
+import com.pdfanalyzer.core.semantic.model.SemanticCell;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 제공자에 전달하는 요청 (원격 제공자는 prompt, 로컬 제공자는 cells 를 사용)
+ */
+@Getter
+public class LlmRequest {
+    private final String prompt;
+    private final List<SemanticCell> cells;
+
+    public LlmRequest(String prompt, List<SemanticCell> cells) {
+        this.prompt = prompt;
+        this.cells = cells;
+    }
+}
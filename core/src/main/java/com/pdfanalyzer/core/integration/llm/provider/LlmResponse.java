@@ -0,0 +1,21 @@
+package com.pdfanalyzer.core.integration.llm.provider;
+
+import lombok.Getter;
+
+/**
+ * 제공자 응답 텍스트와 응답한 제공자 정보
+ */
+@Getter
+public class LlmResponse {
+    private final String text;
+    private final String provider;
+    private final boolean local;
+    private final long latencyMs;
+
+    public LlmResponse(String text, String provider, boolean local, long latencyMs) {
+        this.text = text;
+        this.provider = provider;
+        this.local = local;
+        this.latencyMs = latencyMs;
+    }
+}
@@ -0,0 +1,336 @@
+package com.pdfanalyzer.core.integration.llm.provider;
+
+import com.pdfanalyzer.core.integration.llm.ResilienceGuard;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * 지연·오류율 기반 LLM 제공자 라우터
+ *
+ * 원격 제공자마다 응답 시간과 오류율의 지수 이동 평균(EWMA)을 유지하고,
+ * 점수(지연 × (1 + 4 × 오류율))가 낮은 순으로 시도한다. 실패하면 다음 제공자로 넘어가고,
+ * 로컬 제공자(발췌 요약)는 마지막 수단으로만 사용한다.
+ * race 모드에서는 상위 두 제공자를 동시에 호출하여 먼저 성공한 응답을 쓰고 나머지는 취소한다.
+ */
+@Slf4j
+@Component
+public class LlmRouter {
+
+    private final List<LlmProvider> providers;
+    private final ResilienceGuard resilienceGuard;
+
+    @Value("${llm.router.local-only:false}")
+    private boolean localOnly; // 부하 테스트 등: 원격 API를 전혀 호출하지 않음
+
+    @Value("${llm.router.race.enabled:false}")
+    private boolean raceEnabled;
+
+    @Value("${llm.router.ewma-alpha:0.2}")
+    private double ewmaAlpha;
+
+    @Value("${llm.router.max-error-rate:0.5}")
+    private double maxErrorRate; // 오류율이 이보다 높은 제공자는 순위 맨 뒤로
+
+    @Value("${llm.router.explore-ratio:0.05}")
+    private double exploreRatio; // 통계 갱신을 위해 2순위 제공자를 먼저 시도하는 비율
+
+    @Value("${llm.router.prior-latency-ms:3000}")
+    private double priorLatencyMs; // 아직 호출 기록이 없는 제공자의 가정 지연
+
+    private final Map<String, ProviderStats> statsByName = new ConcurrentHashMap<>();
+    private final LongAdder failovers = new LongAdder();
+    private final LongAdder races = new LongAdder();
+
+    public LlmRouter(List<LlmProvider> providers, ResilienceGuard resilienceGuard) {
+        this.providers = providers;
+        this.resilienceGuard = resilienceGuard;
+    }
+
+    /**
+     * 호출 가능한 원격 제공자가 있는지 (없으면 호출자는 로컬 결과를 바로 사용)
+     */
+    public boolean hasRemoteProvider() {
+        return !localOnly && providers.stream().anyMatch(p -> !p.isLocal() && p.isAvailable());
+    }
+
+    /**
+     * 순위대로 제공자를 시도 (로컬 제공자 포함)
+     */
+    public CompletableFuture<LlmResponse> generate(LlmRequest request) {
+        return generate(request, true);
+    }
+
+    /**
+     * @param allowLocal false 이면 원격 제공자만 시도 (호출자가 자체 폴백을 가진 경우)
+     */
+    public CompletableFuture<LlmResponse> generate(LlmRequest request, boolean allowLocal) {
+        List<LlmProvider> plan = plan(allowLocal);
+        boolean race = raceEnabled && plan.size() >= 2 && !plan.get(0).isLocal() && !plan.get(1).isLocal();
+        return run(plan, provider -> call(provider, () -> provider.generate(request)), () -> true, race);
+    }
+
+    /**
+     * 응답을 조각 단위로 onDelta 에 전달하며 실행
+     *
+     * 조각을 하나라도 전달한 뒤에는 다른 제공자로 전환하지 않는다 (같은 문장을 두 번 보내지 않기 위해).
+     * 재시도·헤지 요청이 겹치면 처음 조각을 보낸 시도만 계속 전달하고, 나머지는 전체 텍스트에만 반영된다.
+     */
+    public CompletableFuture<LlmResponse> stream(LlmRequest request, Consumer<String> onDelta) {
+        AtomicReference<Object> owner = new AtomicReference<>();
+        return run(plan(true), provider -> call(provider, () -> {
+            Object attempt = new Object();
+            return provider.stream(request, delta -> {
+                if (owner.compareAndSet(null, attempt) || owner.get() == attempt) {
+                    onDelta.accept(delta);
+                }
+            });
+        }), () -> owner.get() == null, false);
+    }
+
+    private CompletableFuture<LlmResponse> run(List<LlmProvider> plan,
+                                               Function<LlmProvider, CompletableFuture<LlmResponse>> invoke,
+                                               BooleanSupplier failoverAllowed, boolean race) {
+        if (plan.isEmpty()) {
+            return CompletableFuture.failedFuture(new IllegalStateException("호출 가능한 LLM 제공자가 없습니다."));
+        }
+
+        CompletableFuture<LlmResponse> result = new CompletableFuture<>();
+        AtomicReference<CompletableFuture<LlmResponse>> current = new AtomicReference<>();
+        attempt(plan, race ? 2 : 0, invoke, failoverAllowed, result, current, race);
+
+        // 호출자가 취소하면 진행 중인 제공자 호출도 취소
+        result.whenComplete((response, error) -> {
+            if (result.isCancelled()) {
+                CompletableFuture<LlmResponse> inFlight = current.get();
+                if (inFlight != null) {
+                    inFlight.cancel(true);
+                }
+            }
+        });
+        return result;
+    }
+
+    private void attempt(List<LlmProvider> plan, int next,
+                         Function<LlmProvider, CompletableFuture<LlmResponse>> invoke, BooleanSupplier failoverAllowed,
+                         CompletableFuture<LlmResponse> result,
+                         AtomicReference<CompletableFuture<LlmResponse>> current, boolean race) {
+        if (result.isDone()) {
+            return;
+        }
+        CompletableFuture<LlmResponse> call = race
+                ? race(invoke.apply(plan.get(0)), invoke.apply(plan.get(1)))
+                : invoke.apply(plan.get(next));
+        int following = race ? next : next + 1;
+        current.set(call);
+
+        call.whenComplete((response, error) -> {
+            if (error == null) {
+                result.complete(response);
+                return;
+            }
+            if (result.isDone() || following >= plan.size() || !failoverAllowed.getAsBoolean()) {
+                result.completeExceptionally(unwrap(error));
+                return;
+            }
+            failovers.increment();
+            log.warn("🔀 LLM 제공자 실패, {}(으)로 전환: {}", plan.get(following).getName(), unwrap(error).getMessage());
+            attempt(plan, following, invoke, failoverAllowed, result, current, false);
+        });
+    }
+
+    /**
+     * 두 제공자를 동시에 호출하고 먼저 성공한 응답을 사용 (진 쪽은 취소)
+     */
+    private CompletableFuture<LlmResponse> race(CompletableFuture<LlmResponse> first, CompletableFuture<LlmResponse> second) {
+        races.increment();
+        List<CompletableFuture<LlmResponse>> calls = List.of(first, second);
+        CompletableFuture<LlmResponse> winner = new CompletableFuture<>();
+        AtomicInteger failures = new AtomicInteger();
+        AtomicBoolean decided = new AtomicBoolean();
+
+        for (CompletableFuture<LlmResponse> call : calls) {
+            call.whenComplete((response, error) -> {
+                if (error == null) {
+                    // 호출자에게 결과를 넘기기 전에 진 쪽부터 취소
+                    if (decided.compareAndSet(false, true)) {
+                        calls.stream().filter(other -> other != call).forEach(other -> other.cancel(true));
+                        winner.complete(response);
+                    }
+                } else if (failures.incrementAndGet() == calls.size()) {
+                    winner.completeExceptionally(error);
+                }
+            });
+        }
+        winner.whenComplete((response, error) -> {
+            if (winner.isCancelled()) {
+                calls.forEach(call -> call.cancel(true));
+            }
+        });
+        return winner;
+    }
+
+    /**
+     * 제공자 한 건 호출 (원격은 ResilienceGuard 를 거침) 및 통계 기록
+     */
+    private CompletableFuture<LlmResponse> call(LlmProvider provider, Supplier<CompletableFuture<String>> invocation) {
+        ProviderStats stats = statsFor(provider);
+        long start = System.nanoTime();
+
+        CompletableFuture<String> raw;
+        try {
+            raw = provider.isLocal()
+                    ? invocation.get()
+                    : resilienceGuard.execute(provider.getName(), invocation);
+        } catch (RuntimeException e) {
+            raw = CompletableFuture.failedFuture(e);
+        }
+
+        CompletableFuture<String> source = raw;
+        CompletableFuture<LlmResponse> response = source.thenApply(text -> {
+            if (text == null || text.isEmpty()) {
+                throw new IllegalStateException(provider.getName() + " 응답 본문이 비어있습니다.");
+            }
+            long latencyMs = (System.nanoTime() - start) / 1_000_000;
+            return new LlmResponse(text, provider.getName(), provider.isLocal(), latencyMs);
+        });
+
+        response.whenComplete((result, error) -> {
+            if (response.isCancelled()) {
+                source.cancel(true);
+                return;
+            }
+            if (error == null) {
+                stats.recordSuccess(result.getLatencyMs(), ewmaAlpha);
+            } else if (!(unwrap(error) instanceof CancellationException)) {
+                stats.recordFailure((System.nanoTime() - start) / 1_000_000, ewmaAlpha);
+            }
+        });
+        return response;
+    }
+
+    /**
+     * 시도 순서: 건강한 원격 제공자(점수순) → 오류율이 높은 원격 제공자 → 로컬 제공자
+     */
+    private List<LlmProvider> plan(boolean allowLocal) {
+        List<LlmProvider> remote = new ArrayList<>();
+        List<LlmProvider> local = new ArrayList<>();
+        for (LlmProvider provider : providers) {
+            if (!provider.isAvailable()) {
+                continue;
+            }
+            if (provider.isLocal()) {
+                local.add(provider);
+            } else if (!localOnly) {
+                remote.add(provider);
+            }
+        }
+
+        remote.sort(Comparator
+                .comparing((LlmProvider p) -> statsFor(p).errorRate() > maxErrorRate)
+                .thenComparingDouble(p -> statsFor(p).score()));
+        if (remote.size() > 1 && ThreadLocalRandom.current().nextDouble() < exploreRatio) {
+            // 가끔 2순위를 먼저 시도하여 느려졌던 제공자의 통계도 갱신되게 함
+            remote.add(0, remote.remove(1));
+        }
+
+        List<LlmProvider> plan = new ArrayList<>(remote);
+        if (allowLocal || localOnly) {
+            plan.addAll(local);
+        }
+        return plan;
+    }
+
+    private ProviderStats statsFor(LlmProvider provider) {
+        return statsByName.computeIfAbsent(provider.getName(), name -> new ProviderStats(priorLatencyMs));
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    /**
+     * 라우터 통계 (제공자별 EWMA 지연·오류율, 전환·경쟁 호출 수)
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("localOnly", localOnly);
+        stats.put("raceEnabled", raceEnabled);
+        stats.put("failovers", failovers.sum());
+        stats.put("races", races.sum());
+
+        Map<String, Object> byProvider = new LinkedHashMap<>();
+        for (LlmProvider provider : providers) {
+            ProviderStats providerStats = statsFor(provider);
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("available", provider.isAvailable());
+            entry.put("local", provider.isLocal());
+            entry.put("calls", providerStats.calls.sum());
+            entry.put("failures", providerStats.failures.sum());
+            entry.put("ewmaLatencyMs", Math.round(providerStats.latency()));
+            entry.put("ewmaErrorRate", String.format("%.3f", providerStats.errorRate()));
+            byProvider.put(provider.getName(), entry);
+        }
+        stats.put("providers", byProvider);
+        return stats;
+    }
+
+    /**
+     * 제공자별 EWMA 통계
+     */
+    private static class ProviderStats {
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private double latencyMs;
+        private double errorRate;
+
+        private ProviderStats(double priorLatencyMs) {
+            this.latencyMs = priorLatencyMs;
+        }
+
+        synchronized void recordSuccess(long elapsedMs, double alpha) {
+            calls.increment();
+            latencyMs += alpha * (elapsedMs - latencyMs);
+            errorRate += alpha * (0 - errorRate);
+        }
+
+        synchronized void recordFailure(long elapsedMs, double alpha) {
+            calls.increment();
+            failures.increment();
+            // 실패까지 걸린 시간도 지연에 반영 (타임아웃이 잦은 제공자를 뒤로 보냄)
+            latencyMs += alpha * (Math.max(elapsedMs, latencyMs) - latencyMs);
+            errorRate += alpha * (1 - errorRate);
+        }
+
+        synchronized double latency() {
+            return latencyMs;
+        }
+
+        synchronized double errorRate() {
+            return errorRate;
+        }
+
+        synchronized double score() {
+            return latencyMs * (1 + 4 * errorRate);
+        }
+    }
+}
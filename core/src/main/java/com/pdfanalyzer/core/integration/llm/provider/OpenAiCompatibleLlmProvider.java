@@ -0,0 +1,228 @@
+package com.pdfanalyzer.core.integration.llm.provider;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pdfanalyzer.core.integration.llm.LlmApiException;
+import com.pdfanalyzer.core.integration.llm.StreamIdleTimeout;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * OpenAI 호환 /chat/completions 제공자
+ * vLLM, llama.cpp server, Ollama 등 로컬 추론 서버나 보조 상용 API를 가리킬 수 있다.
+ */
+@Slf4j
+@Component
+public class OpenAiCompatibleLlmProvider implements LlmProvider {
+
+    @Value("${llm.providers.openai.enabled:false}")
+    private boolean enabled;
+
+    @Value("${llm.providers.openai.name:openai}")
+    private String name;
+
+    @Value("${llm.providers.openai.base-url:http://localhost:8000/v1}")
+    private String baseUrl;
+
+    @Value("${llm.providers.openai.model:local-model}")
+    private String model;
+
+    @Value("${llm.providers.openai.api-key:}")
+    private String apiKey;
+
+    @Value("${llm.providers.openai.connect-timeout-ms:3000}")
+    private long connectTimeoutMs;
+
+    @Value("${llm.providers.openai.read-timeout-ms:60000}")
+    private long readTimeoutMs;
+
+    @Value("${llm.providers.openai.stream-idle-timeout-ms:30000}")
+    private long streamIdleTimeoutMs;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private ExecutorService executor;
+    private HttpClient httpClient;
+
+    @PostConstruct
+    public void initialize() {
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .executor(executor)
+                .build();
+        if (enabled) {
+            log.info("OpenAI 호환 제공자 활성화: {} ({}, 모델: {})", name, baseUrl, model);
+        }
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return enabled;
+    }
+
+    @Override
+    public CompletableFuture<String> generate(LlmRequest request) {
+        HttpRequest httpRequest;
+        try {
+            httpRequest = buildRequest(request.getPrompt(), false);
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(new LlmApiException(LlmApiException.REQUEST_INVALID, "요청 생성 실패: " + e.getMessage(), e));
+        }
+
+        CompletableFuture<HttpResponse<String>> exchange =
+                httpClient.sendAsync(httpRequest, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+        CompletableFuture<String> result = exchange.handle((response, error) -> {
+            if (error != null) {
+                throw new LlmApiException(-1, name + " 호출 실패: " + error.getMessage(), error);
+            }
+            if (response.statusCode() != 200) {
+                throw new LlmApiException(response.statusCode(),
+                        name + " 오류 응답: " + response.statusCode() + ", 본문: " + response.body(), null);
+            }
+            return extractText(response.body());
+        });
+
+        result.whenComplete((text, error) -> {
+            if (result.isCancelled()) {
+                exchange.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * stream=true 응답(SSE)의 choices[0].delta.content 조각을 onDelta 로 전달
+     * 본문이 stream-idle-timeout 동안 멈추면 LlmApiException(-1) 로 완료하고 연결을 끊는다.
+     */
+    @Override
+    public CompletableFuture<String> stream(LlmRequest request, Consumer<String> onDelta) {
+        HttpRequest httpRequest;
+        try {
+            httpRequest = buildRequest(request.getPrompt(), true);
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(new LlmApiException(LlmApiException.REQUEST_INVALID, "요청 생성 실패: " + e.getMessage(), e));
+        }
+
+        AtomicReference<Stream<String>> body = new AtomicReference<>();
+        StreamIdleTimeout idle = new StreamIdleTimeout(streamIdleTimeoutMs, name);
+        CompletableFuture<HttpResponse<Stream<String>>> exchange =
+                httpClient.sendAsync(httpRequest, HttpResponse.BodyHandlers.ofLines());
+        CompletableFuture<String> result = exchange.handleAsync((response, error) -> {
+            if (error != null) {
+                throw new LlmApiException(-1, name + " 스트리밍 호출 실패: " + error.getMessage(), error);
+            }
+            try (Stream<String> lines = response.body()) {
+                body.set(lines);
+                idle.touch();
+                if (response.statusCode() != 200) {
+                    throw new LlmApiException(response.statusCode(), name + " 오류 응답: " + response.statusCode()
+                            + ", 본문: " + lines.collect(Collectors.joining("\n")), null);
+                }
+                StringBuilder text = new StringBuilder();
+                lines.peek(line -> idle.touch())
+                        .filter(line -> line.startsWith("data:"))
+                        .map(line -> line.substring(5).trim())
+                        .takeWhile(data -> !"[DONE]".equals(data))
+                        .map(this::extractDelta)
+                        .filter(delta -> !delta.isEmpty())
+                        .forEach(delta -> {
+                            text.append(delta);
+                            onDelta.accept(delta);
+                        });
+                return text.toString();
+            } catch (LlmApiException e) {
+                throw e;
+            } catch (RuntimeException e) {
+                throw new LlmApiException(-1, name + " 스트리밍 중단: " + e.getMessage(), e);
+            }
+        }, executor);
+
+        Runnable abort = () -> {
+            exchange.cancel(true);
+            Stream<String> lines = body.get();
+            if (lines != null) {
+                lines.close();
+            }
+        };
+        idle.watch(result, abort);
+        result.whenComplete((text, error) -> {
+            if (result.isCancelled()) {
+                abort.run();
+            }
+        });
+        return result;
+    }
+
+    private HttpRequest buildRequest(String prompt, boolean stream) throws Exception {
+        Map<String, Object> body = Map.of(
+                "model", model,
+                "stream", stream,
+                "messages", List.of(Map.of("role", "user", "content", prompt)));
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(trimSlash(baseUrl) + "/chat/completions"))
+                .timeout(Duration.ofMillis(readTimeoutMs))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body), StandardCharsets.UTF_8));
+        if (apiKey != null && !apiKey.isEmpty()) {
+            builder.header("Authorization", "Bearer " + apiKey);
+        }
+        return builder.build();
+    }
+
+    private String extractDelta(String data) {
+        try {
+            JsonNode content = objectMapper.readTree(data).path("choices").path(0).path("delta").path("content");
+            return content.isTextual() ? content.asText() : "";
+        } catch (Exception e) {
+            log.warn("{} 스트리밍 조각 파싱 실패: {}", name, data);
+            return "";
+        }
+    }
+
+    /**
+     * choices[0].message.content 추출
+     */
+    private String extractText(String body) {
+        try {
+            JsonNode content = objectMapper.readTree(body).path("choices").path(0).path("message").path("content");
+            return content.isTextual() ? content.asText() : "";
+        } catch (Exception e) {
+            log.error("{} 응답 파싱 중 오류", name, e);
+            return "";
+        }
+    }
+
+    private static String trimSlash(String url) {
+        return url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+    }
+
+    @PreDestroy
+    public void cleanup() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+}
@@ -90,13 +90,20 @@ public class DocumentClassifier {
      * 문서 타입 예측
      */
     public ClassificationResult predict(List<SemanticCell> cells) {
+        return predict(DocumentProfile.of(cells));
+    }
+
+    /**
+     * 문서 타입 예측 (이미 계산된 프로파일 사용)
+     */
+    public ClassificationResult predict(DocumentProfile profile) {
         if (!enabled || predictor == null) {
             return null; // 폴백으로 규칙 기반 사용
         }
 
         try {
             // 특징 추출
-            float[] features = extractFeatures(cells);
+            float[] features = profile.toFeatureRow();
 
             // DJL 예측
             Classifications result = predictor.predict(features);
@@ -119,49 +126,6 @@ public class DocumentClassifier {
         }
     }
 
-    /**
-     * 문서 특징 추출 (6개 특징)
-     */
-    private float[] extractFeatures(List<SemanticCell> cells) {
-        int totalCells = cells.size();
-        if (totalCells == 0) {
-            return new float[6];
-        }
-
-        // 특징 1-3: BlockType 분포
-        long headers = cells.stream().filter(SemanticCell::isHeader).count();
-        long lists = cells.stream()
-                .filter(c -> c.getType().toString().contains("LIST"))
-                .count();
-        long paragraphs = cells.stream()
-                .filter(c -> c.getType().toString().contains("PARAGRAPH"))
-                .count();
-
-        // 특징 4: 평균 셀 길이
-        double avgLength = cells.stream()
-                .mapToInt(SemanticCell::getLength)
-                .average()
-                .orElse(0.0);
-
-        // 특징 5: 평균 중요도
-        double avgImportance = cells.stream()
-                .mapToDouble(SemanticCell::getImportance)
-                .average()
-                .orElse(0.0);
-
-        // 특징 6: 총 셀 개수 (로그 스케일)
-        double logCellCount = Math.log(totalCells + 1);
-
-        return new float[]{
-                (float) headers / totalCells,      // 헤더 비율
-                (float) lists / totalCells,        // 리스트 비율
-                (float) paragraphs / totalCells,   // 문단 비율
-                (float) avgLength / 1000.0f,       // 평균 길이 (정규화)
-                (float) avgImportance,             // 평균 중요도
-                (float) logCellCount / 10.0f       // 로그 셀 개수 (정규화)
-        };
-    }
-
     /**
      * 신뢰도가 충분한지 확인
      */
@@ -0,0 +1,115 @@
+package com.pdfanalyzer.core.ml.classification;
+
+import com.pdfanalyzer.core.semantic.model.SemanticCell;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 문서 단위 구조 프로파일
+ * 셀 목록을 한 번만 순회하며 블록 타입별 개수, 길이·중요도 합계를 누적
+ *
+ * DJL 분류기의 특징 벡터, 규칙 기반 분류, 학습 데이터(TrainingDataEntity.featureVector)가
+ * 모두 같은 프로파일을 사용한다. 셀이 도착하는 대로 add() 하여 점진적으로 만들 수도 있다.
+ */
+@Getter
+public class DocumentProfile {
+
+    /**
+     * toFeatureRow() 의 특징 이름 (학습 데이터 컬럼 순서)
+     */
+    public static final String[] FEATURE_NAMES = {
+            "header_ratio",
+            "list_ratio",
+            "paragraph_ratio",
+            "avg_length",
+            "avg_importance",
+            "log_cell_count"
+    };
+
+    private int totalCells;
+    private int headers;
+    private int lists;
+    private int paragraphs;
+    private int tables;
+    private long lengthSum;
+    private double importanceSum;
+
+    public static DocumentProfile of(List<SemanticCell> cells) {
+        DocumentProfile profile = new DocumentProfile();
+        for (SemanticCell cell : cells) {
+            profile.add(cell);
+        }
+        return profile;
+    }
+
+    /**
+     * 셀 하나를 프로파일에 누적
+     */
+    public void add(SemanticCell cell) {
+        totalCells++;
+        lengthSum += cell.getLength();
+        importanceSum += cell.getImportance();
+
+        if (cell.getType() == null) {
+            return;
+        }
+
+        switch (cell.getType()) {
+            case TITLE:
+            case SECTION_HEADER:
+            case SUBSECTION_HEADER:
+                headers++;
+                break;
+            case LIST_ITEM:
+                lists++;
+                break;
+            case PARAGRAPH:
+                paragraphs++;
+                break;
+            case TABLE:
+                tables++;
+                break;
+            default:
+                break;
+        }
+    }
+
+    public double getHeaderRatio() {
+        return totalCells > 0 ? (double) headers / totalCells : 0.0;
+    }
+
+    public double getListRatio() {
+        return totalCells > 0 ? (double) lists / totalCells : 0.0;
+    }
+
+    public double getParagraphRatio() {
+        return totalCells > 0 ? (double) paragraphs / totalCells : 0.0;
+    }
+
+    public double getAverageLength() {
+        return totalCells > 0 ? (double) lengthSum / totalCells : 0.0;
+    }
+
+    public double getAverageImportance() {
+        return totalCells > 0 ? importanceSum / totalCells : 0.0;
+    }
+
+    /**
+     * 분류 모델 입력 특징 (6개, FEATURE_NAMES 순서)
+     */
+    public float[] toFeatureRow() {
+        if (totalCells == 0) {
+            return new float[FEATURE_NAMES.length];
+        }
+
+        return new float[]{
+                (float) getHeaderRatio(),                      // 헤더 비율
+                (float) getListRatio(),                        // 리스트 비율
+                (float) getParagraphRatio(),                   // 문단 비율
+                (float) getAverageLength() / 1000.0f,          // 평균 길이 (정규화)
+                (float) getAverageImportance(),                // 평균 중요도
+                (float) Math.log(totalCells + 1) / 10.0f       // 로그 셀 개수 (정규화)
+        };
+    }
+}
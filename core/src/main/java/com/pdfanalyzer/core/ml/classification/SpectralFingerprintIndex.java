@@ -0,0 +1,383 @@
+package com.pdfanalyzer.core.ml.classification;
+
+import com.pdfanalyzer.core.frequency.fft.FFTEngine;
+import com.pdfanalyzer.core.frequency.fft.FFTSpectrum;
+import com.pdfanalyzer.core.frequency.filter.DocumentType;
+import com.pdfanalyzer.core.semantic.model.SemanticCell;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 스펙트럼 지문 최근접 이웃(k-NN) 인덱스
+ * 지문 = 정규화된 대역 에너지(FFTEngine.calculateBandEnergy) + 문서 프로파일 특징 행
+ *
+ * 분석된 문서의 지문을 메모리에 쌓아 두고 k-NN 투표로 문서 타입을 분류한다.
+ * 신뢰할 수 있는 라벨(사용자 지정 타입, 신뢰도 높은 DJL 예측)만 학습하며 디스크에 주기적으로 저장한다.
+ * 지문은 추가 순서대로 ArrayDeque 에 쌓여 최대 크기를 넘으면 가장 오래된 것부터 O(1)로 빠지고,
+ * 저장은 읽기 잠금 아래 스냅숏만 뜬 뒤 백그라운드 스레드에서 파일로 쓴다 (요청 스레드는 기다리지 않음).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SpectralFingerprintIndex {
+
+    private static final int FILE_MAGIC = 0x53504649; // "SPFI"
+    private static final int FILE_VERSION = 1;
+
+    private final FFTEngine fftEngine;
+
+    @Value("${classification.fingerprint.enabled:true}")
+    private boolean enabled;
+
+    @Value("${classification.fingerprint.path:models/fingerprint_index.bin}")
+    private String indexPath;
+
+    @Value("${classification.fingerprint.bands:16}")
+    private int bands;
+
+    @Value("${classification.fingerprint.k:5}")
+    private int k;
+
+    @Value("${classification.fingerprint.min-size:10}")
+    private int minSize; // 이 개수 이상 쌓여야 분류에 사용
+
+    @Value("${classification.fingerprint.confidence-threshold:0.6}")
+    private double confidenceThreshold;
+
+    @Value("${classification.fingerprint.max-size:10000}")
+    private int maxSize;
+
+    @Value("${classification.fingerprint.persist-interval:20}")
+    private int persistInterval; // N개 추가될 때마다 디스크 저장
+
+    private final ArrayDeque<Entry> entries = new ArrayDeque<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AtomicInteger unsaved = new AtomicInteger(); // 쓰기 잠금 아래에서만 증가
+    private final AtomicBoolean saveScheduled = new AtomicBoolean();
+    private final ExecutorService saver = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "fingerprint-index-saver");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @PostConstruct
+    public void initialize() {
+        if (!enabled) {
+            log.info("스펙트럼 지문 인덱스가 비활성화되어 있습니다.");
+            return;
+        }
+
+        Path file = Paths.get(indexPath);
+        if (!Files.exists(file)) {
+            log.info("스펙트럼 지문 인덱스 파일 없음, 빈 인덱스로 시작: {}", indexPath);
+            return;
+        }
+
+        try {
+            load(file);
+            log.info("✅ 스펙트럼 지문 인덱스 로딩 완료: {} 문서", entries.size());
+        } catch (IOException | RuntimeException e) {
+            log.error("❌ 스펙트럼 지문 인덱스 로딩 실패, 빈 인덱스로 시작합니다.", e);
+            entries.clear();
+        }
+    }
+
+    /**
+     * 문서 지문 계산 (셀이 대역 수보다 적으면 null)
+     */
+    public float[] fingerprint(List<SemanticCell> cells, DocumentProfile profile) {
+        if (!enabled || cells.size() < bands) {
+            return null;
+        }
+
+        FFTSpectrum spectrum = fftEngine.transform(cells);
+        double[] energy = fftEngine.calculateBandEnergy(spectrum, bands);
+
+        // 문서 길이·전체 세기와 무관한 스펙트럼 모양만 남기도록 로그 후 합 1 정규화
+        double total = 0.0;
+        for (int i = 0; i < energy.length; i++) {
+            energy[i] = Math.log1p(energy[i]);
+            total += energy[i];
+        }
+
+        float[] row = profile.toFeatureRow();
+        float[] fingerprint = new float[bands + row.length];
+        for (int i = 0; i < bands; i++) {
+            fingerprint[i] = total > 0 ? (float) (energy[i] / total) : 0.0f;
+        }
+        System.arraycopy(row, 0, fingerprint, bands, row.length);
+        return fingerprint;
+    }
+
+    /**
+     * k-NN 분류 (거리 역수 가중 투표)
+     *
+     * @return 인덱스가 충분히 쌓이지 않았거나 지문이 없으면 null
+     */
+    public FingerprintMatch classify(float[] fingerprint) {
+        if (!enabled || fingerprint == null) {
+            return null;
+        }
+
+        long start = System.nanoTime();
+        lock.readLock().lock();
+        try {
+            if (entries.size() < minSize) {
+                return null;
+            }
+
+            int neighbours = Math.min(k, entries.size());
+            DocumentType[] nearest = new DocumentType[neighbours];
+            double[] distances = new double[neighbours];
+            int found = 0;
+
+            for (Entry entry : entries) {
+                float[] candidate = entry.fingerprint;
+                if (candidate.length != fingerprint.length) {
+                    continue;
+                }
+                double distance = distance(fingerprint, candidate);
+
+                // 정렬된 상위 k 목록에 삽입
+                int pos = found < neighbours ? found++ : neighbours;
+                while (pos > 0 && distances[pos - 1] > distance) {
+                    if (pos < neighbours) {
+                        distances[pos] = distances[pos - 1];
+                        nearest[pos] = nearest[pos - 1];
+                    }
+                    pos--;
+                }
+                if (pos < neighbours) {
+                    distances[pos] = distance;
+                    nearest[pos] = entry.label;
+                }
+            }
+
+            if (found == 0) {
+                return null;
+            }
+
+            Map<DocumentType, Double> votes = new EnumMap<>(DocumentType.class);
+            double totalWeight = 0.0;
+            for (int i = 0; i < found; i++) {
+                double weight = 1.0 / (distances[i] + 1e-6);
+                votes.merge(nearest[i], weight, Double::sum);
+                totalWeight += weight;
+            }
+
+            Map.Entry<DocumentType, Double> best = null;
+            for (Map.Entry<DocumentType, Double> vote : votes.entrySet()) {
+                if (best == null || vote.getValue() > best.getValue()) {
+                    best = vote;
+                }
+            }
+
+            FingerprintMatch match = new FingerprintMatch(best.getKey(), best.getValue() / totalWeight, found);
+            log.debug("지문 k-NN 분류: {} (신뢰도 {}, 이웃 {}, {}μs)", match.getDocumentType(),
+                    match.getConfidence(), found, (System.nanoTime() - start) / 1000);
+            return match;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean isConfident(FingerprintMatch match) {
+        return match != null && match.getConfidence() >= confidenceThreshold;
+    }
+
+    /**
+     * 라벨이 확실한 문서의 지문 추가 (최대 크기를 넘으면 가장 오래된 지문부터 제거)
+     */
+    public void add(float[] fingerprint, DocumentType label) {
+        if (!enabled || fingerprint == null || label == null) {
+            return;
+        }
+
+        boolean persist;
+        lock.writeLock().lock();
+        try {
+            entries.addLast(new Entry(fingerprint, label));
+            if (entries.size() > maxSize) {
+                entries.pollFirst();
+            }
+            persist = unsaved.incrementAndGet() >= persistInterval;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        if (persist && saveScheduled.compareAndSet(false, true)) {
+            try {
+                saver.execute(() -> {
+                    saveScheduled.set(false);
+                    save();
+                });
+            } catch (RejectedExecutionException e) {
+                saveScheduled.set(false); // 종료 중: cleanup 에서 저장
+            }
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            Map<DocumentType, Integer> distribution = new EnumMap<>(DocumentType.class);
+            entries.forEach(entry -> distribution.merge(entry.label, 1, Integer::sum));
+            stats.put("enabled", enabled);
+            stats.put("size", entries.size());
+            stats.put("labelDistribution", distribution);
+        } finally {
+            lock.readLock().unlock();
+        }
+        return stats;
+    }
+
+    /**
+     * 인덱스를 디스크에 저장 (임시 파일에 쓴 뒤 교체)
+     * 잠금은 스냅숏을 뜨는 동안만 잡으므로 파일을 쓰는 동안에도 분류·추가가 막히지 않는다.
+     */
+    public void save() {
+        if (!enabled) {
+            return;
+        }
+
+        List<Entry> snapshot;
+        int saving;
+        lock.readLock().lock();
+        try {
+            // 증가는 쓰기 잠금 아래에서만 일어나므로 스냅숏과 미저장 수가 같은 시점을 가리킴
+            snapshot = new ArrayList<>(entries);
+            saving = unsaved.getAndSet(0);
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        Path file = Paths.get(indexPath);
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            Path temp = Files.createTempFile(file.toAbsolutePath().getParent(), "fingerprint-", ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(FILE_MAGIC);
+                out.writeInt(FILE_VERSION);
+                out.writeInt(snapshot.size());
+                for (Entry entry : snapshot) {
+                    out.writeUTF(entry.label.name());
+                    out.writeInt(entry.fingerprint.length);
+                    for (float value : entry.fingerprint) {
+                        out.writeFloat(value);
+                    }
+                }
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.info("스펙트럼 지문 인덱스 저장: {} 문서 → {}", snapshot.size(), indexPath);
+        } catch (IOException e) {
+            unsaved.addAndGet(saving); // 다음 저장에서 다시 시도
+            log.error("스펙트럼 지문 인덱스 저장 실패: {}", indexPath, e);
+        }
+    }
+
+    @PreDestroy
+    public void cleanup() {
+        saver.shutdown();
+        try {
+            saver.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (unsaved.get() > 0) {
+            save();
+        }
+    }
+
+    private void load(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != FILE_MAGIC || in.readInt() != FILE_VERSION) {
+                throw new IOException("지원하지 않는 지문 인덱스 형식입니다: " + file);
+            }
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                DocumentType label = DocumentType.valueOf(in.readUTF());
+                float[] fingerprint = new float[in.readInt()];
+                for (int j = 0; j < fingerprint.length; j++) {
+                    fingerprint[j] = in.readFloat();
+                }
+                entries.addLast(new Entry(fingerprint, label));
+            }
+        }
+    }
+
+    private static double distance(float[] a, float[] b) {
+        double sum = 0.0;
+        for (int i = 0; i < a.length; i++) {
+            double d = a[i] - b[i];
+            sum += d * d;
+        }
+        return Math.sqrt(sum);
+    }
+
+    private static final class Entry {
+        private final float[] fingerprint;
+        private final DocumentType label;
+
+        private Entry(float[] fingerprint, DocumentType label) {
+            this.fingerprint = fingerprint;
+            this.label = label;
+        }
+    }
+
+    /**
+     * k-NN 분류 결과
+     */
+    @Getter
+    public static class FingerprintMatch {
+        private final DocumentType documentType;
+        private final double confidence;
+        private final int neighbours;
+
+        public FingerprintMatch(DocumentType documentType, double confidence, int neighbours) {
+            this.documentType = documentType;
+            this.confidence = confidence;
+            this.neighbours = neighbours;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.pdfanalyzer.core.ml.scoring;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * 학습 때 쓴 StandardScaler 재현: (x - mean) / std
+ * train_score_predictor.py 가 내보낸 JSON(가중치·메타데이터)의 scaler_mean, scaler_std 를 읽는다.
+ * 모델(TorchScript, Java MLP)은 표준화된 특징으로 학습되었으므로 어느 경로든 추론 전에 반드시 거쳐야 한다.
+ */
+final class FeatureScaler {
+
+    private final double[] mean;
+    private final double[] std;
+
+    private FeatureScaler(double[] mean, double[] std) {
+        this.mean = mean;
+        this.std = std;
+    }
+
+    static FeatureScaler load(Path jsonFile) throws IOException {
+        JsonNode root = new ObjectMapper().readTree(jsonFile.toFile());
+        if (!root.has("scaler_mean") || !root.has("scaler_std")) {
+            throw new IOException("scaler_mean/scaler_std 가 없는 파일입니다: " + jsonFile);
+        }
+        return fromJson(root);
+    }
+
+    static FeatureScaler fromJson(JsonNode root) {
+        return new FeatureScaler(toArray(root.path("scaler_mean")), toArray(root.path("scaler_std")));
+    }
+
+    /**
+     * 특징 한 행 표준화 (평균·표준편차가 없는 차원은 그대로)
+     */
+    double[] standardize(float[] input) {
+        double[] x = new double[input.length];
+        for (int i = 0; i < input.length; i++) {
+            double m = i < mean.length ? mean[i] : 0.0;
+            double s = i < std.length && std[i] != 0.0 ? std[i] : 1.0;
+            x[i] = (input[i] - m) / s;
+        }
+        return x;
+    }
+
+    float[] transform(float[] input) {
+        double[] x = standardize(input);
+        float[] output = new float[x.length];
+        for (int i = 0; i < x.length; i++) {
+            output[i] = (float) x[i];
+        }
+        return output;
+    }
+
+    float[][] transform(float[][] input) {
+        float[][] output = new float[input.length][];
+        for (int row = 0; row < input.length; row++) {
+            output[row] = transform(input[row]);
+        }
+        return output;
+    }
+
+    private static double[] toArray(JsonNode node) {
+        double[] values = new double[node.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = node.get(i).asDouble();
+        }
+        return values;
+    }
+}
@@ -0,0 +1,109 @@
+package com.pdfanalyzer.core.ml.scoring;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 순수 Java MLP 추론기 (네이티브 호출 없음)
+ * train_score_predictor.py 가 내보낸 score_predictor_weights.json 을 읽어
+ * 표준화 → (Linear → 활성화)* 순전파를 직접 계산한다.
+ *
+ * 7 → 32 → 16 → 1 크기의 작은 MLP는 JNI 왕복 비용이 연산 비용보다 훨씬 크므로
+ * 이 경로가 PyTorch 호출보다 수 자릿수 빠르다.
+ */
+final class JavaMlpScorer {
+
+    private final FeatureScaler scaler;
+    private final List<Layer> layers;
+
+    private JavaMlpScorer(FeatureScaler scaler, List<Layer> layers) {
+        this.scaler = scaler;
+        this.layers = layers;
+    }
+
+    static JavaMlpScorer load(Path weightsFile) throws IOException {
+        JsonNode root = new ObjectMapper().readTree(weightsFile.toFile());
+
+        List<Layer> layers = new ArrayList<>();
+        for (JsonNode layer : root.path("layers")) {
+            JsonNode weightNode = layer.path("weight");
+            double[][] weight = new double[weightNode.size()][];
+            for (int o = 0; o < weight.length; o++) {
+                weight[o] = toArray(weightNode.get(o));
+            }
+            layers.add(new Layer(weight, toArray(layer.path("bias")), layer.path("activation").asText("none")));
+        }
+
+        if (layers.isEmpty()) {
+            throw new IOException("레이어가 없는 가중치 파일입니다: " + weightsFile);
+        }
+
+        return new JavaMlpScorer(FeatureScaler.fromJson(root), layers);
+    }
+
+    int getInputDimension() {
+        return layers.get(0).weight[0].length;
+    }
+
+    /**
+     * 배치 순전파: features[n][inputDim] → scores[n]
+     */
+    float[] predict(float[][] features) {
+        float[] scores = new float[features.length];
+        for (int row = 0; row < features.length; row++) {
+            double[] activation = scaler.standardize(features[row]);
+            for (Layer layer : layers) {
+                activation = layer.forward(activation);
+            }
+            scores[row] = (float) activation[0];
+        }
+        return scores;
+    }
+
+    private static double[] toArray(JsonNode node) {
+        double[] values = new double[node.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = node.get(i).asDouble();
+        }
+        return values;
+    }
+
+    private static final class Layer {
+        private final double[][] weight; // [out][in] (PyTorch nn.Linear 배치)
+        private final double[] bias;
+        private final String activation;
+
+        private Layer(double[][] weight, double[] bias, String activation) {
+            this.weight = weight;
+            this.bias = bias;
+            this.activation = activation;
+        }
+
+        private double[] forward(double[] input) {
+            double[] output = new double[weight.length];
+            for (int o = 0; o < weight.length; o++) {
+                double sum = bias.length > o ? bias[o] : 0.0;
+                double[] row = weight[o];
+                for (int i = 0; i < row.length; i++) {
+                    sum += row[i] * input[i];
+                }
+                output[o] = activate(sum);
+            }
+            return output;
+        }
+
+        private double activate(double value) {
+            switch (activation) {
+                case "relu": return Math.max(0.0, value);
+                case "sigmoid": return 1.0 / (1.0 + Math.exp(-value));
+                case "tanh": return Math.tanh(value);
+                default: return value;
+            }
+        }
+    }
+}
@@ -24,6 +24,8 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
 
 /**
  * DJL 기반 구조적 점수 예측 모델
@@ -39,11 +41,24 @@ public class StructuralScorePredictor {
     @Value("${djl.score.model.path:models/score_predictor.pt}")
     private String modelPath;
 
+    @Value("${djl.score.metadata-path:models/score_predictor_metadata.json}")
+    private String metadataPath; // TorchScript 모델 입력 표준화에 쓸 scaler_mean/scaler_std
+
+    @Value("${djl.score.java.enabled:false}")
+    private boolean javaEnabled;
+
+    @Value("${djl.score.java.weights-path:models/score_predictor_weights.json}")
+    private String weightsPath;
+
     private ZooModel<float[], Float> model;
     private Predictor<float[], Float> predictor;
+    private Predictor<float[][], float[]> batchPredictor;
+    private JavaMlpScorer javaScorer;
 
     @PostConstruct
     public void initialize() {
+        initializeJavaScorer();
+
         if (!enabled) {
             log.info("DJL 점수 예측 모델이 비활성화되어 있습니다. 규칙 기반 점수 사용.");
             return;
@@ -56,6 +71,16 @@ public class StructuralScorePredictor {
             return;
         }
 
+        FeatureScaler scaler;
+        try {
+            scaler = FeatureScaler.load(Paths.get(metadataPath));
+        } catch (IOException e) {
+            // 표준화 없이 원시 특징을 넣으면 학습 때와 다른 분포라 점수가 틀어지므로 모델을 쓰지 않음
+            log.warn("점수 예측 모델 메타데이터(scaler)를 읽을 수 없습니다: {}. 규칙 기반으로 폴백합니다.", metadataPath);
+            enabled = false;
+            return;
+        }
+
         try {
             log.info("DJL 점수 예측 모델 로딩 시작: {}", modelPath);
             long startTime = System.currentTimeMillis();
@@ -64,13 +89,14 @@ public class StructuralScorePredictor {
                     .setTypes(float[].class, Float.class)
                     .optModelPath(modelFile.getParent())
                     .optModelName(modelFile.getFileName().toString().replace(".pt", ""))
-                    .optTranslator(new ScorePredictorTranslator())
+                    .optTranslator(new ScorePredictorTranslator(scaler))
                     .optProgress(new ProgressBar())
                     .optEngine("PyTorch")
                     .build();
 
             model = criteria.loadModel();
             predictor = model.newPredictor();
+            batchPredictor = model.newPredictor(new BatchScorePredictorTranslator(scaler));
 
             long loadTime = System.currentTimeMillis() - startTime;
             log.info("✅ DJL 점수 예측 모델 로딩 완료: {}ms", loadTime);
@@ -81,10 +107,38 @@ public class StructuralScorePredictor {
         }
     }
 
+    /**
+     * 순수 Java MLP 추론기 로딩 (네이티브 호출 없이 점수 예측)
+     */
+    private void initializeJavaScorer() {
+        if (!javaEnabled) {
+            return;
+        }
+
+        Path weightsFile = Paths.get(weightsPath);
+        if (!Files.exists(weightsFile)) {
+            log.warn("Java MLP 가중치 파일이 없습니다: {}. DJL 경로를 사용합니다.", weightsPath);
+            return;
+        }
+
+        try {
+            javaScorer = JavaMlpScorer.load(weightsFile);
+            log.info("✅ Java MLP 점수 예측기 로딩 완료: 입력 {}차원", javaScorer.getInputDimension());
+        } catch (IOException | RuntimeException e) {
+            log.error("❌ Java MLP 가중치 로딩 실패. DJL 경로를 사용합니다.", e);
+            javaScorer = null;
+        }
+    }
+
     /**
      * 구조적 점수 예측
      */
     public Double predictScore(SemanticCell cell, double resonance) {
+        if (javaScorer != null) {
+            float score = javaScorer.predict(new float[][]{extractFeatures(cell, resonance)})[0];
+            return Math.max(0.0, Math.min(1.0, score));
+        }
+
         if (!enabled || predictor == null) {
             return null; // 폴백으로 규칙 기반 사용
         }
@@ -113,16 +167,46 @@ public class StructuralScorePredictor {
      * 배치 예측 (여러 셀을 한 번에)
      */
     public double[] predictScoreBatch(SemanticCell[] cells, double[] resonances) {
-        if (!enabled || predictor == null || cells.length == 0) {
+        return predictScores(Arrays.asList(cells), resonances);
+    }
+
+    /**
+     * 배치 예측: 모든 셀의 특징 행을 [n, 7] 하나로 쌓아 한 번의 순전파로 계산
+     * Java MLP가 있으면 네이티브 호출 없이, 없으면 NDArray 한 번으로 PyTorch 호출
+     *
+     * @return 0~1로 클리핑된 셀별 점수, 모델을 쓸 수 없으면 null
+     */
+    public double[] predictScores(List<SemanticCell> cells, double[] resonances) {
+        if (!isAvailable() || cells.isEmpty()) {
             return null;
         }
 
-        double[] scores = new double[cells.length];
-        for (int i = 0; i < cells.length; i++) {
-            Double score = predictScore(cells[i], resonances[i]);
-            scores[i] = score != null ? score : 0.0;
+        float[][] features = new float[cells.size()][];
+        for (int i = 0; i < features.length; i++) {
+            features[i] = extractFeatures(cells.get(i), resonances[i]);
         }
 
+        long start = System.nanoTime();
+        float[] raw;
+        try {
+            raw = javaScorer != null ? javaScorer.predict(features) : batchPredictor.predict(features);
+        } catch (TranslateException e) {
+            log.error("DJL 배치 점수 예측 중 오류 발생", e);
+            return null; // 폴백
+        }
+
+        if (raw.length != cells.size()) {
+            log.error("배치 예측 결과 크기 불일치: 입력 {}, 출력 {}", cells.size(), raw.length);
+            return null;
+        }
+
+        double[] scores = new double[raw.length];
+        for (int i = 0; i < raw.length; i++) {
+            scores[i] = Math.max(0.0, Math.min(1.0, raw[i]));
+        }
+
+        log.debug("배치 점수 예측: {} 셀, {}μs ({})", cells.size(), (System.nanoTime() - start) / 1000,
+                javaScorer != null ? "Java MLP" : "DJL");
         return scores;
     }
 
@@ -168,15 +252,33 @@ public class StructuralScorePredictor {
         return ruleScore;
     }
 
+    /**
+     * 하이브리드 점수 일괄 계산 (ML 배치 예측 + 규칙 앙상블)
+     */
+    public double[] calculateHybridScores(List<SemanticCell> cells, double[] resonances, double weight) {
+        double[] mlScores = predictScores(cells, resonances);
+        double[] scores = new double[cells.size()];
+
+        for (int i = 0; i < scores.length; i++) {
+            double ruleScore = calculateRuleBasedScore(cells.get(i), resonances[i]);
+            scores[i] = mlScores != null ? mlScores[i] * weight + ruleScore * (1 - weight) : ruleScore;
+        }
+
+        return scores;
+    }
+
     /**
      * 모델 사용 가능 여부
      */
     public boolean isAvailable() {
-        return enabled && predictor != null;
+        return javaScorer != null || (enabled && predictor != null && batchPredictor != null);
     }
 
     @PreDestroy
     public void cleanup() {
+        if (batchPredictor != null) {
+            batchPredictor.close();
+        }
         if (predictor != null) {
             predictor.close();
             log.info("Score Predictor 종료");
@@ -188,14 +290,20 @@ public class StructuralScorePredictor {
     }
 
     /**
-     * DJL Translator
+     * DJL Translator (입력은 학습 때와 같은 StandardScaler 로 표준화)
      */
-    private static class ScorePredictorTranslator implements Translator<float[], Float> {
+    static class ScorePredictorTranslator implements Translator<float[], Float> {
+
+        private final FeatureScaler scaler;
+
+        ScorePredictorTranslator(FeatureScaler scaler) {
+            this.scaler = scaler;
+        }
 
         @Override
         public NDList processInput(TranslatorContext ctx, float[] input) {
             NDManager manager = ctx.getNDManager();
-            NDArray array = manager.create(input);
+            NDArray array = manager.create(scaler.transform(input));
             return new NDList(array);
         }
 
@@ -210,4 +318,41 @@ public class StructuralScorePredictor {
             return Batchifier.STACK;
         }
     }
+
+    /**
+     * 배치용 DJL Translator: [n, 7] 특징 행렬 → 표준화 → [n] 점수
+     */
+    static class BatchScorePredictorTranslator implements Translator<float[][], float[]> {
+
+        private final FeatureScaler scaler;
+
+        BatchScorePredictorTranslator(FeatureScaler scaler) {
+            this.scaler = scaler;
+        }
+
+        /**
+         * 모델에 넣을 입력 행렬 (표준화된 특징)
+         */
+        float[][] toModelInput(float[][] features) {
+            return scaler.transform(features);
+        }
+
+        @Override
+        public NDList processInput(TranslatorContext ctx, float[][] input) {
+            NDManager manager = ctx.getNDManager();
+            NDArray array = manager.create(toModelInput(input));
+            return new NDList(array);
+        }
+
+        @Override
+        public float[] processOutput(TranslatorContext ctx, NDList list) {
+            NDArray output = list.singletonOrThrow();
+            return output.toFloatArray();
+        }
+
+        @Override
+        public Batchifier getBatchifier() {
+            return null; // 이미 배치 차원이 포함된 입력
+        }
+    }
 }
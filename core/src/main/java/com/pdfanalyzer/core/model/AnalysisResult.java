@@ -2,6 +2,7 @@ package com.pdfanalyzer.core.model;
 
 import com.pdfanalyzer.core.analysis.validation.StructureValidator;
 import com.pdfanalyzer.core.document.model.DocumentMetadata;
+import com.pdfanalyzer.core.ml.classification.DocumentProfile;
 import com.pdfanalyzer.core.semantic.model.SemanticCell;
 import lombok.Data;
 
@@ -17,8 +18,10 @@ public class AnalysisResult {
     private String error;
     private DocumentMetadata metadata;
     private List<SemanticCell> cells;
+    private DocumentProfile profile; // 문서 구조 프로파일 (분류 특징 / 학습 데이터 특징 행)
     private String summary;
     private List<String> keywords;
+    private int promptTokens; // LLM 요청에 보낸 프롬프트 토큰 수 (추정)
     private StructureValidator.ValidationResult validationResult;
     private Map<String, Object> formattedResult;
 }
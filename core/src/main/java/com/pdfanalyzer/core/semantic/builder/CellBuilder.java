@@ -41,8 +41,15 @@ public class CellBuilder {
     }
 
     public SemanticCell buildCell(String content, int position, int index) {
+        return buildCell(content, position, index, true);
+    }
+
+    /**
+     * 셀 생성 (embeddings 가 false 면 임베딩 생략, 마감이 촉박할 때)
+     */
+    public SemanticCell buildCell(String content, int position, int index, boolean embeddings) {
         BlockType blockType = layoutAnalyzer.inferBlockType(content);
-        double[] embedding = tokenMixer.createSentenceEmbedding(content);
+        double[] embedding = embeddings ? tokenMixer.createSentenceEmbedding(content) : null;
         SemanticCell.CellLayoutInfo layoutInfo = createLayoutInfo(content);
 
         SemanticCell cell = SemanticCell.builder()
@@ -68,27 +75,62 @@ public class CellBuilder {
     }
 
     public List<SemanticCell> buildCellsFromPages(List<String> pages) {
+        return buildCellsFromPages(pages, true);
+    }
+
+    public List<SemanticCell> buildCellsFromPages(List<String> pages, boolean embeddings) {
         log.info("페이지별 셀 생성 시작: {} 페이지", pages.size());
 
         List<SemanticCell> allCells = new ArrayList<>();
         int globalPosition = 0;
 
         for (int pageNum = 0; pageNum < pages.size(); pageNum++) {
-            String pageText = pages.get(pageNum);
-            List<String> paragraphs = layoutAnalyzer.analyzeParagraphs(pageText);
-
-            for (String paragraph : paragraphs) {
-                SemanticCell cell = buildCell(paragraph, globalPosition, allCells.size());
-                cell.setPageNumber(pageNum + 1);
-                allCells.add(cell);
-                globalPosition += paragraph.length() + 2;
-            }
+            List<SemanticCell> pageCells = buildCellsForPage(pages.get(pageNum), pageNum + 1, globalPosition, allCells.size(), embeddings);
+            allCells.addAll(pageCells);
+            globalPosition = nextPosition(pageCells, globalPosition);
         }
 
         log.info("페이지별 셀 생성 완료: 총 {} 셀", allCells.size());
         return allCells;
     }
 
+    /**
+     * 단일 페이지의 셀 생성 (페이지 단위 스트리밍용)
+     *
+     * @param pageNumber    1부터 시작하는 페이지 번호
+     * @param startPosition 문서 전체 기준 시작 위치
+     * @param startIndex    문서 전체 기준 시작 셀 인덱스
+     */
+    public List<SemanticCell> buildCellsForPage(String pageText, int pageNumber, int startPosition, int startIndex) {
+        return buildCellsForPage(pageText, pageNumber, startPosition, startIndex, true);
+    }
+
+    public List<SemanticCell> buildCellsForPage(String pageText, int pageNumber, int startPosition, int startIndex,
+                                                boolean embeddings) {
+        List<String> paragraphs = layoutAnalyzer.analyzeParagraphs(pageText);
+        List<SemanticCell> cells = new ArrayList<>(paragraphs.size());
+        int position = startPosition;
+
+        for (String paragraph : paragraphs) {
+            SemanticCell cell = buildCell(paragraph, position, startIndex + cells.size(), embeddings);
+            cell.setPageNumber(pageNumber);
+            cells.add(cell);
+            position += paragraph.length() + 2;
+        }
+
+        return cells;
+    }
+
+    /**
+     * 다음 페이지의 시작 위치 계산
+     */
+    public int nextPosition(List<SemanticCell> pageCells, int startPosition) {
+        if (pageCells.isEmpty()) {
+            return startPosition;
+        }
+        return pageCells.get(pageCells.size() - 1).getEndPosition() + 2;
+    }
+
     private SemanticCell.CellLayoutInfo createLayoutInfo(String content) {
         String[] lines = content.split("\\n");
         String[] words = content.split("\\s+");
@@ -6,23 +6,22 @@ import org.springframework.stereotype.Service;
 
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
 import java.util.HashMap;
-import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Slf4j
 @Service
 public class AnalysisCacheService {
 
-    // LRU 캐시 구현 (최대 100개 항목)
+    // LRU 캐시 구현 (최대 100개 항목). 조회는 잠금 없이 접근 순번만 갱신하고, 한도를 넘기면 가장 오래 안 쓴 항목을 제거
     private static final int MAX_CACHE_SIZE = 100;
 
-    private final Map<String, CachedAnalysis> cache = new LinkedHashMap<String, CachedAnalysis>(MAX_CACHE_SIZE, 0.75f, true) {
-        @Override
-        protected boolean removeEldestEntry(Map.Entry<String, CachedAnalysis> eldest) {
-            return size() > MAX_CACHE_SIZE;
-        }
-    };
+    private final Map<String, CachedAnalysis> cache = new ConcurrentHashMap<>();
+    private final AtomicLong accessClock = new AtomicLong();
 
     /**
      * 문서 내용으로부터 고유 해시 생성
@@ -52,6 +51,7 @@ public class AnalysisCacheService {
         if (cached != null) {
             log.info("캐시 히트: {}", documentHash.substring(0, 8) + "...");
             cached.incrementHits();
+            cached.lastAccess = accessClock.incrementAndGet();
         }
         return cached;
     }
@@ -62,10 +62,24 @@ public class AnalysisCacheService {
     public void put(String documentHash, String summary, java.util.List<String> keywords,
                     Map<String, java.util.List<LLMAdapter.KeywordLocation>> keywordLocations) {
         CachedAnalysis analysis = new CachedAnalysis(summary, keywords, keywordLocations);
+        analysis.lastAccess = accessClock.incrementAndGet();
         cache.put(documentHash, analysis);
+        evictOverflow();
         log.info("캐시 저장: {} (현재 캐시 크기: {})", documentHash.substring(0, 8) + "...", cache.size());
     }
 
+    /**
+     * 한도를 넘긴 만큼 가장 오래 접근하지 않은 항목 제거 (항목 100개 선형 탐색)
+     * 동시 put 이 같은 항목을 고르더라도 remove 는 한 번만 성공하고, 나머지는 다음 후보를 다시 찾음
+     */
+    private void evictOverflow() {
+        while (cache.size() > MAX_CACHE_SIZE) {
+            cache.entrySet().stream()
+                .min(Comparator.comparingLong(e -> e.getValue().lastAccess))
+                .ifPresent(eldest -> cache.remove(eldest.getKey(), eldest.getValue()));
+        }
+    }
+
     /**
      * 캐시 통계 조회
      */
@@ -98,7 +112,8 @@ public class AnalysisCacheService {
         private final java.util.List<String> keywords;
         private final Map<String, java.util.List<LLMAdapter.KeywordLocation>> keywordLocations;
         private final long timestamp;
-        private int hits;
+        private final AtomicInteger hits = new AtomicInteger();
+        private volatile long lastAccess;
 
         public CachedAnalysis(String summary, java.util.List<String> keywords,
                             Map<String, java.util.List<LLMAdapter.KeywordLocation>> keywordLocations) {
@@ -106,7 +121,6 @@ public class AnalysisCacheService {
             this.keywords = keywords;
             this.keywordLocations = keywordLocations;
             this.timestamp = System.currentTimeMillis();
-            this.hits = 0;
         }
 
         public String getSummary() {
@@ -126,11 +140,11 @@ public class AnalysisCacheService {
         }
 
         public int getHits() {
-            return hits;
+            return hits.get();
         }
 
         public void incrementHits() {
-            this.hits++;
+            hits.incrementAndGet();
         }
     }
 }
@@ -0,0 +1,103 @@
+package com.pdfanalyzer.core.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 분석 마감 시각과 적용된 품질 저하 단계
+ *
+ * 요청이 도착한 시점부터 클라이언트가 기다릴 수 있는 시간을 예산으로 잡고,
+ * 파이프라인 각 단계가 남은 예산을 확인해 필요한 만큼만 품질을 낮춘다 (DeadlinePlanner).
+ * 적용된 저하 단계는 응답의 deadline.degradations 로 보고된다.
+ */
+public class AnalysisDeadline {
+
+    /**
+     * 품질 저하 단계 (가벼운 것부터 적용)
+     */
+    public enum Degradation {
+        SKIP_EMBEDDINGS,        // 셀 임베딩 생략 (발췌 요약·다채널 공명은 어휘 기반으로 대체)
+        RULE_BASED_CLASSIFIER,  // DJL·지문 k-NN 대신 규칙 기반 문서 분류
+        PAGE_LIMIT,             // 앞쪽 N 페이지만 추출
+        LOCAL_SUMMARY           // LLM 대신 로컬 발췌 요약
+    }
+
+    private static final AnalysisDeadline NONE = new AnalysisDeadline(0);
+
+    private final long budgetMs;
+    private final long startNanos = System.nanoTime();
+    private final Map<Degradation, String> degradations = new LinkedHashMap<>();
+
+    private AnalysisDeadline(long budgetMs) {
+        this.budgetMs = budgetMs;
+    }
+
+    /**
+     * 마감 없음
+     */
+    public static AnalysisDeadline none() {
+        return NONE;
+    }
+
+    /**
+     * 지금부터 budgetMs 안에 끝나야 하는 분석 (0 이하면 마감 없음)
+     */
+    public static AnalysisDeadline in(long budgetMs) {
+        return budgetMs > 0 ? new AnalysisDeadline(budgetMs) : NONE;
+    }
+
+    public boolean isBounded() {
+        return budgetMs > 0;
+    }
+
+    public long getBudgetMs() {
+        return budgetMs;
+    }
+
+    public long elapsedMs() {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+
+    /**
+     * 남은 예산 (마감이 없으면 Long.MAX_VALUE, 지났으면 0)
+     */
+    public long remainingMs() {
+        return isBounded() ? Math.max(0, budgetMs - elapsedMs()) : Long.MAX_VALUE;
+    }
+
+    public synchronized boolean isApplied(Degradation degradation) {
+        return degradations.containsKey(degradation);
+    }
+
+    /**
+     * 저하 단계 적용 기록 (처음 적용될 때만 사유를 남김)
+     */
+    public synchronized void apply(Degradation degradation, String reason) {
+        if (isBounded()) {
+            degradations.putIfAbsent(degradation, reason);
+        }
+    }
+
+    /**
+     * 응답용 보고 (예산, 소요 시간, 마감 준수 여부, 적용된 저하 단계와 사유)
+     */
+    public synchronized Map<String, Object> report() {
+        List<Map<String, Object>> applied = new ArrayList<>(degradations.size());
+        degradations.forEach((degradation, reason) -> {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("type", degradation.name());
+            entry.put("reason", reason);
+            applied.add(entry);
+        });
+
+        long elapsed = elapsedMs();
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("budgetMs", budgetMs);
+        report.put("elapsedMs", elapsed);
+        report.put("met", elapsed <= budgetMs);
+        report.put("degradations", applied);
+        return report;
+    }
+}
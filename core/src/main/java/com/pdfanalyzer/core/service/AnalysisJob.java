@@ -0,0 +1,249 @@
+package com.pdfanalyzer.core.service;
+
+import com.pdfanalyzer.core.model.AnalysisResult;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Future;
+
+/**
+ * 비동기 분석 작업 (상태·단계별 진행 상황·결과)
+ *
+ * 파이프라인의 리스너로 등록되어 단계 이벤트를 기록하고, 구독자(SSE 연결)에게 그대로 전달한다.
+ * 상태 전이는 QUEUED → RUNNING → SUCCEEDED | FAILED 이며, 끝나기 전에는 언제든 CANCELLED 로 바뀔 수 있다.
+ */
+public class AnalysisJob implements AnalysisStreamListener {
+
+    public enum Status {
+        QUEUED, RUNNING, SUCCEEDED, FAILED, CANCELLED;
+
+        public boolean isTerminal() {
+            return this == SUCCEEDED || this == FAILED || this == CANCELLED;
+        }
+    }
+
+    private final String id;
+    private final String fileName;
+    private final String tenant;
+    private final long createdAt = System.currentTimeMillis();
+    private final Map<AnalysisStage, long[]> stages = new EnumMap<>(AnalysisStage.class); // {시작 시각, 소요 시간 (-1: 진행 중)}
+    private final List<AnalysisStreamListener> subscribers = new CopyOnWriteArrayList<>();
+    private final CompletableFuture<AnalysisJob> completion = new CompletableFuture<>();
+
+    private Status status = Status.QUEUED;
+    private long startedAt;
+    private long finishedAt;
+    private AnalysisResult result;
+    private String error;
+
+    // 작업 실행 측(AnalysisJobService)에서만 사용
+    Path input;
+    Future<?> future;
+
+    AnalysisJob(String id, String fileName, String tenant) {
+        this.id = id;
+        this.fileName = fileName;
+        this.tenant = tenant;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public String getTenant() {
+        return tenant;
+    }
+
+    public synchronized Status getStatus() {
+        return status;
+    }
+
+    public synchronized AnalysisResult getResult() {
+        return result;
+    }
+
+    public synchronized String getError() {
+        return error;
+    }
+
+    /**
+     * 작업이 끝나면(성공·실패·취소) 완료되는 future
+     */
+    public CompletableFuture<AnalysisJob> completion() {
+        return completion;
+    }
+
+    public void subscribe(AnalysisStreamListener listener) {
+        subscribers.add(listener);
+    }
+
+    public void unsubscribe(AnalysisStreamListener listener) {
+        subscribers.remove(listener);
+    }
+
+    /**
+     * 진행률 (완료된 단계 비율, 0.0 ~ 1.0)
+     */
+    public synchronized double getProgress() {
+        if (status == Status.SUCCEEDED) {
+            return 1.0;
+        }
+        long completed = stages.values().stream().filter(stage -> stage[1] >= 0).count();
+        return (double) completed / AnalysisStage.values().length;
+    }
+
+    /**
+     * 폴링 응답용 상태 요약
+     */
+    public synchronized Map<String, Object> snapshot() {
+        long now = System.currentTimeMillis();
+        List<Map<String, Object>> stageList = new ArrayList<>();
+        for (AnalysisStage stage : AnalysisStage.values()) {
+            long[] timing = stages.get(stage);
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("stage", stage.name());
+            if (timing == null) {
+                entry.put("status", "PENDING");
+            } else if (timing[1] < 0) {
+                entry.put("status", "RUNNING");
+                entry.put("elapsedMs", now - timing[0]);
+            } else {
+                entry.put("status", "COMPLETED");
+                entry.put("elapsedMs", timing[1]);
+            }
+            stageList.add(entry);
+        }
+
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("jobId", id);
+        snapshot.put("fileName", fileName);
+        snapshot.put("tenant", tenant);
+        snapshot.put("status", status.name());
+        snapshot.put("progress", Math.round(getProgress() * 100) / 100.0);
+        snapshot.put("stages", stageList);
+        snapshot.put("createdAt", createdAt);
+        if (startedAt > 0) {
+            snapshot.put("startedAt", startedAt);
+        }
+        if (finishedAt > 0) {
+            snapshot.put("finishedAt", finishedAt);
+            snapshot.put("elapsedMs", finishedAt - (startedAt > 0 ? startedAt : createdAt));
+        }
+        if (error != null) {
+            snapshot.put("error", error);
+        }
+        return snapshot;
+    }
+
+    @Override
+    public void onStageStarted(AnalysisStage stage) {
+        synchronized (this) {
+            if (status.isTerminal()) {
+                return;
+            }
+            stages.put(stage, new long[]{System.currentTimeMillis(), -1});
+        }
+        subscribers.forEach(listener -> listener.onStageStarted(stage));
+    }
+
+    @Override
+    public void onStageCompleted(AnalysisStage stage, long elapsedMs) {
+        synchronized (this) {
+            if (status.isTerminal()) {
+                return;
+            }
+            stages.computeIfAbsent(stage, s -> new long[]{System.currentTimeMillis() - elapsedMs, -1})[1] = elapsedMs;
+        }
+        subscribers.forEach(listener -> listener.onStageCompleted(stage, elapsedMs));
+    }
+
+    @Override
+    public void onStructure(Map<String, Object> structure) {
+        subscribers.forEach(listener -> listener.onStructure(structure));
+    }
+
+    @Override
+    public void onStatistics(Map<String, Object> statistics) {
+        subscribers.forEach(listener -> listener.onStatistics(statistics));
+    }
+
+    @Override
+    public void onSummaryDelta(String delta) {
+        subscribers.forEach(listener -> listener.onSummaryDelta(delta));
+    }
+
+    @Override
+    public void onKeywords(Map<String, Object> keywords) {
+        subscribers.forEach(listener -> listener.onKeywords(keywords));
+    }
+
+    /**
+     * 실행 시작 (이미 취소된 작업이면 false)
+     */
+    synchronized boolean start() {
+        if (status != Status.QUEUED) {
+            return false;
+        }
+        status = Status.RUNNING;
+        startedAt = System.currentTimeMillis();
+        return true;
+    }
+
+    void succeed(AnalysisResult result) {
+        synchronized (this) {
+            if (status.isTerminal()) {
+                return;
+            }
+            this.result = result;
+            finish(Status.SUCCEEDED);
+        }
+        completion.complete(this);
+    }
+
+    void fail(String error) {
+        synchronized (this) {
+            if (status.isTerminal()) {
+                return;
+            }
+            this.error = error;
+            finish(Status.FAILED);
+        }
+        completion.complete(this);
+    }
+
+    /**
+     * 취소 표시 (이미 끝난 작업이면 false)
+     */
+    boolean cancel() {
+        synchronized (this) {
+            if (status.isTerminal()) {
+                return false;
+            }
+            finish(Status.CANCELLED);
+        }
+        completion.complete(this);
+        return true;
+    }
+
+    /**
+     * 결과 보관 기한이 지났는지 (끝난 작업만 만료됨)
+     */
+    synchronized boolean isExpired(long now, long ttlMs) {
+        return status.isTerminal() && now - finishedAt > ttlMs;
+    }
+
+    private void finish(Status terminal) {
+        status = terminal;
+        finishedAt = System.currentTimeMillis();
+    }
+}
@@ -0,0 +1,292 @@
+package com.pdfanalyzer.core.service;
+
+import com.pdfanalyzer.core.frequency.SpectralEngineType;
+import com.pdfanalyzer.core.frequency.filter.DocumentType;
+import com.pdfanalyzer.core.integration.llm.SummaryMode;
+import com.pdfanalyzer.core.model.AnalysisResult;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 비동기 분석 작업 관리
+ *
+ * 1. 제출 시 업로드 파일을 임시 파일로 복사하고 작업 ID 를 바로 반환 (요청 스레드는 분석을 기다리지 않음)
+ * 2. 작업은 max-concurrency 개 스레드의 풀에서 실행되고, 대기열이 queue-capacity 를 넘으면 제출을 거절
+ * 3. 끝난 작업의 결과는 result-ttl-ms 동안 보관 후 삭제 (주기적 정리 + 조회 시 정리)
+ * 4. 한 테넌트가 끝나지 않은 작업을 max-per-tenant 개 넘게 쌓으면 제출을 거절 (429)
+ *    작업 풀은 제출 순(FIFO)으로 실행하고 테넌트별 가중 공정 큐는 이미 실행 중인 작업끼리의 파이프라인 입장 순서만 정하므로,
+ *    한 테넌트가 작업 풀의 대기열을 독점하지 못하게 막는 것은 이 한도다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AnalysisJobService {
+
+    private final DocumentAnalysisService analysisService;
+
+    @Value("${analysis.jobs.max-concurrency:4}")
+    private int maxConcurrency; // 동시에 실행할 분석 작업 수
+
+    @Value("${analysis.jobs.queue-capacity:50}")
+    private int queueCapacity; // 실행 대기 작업 한도 (초과 시 503)
+
+    @Value("${analysis.jobs.result-ttl-ms:600000}")
+    private long resultTtlMs; // 끝난 작업 결과 보관 기간
+
+    @Value("${analysis.jobs.max-per-tenant:20}")
+    private int maxPerTenant; // 테넌트별 끝나지 않은 작업 한도 (초과 시 429, 0: 제한 없음)
+
+    private final Map<String, AnalysisJob> jobs = new ConcurrentHashMap<>();
+    private final Map<String, Integer> activeByTenant = new ConcurrentHashMap<>();
+    private final AtomicLong submittedCount = new AtomicLong();
+    private final AtomicLong rejectedCount = new AtomicLong();
+    private final AtomicLong expiredCount = new AtomicLong();
+    private double jobMs; // 작업 실행 시간 EWMA (Retry-After 추정용)
+
+    private ThreadPoolExecutor executor;
+    private ScheduledExecutorService cleaner;
+
+    @PostConstruct
+    public void initialize() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = new ThreadPoolExecutor(maxConcurrency, maxConcurrency, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "analysis-job-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+
+        cleaner = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "analysis-job-cleaner");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = Math.max(1_000L, Math.min(resultTtlMs, 60_000L));
+        cleaner.scheduleWithFixedDelay(this::purgeExpired, interval, interval, TimeUnit.MILLISECONDS);
+        log.info("분석 작업 풀 초기화: 동시 {} / 대기 {}, 결과 보관 {}ms", maxConcurrency, queueCapacity, resultTtlMs);
+    }
+
+    /**
+     * 분석 작업 제출 (대기열이 가득 차면 RejectedExecutionException)
+     */
+    public AnalysisJob submit(MultipartFile file, DocumentType documentType, SpectralEngineType engine,
+                              SummaryMode summaryMode) throws IOException {
+        return submit(file, documentType, engine, summaryMode, StagedPipelineExecutor.DEFAULT_TENANT);
+    }
+
+    /**
+     * 테넌트 작업 제출 (테넌트의 끝나지 않은 작업이 max-per-tenant 를 넘으면 TenantQuotaExceededException)
+     */
+    public AnalysisJob submit(MultipartFile file, DocumentType documentType, SpectralEngineType engine,
+                              SummaryMode summaryMode, String tenant) throws IOException {
+        // 업로드 파일은 요청이 끝나면 사라지므로 제출 시점에 복사
+        Path tempFile = Files.createTempFile("pdf-job-", ".pdf");
+        try {
+            Files.copy(file.getInputStream(), tempFile, StandardCopyOption.REPLACE_EXISTING);
+            return submit(file.getOriginalFilename(), tempFile, documentType, engine, summaryMode, tenant);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(tempFile);
+            throw e;
+        }
+    }
+
+    /**
+     * 임시 파일로 분석 작업 제출 (파일은 작업이 끝나면 삭제됨)
+     */
+    AnalysisJob submit(String fileName, Path pdfFile, DocumentType documentType, SpectralEngineType engine,
+                       SummaryMode summaryMode) {
+        return submit(fileName, pdfFile, documentType, engine, summaryMode, StagedPipelineExecutor.DEFAULT_TENANT);
+    }
+
+    AnalysisJob submit(String fileName, Path pdfFile, DocumentType documentType, SpectralEngineType engine,
+                       SummaryMode summaryMode, String tenant) {
+        reserveTenantSlot(tenant);
+        AnalysisJob job = new AnalysisJob(UUID.randomUUID().toString(), fileName, tenant);
+        job.input = pdfFile;
+        jobs.put(job.getId(), job);
+        // 성공·실패·취소 어느 쪽으로 끝나든 테넌트 자리를 돌려줌
+        job.completion().whenComplete((done, error) -> releaseTenantSlot(tenant));
+        try {
+            job.future = executor.submit(() -> run(job, documentType, engine, summaryMode));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.getId());
+            releaseTenantSlot(tenant);
+            rejectedCount.incrementAndGet();
+            log.warn("분석 작업 대기열 초과 - 제출 거절 ({} 대기)", executor.getQueue().size());
+            throw e;
+        }
+        submittedCount.incrementAndGet();
+        log.info("분석 작업 제출: {} ({}, {})", job.getId(), fileName, tenant);
+        return job;
+    }
+
+    /**
+     * 테넌트의 끝나지 않은 작업 수를 한도 안에서 원자적으로 1 늘림 (동시 제출이 함께 한도를 넘지 못함)
+     */
+    private void reserveTenantSlot(String tenant) {
+        if (maxPerTenant <= 0) {
+            return;
+        }
+        activeByTenant.compute(tenant, (id, active) -> {
+            int count = active == null ? 0 : active;
+            if (count >= maxPerTenant) {
+                rejectedCount.incrementAndGet();
+                throw new TenantQuotaExceededException(tenant, "끝나지 않은 작업이 " + maxPerTenant + "건을 넘었습니다", 5);
+            }
+            return count + 1;
+        });
+    }
+
+    private void releaseTenantSlot(String tenant) {
+        if (maxPerTenant > 0) {
+            activeByTenant.computeIfPresent(tenant, (id, active) -> active > 1 ? active - 1 : null);
+        }
+    }
+
+    /**
+     * 작업 조회 (만료된 작업은 없는 것으로 봄)
+     */
+    public Optional<AnalysisJob> find(String jobId) {
+        AnalysisJob job = jobs.get(jobId);
+        if (job != null && job.isExpired(System.currentTimeMillis(), resultTtlMs)) {
+            remove(job);
+            return Optional.empty();
+        }
+        return Optional.ofNullable(job);
+    }
+
+    /**
+     * 작업 취소 (대기 중이면 대기열에서 빼고, 실행 중이면 인터럽트)
+     * 이미 끝난 작업이면 false
+     */
+    public boolean cancel(String jobId) {
+        Optional<AnalysisJob> found = find(jobId);
+        if (found.isEmpty() || !found.get().cancel()) {
+            return false;
+        }
+        AnalysisJob job = found.get();
+        if (job.future != null) {
+            job.future.cancel(true);
+            if (job.future instanceof Runnable queued && executor.remove(queued)) {
+                deleteInput(job); // 실행되지 않으므로 여기서 정리
+            }
+        }
+        log.info("분석 작업 취소: {}", jobId);
+        return true;
+    }
+
+    /**
+     * 대기열 초과 거절 응답의 Retry-After (초)
+     * 작업 실행 시간 EWMA × (대기 작업 수 + 1) / 동시 실행 수 를 1~60초로 제한
+     */
+    public synchronized long retryAfterSeconds() {
+        double drainMs = jobMs * (executor.getQueue().size() + 1) / Math.max(1, maxConcurrency);
+        return Math.max(1, Math.min(60, (long) Math.ceil(drainMs / 1000)));
+    }
+
+    private synchronized void recordDuration(long elapsedMs) {
+        jobMs = jobMs == 0 ? elapsedMs : jobMs + 0.2 * (elapsedMs - jobMs);
+    }
+
+    public Map<String, Object> getStats() {
+        Map<AnalysisJob.Status, Integer> byStatus = new EnumMap<>(AnalysisJob.Status.class);
+        jobs.values().forEach(job -> byStatus.merge(job.getStatus(), 1, Integer::sum));
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("maxConcurrency", maxConcurrency);
+        stats.put("queueCapacity", queueCapacity);
+        stats.put("running", executor.getActiveCount());
+        stats.put("queued", executor.getQueue().size());
+        stats.put("jobs", byStatus);
+        stats.put("submitted", submittedCount.get());
+        stats.put("rejected", rejectedCount.get());
+        stats.put("expired", expiredCount.get());
+        stats.put("resultTtlMs", resultTtlMs);
+        return stats;
+    }
+
+    private void run(AnalysisJob job, DocumentType documentType, SpectralEngineType engine, SummaryMode summaryMode) {
+        try {
+            if (!job.start()) {
+                return; // 대기 중 취소됨
+            }
+            log.info("=== 분석 작업 시작: {} ({}) ===", job.getId(), job.getFileName());
+            long start = System.currentTimeMillis();
+            AnalysisResult result = analysisService.analyzePDF(job.input.toFile(), documentType, engine, summaryMode, job,
+                    job.getTenant(), AnalysisDeadline.none());
+            recordDuration(System.currentTimeMillis() - start);
+            deleteInput(job); // 완료를 기다리는 쪽이 보기 전에 정리
+            if (result.isSuccess()) {
+                job.succeed(result);
+            } else {
+                job.fail(result.getError());
+            }
+            log.info("=== 분석 작업 종료: {} → {} ===", job.getId(), job.getStatus());
+        } catch (CancellationException e) {
+            job.cancel(); // 사용자 취소로 이미 CANCELLED 면 그대로
+            log.info("=== 분석 작업 취소됨: {} ===", job.getId());
+        } catch (RuntimeException e) {
+            log.error("분석 작업 실패: {}", job.getId(), e);
+            job.fail(e.getMessage());
+        } finally {
+            deleteInput(job);
+        }
+    }
+
+    void purgeExpired() {
+        long now = System.currentTimeMillis();
+        jobs.values().removeIf(job -> {
+            if (job.isExpired(now, resultTtlMs)) {
+                expiredCount.incrementAndGet();
+                return true;
+            }
+            return false;
+        });
+    }
+
+    private void remove(AnalysisJob job) {
+        if (jobs.remove(job.getId(), job)) {
+            expiredCount.incrementAndGet();
+        }
+    }
+
+    private void deleteInput(AnalysisJob job) {
+        try {
+            Files.deleteIfExists(job.input);
+        } catch (IOException e) {
+            log.warn("임시 파일 삭제 실패: {}", job.input, e);
+        }
+    }
+
+    @PreDestroy
+    public void cleanup() {
+        cleaner.shutdownNow();
+        executor.shutdownNow();
+    }
+}
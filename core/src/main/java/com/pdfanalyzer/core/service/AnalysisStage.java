@@ -0,0 +1,13 @@
+package com.pdfanalyzer.core.service;
+
+/**
+ * 분석 파이프라인 단계 (진행 상황 보고용)
+ * VALIDATE 와 LLM 은 동시에 진행된다.
+ */
+public enum AnalysisStage {
+    EXTRACT,   // PDF 텍스트·메타데이터 추출
+    CELLS,     // 의미 셀 생성
+    FFT,       // 스펙트럼 분석·점수 주입
+    VALIDATE,  // 구조 검증·통계·핵심 섹션
+    LLM        // 요약·키워드 생성
+}
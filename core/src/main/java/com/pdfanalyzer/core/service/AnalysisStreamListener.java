@@ -0,0 +1,48 @@
+package com.pdfanalyzer.core.service;
+
+import java.util.Map;
+
+/**
+ * 분석 파이프라인의 중간 결과를 단계가 끝나는 즉시 받는 리스너 (SSE 응답 등)
+ * 콜백은 파이프라인 스레드에서 호출되므로 오래 블로킹하지 않아야 한다.
+ */
+public interface AnalysisStreamListener {
+
+    AnalysisStreamListener NONE = new AnalysisStreamListener() { };
+
+    /**
+     * 단계 시작
+     */
+    default void onStageStarted(AnalysisStage stage) {
+    }
+
+    /**
+     * 단계 완료 (elapsedMs: 단계 소요 시간)
+     */
+    default void onStageCompleted(AnalysisStage stage, long elapsedMs) {
+    }
+
+    /**
+     * 셀 생성·점수 주입 완료 (문서 구조 요약)
+     */
+    default void onStructure(Map<String, Object> structure) {
+    }
+
+    /**
+     * 검증·통계·핵심 섹션 계산 완료
+     */
+    default void onStatistics(Map<String, Object> statistics) {
+    }
+
+    /**
+     * LLM 요약 텍스트 조각
+     */
+    default void onSummaryDelta(String delta) {
+    }
+
+    /**
+     * 최종 요약·키워드·키워드 위치 확정
+     */
+    default void onKeywords(Map<String, Object> keywords) {
+    }
+}
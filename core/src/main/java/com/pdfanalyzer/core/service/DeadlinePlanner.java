@@ -0,0 +1,114 @@
+package com.pdfanalyzer.core.service;
+
+import com.pdfanalyzer.core.integration.llm.SummaryMode;
+import com.pdfanalyzer.core.service.AnalysisDeadline.Degradation;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 남은 예산에 맞춰 분석 품질 저하 단계를 고름
+ *
+ * 추출 직전에 남은 작업의 예상 비용(페이지당 추출·셀·임베딩 + 분류 + 요약)을 남은 예산과 비교하여
+ * 예산에 들어올 때까지 가벼운 저하부터 차례로 적용한다.
+ *   임베딩 생략 → 규칙 기반 분류 → 앞쪽 N 페이지만 추출 → 로컬 발췌 요약
+ * 요약 단계에서는 실제로 남은 예산을 다시 확인하고, LLM 응답은 남은 예산까지만 기다린다.
+ *
+ * 비용은 설정값 기반 추정치이므로 배포 환경에 맞게 조정한다.
+ */
+@Slf4j
+@Component
+public class DeadlinePlanner {
+
+    @Value("${analysis.deadline.extract-ms-per-page:15}")
+    private double extractMsPerPage; // PDFBox 텍스트 추출
+
+    @Value("${analysis.deadline.cells-ms-per-page:10}")
+    private double cellsMsPerPage; // 셀 생성·스펙트럼 점수
+
+    @Value("${analysis.deadline.embedding-ms-per-page:40}")
+    private double embeddingMsPerPage; // 셀 임베딩
+
+    @Value("${analysis.deadline.classifier-ms:200}")
+    private long classifierMs; // DJL 분류·지문 k-NN
+
+    @Value("${analysis.deadline.llm-ms:8000}")
+    private long llmMs; // LLM 요약 예상 응답 시간
+
+    @Value("${analysis.deadline.min-llm-ms:2000}")
+    private long minLlmMs; // 요약 단계에서 남은 예산이 이보다 적으면 LLM 을 호출하지 않음
+
+    @Value("${analysis.deadline.local-summary-ms:150}")
+    private long localSummaryMs; // 로컬 발췌 요약 (llm.extractive.budget-ms 와 여유분)
+
+    @Value("${analysis.deadline.min-pages:3}")
+    private int minPages; // 페이지 제한 시 최소 페이지 수
+
+    /**
+     * 추출 전 계획: 저하 단계를 deadline 에 기록하고 추출할 페이지 수를 반환
+     */
+    public int planExtraction(AnalysisDeadline deadline, int pageCount, SummaryMode summaryMode) {
+        if (!deadline.isBounded() || pageCount <= 0) {
+            return pageCount;
+        }
+        long remaining = deadline.remainingMs();
+        double perPage = extractMsPerPage + cellsMsPerPage + embeddingMsPerPage;
+        long summaryMs = summaryMode == SummaryMode.EXTRACTIVE ? localSummaryMs : llmMs;
+        long fixed = classifierMs + summaryMs;
+
+        if (pageCount * perPage + fixed <= remaining) {
+            return pageCount;
+        }
+        deadline.apply(Degradation.SKIP_EMBEDDINGS, reason(remaining, pageCount * perPage + fixed));
+        perPage -= embeddingMsPerPage;
+        if (pageCount * perPage + fixed <= remaining) {
+            return pageCount;
+        }
+        deadline.apply(Degradation.RULE_BASED_CLASSIFIER, reason(remaining, pageCount * perPage + fixed));
+        fixed -= classifierMs;
+        if (pageCount * perPage + fixed <= remaining) {
+            return pageCount;
+        }
+
+        int pages = (int) ((remaining - fixed) / perPage);
+        if (pages < minPages && summaryMs > localSummaryMs) {
+            // 페이지를 줄여도 LLM 응답을 기다릴 예산이 없으면 로컬 요약으로
+            deadline.apply(Degradation.LOCAL_SUMMARY, reason(remaining, minPages * perPage + fixed));
+            fixed = localSummaryMs;
+            pages = (int) ((remaining - fixed) / perPage);
+        }
+        pages = Math.min(pageCount, Math.max(minPages, pages));
+        if (pages < pageCount) {
+            deadline.apply(Degradation.PAGE_LIMIT, "앞쪽 " + pages + "/" + pageCount + " 페이지만 분석");
+        }
+        log.info("⏱️ 마감 {}ms (남은 {}ms): {} 페이지 분석, 저하 {}",
+                deadline.getBudgetMs(), remaining, pages, deadline.report().get("degradations"));
+        return pages;
+    }
+
+    /**
+     * 요약 단계: 로컬 요약을 써야 하는지 (앞서 결정됐거나 남은 예산이 min-llm-ms 미만)
+     */
+    public boolean useLocalSummary(AnalysisDeadline deadline) {
+        if (deadline.isApplied(Degradation.LOCAL_SUMMARY)) {
+            return true;
+        }
+        long remaining = deadline.remainingMs();
+        if (remaining < minLlmMs + localSummaryMs) {
+            deadline.apply(Degradation.LOCAL_SUMMARY, "요약 단계 남은 예산 " + remaining + "ms < LLM 최소 " + minLlmMs + "ms");
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * LLM 응답을 기다릴 수 있는 시간 (시간 초과 시 로컬 요약을 만들 여유를 남김)
+     */
+    public long llmWaitMs(AnalysisDeadline deadline) {
+        return deadline.isBounded() ? Math.max(0, deadline.remainingMs() - localSummaryMs) : Long.MAX_VALUE;
+    }
+
+    private static String reason(long remainingMs, double estimatedMs) {
+        return "예상 " + Math.round(estimatedMs) + "ms > 남은 예산 " + remainingMs + "ms";
+    }
+}
@@ -4,14 +4,21 @@ import com.pdfanalyzer.core.analysis.scoring.SpectralScoreInjector;
 import com.pdfanalyzer.core.analysis.validation.StructureValidator;
 import com.pdfanalyzer.core.document.extractor.PDFExtractor;
 import com.pdfanalyzer.core.document.model.DocumentMetadata;
+import com.pdfanalyzer.core.frequency.SpectralEngineType;
 import com.pdfanalyzer.core.frequency.filter.DocumentType;
 import com.pdfanalyzer.core.integration.formatter.ResultFormatter;
+import com.pdfanalyzer.core.integration.llm.ExtractiveSummarizer;
 import com.pdfanalyzer.core.integration.llm.LLMAdapter;
+import com.pdfanalyzer.core.integration.llm.SummaryMode;
+import com.pdfanalyzer.core.integration.llm.TfIdfKeywordExtractor;
+import com.pdfanalyzer.core.ml.classification.DocumentProfile;
 import com.pdfanalyzer.core.model.AnalysisResult;
 import com.pdfanalyzer.core.semantic.builder.CellBuilder;
 import com.pdfanalyzer.core.semantic.model.SemanticCell;
+import com.pdfanalyzer.core.service.AnalysisDeadline.Degradation;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -20,8 +27,19 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * 문서 분석 파이프라인 서비스
@@ -38,11 +56,48 @@ public class DocumentAnalysisService {
     private final StructureValidator validator;
     private final LLMAdapter llmAdapter;
     private final ResultFormatter resultFormatter;
+    private final ExtractiveSummarizer extractiveSummarizer;
+    private final TfIdfKeywordExtractor keywordExtractor;
+    private final StagedPipelineExecutor pipeline;
+    private final DeadlinePlanner deadlinePlanner;
+
+    @Value("${spectral.streaming.page-threshold:200}")
+    private int streamingPageThreshold; // 이 페이지 수 이상이면 스트리밍 분석
+
+    @Value("${spectral.streaming.speculative-pages:5}")
+    private int speculativePages; // 문서 타입 추측 분류에 사용할 앞쪽 페이지 수
+
+    private final ExecutorService streamExecutor = Executors.newVirtualThreadPerTaskExecutor();
 
     /**
      * 전체 파이프라인 실행
      */
     public AnalysisResult analyze(MultipartFile file, DocumentType documentType) throws IOException {
+        return analyze(file, documentType, null);
+    }
+
+    /**
+     * 전체 파이프라인 실행 (공명 엔진 지정)
+     */
+    public AnalysisResult analyze(MultipartFile file, DocumentType documentType, SpectralEngineType engine) throws IOException {
+        return analyze(file, documentType, engine, SummaryMode.LLM);
+    }
+
+    /**
+     * 전체 파이프라인 실행 (공명 엔진·요약 방식 지정)
+     */
+    public AnalysisResult analyze(MultipartFile file, DocumentType documentType, SpectralEngineType engine,
+                                  SummaryMode summaryMode) throws IOException {
+        return analyze(file, documentType, engine, summaryMode, StagedPipelineExecutor.DEFAULT_TENANT,
+                AnalysisDeadline.none());
+    }
+
+    /**
+     * 전체 파이프라인 실행 (테넌트·마감 지정)
+     * 입장 순서는 테넌트별 가중 공정 큐로 정해지고, 예산이 부족하면 단계별로 품질을 낮춘다.
+     */
+    public AnalysisResult analyze(MultipartFile file, DocumentType documentType, SpectralEngineType engine,
+                                  SummaryMode summaryMode, String tenant, AnalysisDeadline deadline) throws IOException {
         log.info("=== 분석 시작: {} ===", file.getOriginalFilename());
         long start = System.currentTimeMillis();
 
@@ -51,7 +106,8 @@ public class DocumentAnalysisService {
         Files.copy(file.getInputStream(), tempFile, StandardCopyOption.REPLACE_EXISTING);
 
         try {
-            return analyzePDF(tempFile.toFile(), documentType);
+            return analyzePDF(tempFile.toFile(), documentType, engine, summaryMode, AnalysisStreamListener.NONE,
+                    tenant, deadline);
         } finally {
             Files.deleteIfExists(tempFile);
             log.info("=== 분석 완료: {}ms ===", System.currentTimeMillis() - start);
@@ -62,55 +118,501 @@ public class DocumentAnalysisService {
      * PDF 파일 분석
      */
     public AnalysisResult analyzePDF(File pdfFile, DocumentType documentType) throws IOException {
+        return analyzePDF(pdfFile, documentType, null);
+    }
+
+    /**
+     * PDF 파일 분석 (engine이 null이면 문서 타입별 기본 엔진)
+     */
+    public AnalysisResult analyzePDF(File pdfFile, DocumentType documentType, SpectralEngineType engine) throws IOException {
+        return analyzePDF(pdfFile, documentType, engine, SummaryMode.LLM, AnalysisStreamListener.NONE);
+    }
+
+    /**
+     * 스트리밍 분석: 임시 파일 복사까지만 호출 스레드에서 하고, 파이프라인은 가상 스레드에서 실행
+     * 단계별 중간 결과는 listener 로 전달되고, 최종 결과는 반환 future 로 완료된다.
+     */
+    public CompletableFuture<AnalysisResult> analyzeStreaming(MultipartFile file, DocumentType documentType,
+                                                              SpectralEngineType engine, SummaryMode summaryMode,
+                                                              AnalysisStreamListener listener) throws IOException {
+        return analyzeStreaming(file, documentType, engine, summaryMode, listener, StagedPipelineExecutor.DEFAULT_TENANT,
+                AnalysisDeadline.none());
+    }
+
+    /**
+     * 스트리밍 분석 (테넌트·마감 지정)
+     */
+    public CompletableFuture<AnalysisResult> analyzeStreaming(MultipartFile file, DocumentType documentType,
+                                                              SpectralEngineType engine, SummaryMode summaryMode,
+                                                              AnalysisStreamListener listener, String tenant,
+                                                              AnalysisDeadline deadline) throws IOException {
+        log.info("=== 스트리밍 분석 시작: {} ===", file.getOriginalFilename());
+        Path tempFile = Files.createTempFile("pdf-", ".pdf");
+        Files.copy(file.getInputStream(), tempFile, StandardCopyOption.REPLACE_EXISTING);
+
+        return CompletableFuture.supplyAsync(() -> {
+            long start = System.currentTimeMillis();
+            try {
+                return analyzePDF(tempFile.toFile(), documentType, engine, summaryMode, listener, tenant, deadline);
+            } finally {
+                try {
+                    Files.deleteIfExists(tempFile);
+                } catch (IOException e) {
+                    log.warn("임시 파일 삭제 실패: {}", tempFile, e);
+                }
+                log.info("=== 스트리밍 분석 완료: {}ms ===", System.currentTimeMillis() - start);
+            }
+        }, streamExecutor);
+    }
+
+    /**
+     * PDF 파일 분석 (단계별 중간 결과를 listener 로 전달)
+     */
+    public AnalysisResult analyzePDF(File pdfFile, DocumentType documentType, SpectralEngineType engine,
+                                     SummaryMode summaryMode, AnalysisStreamListener listener) {
+        return analyzePDF(pdfFile, documentType, engine, summaryMode, listener, StagedPipelineExecutor.DEFAULT_TENANT,
+                AnalysisDeadline.none());
+    }
+
+    /**
+     * PDF 파일 분석 (테넌트·마감 지정)
+     * 단계마다 남은 예산을 확인하여 임베딩 생략 → 규칙 기반 분류 → 앞쪽 N 페이지 → 로컬 요약 순으로 품질을 낮추고,
+     * 적용된 저하 단계는 formattedResult.deadline 으로 보고한다.
+     */
+    public AnalysisResult analyzePDF(File pdfFile, DocumentType documentType, SpectralEngineType engine,
+                                     SummaryMode summaryMode, AnalysisStreamListener listener, String tenant,
+                                     AnalysisDeadline deadline) {
         AnalysisResult result = new AnalysisResult();
+        long start = System.currentTimeMillis();
 
+        // 포화 상태면 RejectedExecutionException, 테넌트 할당량 초과면 TenantQuotaExceededException (호출 측에서 503·429 처리)
+        pipeline.admit(tenant, 1, deadline.remainingMs());
         try {
-            // Step 1: PDF 텍스트 추출
-            log.info("Step 1: PDF 추출");
-            DocumentMetadata metadata = pdfExtractor.extractMetadata(pdfFile);
-            List<String> pages = pdfExtractor.extractTextByPages(pdfFile);
-            result.setMetadata(metadata);
+            List<SemanticCell> cells = prepareCells(pdfFile, documentType, engine, summaryMode, result, listener, deadline);
+            listener.onStructure(structureOf(pdfFile.getName(), result.getMetadata(), cells,
+                    System.currentTimeMillis() - start));
+
+            // Step 4-6: LLM 호출을 먼저 시작하고, 검증·통계·핵심 섹션은 응답을 기다리는 동안 병렬 계산
+            log.info("Step 4-6: 요약 생성 + 검증/포맷팅 병렬 실행");
+            formatConcurrently(result, pdfFile.getName(), cells, summarize(cells, summaryMode, listener, deadline), listener);
+            if (deadline.isBounded()) {
+                result.getFormattedResult().put("deadline", deadline.report());
+            }
+            keywordExtractor.learn(cells); // 코퍼스 문서 빈도 갱신 (다음 문서의 TF-IDF 키워드에 반영)
+            result.setSuccess(true);
+            return result;
+
+        } catch (Exception e) {
+            rethrowIfRejectedOrCancelled(e);
+            return failed(result, e);
+        } finally {
+            pipeline.release(tenant);
+        }
+    }
+
+    /**
+     * 여러 문서 일괄 분석 (대량 수집용)
+     * 문서별 추출·점수 계산은 병렬로 하고, 짧은 문서의 요약은 LLMAdapter 가 여러 문서씩 묶어 한 번에 요청한다.
+     * 한 문서의 실패는 그 문서의 결과에만 기록된다. 결과는 입력 순서와 같다.
+     * 입장 허가는 문서마다 호출 스레드에서 차례로 받으므로, 동시에 처리되는 문서 수는 받은 허가 수를 넘지 않고
+     * 다른 테넌트의 요청은 문서 사이사이에 끼어든다. 중간에 거절되면 남은 문서는 같은 이유로 실패 처리한다.
+     */
+    public List<AnalysisResult> analyzeBulk(List<MultipartFile> files, DocumentType documentType,
+                                            SpectralEngineType engine) throws IOException {
+        return analyzeBulk(files, documentType, engine, StagedPipelineExecutor.DEFAULT_TENANT);
+    }
+
+    public List<AnalysisResult> analyzeBulk(List<MultipartFile> files, DocumentType documentType,
+                                            SpectralEngineType engine, String tenant) throws IOException {
+        log.info("=== 일괄 분석 시작: {} 문서 ({}) ===", files.size(), tenant);
+        long start = System.currentTimeMillis();
+
+        List<Path> tempFiles = new ArrayList<>(files.size());
+        try {
+            for (MultipartFile file : files) {
+                Path tempFile = Files.createTempFile("pdf-", ".pdf");
+                tempFiles.add(tempFile);
+                Files.copy(file.getInputStream(), tempFile, StandardCopyOption.REPLACE_EXISTING);
+            }
+
+            // Step 1-3: 문서별 셀 생성·점수 주입 (병렬)
+            List<AnalysisResult> results = new ArrayList<>(files.size());
+            List<CompletableFuture<List<SemanticCell>>> prepared = new ArrayList<>(files.size());
+            RejectedExecutionException rejection = null;
+            for (Path tempFile : tempFiles) {
+                AnalysisResult result = new AnalysisResult();
+                results.add(result);
+                if (rejection == null) {
+                    try {
+                        pipeline.admit(tenant, 1, Long.MAX_VALUE);
+                    } catch (RejectedExecutionException e) {
+                        if (prepared.isEmpty()) {
+                            throw e; // 한 문서도 시작하지 못함: 요청 전체를 거절 (503/429)
+                        }
+                        rejection = e;
+                    }
+                }
+                if (rejection != null) {
+                    prepared.add(CompletableFuture.failedFuture(rejection));
+                    continue;
+                }
+                CompletableFuture<List<SemanticCell>> cells = CompletableFuture.supplyAsync(
+                        () -> prepareCells(tempFile.toFile(), documentType, engine, SummaryMode.LLM, result,
+                                AnalysisStreamListener.NONE, AnalysisDeadline.none()),
+                        streamExecutor);
+                cells.whenComplete((built, error) -> pipeline.release(tenant));
+                prepared.add(cells);
+            }
+
+            Map<String, List<SemanticCell>> documents = new LinkedHashMap<>();
+            for (int i = 0; i < files.size(); i++) {
+                try {
+                    documents.put(String.valueOf(i), prepared.get(i).join());
+                } catch (CompletionException e) {
+                    failed(results.get(i), e);
+                }
+            }
+
+            // Step 4: 요약·키워드 일괄 요청
+            log.info("Step 4: 일괄 요약 ({} 문서)", documents.size());
+            Map<String, LLMAdapter.SummaryAndKeywords> summaries = documents.isEmpty()
+                    ? Map.of()
+                    : pipeline.call(StagedPipelineExecutor.Stage.LLM,
+                            () -> StagedPipelineExecutor.await(llmAdapter.generateBulkSummaryAndKeywordsAsync(documents)));
+
+            // Step 5-6: 문서별 검증·포맷팅
+            for (Map.Entry<String, List<SemanticCell>> document : documents.entrySet()) {
+                int index = Integer.parseInt(document.getKey());
+                AnalysisResult result = results.get(index);
+                List<SemanticCell> cells = document.getValue();
+                try {
+                    formatConcurrently(result, files.get(index).getOriginalFilename(), cells,
+                            CompletableFuture.completedFuture(summaries.get(document.getKey())), AnalysisStreamListener.NONE);
+                    keywordExtractor.learn(cells);
+                    result.setSuccess(true);
+                } catch (Exception e) {
+                    failed(result, e);
+                }
+            }
+            return results;
 
-            // Step 2: 셀 생성
-            log.info("Step 2: 셀 생성");
-            List<SemanticCell> cells = cellBuilder.buildCellsFromPages(pages);
+        } finally {
+            for (Path tempFile : tempFiles) {
+                Files.deleteIfExists(tempFile);
+            }
+            log.info("=== 일괄 분석 완료: {} 문서, {}ms ===", files.size(), System.currentTimeMillis() - start);
+        }
+    }
+
+    /**
+     * Step 1-3: 추출 → 셀 생성 → 스펙트럼 점수 주입 (메타데이터·셀·프로파일을 result 에 기록)
+     * 추출은 PARSE, 셀 생성·점수 주입은 SCORE 단계 실행기에서 실행하고 호출 스레드는 결과만 기다린다.
+     * 메타데이터를 읽은 뒤 남은 예산으로 임베딩·분류기·추출 페이지 수를 정한다 (DeadlinePlanner).
+     */
+    private List<SemanticCell> prepareCells(File pdfFile, DocumentType documentType, SpectralEngineType engine,
+                                            SummaryMode summaryMode, AnalysisResult result,
+                                            AnalysisStreamListener listener, AnalysisDeadline deadline) {
+        // Step 1: PDF 텍스트 추출
+        log.info("Step 1: PDF 추출");
+        long stageStart = System.currentTimeMillis();
+        listener.onStageStarted(AnalysisStage.EXTRACT);
+        DocumentMetadata metadata = pipeline.call(StagedPipelineExecutor.Stage.PARSE,
+                () -> pdfExtractor.extractMetadata(pdfFile));
+        result.setMetadata(metadata);
+
+        int pageLimit = deadlinePlanner.planExtraction(deadline, metadata.getPageCount(), summaryMode);
+        boolean embeddings = !deadline.isApplied(Degradation.SKIP_EMBEDDINGS);
+        boolean useModels = !deadline.isApplied(Degradation.RULE_BASED_CLASSIFIER);
+
+        List<SemanticCell> cells;
+        boolean streamable = documentType == null
+                ? engine != SpectralEngineType.WAVELET
+                : (engine != null ? engine : scoreInjector.resolveEngine(documentType)) == SpectralEngineType.FFT;
+        if (streamable && pageLimit >= streamingPageThreshold) {
+            // Step 1-3: 대용량 문서는 페이지 단위 스트리밍 (추출 + 셀 생성 + 단시간 FFT)
+            log.info("Step 1-3: 스트리밍 분석 ({} 페이지)", pageLimit);
+            // 세 단계가 페이지마다 겹쳐 진행되므로 함께 시작하고, 추출이 끝나면 셀 생성도 끝난 것으로 봄
+            // 페이지 파싱과 점수 계산이 한 작업 안에서 번갈아 일어나므로 PARSE 단계에서 통째로 실행
+            listener.onStageStarted(AnalysisStage.CELLS);
+            listener.onStageStarted(AnalysisStage.FFT);
+            StreamingAnalysis streaming = new StreamingAnalysis(documentType, embeddings, useModels);
+            long[] extracted = new long[1];
+            cells = pipeline.call(StagedPipelineExecutor.Stage.PARSE, () -> {
+                pdfExtractor.extractTextByPages(pdfFile, pageLimit, streaming::acceptPage);
+                extracted[0] = System.currentTimeMillis() - stageStart;
+                listener.onStageCompleted(AnalysisStage.EXTRACT, extracted[0]);
+                listener.onStageCompleted(AnalysisStage.CELLS, extracted[0]);
+                return streaming.finish(engine);
+            });
             result.setCells(cells);
+            result.setProfile(streaming.profile);
+            listener.onStageCompleted(AnalysisStage.FFT, System.currentTimeMillis() - stageStart);
+        } else {
+            List<String> pages = pipeline.call(StagedPipelineExecutor.Stage.PARSE,
+                    () -> pdfExtractor.extractTextByPages(pdfFile, pageLimit));
+            listener.onStageCompleted(AnalysisStage.EXTRACT, System.currentTimeMillis() - stageStart);
 
-            // Step 3: FFT 분석 및 점수 주입
-            log.info("Step 3: FFT 분석");
-            if (documentType != null) {
-                scoreInjector.injectSpectralScores(cells, documentType);
-            } else {
-                scoreInjector.injectSpectralScoresAutoDetect(cells);
+            // Step 2-3: 셀 생성, FFT 분석 및 점수 주입
+            cells = pipeline.call(StagedPipelineExecutor.Stage.SCORE, () -> {
+                log.info("Step 2: 셀 생성");
+                long cellsStart = System.currentTimeMillis();
+                listener.onStageStarted(AnalysisStage.CELLS);
+                List<SemanticCell> built = cellBuilder.buildCellsFromPages(pages, embeddings);
+                DocumentProfile profile = DocumentProfile.of(built);
+                result.setCells(built);
+                result.setProfile(profile);
+                listener.onStageCompleted(AnalysisStage.CELLS, System.currentTimeMillis() - cellsStart);
+
+                log.info("Step 3: FFT 분석");
+                long fftStart = System.currentTimeMillis();
+                listener.onStageStarted(AnalysisStage.FFT);
+                DocumentType type = scoreInjector.resolveDocumentType(built, profile, documentType, useModels);
+                scoreInjector.injectSpectralScores(built, type, engine);
+                listener.onStageCompleted(AnalysisStage.FFT, System.currentTimeMillis() - fftStart);
+                return built;
+            });
+        }
+        return cells;
+    }
+
+    /**
+     * 단계 실행기 포화·종료(RejectedExecutionException)와 취소(CancellationException)는 분석 실패가 아니므로
+     * 결과에 기록하지 않고 호출 측으로 던짐 (컨트롤러는 503, 작업은 CANCELLED 로 처리)
+     */
+    private static void rethrowIfRejectedOrCancelled(Exception e) {
+        Throwable cause = e;
+        while (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        if (cause instanceof RejectedExecutionException rejected) {
+            throw rejected;
+        }
+        if (cause instanceof CancellationException cancelled) {
+            throw cancelled;
+        }
+    }
+
+    private AnalysisResult failed(AnalysisResult result, Exception e) {
+        Throwable cause = e;
+        while (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        log.error("분석 중 오류", cause);
+        result.setSuccess(false);
+        result.setError(cause.getMessage());
+        return result;
+    }
+
+    /**
+     * 요약 방식에 따른 요약·키워드 future (LLM 호출은 여기서 바로 시작됨)
+     * 마감이 있으면 남은 예산이 부족할 때 로컬 발췌 요약으로 대체하고, LLM 응답도 남은 예산까지만 기다린다.
+     */
+    private CompletableFuture<LLMAdapter.SummaryAndKeywords> summarize(List<SemanticCell> cells, SummaryMode summaryMode,
+                                                                       AnalysisStreamListener listener,
+                                                                       AnalysisDeadline deadline) {
+        if (summaryMode == SummaryMode.EXTRACTIVE || (deadline.isBounded() && deadlinePlanner.useLocalSummary(deadline))) {
+            // 로컬 발췌 요약: 네트워크 호출 없이 검증·통계와 함께 FORMAT 단계에서 계산
+            return pipeline.submit(StagedPipelineExecutor.Stage.FORMAT, () -> localSummary(cells, listener));
+        }
+        // 응답 대기는 LLM 단계(가상 스레드)가 맡으므로 CPU 단계 스레드를 점유하지 않음
+        return pipeline.submit(StagedPipelineExecutor.Stage.LLM, () -> {
+            // 시간 초과로 로컬 요약을 쓰기로 하면 늦게 도착한 LLM 조각은 클라이언트에 보내지 않음
+            AtomicBoolean streaming = new AtomicBoolean(true);
+            CompletableFuture<LLMAdapter.SummaryAndKeywords> llm = listener == AnalysisStreamListener.NONE
+                    ? llmAdapter.generateSummaryAndKeywordsAsync(cells)
+                    : llmAdapter.streamSummaryAndKeywordsAsync(cells, delta -> {
+                        if (streaming.get()) {
+                            listener.onSummaryDelta(delta);
+                        }
+                    });
+            if (!deadline.isBounded()) {
+                return StagedPipelineExecutor.await(llm);
             }
+            long waitMs = deadlinePlanner.llmWaitMs(deadline);
+            try {
+                // llm 자체가 아니라 복사본에 시간 제한을 걸어야 시간 초과 후 llm 을 취소할 수 있음
+                return StagedPipelineExecutor.await(llm.copy().orTimeout(waitMs, TimeUnit.MILLISECONDS));
+            } catch (CompletionException e) {
+                if (!(e.getCause() instanceof TimeoutException)) {
+                    throw e;
+                }
+                streaming.set(false);
+                llm.cancel(true); // 진행 중인 LLM 호출을 끊어 쿼터를 더 쓰지 않음
+                log.warn("⏱️ LLM 응답 {}ms 초과, 로컬 발췌 요약으로 대체", waitMs);
+                deadline.apply(Degradation.LOCAL_SUMMARY, "LLM 응답 시간 초과 (" + waitMs + "ms)");
+                return pipeline.call(StagedPipelineExecutor.Stage.FORMAT, () -> localSummary(cells, listener));
+            }
+        });
+    }
 
-            // Step 4: 구조 검증
-            log.info("Step 4: 검증");
-            StructureValidator.ValidationResult validation = validator.validate(cells);
+    private LLMAdapter.SummaryAndKeywords localSummary(List<SemanticCell> cells, AnalysisStreamListener listener) {
+        LLMAdapter.SummaryAndKeywords local = llmAdapter.generateExtractiveSummaryAndKeywords(cells);
+        listener.onSummaryDelta(local.summary);
+        return local;
+    }
+
+    /**
+     * 점수가 확정된 셀 이후 단계를 의존 관계대로 실행
+     * LLM 요약 ∥ 구조 검증 ∥ 통계 ∥ 핵심 섹션 → 결과 조립 (LLM 결과는 조립 시점에만 대기)
+     *
+     * 모든 단계는 셀을 읽기만 하므로 동시에 실행해도 안전하다.
+     * 하나라도 실패하면 나머지를 취소하고 예외를 전파한다.
+     */
+    private void formatConcurrently(AnalysisResult result, String fileName, List<SemanticCell> cells,
+                                    CompletableFuture<LLMAdapter.SummaryAndKeywords> llmFuture,
+                                    AnalysisStreamListener listener) {
+        long start = System.currentTimeMillis();
+        listener.onStageStarted(AnalysisStage.LLM);
+        llmFuture.whenComplete((done, error) -> {
+            if (error == null) {
+                listener.onStageCompleted(AnalysisStage.LLM, System.currentTimeMillis() - start);
+            }
+        });
+        listener.onStageStarted(AnalysisStage.VALIDATE);
+
+        CompletableFuture<StructureValidator.ValidationResult> validationFuture =
+                pipeline.submit(StagedPipelineExecutor.Stage.FORMAT, () -> validator.validate(cells));
+        CompletableFuture<Map<String, Object>> statisticsFuture =
+                pipeline.submit(StagedPipelineExecutor.Stage.FORMAT, () -> resultFormatter.formatStatistics(cells));
+        CompletableFuture<List<Map<String, Object>>> keySectionsFuture =
+                pipeline.submit(StagedPipelineExecutor.Stage.FORMAT, () -> resultFormatter.formatKeySections(cells));
+
+        try {
+            StructureValidator.ValidationResult validation = StagedPipelineExecutor.await(validationFuture);
+            Map<String, Object> statistics = StagedPipelineExecutor.await(statisticsFuture);
+            List<Map<String, Object>> keySections = StagedPipelineExecutor.await(keySectionsFuture);
             result.setValidationResult(validation);
+            log.info("검증/통계 완료: {}ms (LLM 응답 대기 중)", System.currentTimeMillis() - start);
+            listener.onStageCompleted(AnalysisStage.VALIDATE, System.currentTimeMillis() - start);
+
+            Map<String, Object> statisticsEvent = new LinkedHashMap<>();
+            statisticsEvent.put("statistics", statistics);
+            statisticsEvent.put("validation", resultFormatter.formatValidation(validation));
+            statisticsEvent.put("keySections", keySections);
+            listener.onStatistics(statisticsEvent);
+
+            LLMAdapter.SummaryAndKeywords summaryAndKeywords = StagedPipelineExecutor.await(llmFuture);
+            Map<String, Object> keywordsEvent = new LinkedHashMap<>();
+            keywordsEvent.put("summary", summaryAndKeywords.summary);
+            keywordsEvent.put("keywords", summaryAndKeywords.keywords);
+            keywordsEvent.put("keywordLocations", summaryAndKeywords.keywordLocations);
+            listener.onKeywords(keywordsEvent);
 
-            // Step 5: LLM 요약 및 키워드 생성 (단일 API 호출)
-            log.info("Step 5: 요약 및 키워드 생성");
-            LLMAdapter.SummaryAndKeywords summaryAndKeywords = llmAdapter.generateSummaryAndKeywords(cells);
             result.setSummary(summaryAndKeywords.summary);
             result.setKeywords(summaryAndKeywords.keywords);
+            result.setPromptTokens(summaryAndKeywords.promptTokens);
+            result.setFormattedResult(resultFormatter.formatResult(
+                    fileName, cells.size(), summaryAndKeywords, validation, statistics, keySections));
+            log.info("요약 및 포맷팅 완료: {}ms", System.currentTimeMillis() - start);
+        } catch (RuntimeException e) {
+            llmFuture.cancel(true);
+            validationFuture.cancel(true);
+            statisticsFuture.cancel(true);
+            keySectionsFuture.cancel(true);
+            throw e;
+        }
+    }
 
-            // Step 6: 결과 포맷팅
-            log.info("Step 6: 포맷팅");
-            String fileName = pdfFile.getName();
-            Map<String, Object> formatted = resultFormatter.formatResult(
-                    fileName, cells, summaryAndKeywords.summary, summaryAndKeywords.keywords,
-                    summaryAndKeywords.keywordLocations, validation);
-            result.setFormattedResult(formatted);
+    private Map<String, Object> structureOf(String fileName, DocumentMetadata metadata, List<SemanticCell> cells,
+                                            long elapsedMs) {
+        Map<String, Object> structure = new LinkedHashMap<>();
+        structure.put("fileName", fileName);
+        structure.put("pageCount", metadata.getPageCount());
+        structure.put("totalCells", cells.size());
+        structure.put("headerCount", cells.stream().filter(SemanticCell::isHeader).count());
+        structure.put("elapsedMs", elapsedMs);
+        return structure;
+    }
 
-            result.setSuccess(true);
-            return result;
+    /**
+     * 페이지 단위 스트리밍 분석
+     * 페이지가 추출되는 즉시 셀을 만들고 단시간 FFT로 점수를 매기므로,
+     * 뒤쪽 페이지를 파싱하는 동안 앞쪽 페이지의 점수가 먼저 확정됨
+     *
+     * 문서 타입이 지정되지 않으면 앞쪽 N 페이지의 프로파일로 타입을 추측 분류하여
+     * 해당 필터로 스트리밍 세션을 미리 열고, 전체 프로파일이 나온 뒤 재확인한다.
+     * 최종 분류가 다르면 점수 주입 단계만 다시 실행한다.
+     */
+    private class StreamingAnalysis {
+        private final List<SemanticCell> cells = new ArrayList<>();
+        private final DocumentProfile profile = new DocumentProfile();
+        private final DocumentType requestedType;
+        private final boolean embeddings;
+        private final boolean useModels;
+        private DocumentType streamingType;
+        private SpectralScoreInjector.StreamingScoreSession session;
+        private int position;
+        private int scored;
 
-        } catch (Exception e) {
-            log.error("분석 중 오류", e);
-            result.setSuccess(false);
-            result.setError(e.getMessage());
-            return result;
+        private StreamingAnalysis(DocumentType requestedType, boolean embeddings, boolean useModels) {
+            this.requestedType = requestedType;
+            this.embeddings = embeddings;
+            this.useModels = useModels;
+            if (requestedType != null) {
+                open(requestedType);
+            }
+        }
+
+        private void acceptPage(String pageText, int pageNumber) {
+            List<SemanticCell> pageCells = cellBuilder.buildCellsForPage(pageText, pageNumber, position, cells.size(),
+                    embeddings);
+            position = cellBuilder.nextPosition(pageCells, position);
+            cells.addAll(pageCells);
+            pageCells.forEach(profile::add);
+
+            if (session == null) {
+                if (pageNumber < speculativePages) {
+                    return;
+                }
+                // 추측 분류: 앞쪽 페이지만으로 타입을 정하고 지금까지의 셀을 밀어 넣음
+                DocumentType speculative = detect();
+                log.info("추측 문서 분류: {} (앞쪽 {} 페이지, {} 셀)", speculative, pageNumber, cells.size());
+                open(speculative);
+                session.acceptAll(cells);
+                return;
+            }
+            session.acceptAll(pageCells);
+        }
+
+        private DocumentType detect() {
+            return useModels
+                    ? scoreInjector.detectDocumentTypeWithML(profile)
+                    : scoreInjector.resolveDocumentType(cells, profile, null, false);
+        }
+
+        private void open(DocumentType type) {
+            streamingType = type;
+            session = scoreInjector.openStream(type, cell -> {
+                scored++;
+                log.debug("셀 점수 확정: 페이지 {}, 점수 {}", cell.getPageNumber(), cell.getStructuralScore());
+            });
+        }
+
+        private List<SemanticCell> finish(SpectralEngineType engine) {
+            if (session == null) {
+                // 추측 분류 페이지 수보다 짧은 문서
+                open(detect());
+                session.acceptAll(cells);
+            }
+            session.finish();
+            log.info("스트리밍 분석 완료: {} 셀 생성, {} 셀 점수 확정", cells.size(), scored);
+
+            if (requestedType == null) {
+                // 전체 프로파일로 재확인 (프로파일은 추출 중 누적되었으므로 추가 순회 없음)
+                DocumentType finalType = scoreInjector.resolveDocumentType(cells, profile, null, useModels);
+                SpectralEngineType finalEngine = engine != null ? engine : scoreInjector.resolveEngine(finalType);
+                if (finalType != streamingType || finalEngine != SpectralEngineType.FFT) {
+                    log.info("추측 분류 불일치: {} → {} (점수 주입만 재실행)", streamingType, finalType);
+                    scoreInjector.injectSpectralScores(cells, finalType, finalEngine);
+                } else {
+                    log.info("추측 분류 확정: {}", finalType);
+                    scoreInjector.completeStream(cells, finalType);
+                }
+            } else {
+                scoreInjector.resolveDocumentType(cells, profile, requestedType, useModels);
+                scoreInjector.completeStream(cells, requestedType);
+            }
+            return cells;
         }
     }
 
@@ -124,17 +626,26 @@ public class DocumentAnalysisService {
         try {
             AnalysisResult result = new AnalysisResult();
 
-            DocumentMetadata metadata = pdfExtractor.extractMetadata(tempFile.toFile());
-            List<String> pages = pdfExtractor.extractTextByPages(tempFile.toFile());
-            List<SemanticCell> cells = cellBuilder.buildCellsFromPages(pages);
-
-            scoreInjector.injectSpectralScoresAutoDetect(cells);
-            StructureValidator.ValidationResult validation = validator.validate(cells);
+            DocumentMetadata metadata = pipeline.call(StagedPipelineExecutor.Stage.PARSE,
+                    () -> pdfExtractor.extractMetadata(tempFile.toFile()));
+            List<String> pages = pipeline.call(StagedPipelineExecutor.Stage.PARSE,
+                    () -> pdfExtractor.extractTextByPages(tempFile.toFile()));
+            List<SemanticCell> cells = pipeline.call(StagedPipelineExecutor.Stage.SCORE, () -> {
+                List<SemanticCell> built = cellBuilder.buildCellsFromPages(pages);
+                scoreInjector.injectSpectralScoresAutoDetect(built);
+                return built;
+            });
+            StructureValidator.ValidationResult validation = pipeline.call(StagedPipelineExecutor.Stage.FORMAT,
+                    () -> validator.validate(cells));
 
             result.setMetadata(metadata);
             result.setCells(cells);
             result.setValidationResult(validation);
-            result.setSummary("빠른 분석 완료: " + cells.size() + "개 셀 생성");
+            // 네트워크 호출 없는 발췌 요약 (시간 한도 llm.extractive.budget-ms)
+            String summary = extractiveSummarizer.summarize(cells).getText();
+            result.setSummary(summary.isEmpty() ? "빠른 분석 완료: " + cells.size() + "개 셀 생성" : summary);
+            result.setKeywords(keywordExtractor.extract(cells));
+            keywordExtractor.learn(cells);
             result.setSuccess(true);
 
             return result;
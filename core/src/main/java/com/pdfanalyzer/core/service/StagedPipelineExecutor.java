@@ -0,0 +1,493 @@
+package com.pdfanalyzer.core.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * 단계별 스레드 풀로 분석 파이프라인 실행
+ *
+ * 1. 단계(PARSE → SCORE → FORMAT, LLM)마다 전용 실행기와 한도가 있는 대기열을 둠
+ *    - CPU 단계: 코어 수만큼의 플랫폼 스레드, LLM 단계: 가상 스레드 (응답 대기만 하므로)
+ * 2. CPU 단계들은 코어 수만큼의 실행 허가를 나눠 쓰므로 동시에 돌아가는 CPU 작업이 코어 수를 넘지 않음
+ * 3. 단계 대기열이 가득 차면 제출한 쪽이 블로킹되고, 그 요청이 입장 허가를 쥔 채 기다리므로
+ *    뒤쪽 단계의 정체가 입장 제어(admit)까지 전파됨 (max-in-flight 초과 요청은 admission-timeout 후 거절)
+ * 4. 입장 순서는 도착 순이 아니라 테넌트별 가중 공정 큐(WeightedFairQueue)로 정하므로,
+ *    한 테넌트의 대량 업로드가 쌓여도 다른 테넌트의 요청은 자기 몫의 순번에 입장함
+ *
+ * 작업 안에서 다른 단계의 결과를 기다리면 허가를 쥔 채 블로킹되므로, 단계 간 연결은 호출 스레드가 한다.
+ */
+@Slf4j
+@Component
+public class StagedPipelineExecutor {
+
+    /**
+     * 테넌트 헤더가 없는 요청의 테넌트
+     */
+    public static final String DEFAULT_TENANT = "anonymous";
+
+    public enum Stage {
+        PARSE(true),   // PDFBox 메타데이터·텍스트 추출
+        SCORE(true),   // 셀 생성·스펙트럼 점수·임베딩
+        FORMAT(true),  // 구조 검증·통계·핵심 섹션·발췌 요약
+        LLM(false);    // 원격 요약 응답 대기
+
+        private final boolean cpuBound;
+
+        Stage(boolean cpuBound) {
+            this.cpuBound = cpuBound;
+        }
+
+        public boolean isCpuBound() {
+            return cpuBound;
+        }
+    }
+
+    @Value("${analysis.pipeline.cpu-threads:0}")
+    private int cpuThreads; // CPU 단계별 스레드 수이자 동시 CPU 작업 한도 (0: 코어 수)
+
+    @Value("${analysis.pipeline.queue-capacity:32}")
+    private int queueCapacity; // 단계별 대기열 한도 (가득 차면 제출 측 블로킹)
+
+    @Value("${analysis.pipeline.llm-concurrency:64}")
+    private int llmConcurrency; // LLM 단계 동시 대기 한도
+
+    @Value("${analysis.pipeline.max-in-flight:0}")
+    private int maxInFlight; // 파이프라인에 동시에 들어올 수 있는 문서 수 (0: CPU 스레드 × 4)
+
+    @Value("${analysis.pipeline.admission-timeout-ms:30000}")
+    private long admissionTimeoutMs; // 입장 허가 대기 한도 (초과 시 RejectedExecutionException)
+
+    @Value("${analysis.pipeline.ewma-alpha:0.2}")
+    private double ewmaAlpha;
+
+    @Value("${analysis.tenants.default-weight:1.0}")
+    private double defaultWeight; // 테넌트 기본 가중치
+
+    @Value("${analysis.tenants.default-max-concurrent:0}")
+    private int defaultMaxConcurrent; // 테넌트별 동시 처리 한도 (0: 입장 한도까지)
+
+    @Value("${analysis.tenants.default-max-queued:64}")
+    private int defaultMaxQueued; // 테넌트별 입장 대기 한도 (초과 시 429, 0: 제한 없음)
+
+    @Value("${analysis.tenants.default-documents-per-minute:0}")
+    private int defaultDocumentsPerMinute; // 테넌트별 분당 문서 할당량 (0: 제한 없음)
+
+    @Value("${analysis.tenants.weights:}")
+    private String weights; // 테넌트별 가중치 (tenant=값,...)
+
+    @Value("${analysis.tenants.max-concurrent:}")
+    private String maxConcurrent; // 테넌트별 동시 처리 한도 (tenant=값,...)
+
+    @Value("${analysis.tenants.max-queued:}")
+    private String maxQueued; // 테넌트별 입장 대기 한도 (tenant=값,...)
+
+    @Value("${analysis.tenants.documents-per-minute:}")
+    private String documentsPerMinute; // 테넌트별 분당 문서 할당량 (tenant=값,...)
+
+    @Value("${analysis.tenants.allowed:}")
+    private String allowedTenants; // 요청 헤더로 선택할 수 있는 테넌트 ID (쉼표 구분, 테넌트별 재정의가 있는 ID 는 자동 포함)
+
+    @Value("${analysis.tenants.max-tenants:1000}")
+    private int maxTenants; // 상태를 유지할 테넌트 수 (넘으면 쉬고 있는 테넌트부터 정리)
+
+    private final Map<Stage, Lane> lanes = new EnumMap<>(Stage.class);
+    private final LongAdder admitted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private Semaphore cpuPermits;
+    private WeightedFairQueue admission;
+    private Set<String> knownTenants;
+
+    @PostConstruct
+    public void initialize() {
+        if (cpuThreads <= 0) {
+            cpuThreads = Runtime.getRuntime().availableProcessors();
+        }
+        if (maxInFlight <= 0) {
+            maxInFlight = cpuThreads * 4;
+        }
+        cpuPermits = new Semaphore(cpuThreads, true);
+        admission = new WeightedFairQueue(maxInFlight, maxTenants, tenantPolicies());
+        knownTenants = knownTenants();
+
+        for (Stage stage : Stage.values()) {
+            lanes.put(stage, stage.isCpuBound()
+                    ? new Lane(stage, cpuThreads, cpuThreads + queueCapacity, newCpuPool(stage))
+                    : new Lane(stage, llmConcurrency, llmConcurrency, Executors.newVirtualThreadPerTaskExecutor()));
+        }
+        log.info("단계별 파이프라인 초기화: CPU 단계 {} 스레드 (대기열 {}), LLM 동시 {}, 입장 한도 {}",
+                cpuThreads, queueCapacity, llmConcurrency, maxInFlight);
+    }
+
+    /**
+     * 파이프라인 입장 (admission-timeout 안에 허가를 못 얻으면 RejectedExecutionException)
+     * 입장한 요청은 끝날 때 반드시 release() 해야 한다.
+     */
+    public void admit() {
+        admit(DEFAULT_TENANT, 1, admissionTimeoutMs);
+    }
+
+    /**
+     * 테넌트별 가중 공정 순서로 입장
+     * documents 는 요청이 처리할 문서 수 (일괄 분석), 대기 한도는 admission-timeout 과 maxWaitMs 중 짧은 쪽.
+     * 테넌트 할당량을 넘으면 TenantQuotaExceededException, 대기 한도를 넘으면 RejectedExecutionException.
+     * 입장한 요청은 끝날 때 반드시 release(tenant) 해야 한다.
+     */
+    public void admit(String tenant, int documents, long maxWaitMs) {
+        long waitMs = Math.min(admissionTimeoutMs, maxWaitMs);
+        try {
+            admission.acquire(tenant, documents, waitMs);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            log.warn("파이프라인 입장 거절 ({}): {}개 문서 처리 중, {}", tenant, maxInFlight, e.getMessage());
+            throw e;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("입장 대기 중 취소되었습니다");
+        }
+        admitted.increment();
+    }
+
+    public void release() {
+        release(DEFAULT_TENANT);
+    }
+
+    public void release(String tenant) {
+        admission.release(tenant);
+    }
+
+    /**
+     * 단계 실행기에 작업 제출 (대기열이 가득 차면 자리가 날 때까지 블로킹)
+     * 반환 future 를 취소하면 대기 중인 작업은 건너뛰고, 실행 중인 작업은 인터럽트한다.
+     */
+    public <T> CompletableFuture<T> submit(Stage stage, Callable<T> body) {
+        Lane lane = lanes.get(stage);
+        lane.acquireSlot();
+        StageTask<T> task = new StageTask<>(lane, body);
+        try {
+            lane.executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            lane.slots.release(); // 종료 중
+            throw e;
+        }
+        return task.future;
+    }
+
+    /**
+     * 단계 실행 후 결과 대기 (작업의 검사 예외는 CompletionException 으로 감싸 던짐)
+     */
+    public <T> T call(Stage stage, Callable<T> body) {
+        return await(submit(stage, body));
+    }
+
+    /**
+     * future 결과 대기 (인터럽트되면 future 를 취소하고 CancellationException)
+     */
+    public static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new CancellationException("분석 작업이 취소되었습니다");
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException runtime ? runtime : new CompletionException(e.getCause());
+        }
+    }
+
+    /**
+     * 단계별 통계 (대기열 대기·처리 시간 EWMA, 블로킹된 제출 수)
+     * bottleneck: 대기열 대기 EWMA 가 가장 긴 단계
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("cpuThreads", cpuThreads);
+        stats.put("cpuPermitsInUse", cpuThreads - cpuPermits.availablePermits());
+        stats.put("maxInFlight", maxInFlight);
+        stats.put("inFlight", admission.getInFlight());
+        stats.put("admissionWaiting", admission.getQueued());
+        stats.put("admitted", admitted.sum());
+        stats.put("rejected", rejected.sum());
+
+        Map<String, Object> byStage = new LinkedHashMap<>();
+        Stage bottleneck = null;
+        double longestWait = 0;
+        for (Lane lane : lanes.values()) {
+            byStage.put(lane.stage.name(), lane.stats());
+            double wait = lane.queueWait();
+            if (wait > longestWait) {
+                longestWait = wait;
+                bottleneck = lane.stage;
+            }
+        }
+        stats.put("stages", byStage);
+        stats.put("bottleneck", bottleneck != null ? bottleneck.name() : null);
+        return stats;
+    }
+
+    /**
+     * 거절 응답의 Retry-After (초)
+     * 문서 하나의 단계별 처리 시간 EWMA 합 × (입장 대기 수 + 1) / 입장 한도 를 1~60초로 제한
+     */
+    public long retryAfterSeconds() {
+        double documentMs = 0;
+        for (Lane lane : lanes.values()) {
+            documentMs += lane.service();
+        }
+        double drainMs = documentMs * (admission.getQueued() + 1) / Math.max(1, maxInFlight);
+        return Math.max(1, Math.min(60, (long) Math.ceil(drainMs / 1000)));
+    }
+
+    /**
+     * 요청 헤더의 테넌트 ID 를 공정 큐 테넌트로 해석
+     * 헤더는 앞단 인증 게이트웨이가 설정한 값이라고 믿되, 설정에 등록된 ID 만 인정하고 나머지는 anonymous 공용 정책을 쓴다
+     * (요청마다 새 ID 를 보내 가중치·동시 처리 한도·할당량을 새로 받는 것을 막음).
+     */
+    public String resolveTenant(String requested) {
+        if (requested == null || !knownTenants.contains(requested)) {
+            if (requested != null && !DEFAULT_TENANT.equals(requested)) {
+                log.debug("등록되지 않은 테넌트 {}: {} 정책 사용", requested, DEFAULT_TENANT);
+            }
+            return DEFAULT_TENANT;
+        }
+        return requested;
+    }
+
+    /**
+     * 테넌트별 입장 통계 (가중치, 처리 중·대기 수, 대기 시간)
+     */
+    public Map<String, Object> getTenantStats() {
+        return admission.getStats();
+    }
+
+    private Function<String, WeightedFairQueue.Policy> tenantPolicies() {
+        Map<String, String> weightByTenant = perTenant(weights);
+        Map<String, String> concurrentByTenant = perTenant(maxConcurrent);
+        Map<String, String> queuedByTenant = perTenant(maxQueued);
+        Map<String, String> quotaByTenant = perTenant(documentsPerMinute);
+        return tenant -> new WeightedFairQueue.Policy(
+                Double.parseDouble(weightByTenant.getOrDefault(tenant, String.valueOf(defaultWeight))),
+                Integer.parseInt(concurrentByTenant.getOrDefault(tenant, String.valueOf(defaultMaxConcurrent))),
+                Integer.parseInt(queuedByTenant.getOrDefault(tenant, String.valueOf(defaultMaxQueued))),
+                Integer.parseInt(quotaByTenant.getOrDefault(tenant, String.valueOf(defaultDocumentsPerMinute))));
+    }
+
+    private Set<String> knownTenants() {
+        Set<String> known = new HashSet<>();
+        if (allowedTenants != null && !allowedTenants.isBlank()) {
+            for (String tenant : allowedTenants.split(",")) {
+                if (!tenant.isBlank()) {
+                    known.add(tenant.trim());
+                }
+            }
+        }
+        for (String spec : new String[]{weights, maxConcurrent, maxQueued, documentsPerMinute}) {
+            known.addAll(perTenant(spec).keySet());
+        }
+        return known;
+    }
+
+    /**
+     * "tenant=값,tenant=값" 형식의 테넌트별 설정 해석
+     */
+    private static Map<String, String> perTenant(String spec) {
+        Map<String, String> values = new HashMap<>();
+        if (spec == null || spec.isBlank()) {
+            return values;
+        }
+        for (String entry : spec.split(",")) {
+            int eq = entry.indexOf('=');
+            if (eq > 0) {
+                values.put(entry.substring(0, eq).trim(), entry.substring(eq + 1).trim());
+            }
+        }
+        return values;
+    }
+
+    private ThreadPoolExecutor newCpuPool(Stage stage) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        // 대기열 한도는 Lane.slots 가 지키므로 실행기 쪽 큐는 거절하지 않도록 무제한
+        return new ThreadPoolExecutor(cpuThreads, cpuThreads, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "pipeline-" + stage.name().toLowerCase() + "-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @PreDestroy
+    public void cleanup() {
+        lanes.values().forEach(lane -> lane.executor.shutdownNow());
+    }
+
+    /**
+     * 단계 하나의 실행기·대기열 한도·통계
+     */
+    private class Lane {
+        private final Stage stage;
+        private final int threads;
+        private final int capacity;
+        private final ExecutorService executor;
+        private final Semaphore slots; // 실행 중 + 대기 중 작업 수 한도
+        private final AtomicInteger queued = new AtomicInteger();
+        private final AtomicInteger running = new AtomicInteger();
+        private final AtomicInteger blockedSubmitters = new AtomicInteger();
+        private final LongAdder completed = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private double queueWaitMs;
+        private double serviceMs;
+
+        private Lane(Stage stage, int threads, int capacity, ExecutorService executor) {
+            this.stage = stage;
+            this.threads = threads;
+            this.capacity = capacity;
+            this.executor = executor;
+            this.slots = new Semaphore(capacity, true);
+        }
+
+        private void acquireSlot() {
+            if (slots.tryAcquire()) {
+                return;
+            }
+            blockedSubmitters.incrementAndGet();
+            try {
+                slots.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CancellationException("분석 작업이 취소되었습니다");
+            } finally {
+                blockedSubmitters.decrementAndGet();
+            }
+        }
+
+        private synchronized void record(long queueWaitNanos, long serviceNanos) {
+            queueWaitMs += ewmaAlpha * (queueWaitNanos / 1e6 - queueWaitMs);
+            serviceMs += ewmaAlpha * (serviceNanos / 1e6 - serviceMs);
+        }
+
+        private synchronized double queueWait() {
+            return queueWaitMs;
+        }
+
+        private synchronized double service() {
+            return serviceMs;
+        }
+
+        private synchronized Map<String, Object> stats() {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("cpuBound", stage.isCpuBound());
+            entry.put("threads", threads);
+            entry.put("capacity", capacity);
+            entry.put("running", running.get());
+            entry.put("queued", queued.get());
+            entry.put("blockedSubmitters", blockedSubmitters.get());
+            entry.put("completed", completed.sum());
+            entry.put("failed", failed.sum());
+            entry.put("utilization", Math.round(100.0 * running.get() / threads) / 100.0);
+            entry.put("ewmaQueueWaitMs", Math.round(queueWaitMs * 10) / 10.0);
+            entry.put("ewmaServiceMs", Math.round(serviceMs * 10) / 10.0);
+            return entry;
+        }
+    }
+
+    /**
+     * 단계 작업 (취소되면 대기 중이면 건너뛰고, 실행 중이면 실행 스레드를 인터럽트)
+     */
+    private class StageTask<T> implements Runnable {
+        private final Lane lane;
+        private final Callable<T> body;
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+        private final long enqueuedAt = System.nanoTime();
+        private Thread runner;
+
+        private StageTask(Lane lane, Callable<T> body) {
+            this.lane = lane;
+            this.body = body;
+            lane.queued.incrementAndGet();
+            future.whenComplete((value, error) -> {
+                if (future.isCancelled()) {
+                    interruptRunner();
+                }
+            });
+        }
+
+        @Override
+        public void run() {
+            lane.queued.decrementAndGet();
+            long startedAt = System.nanoTime();
+            boolean started = false;
+            boolean permit = false;
+            try {
+                if (future.isDone() || !attach()) {
+                    return; // 대기 중 취소됨
+                }
+                started = true;
+                if (lane.stage.isCpuBound()) {
+                    cpuPermits.acquire();
+                    permit = true;
+                }
+                lane.running.incrementAndGet();
+                try {
+                    future.complete(body.call());
+                    lane.completed.increment();
+                } finally {
+                    lane.running.decrementAndGet();
+                }
+            } catch (InterruptedException e) {
+                future.completeExceptionally(new CancellationException("분석 작업이 취소되었습니다"));
+            } catch (Throwable e) {
+                lane.failed.increment();
+                future.completeExceptionally(e);
+            } finally {
+                if (permit) {
+                    cpuPermits.release();
+                }
+                detach();
+                if (started) {
+                    lane.record(startedAt - enqueuedAt, System.nanoTime() - startedAt);
+                }
+                lane.slots.release();
+            }
+        }
+
+        private synchronized boolean attach() {
+            runner = Thread.currentThread();
+            return !future.isDone();
+        }
+
+        private synchronized void detach() {
+            runner = null;
+            Thread.interrupted(); // 풀 스레드를 재사용하므로 취소 인터럽트를 지움
+        }
+
+        private synchronized void interruptRunner() {
+            if (runner != null) {
+                runner.interrupt();
+            }
+        }
+    }
+}
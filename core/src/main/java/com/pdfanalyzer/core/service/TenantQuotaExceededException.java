@@ -0,0 +1,26 @@
+package com.pdfanalyzer.core.service;
+
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * 테넌트별 대기 한도·분당 할당량 초과 (다른 테넌트는 계속 처리되므로 503 대신 429)
+ */
+public class TenantQuotaExceededException extends RejectedExecutionException {
+
+    private final String tenant;
+    private final long retryAfterSeconds;
+
+    public TenantQuotaExceededException(String tenant, String reason, long retryAfterSeconds) {
+        super("테넌트 " + tenant + " 할당량 초과: " + reason);
+        this.tenant = tenant;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public String getTenant() {
+        return tenant;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,282 @@
+package com.pdfanalyzer.core.service;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * 테넌트(사용자)별 가중 공정 큐 입장 제어
+ *
+ * 1. 요청마다 가상 시작 시각 S = max(V, 테넌트의 직전 종료 시각), 종료 시각 F = S + 문서 수 / 가중치 를 붙임
+ *    - V 는 마지막으로 입장한 요청의 S (오래 쉬던 테넌트가 밀린 몫을 한꺼번에 쓰지 못하게 함)
+ * 2. 자리가 나면 대기 중인 요청 중 F 가 가장 작은 것부터 입장 (동시 처리 한도에 걸린 테넌트는 건너뜀)
+ *    - 한 테넌트가 수천 건을 쌓아도 다른 테넌트의 요청은 자기 몫의 순번에 바로 끼어듦
+ *    - 일괄 요청은 문서 수만큼 가상 시간을 소비하므로 한 번의 입장으로 몫을 독점하지 못함
+ * 3. 테넌트별 대기 한도·분당 문서 할당량을 넘으면 즉시 TenantQuotaExceededException
+ *    - 할당량은 대기에 들어갈 때 잡아 두고, 입장하지 못하고 빠지면 (시간 초과·인터럽트) 돌려줌
+ *
+ * 다른 테넌트가 기다리지 않으면 한 테넌트가 전체 자리를 다 쓸 수 있다 (작업 보존).
+ */
+public class WeightedFairQueue {
+
+    private static final double WAIT_ALPHA = 0.2;
+    private static final long QUOTA_WINDOW_MS = 60_000;
+
+    /**
+     * 테넌트별 정책 (0 이하 한도는 제한 없음)
+     */
+    public static class Policy {
+        private final double weight;
+        private final int maxConcurrent;
+        private final int maxQueued;
+        private final int documentsPerMinute;
+
+        public Policy(double weight, int maxConcurrent, int maxQueued, int documentsPerMinute) {
+            this.weight = weight > 0 ? weight : 1.0;
+            this.maxConcurrent = maxConcurrent;
+            this.maxQueued = maxQueued;
+            this.documentsPerMinute = documentsPerMinute;
+        }
+    }
+
+    private final int capacity;
+    private final int maxTenants;
+    private final Function<String, Policy> policies;
+    private final Map<String, Tenant> tenants = new LinkedHashMap<>();
+    private final TreeSet<Waiter> waiters = new TreeSet<>(
+            Comparator.comparingDouble((Waiter w) -> w.finish).thenComparingLong(w -> w.sequence));
+
+    private double virtualTime;
+    private long sequence;
+    private int inFlight;
+
+    public WeightedFairQueue(int capacity, int maxTenants, Function<String, Policy> policies) {
+        this.capacity = Math.max(1, capacity);
+        this.maxTenants = Math.max(1, maxTenants);
+        this.policies = policies;
+    }
+
+    /**
+     * 입장 (documents: 요청이 처리할 문서 수, maxWaitMs 안에 차례가 오지 않으면 RejectedExecutionException)
+     * 입장한 요청은 끝날 때 release(tenant) 해야 한다.
+     */
+    public synchronized void acquire(String tenantId, int documents, long maxWaitMs) throws InterruptedException {
+        Tenant tenant = tenant(tenantId);
+        checkQuota(tenant, documents);
+
+        Waiter waiter = new Waiter(tenant, sequence++, documents, tenant.windowStart);
+        waiter.start = Math.max(virtualTime, tenant.lastFinish);
+        waiter.finish = waiter.start + Math.max(1, documents) / tenant.policy.weight;
+        tenant.lastFinish = waiter.finish;
+        tenant.queued++;
+        waiters.add(waiter);
+        dispatch();
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxWaitMs);
+        try {
+            while (!waiter.granted) {
+                long remainingMs = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                if (remainingMs <= 0) {
+                    withdraw(waiter);
+                    tenant.rejected++;
+                    throw new RejectedExecutionException("분석 대기 시간이 초과되었습니다 (" + tenant.id + ", "
+                            + tenant.queued + "건 대기 중). 잠시 후 다시 시도해주세요");
+                }
+                wait(remainingMs);
+            }
+        } catch (InterruptedException e) {
+            if (waiter.granted) {
+                refund(waiter);
+                release(tenant.id); // 입장과 동시에 인터럽트: 받은 자리와 할당량을 돌려줌
+            } else {
+                withdraw(waiter);
+            }
+            throw e;
+        }
+        tenant.used += documents;
+    }
+
+    /**
+     * 차례가 오기 전에 포기: 큐에서 빼고 미리 당겨 쓴 가상 시간과 할당량도 되돌림
+     */
+    private void withdraw(Waiter waiter) {
+        Tenant tenant = waiter.tenant;
+        waiters.remove(waiter);
+        tenant.queued--;
+        if (tenant.lastFinish == waiter.finish) {
+            tenant.lastFinish = waiter.start;
+        }
+        refund(waiter);
+    }
+
+    /**
+     * 처리하지 않은 요청의 분당 할당량 환불 (할당량 창이 이미 바뀌었으면 새 창에는 손대지 않음)
+     */
+    private void refund(Waiter waiter) {
+        Tenant tenant = waiter.tenant;
+        if (tenant.policy.documentsPerMinute > 0 && tenant.windowStart == waiter.quotaWindow) {
+            tenant.windowDocuments = Math.max(0, tenant.windowDocuments - waiter.documents);
+        }
+    }
+
+    public synchronized void release(String tenantId) {
+        Tenant tenant = tenants.get(tenantId);
+        if (tenant != null && tenant.inFlight > 0) {
+            tenant.inFlight--;
+            inFlight--;
+        }
+        dispatch();
+    }
+
+    private void checkQuota(Tenant tenant, int documents) {
+        Policy policy = tenant.policy;
+        if (policy.maxQueued > 0 && tenant.queued >= policy.maxQueued) {
+            tenant.quotaRejected++;
+            throw new TenantQuotaExceededException(tenant.id, "대기 중인 요청이 " + policy.maxQueued + "건을 넘었습니다", 1);
+        }
+        if (policy.documentsPerMinute > 0) {
+            long now = System.currentTimeMillis();
+            if (now - tenant.windowStart >= QUOTA_WINDOW_MS) {
+                tenant.windowStart = now;
+                tenant.windowDocuments = 0;
+            }
+            if (tenant.windowDocuments + documents > policy.documentsPerMinute) {
+                tenant.quotaRejected++;
+                long retryAfter = Math.max(1, (tenant.windowStart + QUOTA_WINDOW_MS - now + 999) / 1000);
+                throw new TenantQuotaExceededException(tenant.id,
+                        "분당 문서 할당량 " + policy.documentsPerMinute + "건을 넘었습니다", retryAfter);
+            }
+            tenant.windowDocuments += documents;
+        }
+    }
+
+    /**
+     * 빈 자리를 종료 시각 순으로 배분 (동시 처리 한도에 걸린 테넌트는 건너뜀)
+     */
+    private void dispatch() {
+        boolean granted = false;
+        Iterator<Waiter> it = waiters.iterator();
+        while (inFlight < capacity && it.hasNext()) {
+            Waiter waiter = it.next();
+            Tenant tenant = waiter.tenant;
+            if (tenant.policy.maxConcurrent > 0 && tenant.inFlight >= tenant.policy.maxConcurrent) {
+                continue;
+            }
+            it.remove();
+            waiter.granted = true;
+            granted = true;
+            virtualTime = Math.max(virtualTime, waiter.start);
+            tenant.queued--;
+            tenant.inFlight++;
+            tenant.admitted++;
+            inFlight++;
+
+            long waitedMs = (System.nanoTime() - waiter.enqueuedNanos) / 1_000_000;
+            tenant.waitMs = tenant.admitted == 1 ? waitedMs : tenant.waitMs + WAIT_ALPHA * (waitedMs - tenant.waitMs);
+            tenant.maxWaitMs = Math.max(tenant.maxWaitMs, waitedMs);
+        }
+        if (granted) {
+            notifyAll();
+        }
+    }
+
+    private Tenant tenant(String id) {
+        Tenant tenant = tenants.get(id);
+        if (tenant == null) {
+            if (tenants.size() >= maxTenants) {
+                evictIdle();
+            }
+            tenant = new Tenant(id, policies.apply(id));
+            tenants.put(id, tenant);
+        }
+        return tenant;
+    }
+
+    /**
+     * 쉬고 있는 테넌트 정리 (직전 종료 시각이 이미 지났으면 상태를 버려도 순번이 바뀌지 않음)
+     */
+    private void evictIdle() {
+        tenants.values().removeIf(t -> t.inFlight == 0 && t.queued == 0 && t.lastFinish <= virtualTime
+                && System.currentTimeMillis() - t.windowStart >= QUOTA_WINDOW_MS);
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    public synchronized int getQueued() {
+        return waiters.size();
+    }
+
+    /**
+     * 테넌트별 통계 (가중치, 처리 중·대기 수, 입장·거절 수, 대기 시간 EWMA·최대)
+     */
+    public synchronized Map<String, Object> getStats() {
+        Map<String, Object> byTenant = new LinkedHashMap<>();
+        for (Tenant tenant : tenants.values()) {
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("weight", tenant.policy.weight);
+            stats.put("maxConcurrent", tenant.policy.maxConcurrent);
+            stats.put("inFlight", tenant.inFlight);
+            stats.put("queued", tenant.queued);
+            stats.put("admitted", tenant.admitted);
+            stats.put("documents", tenant.used);
+            stats.put("rejected", tenant.rejected);
+            stats.put("quotaRejected", tenant.quotaRejected);
+            stats.put("waitMs", Math.round(tenant.waitMs));
+            stats.put("maxWaitMs", tenant.maxWaitMs);
+            byTenant.put(tenant.id, stats);
+        }
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("capacity", capacity);
+        stats.put("inFlight", inFlight);
+        stats.put("queued", waiters.size());
+        stats.put("tenants", byTenant);
+        return stats;
+    }
+
+    private static class Tenant {
+        private final String id;
+        private final Policy policy;
+        private double lastFinish;
+        private int inFlight;
+        private int queued;
+        private long admitted;
+        private long used;
+        private long rejected;
+        private long quotaRejected;
+        private double waitMs;
+        private long maxWaitMs;
+        private long windowStart;
+        private int windowDocuments;
+
+        private Tenant(String id, Policy policy) {
+            this.id = id;
+            this.policy = policy;
+        }
+    }
+
+    private static class Waiter {
+        private final Tenant tenant;
+        private final long sequence;
+        private final int documents;
+        private final long quotaWindow;
+        private final long enqueuedNanos = System.nanoTime();
+        private double start;
+        private double finish;
+        private boolean granted;
+
+        private Waiter(Tenant tenant, long sequence, int documents, long quotaWindow) {
+            this.tenant = tenant;
+            this.sequence = sequence;
+            this.documents = documents;
+            this.quotaWindow = quotaWindow;
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.pdfanalyzer.core.analysis.scoring;
+
+import com.pdfanalyzer.core.document.model.BlockType;
+import com.pdfanalyzer.core.frequency.fft.FFTEngine;
+import com.pdfanalyzer.core.frequency.filter.DocumentType;
+import com.pdfanalyzer.core.frequency.filter.ResonanceFilterRegistry;
+import com.pdfanalyzer.core.frequency.wavelet.WaveletEngine;
+import com.pdfanalyzer.core.ml.classification.DocumentClassifier;
+import com.pdfanalyzer.core.ml.classification.SpectralFingerprintIndex;
+import com.pdfanalyzer.core.ml.scoring.StructuralScorePredictor;
+import com.pdfanalyzer.core.semantic.model.SemanticCell;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 스펙트럼 점수 주입 테스트 (일괄 재점수화와 문서별 분석의 일치, 스트리밍 셀 묶음 점수 예측)
+ */
+class SpectralScoreInjectorTest {
+
+    private static final int[] LENGTHS = {40, 73, 73, 200, 1, 0};
+
+    /**
+     * 엔진 설정(웨이블릿 타입)과 다채널 결합이 켜져 있어도 일괄 경로 점수가 문서별 경로와 같음
+     */
+    @Test
+    void testBatchMatchesSingleDocumentScores() {
+        SpectralScoreInjector injector = newInjector();
+        ReflectionTestUtils.setField(injector, "waveletTypes", "CONTRACT");
+        ReflectionTestUtils.setField(injector, "multiChannelEnabled", true);
+
+        for (DocumentType type : new DocumentType[]{DocumentType.REPORT, DocumentType.CONTRACT}) {
+            List<List<SemanticCell>> batch = documents();
+            List<List<SemanticCell>> single = documents();
+
+            injector.injectSpectralScoresBatch(batch, type);
+            single.forEach(cells -> injector.injectSpectralScores(cells, type));
+
+            for (int d = 0; d < LENGTHS.length; d++) {
+                for (int i = 0; i < LENGTHS[d]; i++) {
+                    SemanticCell expected = single.get(d).get(i);
+                    SemanticCell actual = batch.get(d).get(i);
+                    String at = type + " 문서 " + d + " 셀 " + i;
+                    assertEquals(expected.getResonanceIntensity(), actual.getResonanceIntensity(), 1e-9, at);
+                    assertEquals(expected.getStructuralScore(), actual.getStructuralScore(), 1e-9, at);
+                }
+            }
+        }
+    }
+
+    /**
+     * 스트리밍으로 방출된 셀은 셀 단위 예측 없이 score-batch 개씩 배치 예측되고, 순서대로 전달됨
+     */
+    @Test
+    void testStreamScoresEmittedCellsInBatches() {
+        List<Integer> batchSizes = new ArrayList<>();
+        StructuralScorePredictor predictor = new StructuralScorePredictor() {
+            @Override
+            public boolean isAvailable() {
+                return true;
+            }
+
+            @Override
+            public double calculateHybridScore(SemanticCell cell, double resonance, double weight) {
+                throw new AssertionError("스트리밍 셀을 하나씩 예측했습니다");
+            }
+
+            @Override
+            public double[] calculateHybridScores(List<SemanticCell> cells, double[] resonances, double weight) {
+                batchSizes.add(cells.size());
+                double[] scores = new double[cells.size()];
+                for (int i = 0; i < scores.length; i++) {
+                    scores[i] = fakeScore(cells.get(i), resonances[i]);
+                }
+                return scores;
+            }
+        };
+        SpectralScoreInjector injector = newInjector(predictor);
+        ReflectionTestUtils.setField(injector, "streamingWindowSize", 16);
+        ReflectionTestUtils.setField(injector, "streamingScoreBatch", 16);
+
+        List<SemanticCell> cells = buildCells(100, 7);
+        List<SemanticCell> emitted = new ArrayList<>();
+        SpectralScoreInjector.StreamingScoreSession session = injector.openStream(DocumentType.REPORT, emitted::add);
+        session.acceptAll(cells);
+        session.finish();
+
+        assertEquals(cells, emitted);
+        assertEquals(List.of(16, 16, 16, 16, 16, 16, 4), batchSizes);
+        for (SemanticCell cell : cells) {
+            assertEquals(fakeScore(cell, cell.getResonanceIntensity()), cell.getStructuralScore(), 1e-12);
+        }
+    }
+
+    private static double fakeScore(SemanticCell cell, double resonance) {
+        return cell.getImportance() * 0.5 + resonance;
+    }
+
+    private SpectralScoreInjector newInjector() {
+        return newInjector(new StructuralScorePredictor());
+    }
+
+    private SpectralScoreInjector newInjector(StructuralScorePredictor predictor) {
+        return new SpectralScoreInjector(new FFTEngine(), new WaveletEngine(), new ResonanceFilterRegistry(),
+                new DocumentClassifier(), predictor, new SpectralFingerprintIndex(new FFTEngine()));
+    }
+
+    private List<List<SemanticCell>> documents() {
+        List<List<SemanticCell>> documents = new ArrayList<>();
+        for (int d = 0; d < LENGTHS.length; d++) {
+            documents.add(buildCells(LENGTHS[d], d));
+        }
+        return documents;
+    }
+
+    private List<SemanticCell> buildCells(int count, long seed) {
+        Random random = new Random(seed);
+        List<SemanticCell> cells = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            cells.add(SemanticCell.builder()
+                    .id(String.valueOf(i))
+                    .type(i % 9 == 0 ? BlockType.SECTION_HEADER : BlockType.PARAGRAPH)
+                    .content("x".repeat(20 + random.nextInt(400)))
+                    .importance(random.nextDouble())
+                    .embeddingVector(random.doubles(8).toArray())
+                    .build());
+        }
+        return cells;
+    }
+}
@@ -0,0 +1,122 @@
+package com.pdfanalyzer.core.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 적응형 동시 처리 리미터 테스트 (한도 조절, 대기열 한도, 과부하 처리량)
+ */
+class AdaptiveConcurrencyLimiterTest {
+
+    @Test
+    void testGrowsWhileLatencyIsStableAndShrinksWhenItRises() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 4, 1, 100, 0, 0, 0.2);
+
+        saturate(limiter, 30, 10);
+        int grown = limiter.getLimit();
+        assertTrue(grown > 4, "응답 시간이 안정적이면 한도가 늘어야 합니다: " + grown);
+
+        saturate(limiter, 10, 100);
+        assertTrue(limiter.getLimit() < grown, "응답 시간이 늘면 한도가 줄어야 합니다: " + limiter.getLimit());
+
+        // 실패는 즉시 한도를 줄임
+        int before = limiter.getLimit();
+        assertTrue(limiter.tryAcquire());
+        limiter.release(10, true);
+        assertTrue(limiter.getLimit() < before || before == 1);
+    }
+
+    @Test
+    void testRejectsBeyondQueueAndWakesWaiter() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 1, 1, 1, 1, 2_000, 0.2);
+        assertTrue(limiter.tryAcquire());
+
+        CompletableFuture<Boolean> waiter = CompletableFuture.supplyAsync(() -> {
+            try {
+                return limiter.tryAcquire();
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        long deadline = System.currentTimeMillis() + 2_000;
+        while (!limiter.getStats().get("waiting").equals(1) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+
+        assertFalse(limiter.tryAcquire(), "대기열이 차면 기다리지 않고 거절해야 합니다");
+        assertTrue(limiter.retryAfterSeconds() >= 1);
+
+        limiter.release(10, false);
+        assertTrue(waiter.get(2, TimeUnit.SECONDS), "반환된 허가는 대기 중인 요청이 받아야 합니다");
+        assertEquals(1L, limiter.getStats().get("rejected"));
+    }
+
+    @Test
+    void benchmarkThroughputUnderOverload() throws Exception {
+        // 동시 요청이 4개를 넘으면 넘는 수의 제곱에 비례해 모든 요청이 느려지는 서버 (GC·캐시 경합 흉내)
+        long light = measure(8, null);
+        long overloadedRaw = measure(64, null);
+        long overloadedLimited = measure(64, new AdaptiveConcurrencyLimiter("full", 8, 2, 64, 0, 0, 0.2));
+
+        System.out.printf("과부하 처리량 (1초): 8 클라이언트 %d, 64 클라이언트 무제한 %d, 64 클라이언트 적응 한도 %d%n",
+                light, overloadedRaw, overloadedLimited);
+        assertTrue(overloadedLimited > overloadedRaw * 2, "한도를 두면 과부하에서도 처리량이 유지되어야 합니다");
+    }
+
+    private void saturate(AdaptiveConcurrencyLimiter limiter, int rounds, long rttMs) throws InterruptedException {
+        for (int round = 0; round < rounds; round++) {
+            int acquired = 0;
+            while (limiter.tryAcquire()) {
+                acquired++;
+            }
+            for (int i = 0; i < acquired; i++) {
+                limiter.release(rttMs, false);
+            }
+        }
+    }
+
+    private long measure(int clients, AdaptiveConcurrencyLimiter limiter) throws Exception {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicLong completed = new AtomicLong();
+        long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int c = 0; c < clients; c++) {
+            futures.add(CompletableFuture.runAsync(() -> {
+                while (System.nanoTime() < end) {
+                    try {
+                        if (limiter != null && !limiter.tryAcquire()) {
+                            Thread.sleep(2); // 503 을 받고 잠시 후 재시도
+                            continue;
+                        }
+                        long start = System.nanoTime();
+                        int concurrent = inFlight.incrementAndGet();
+                        int excess = Math.max(0, concurrent - 4);
+                        Thread.sleep(5 + excess * excess / 10);
+                        inFlight.decrementAndGet();
+                        if (limiter != null) {
+                            limiter.release((System.nanoTime() - start) / 1_000_000, false);
+                        }
+                        completed.incrementAndGet();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+            }, executor));
+        }
+        futures.forEach(CompletableFuture::join);
+        executor.shutdown();
+        return completed.get();
+    }
+}
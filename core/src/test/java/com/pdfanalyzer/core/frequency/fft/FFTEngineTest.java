@@ -0,0 +1,108 @@
+package com.pdfanalyzer.core.frequency.fft;
+
+import com.pdfanalyzer.core.document.model.BlockType;
+import com.pdfanalyzer.core.frequency.filter.DocumentType;
+import com.pdfanalyzer.core.frequency.filter.ResonanceFilterRegistry;
+import com.pdfanalyzer.core.semantic.model.SemanticCell;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * FFT 공명 엔진 테스트 (일괄 경로와 문서별 경로의 일치, 다채널 RMS 결합)
+ */
+class FFTEngineTest {
+
+    private final FFTEngine fftEngine = new FFTEngine();
+    private final double[] reportFilter = new ResonanceFilterRegistry().getFilter(DocumentType.REPORT).getCoefficients();
+
+    @Test
+    void testBatchMatchesSingleAtNonPowerOfTwoLengths() {
+        int[] lengths = {7, 12, 100, 100, 1000, 0, 1};
+        List<List<SemanticCell>> documents = new ArrayList<>();
+        for (int d = 0; d < lengths.length; d++) {
+            documents.add(buildCells(lengths[d], d));
+        }
+
+        List<double[]> batch = fftEngine.analyzeResonanceBatch(documents, reportFilter);
+
+        assertEquals(lengths.length, batch.size());
+        for (int d = 0; d < lengths.length; d++) {
+            double[] single = lengths[d] == 0 ? new double[0] : fftEngine.analyzeResonance(documents.get(d), reportFilter);
+            assertArrayEquals(single, batch.get(d), 1e-9, "문서 " + d + " (" + lengths[d] + " 셀)");
+        }
+    }
+
+    /**
+     * 같은 길이의 문서가 여러 워커에서 동시에 플랜을 공유해도 문서별 결과와 같음
+     */
+    @Test
+    void testBatchSharesPlansAcrossWorkers() {
+        List<List<SemanticCell>> documents = new ArrayList<>();
+        for (int d = 0; d < 200; d++) {
+            documents.add(buildCells(60 + d % 4, 100 + d));
+        }
+
+        List<double[]> batch = fftEngine.analyzeResonanceBatch(documents, reportFilter);
+
+        for (int d = 0; d < documents.size(); d++) {
+            assertArrayEquals(fftEngine.analyzeResonance(documents.get(d), reportFilter), batch.get(d), 1e-9, "문서 " + d);
+        }
+    }
+
+    /**
+     * 다채널 결합은 채널별 필터링 결과의 RMS: 주성분 채널마다 단일 경로(FFT → 필터 → IFFT)를 돌린 값과 일치
+     */
+    @Test
+    void testMultiChannelCombinesChannelsByRms() {
+        List<SemanticCell> cells = buildCells(300, 3);
+        Random random = new Random(3);
+        for (SemanticCell cell : cells) {
+            cell.setEmbeddingVector(random.doubles(8).toArray());
+        }
+
+        double[] combined = fftEngine.analyzeMultiChannelResonance(cells, reportFilter, 3);
+
+        double[][] channels = PrincipalProjection.project(cells, 3);
+        double[] expected = new double[cells.size()];
+        for (double[] channel : channels) {
+            double[] resonance = fftEngine.inverseTransform(fftEngine.applyFilter(fftEngine.transformSignal(channel), reportFilter));
+            for (int i = 0; i < expected.length; i++) {
+                expected[i] += resonance[i] * resonance[i] / channels.length;
+            }
+        }
+        for (int i = 0; i < expected.length; i++) {
+            expected[i] = Math.sqrt(expected[i]);
+        }
+        assertArrayEquals(expected, combined, 1e-9);
+
+        // 채널 하나면 그 채널 공명의 절댓값
+        double[] single = fftEngine.analyzeMultiChannelResonance(cells, reportFilter, 1);
+        double[] first = fftEngine.inverseTransform(fftEngine.applyFilter(fftEngine.transformSignal(channels[0]), reportFilter));
+        for (int i = 0; i < first.length; i++) {
+            assertEquals(Math.abs(first[i]), single[i], 1e-9);
+        }
+
+        // 임베딩이 없으면 null (스칼라 공명만 사용)
+        assertNull(fftEngine.analyzeMultiChannelResonance(buildCells(50, 4), reportFilter, 3));
+    }
+
+    private List<SemanticCell> buildCells(int count, long seed) {
+        Random random = new Random(seed);
+        List<SemanticCell> cells = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            boolean header = i % 9 == 0;
+            cells.add(SemanticCell.builder()
+                    .id(String.valueOf(i))
+                    .type(header ? BlockType.SECTION_HEADER : BlockType.PARAGRAPH)
+                    .content("x".repeat(header ? 20 : 50 + random.nextInt(400)))
+                    .importance(header ? 0.9 : 0.3 + random.nextDouble() * 0.4)
+                    .build());
+        }
+        return cells;
+    }
+}
@@ -0,0 +1,138 @@
+package com.pdfanalyzer.core.frequency.fft;
+
+import com.pdfanalyzer.core.document.model.BlockType;
+import com.pdfanalyzer.core.semantic.model.SemanticCell;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 임베딩 주성분 투영 테스트 (거듭제곱법 + 수축)
+ */
+class PrincipalProjectionTest {
+
+    private static final int DIM = 16;
+    private static final int CELLS = 500;
+
+    @Test
+    void testRecoversKnownDominantAxis() {
+        double[][] latent = new double[2][CELLS];
+        List<SemanticCell> cells = buildCells(new Random(5), new double[]{3.0, 1.0}, latent);
+
+        double[][] channels = PrincipalProjection.project(cells, 2);
+
+        assertEquals(2, channels.length);
+        // 분산이 큰 축(표준편차 3)이 첫 채널, 그다음 축(표준편차 1)이 둘째 채널
+        double first = Math.abs(correlation(channels[0], latent[0]));
+        double second = Math.abs(correlation(channels[1], latent[1]));
+        System.out.printf("주성분 복원 상관 - 1: %.6f, 2: %.6f%n", first, second);
+        assertTrue(first > 0.999, "첫 주성분 상관 " + first);
+        assertTrue(second > 0.99, "둘째 주성분 상관 " + second);
+    }
+
+    @Test
+    void testComponentsAreOrthogonalAndStandardized() {
+        double[] stds = {4.0, 2.0, 1.0, 0.5};
+        List<SemanticCell> cells = buildCells(new Random(9), stds, new double[stds.length][CELLS]);
+
+        double[][] channels = PrincipalProjection.project(cells, stds.length);
+
+        assertEquals(stds.length, channels.length);
+        for (int a = 0; a < channels.length; a++) {
+            assertEquals(CELLS, channels[a].length);
+            assertEquals(0.0, mean(channels[a]), 1e-9);
+            assertEquals(1.0, Math.sqrt(Arrays.stream(channels[a]).map(v -> v * v).sum() / CELLS), 1e-9);
+            for (int b = a + 1; b < channels.length; b++) {
+                assertEquals(0.0, correlation(channels[a], channels[b]), 1e-3, "채널 " + a + "·" + b);
+            }
+        }
+    }
+
+    @Test
+    void testMissingEmbeddingsYieldNoChannels() {
+        List<SemanticCell> cells = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            cells.add(SemanticCell.builder().id(String.valueOf(i)).type(BlockType.PARAGRAPH).content("x").build());
+        }
+        assertEquals(0, PrincipalProjection.project(cells, 3).length);
+        assertEquals(0, PrincipalProjection.project(cells.subList(0, 1), 3).length);
+    }
+
+    /**
+     * 임베딩 = Σ latent[j]·axis[j] + 잡음 (axis 는 임의로 회전한 정규 직교 벡터, latent[j] ~ N(0, stds[j]²), 잡음 표준편차 0.05)
+     */
+    private List<SemanticCell> buildCells(Random random, double[] stds, double[][] latent) {
+        double[][] axes = orthonormalAxes(random, stds.length);
+
+        List<SemanticCell> cells = new ArrayList<>(CELLS);
+        for (int i = 0; i < CELLS; i++) {
+            double[] embedding = new double[DIM];
+            for (int d = 0; d < DIM; d++) {
+                embedding[d] = 0.05 * random.nextGaussian();
+            }
+            for (int j = 0; j < stds.length; j++) {
+                latent[j][i] = stds[j] * random.nextGaussian();
+                for (int d = 0; d < DIM; d++) {
+                    embedding[d] += latent[j][i] * axes[j][d];
+                }
+            }
+            cells.add(SemanticCell.builder()
+                    .id(String.valueOf(i))
+                    .type(BlockType.PARAGRAPH)
+                    .content("x")
+                    .embeddingVector(embedding)
+                    .build());
+        }
+        return cells;
+    }
+
+    /**
+     * 임의 벡터의 그람-슈미트 직교화
+     */
+    private double[][] orthonormalAxes(Random random, int count) {
+        double[][] axes = new double[count][];
+        for (int j = 0; j < count; j++) {
+            double[] v = random.doubles(DIM, -1.0, 1.0).toArray();
+            for (int p = 0; p < j; p++) {
+                double dot = 0.0;
+                for (int d = 0; d < DIM; d++) {
+                    dot += v[d] * axes[p][d];
+                }
+                for (int d = 0; d < DIM; d++) {
+                    v[d] -= dot * axes[p][d];
+                }
+            }
+            double norm = Math.sqrt(Arrays.stream(v).map(x -> x * x).sum());
+            for (int d = 0; d < DIM; d++) {
+                v[d] /= norm;
+            }
+            axes[j] = v;
+        }
+        return axes;
+    }
+
+    private double mean(double[] values) {
+        double sum = 0.0;
+        for (double v : values) {
+            sum += v;
+        }
+        return sum / values.length;
+    }
+
+    private double correlation(double[] x, double[] y) {
+        double mx = mean(x);
+        double my = mean(y);
+        double sxy = 0.0, sxx = 0.0, syy = 0.0;
+        for (int i = 0; i < x.length; i++) {
+            sxy += (x[i] - mx) * (y[i] - my);
+            sxx += (x[i] - mx) * (x[i] - mx);
+            syy += (y[i] - my) * (y[i] - my);
+        }
+        return sxy / Math.sqrt(sxx * syy);
+    }
+}
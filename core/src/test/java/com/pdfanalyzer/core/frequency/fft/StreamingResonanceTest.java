@@ -0,0 +1,81 @@
+package com.pdfanalyzer.core.frequency.fft;
+
+import com.pdfanalyzer.core.document.model.BlockType;
+import com.pdfanalyzer.core.frequency.filter.DocumentType;
+import com.pdfanalyzer.core.frequency.filter.ResonanceFilterRegistry;
+import com.pdfanalyzer.core.semantic.model.SemanticCell;
+import org.jtransforms.fft.DoubleFFT_1D;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 스트리밍(Sliding DFT) 공명 테스트: 셀마다 윈도우 전체 FFT 를 다시 계산한 값과 일치해야 함
+ * 다시 계산할 때 필터는 일괄 경로와 같은 FFTEngine.applyFilter 로 적용하므로, 필터 길이와 윈도우 크기가
+ * 다를 때도 두 경로가 같은 빈에 같은 계수를 거는지 함께 확인한다.
+ */
+class StreamingResonanceTest {
+
+    private final double[] reportFilter = new ResonanceFilterRegistry().getFilter(DocumentType.REPORT).getCoefficients();
+
+    @Test
+    void testStreamedResonanceMatchesFullRecompute() {
+        List<SemanticCell> cells = buildCells(700, 3);
+        double[] signal = cells.stream().mapToDouble(FFTEngine::signalValue).toArray();
+
+        for (int windowSize : new int[]{4, 16, 100, 128, 200}) {
+            Map<SemanticCell, Double> streamed = new IdentityHashMap<>();
+            StreamingResonance stream = new FFTEngine().openStream(windowSize, reportFilter, streamed::put);
+            cells.forEach(stream::accept);
+            stream.finish();
+
+            assertEquals(cells.size(), streamed.size(), "윈도우 " + windowSize + ": 모든 셀이 방출되어야 함");
+            for (int p = 0; p < cells.size(); p++) {
+                assertEquals(recompute(signal, p, windowSize), streamed.get(cells.get(p)), 1e-9,
+                        "윈도우 " + windowSize + ", 셀 " + p);
+            }
+        }
+    }
+
+    /**
+     * 셀 p 가 윈도우 중앙(최신 샘플보다 W/2 앞)에 있을 때의 윈도우를 FFT → applyFilter → IFFT 로 전부 다시 계산
+     * 문서 앞·뒤 바깥은 0 (스트림의 초기 윈도우와 finish 의 0 패딩에 해당)
+     */
+    private double recompute(double[] signal, int p, int windowSize) {
+        int lag = windowSize / 2;
+        int newest = p + lag;
+        double[] data = new double[windowSize * 2];
+        for (int j = 0; j < windowSize; j++) {
+            int index = newest - windowSize + 1 + j;
+            data[j] = index >= 0 && index < signal.length ? signal[index] : 0.0;
+        }
+
+        DoubleFFT_1D fft = new DoubleFFT_1D(windowSize);
+        fft.realForwardFull(data);
+        FFTSpectrum spectrum = FFTSpectrum.builder().complexSpectrum(data).size(windowSize).build();
+        data = new FFTEngine().applyFilter(spectrum, reportFilter).getComplexSpectrum();
+        fft.complexInverse(data, true);
+        return data[(windowSize - 1 - lag) * 2];
+    }
+
+    private List<SemanticCell> buildCells(int count, long seed) {
+        Random random = new Random(seed);
+        List<SemanticCell> cells = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            boolean header = i % 23 == 0;
+            cells.add(SemanticCell.builder()
+                    .id(String.valueOf(i))
+                    .type(header ? BlockType.SECTION_HEADER : BlockType.PARAGRAPH)
+                    .content("x".repeat(header ? 20 : 50 + random.nextInt(400)))
+                    .importance(header ? 0.9 : 0.3 + random.nextDouble() * 0.4)
+                    .build());
+        }
+        return cells;
+    }
+}
@@ -0,0 +1,110 @@
+package com.pdfanalyzer.core.frequency.wavelet;
+
+import com.pdfanalyzer.core.document.model.BlockType;
+import com.pdfanalyzer.core.frequency.fft.FFTEngine;
+import com.pdfanalyzer.core.frequency.filter.DocumentType;
+import com.pdfanalyzer.core.frequency.filter.ResonanceFilterRegistry;
+import com.pdfanalyzer.core.semantic.model.SemanticCell;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 웨이블릿 공명 엔진 테스트 (FFT 경로와의 국소화/성능 비교 포함)
+ */
+class WaveletEngineTest {
+
+    private final WaveletEngine waveletEngine = new WaveletEngine();
+    private final FFTEngine fftEngine = new FFTEngine();
+    private final double[] reportFilter = new ResonanceFilterRegistry().getFilter(DocumentType.REPORT).getCoefficients();
+
+    @Test
+    void testAllPassFilterReconstructsSignal() {
+        double[] signal = new Random(7).doubles(1000).toArray();
+        double[] allPass = new double[128];
+        Arrays.fill(allPass, 1.0);
+
+        double[] reconstructed = waveletEngine.analyzeSignal(signal, allPass);
+
+        assertEquals(signal.length, reconstructed.length);
+        for (int i = 0; i < signal.length; i++) {
+            assertEquals(signal[i], reconstructed[i], 1e-9);
+        }
+    }
+
+    @Test
+    void testLocalChangeStaysLocal() {
+        List<SemanticCell> cells = buildCells(4096, 11);
+        double[] waveletBefore = waveletEngine.analyzeResonance(cells, reportFilter);
+        double[] fftBefore = fftEngine.analyzeResonance(cells, reportFilter);
+
+        // 1장에 섹션 경계 하나 추가
+        cells.get(100).setType(BlockType.SECTION_HEADER);
+        cells.get(100).setImportance(0.9);
+        double[] waveletAfter = waveletEngine.analyzeResonance(cells, reportFilter);
+        double[] fftAfter = fftEngine.analyzeResonance(cells, reportFilter);
+
+        // 문서 후반부(셀 2048 이후)에 번진 변화량 비교
+        double waveletSpread = farChange(waveletBefore, waveletAfter, 2048);
+        double fftSpread = farChange(fftBefore, fftAfter, 2048);
+        System.out.printf("후반부 변화량 - 웨이블릿: %.6f, FFT: %.6f%n", waveletSpread, fftSpread);
+
+        assertTrue(waveletSpread < fftSpread, "웨이블릿 공명은 국소적 변화가 먼 셀로 덜 번져야 합니다");
+    }
+
+    @Test
+    void benchmarkAgainstFFT() {
+        for (int size : new int[]{1_000, 10_000, 100_000}) {
+            List<SemanticCell> cells = buildCells(size, size);
+
+            // 워밍업
+            for (int i = 0; i < 3; i++) {
+                waveletEngine.analyzeResonance(cells, reportFilter);
+                fftEngine.analyzeResonance(cells, reportFilter);
+            }
+
+            long waveletNanos = time(() -> waveletEngine.analyzeResonance(cells, reportFilter));
+            long fftNanos = time(() -> fftEngine.analyzeResonance(cells, reportFilter));
+
+            System.out.printf("%,d 셀 - 웨이블릿: %.2fms, FFT: %.2fms%n",
+                    size, waveletNanos / 1e6, fftNanos / 1e6);
+        }
+    }
+
+    private long time(Runnable task) {
+        int runs = 5;
+        long start = System.nanoTime();
+        for (int i = 0; i < runs; i++) {
+            task.run();
+        }
+        return (System.nanoTime() - start) / runs;
+    }
+
+    private double farChange(double[] before, double[] after, int from) {
+        double sum = 0.0;
+        for (int i = from; i < before.length; i++) {
+            sum += Math.abs(after[i] - before[i]);
+        }
+        return sum / (before.length - from);
+    }
+
+    private List<SemanticCell> buildCells(int count, long seed) {
+        Random random = new Random(seed);
+        List<SemanticCell> cells = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            boolean header = i % 40 == 0;
+            cells.add(SemanticCell.builder()
+                    .id(String.valueOf(i))
+                    .type(header ? BlockType.SECTION_HEADER : BlockType.PARAGRAPH)
+                    .content("x".repeat(header ? 20 : 50 + random.nextInt(400)))
+                    .importance(header ? 0.9 : 0.5)
+                    .build());
+        }
+        return cells;
+    }
+}
@@ -0,0 +1,165 @@
+package com.pdfanalyzer.core.integration.llm;
+
+import com.pdfanalyzer.core.document.model.BlockType;
+import com.pdfanalyzer.core.integration.llm.provider.LlmProvider;
+import com.pdfanalyzer.core.integration.llm.provider.LlmRequest;
+import com.pdfanalyzer.core.integration.llm.provider.LlmRouter;
+import com.pdfanalyzer.core.semantic.model.SemanticCell;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 여러 문서 일괄 요약 테스트 (배치 구성, 응답 분할, 실패 격리)
+ */
+class BulkSummarizerTest {
+
+    private static final Pattern DOCUMENT_ID = Pattern.compile("<document id=\"(d\\d+)\">");
+
+    @Test
+    void testPacksByDocumentCountAndTokenBudget() {
+        BulkSummarizer summarizer = newSummarizer(request -> "[]");
+        ReflectionTestUtils.setField(summarizer, "maxDocuments", 3);
+
+        Map<String, List<SemanticCell>> documents = new LinkedHashMap<>();
+        for (int i = 0; i < 7; i++) {
+            documents.put("doc" + i, document("짧은 문서 " + i));
+        }
+        assertEquals(List.of(3, 3, 1), summarizer.pack(documents).stream().map(List::size).toList());
+
+        // 토큰 예산: 1,000자짜리 한글 문서(약 1,000 토큰)는 배치당 두세 개만 들어감
+        documents.clear();
+        for (int i = 0; i < 4; i++) {
+            documents.put("long" + i, document("가".repeat(1_000)));
+        }
+        ReflectionTestUtils.setField(summarizer, "maxDocuments", 10);
+        ReflectionTestUtils.setField(summarizer, "batchTokens", 2_600);
+        assertTrue(summarizer.pack(documents).size() >= 2);
+    }
+
+    @Test
+    void testSplitsArrayResponseAndSkipsMissingDocuments() {
+        AtomicInteger calls = new AtomicInteger();
+        // d2 는 응답에서 빼고, 배치에 없는 d9 와 요약이 빈 항목을 섞어 응답
+        BulkSummarizer summarizer = newSummarizer(request -> {
+            calls.incrementAndGet();
+            StringBuilder json = new StringBuilder("```json\n[");
+            Matcher matcher = DOCUMENT_ID.matcher(request.getPrompt());
+            while (matcher.find()) {
+                String id = matcher.group(1);
+                if (!id.equals("d2")) {
+                    json.append("{\"id\":\"").append(id).append("\",\"summary\":\"요약 ").append(id)
+                            .append("\",\"keywords\":[\"키워드\"]},");
+                }
+            }
+            json.append("{\"id\":\"d9\",\"summary\":\"엉뚱한 문서\"},{\"id\":\"d1\",\"summary\":\"\"}]\n```");
+            return json.toString();
+        });
+
+        Map<String, List<SemanticCell>> documents = new LinkedHashMap<>();
+        documents.put("a.pdf", document("첫 번째 문서"));
+        documents.put("b.pdf", document("두 번째 문서"));
+        documents.put("c.pdf", document("세 번째 문서"));
+
+        Map<String, LLMAdapter.SummaryAndKeywords> results = summarizer.summarizeAsync(documents).join();
+
+        assertEquals(1, calls.get(), "세 문서가 한 번의 호출로 처리되어야 합니다");
+        assertEquals("요약 d1", results.get("a.pdf").summary);
+        assertFalse(results.containsKey("b.pdf"), "응답에 없는 문서는 결과에서 빠져야 합니다");
+        assertEquals("요약 d3", results.get("c.pdf").summary);
+        assertEquals(List.of("키워드"), results.get("c.pdf").keywords);
+        assertEquals(1L, summarizer.getStats().get("missingDocuments"));
+    }
+
+    @Test
+    void testIsolatesFailedBatch() {
+        AtomicInteger calls = new AtomicInteger();
+        BulkSummarizer summarizer = newSummarizer(request -> {
+            if (calls.incrementAndGet() == 1) {
+                throw new LlmApiException(500, "배치 실패", null);
+            }
+            return "[{\"id\":\"d1\",\"summary\":\"성공\",\"keywords\":[]}]";
+        });
+        ReflectionTestUtils.setField(summarizer, "maxDocuments", 1);
+        ReflectionTestUtils.setField(summarizer, "maxConcurrency", 1);
+
+        Map<String, List<SemanticCell>> documents = new LinkedHashMap<>();
+        documents.put("first", document("실패할 배치의 문서"));
+        documents.put("second", document("성공할 배치의 문서"));
+
+        Map<String, LLMAdapter.SummaryAndKeywords> results = summarizer.summarizeAsync(documents).join();
+
+        assertEquals(1, results.size());
+        assertEquals("성공", results.values().iterator().next().summary);
+        assertEquals(1L, summarizer.getStats().get("failedBatches"));
+    }
+
+    private BulkSummarizer newSummarizer(Function<LlmRequest, String> responder) {
+        ResilienceGuard guard = new ResilienceGuard();
+        ReflectionTestUtils.setField(guard, "permitsPerSecond", 1000.0);
+        ReflectionTestUtils.setField(guard, "burst", 1000);
+        ReflectionTestUtils.setField(guard, "maxWaitMs", 1000L);
+        ReflectionTestUtils.setField(guard, "maxAttempts", 1);
+        ReflectionTestUtils.setField(guard, "retryBudgetMs", 10000L);
+        ReflectionTestUtils.setField(guard, "circuitWindow", 20);
+        ReflectionTestUtils.setField(guard, "circuitMinCalls", 1000);
+        ReflectionTestUtils.setField(guard, "circuitFailureRate", 1.0);
+
+        LlmRouter router = new LlmRouter(List.of(new ScriptedProvider(responder)), guard);
+        ReflectionTestUtils.setField(router, "ewmaAlpha", 0.2);
+        ReflectionTestUtils.setField(router, "maxErrorRate", 1.0);
+        ReflectionTestUtils.setField(router, "priorLatencyMs", 100.0);
+
+        BulkSummarizer summarizer = new BulkSummarizer(router);
+        ReflectionTestUtils.setField(summarizer, "batchTokens", 6000);
+        ReflectionTestUtils.setField(summarizer, "maxDocuments", 10);
+        ReflectionTestUtils.setField(summarizer, "documentTokens", 1200);
+        ReflectionTestUtils.setField(summarizer, "maxConcurrency", 4);
+        return summarizer;
+    }
+
+    private List<SemanticCell> document(String body) {
+        List<SemanticCell> cells = new ArrayList<>();
+        cells.add(SemanticCell.builder().id("0").type(BlockType.TITLE).content("제목").build());
+        cells.add(SemanticCell.builder().id("1").type(BlockType.PARAGRAPH).content(body).build());
+        return cells;
+    }
+
+    private static class ScriptedProvider implements LlmProvider {
+        private final Function<LlmRequest, String> responder;
+
+        private ScriptedProvider(Function<LlmRequest, String> responder) {
+            this.responder = responder;
+        }
+
+        @Override
+        public String getName() {
+            return "scripted";
+        }
+
+        @Override
+        public boolean isAvailable() {
+            return true;
+        }
+
+        @Override
+        public CompletableFuture<String> generate(LlmRequest request) {
+            try {
+                return CompletableFuture.completedFuture(responder.apply(request));
+            } catch (RuntimeException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.pdfanalyzer.core.integration.llm;
+
+import com.pdfanalyzer.core.document.model.BlockType;
+import com.pdfanalyzer.core.semantic.model.SemanticCell;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * TextRank 발췌 요약 테스트
+ */
+class ExtractiveSummarizerTest {
+
+    private ExtractiveSummarizer summarizer;
+
+    @BeforeEach
+    void setUp() {
+        summarizer = new ExtractiveSummarizer();
+        ReflectionTestUtils.setField(summarizer, "budgetMs", 80L);
+        ReflectionTestUtils.setField(summarizer, "maxCandidates", 300);
+        ReflectionTestUtils.setField(summarizer, "summarySentences", 3);
+        ReflectionTestUtils.setField(summarizer, "minSentenceChars", 10);
+        ReflectionTestUtils.setField(summarizer, "damping", 0.85);
+        ReflectionTestUtils.setField(summarizer, "maxIterations", 30);
+        ReflectionTestUtils.setField(summarizer, "structuralWeight", 0.5);
+        ReflectionTestUtils.setField(summarizer, "redundancyOverlap", 0.6);
+    }
+
+    @Test
+    void testPrefersCentralSentencesInDocumentOrder() {
+        List<SemanticCell> cells = List.of(
+                cell(0, BlockType.SECTION_HEADER, "개요"),
+                cell(1, BlockType.PARAGRAPH, "스펙트럼 분석은 문서 구조를 주파수 영역에서 파악한다. 점심 메뉴는 비빔밥이었다."),
+                cell(2, BlockType.PARAGRAPH, "문서 구조의 주기성은 스펙트럼 분석으로 드러난다. 주차장은 지하 2층에 있다."),
+                cell(3, BlockType.PARAGRAPH, "셀 단위 스펙트럼 분석으로 문서 구조 점수를 계산한다."));
+
+        ExtractiveSummarizer.Summary summary = summarizer.summarize(cells);
+        String[] lines = summary.getText().split("\n");
+
+        assertEquals(3, lines.length);
+        for (String line : lines) {
+            assertTrue(line.contains("스펙트럼"), "주제와 무관한 문장이 선택됨: " + line);
+        }
+        assertTrue(lines[0].startsWith("스펙트럼 분석은"), "문서 순서대로 출력해야 합니다");
+        assertFalse(summary.isDegraded());
+    }
+
+    @Test
+    void testSkipsNearDuplicateSentences() {
+        List<SemanticCell> cells = List.of(
+                cell(0, BlockType.PARAGRAPH, "스펙트럼 분석으로 문서 구조를 파악한다."),
+                cell(1, BlockType.PARAGRAPH, "스펙트럼 분석으로 문서 구조를 파악한다!"),
+                cell(2, BlockType.PARAGRAPH, "키워드 위치는 셀 순서로 근사한다."));
+        ReflectionTestUtils.setField(summarizer, "summarySentences", 2);
+
+        String text = summarizer.summarize(cells).getText();
+
+        assertEquals(1, text.split("스펙트럼").length - 1, "중복 문장은 한 번만 포함해야 합니다: " + text);
+        assertTrue(text.contains("키워드 위치"));
+    }
+
+    @Test
+    void testStaysWithinBudgetOnLargeDocument() {
+        List<SemanticCell> cells = buildDocument(5_000);
+
+        for (int i = 0; i < 3; i++) {
+            summarizer.summarize(cells); // 워밍업
+        }
+        ExtractiveSummarizer.Summary summary = summarizer.summarize(cells);
+        System.out.printf("발췌 요약 %,d 셀: 후보 %d 문장, %dms%n",
+                cells.size(), summary.getCandidateCount(), summary.getElapsedMs());
+
+        assertFalse(summary.getText().isEmpty());
+        assertTrue(summary.getElapsedMs() < 100, "빠른 분석 경로는 100ms 안에 끝나야 합니다: " + summary.getElapsedMs());
+    }
+
+    @Test
+    void testReturnsPartialResultWhenBudgetExceeded() {
+        ReflectionTestUtils.setField(summarizer, "budgetMs", 0L);
+
+        ExtractiveSummarizer.Summary summary = summarizer.summarize(buildDocument(500));
+
+        assertTrue(summary.isDegraded());
+        assertEquals(3, summary.getSentenceCount());
+    }
+
+    private List<SemanticCell> buildDocument(int cellCount) {
+        String[] words = {"스펙트럼", "분석", "문서", "구조", "주파수", "셀", "공명", "요약", "점수", "키워드", "검증", "통계"};
+        Random random = new Random(3);
+        List<SemanticCell> cells = new ArrayList<>(cellCount);
+        for (int i = 0; i < cellCount; i++) {
+            StringBuilder content = new StringBuilder();
+            for (int s = 0; s < 3; s++) {
+                for (int w = 0; w < 8; w++) {
+                    content.append(words[random.nextInt(words.length)]).append(w == 7 ? "이다. " : "을 ");
+                }
+            }
+            SemanticCell cell = cell(i, BlockType.PARAGRAPH, content.toString());
+            cell.setStructuralScore(random.nextDouble());
+            cells.add(cell);
+        }
+        return cells;
+    }
+
+    private SemanticCell cell(int index, BlockType type, String content) {
+        return SemanticCell.builder()
+                .id(String.valueOf(index))
+                .type(type)
+                .content(content)
+                .build();
+    }
+}
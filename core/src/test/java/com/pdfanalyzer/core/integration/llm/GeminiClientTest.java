@@ -0,0 +1,180 @@
+package com.pdfanalyzer.core.integration.llm;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Gemini HTTP 클라이언트 테스트 (SSE 이벤트 파싱, 취소·본문 정지 시 HTTP 교환 중단)
+ */
+class GeminiClientTest {
+
+    private HttpServer server;
+    private GeminiClient geminiClient;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+
+        geminiClient = new GeminiClient();
+        ReflectionTestUtils.setField(geminiClient, "apiKey", "test-key");
+        ReflectionTestUtils.setField(geminiClient, "modelName", "stub");
+        ReflectionTestUtils.setField(geminiClient, "baseUrl", "http://localhost:" + server.getAddress().getPort() + "/models/");
+        ReflectionTestUtils.setField(geminiClient, "connectTimeoutMs", 2000L);
+        ReflectionTestUtils.setField(geminiClient, "readTimeoutMs", 10000L);
+        ReflectionTestUtils.setField(geminiClient, "streamIdleTimeoutMs", 10000L);
+        geminiClient.initialize();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+        geminiClient.cleanup();
+    }
+
+    /**
+     * 한 이벤트의 JSON 이 여러 data: 줄에 나뉘어 와도 빈 줄까지 모아서 한 번에 파싱
+     */
+    @Test
+    void testStreamJoinsDataLinesOfOneEvent() throws Exception {
+        server.createContext("/", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            respond(exchange, String.join("\n",
+                    ": keep-alive",
+                    "data: {\"candidates\": [{\"content\":",
+                    "data: {\"parts\": [{\"text\": \"첫 \"}]}}]}",
+                    "",
+                    "data:{\"candidates\": [{\"content\": {\"parts\": [{\"text\": \"조각\"}]}}]}",
+                    "",
+                    "data: {\"candidates\": [{\"content\": {\"parts\":",
+                    "data: [{\"text\": \"마지막\"}]}}]}",
+                    ""));
+        });
+
+        List<String> deltas = new CopyOnWriteArrayList<>();
+        String text = geminiClient.streamAsync("프롬프트", deltas::add).get(5, TimeUnit.SECONDS);
+
+        assertEquals(List.of("첫 ", "조각", "마지막"), deltas);
+        assertEquals("첫 조각마지막", text);
+    }
+
+    /**
+     * 응답 도중 호출자가 취소하면 연결을 끊으므로 서버의 이후 쓰기가 실패해야 함 (일반·스트리밍 호출 모두)
+     */
+    @Test
+    void testCancelAbortsHttpExchange() throws Exception {
+        assertCancelDisconnects(false);
+        assertCancelDisconnects(true);
+    }
+
+    private void assertCancelDisconnects(boolean streaming) throws Exception {
+        CountDownLatch responding = new CountDownLatch(1);
+        CountDownLatch disconnected = new CountDownLatch(1);
+        server.createContext("/", exchange -> trickle(exchange, responding, disconnected));
+        try {
+            CompletableFuture<String> call = streaming
+                    ? geminiClient.streamAsync("프롬프트", delta -> { })
+                    : geminiClient.generateAsync("프롬프트");
+            assertTrue(responding.await(5, TimeUnit.SECONDS));
+
+            call.cancel(true);
+
+            assertTrue(call.isCancelled());
+            assertTrue(disconnected.await(3, TimeUnit.SECONDS),
+                    (streaming ? "streamAsync" : "generateAsync") + " 취소 후에도 응답을 계속 받고 있습니다");
+        } finally {
+            server.removeContext("/");
+        }
+    }
+
+    /**
+     * 헤더와 첫 이벤트 뒤 본문이 멈추면 read-timeout 과 무관하게 유휴 한도에서 실패하고 연결을 끊음
+     */
+    @Test
+    void testStalledStreamFailsAfterIdleTimeout() throws Exception {
+        ReflectionTestUtils.setField(geminiClient, "streamIdleTimeoutMs", 1000L);
+        CountDownLatch disconnected = new CountDownLatch(1);
+        server.createContext("/", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            exchange.getResponseHeaders().add("Content-Type", "text/event-stream");
+            exchange.sendResponseHeaders(200, 0);
+            byte[] event = "data: {\"candidates\": [{\"content\": {\"parts\": [{\"text\": \"조각\"}]}}]}\n\n"
+                    .getBytes(StandardCharsets.UTF_8);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(event);
+                out.flush();
+                Thread.sleep(3_000);
+                for (int i = 0; i < 100; i++) {
+                    out.write(event);
+                    out.flush();
+                    Thread.sleep(10);
+                }
+            } catch (IOException e) {
+                disconnected.countDown();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        List<String> deltas = new CopyOnWriteArrayList<>();
+        CompletableFuture<String> call = geminiClient.streamAsync("프롬프트", deltas::add);
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> call.get(5, TimeUnit.SECONDS));
+        LlmApiException failure = assertInstanceOf(LlmApiException.class, e.getCause());
+        assertEquals(-1, failure.getStatusCode());
+        assertEquals(List.of("조각"), deltas);
+        assertTrue(disconnected.await(5, TimeUnit.SECONDS), "유휴 한도 초과 후에도 연결이 열려 있습니다");
+    }
+
+    /**
+     * 5초 동안 10ms 마다 SSE 이벤트를 하나씩 보내고, 쓰기가 실패하면 (클라이언트가 끊으면) disconnected 를 내림
+     */
+    private static void trickle(HttpExchange exchange, CountDownLatch responding, CountDownLatch disconnected)
+            throws IOException {
+        exchange.getRequestBody().readAllBytes();
+        exchange.getResponseHeaders().add("Content-Type", "text/event-stream");
+        exchange.sendResponseHeaders(200, 0);
+        byte[] event = "data: {\"candidates\": [{\"content\": {\"parts\": [{\"text\": \"조각\"}]}}]}\n\n"
+                .getBytes(StandardCharsets.UTF_8);
+        try (OutputStream out = exchange.getResponseBody()) {
+            for (int i = 0; i < 500; i++) {
+                out.write(event);
+                out.flush();
+                responding.countDown();
+                Thread.sleep(10);
+            }
+        } catch (IOException e) {
+            disconnected.countDown();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void respond(HttpExchange exchange, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "text/event-stream");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.pdfanalyzer.core.integration.llm;
+
+import com.pdfanalyzer.core.document.model.BlockType;
+import com.pdfanalyzer.core.semantic.model.SemanticCell;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Aho-Corasick 키워드 위치 탐색 테스트 (기존 중첩 탐색과 결과 비교 + 벤치마크)
+ */
+class KeywordLocatorTest {
+
+    private static final String[] WORDS = {
+            "스펙트럼", "분석", "문서", "구조", "FFT", "fft", "주파수", "셀", "공명", "요약",
+            "aa", "aaa", "ab", "ba", "the", "then", "theme", "Report", "report", "데이터"
+    };
+
+    @Test
+    void testMatchesNestedScanOnRandomDocuments() {
+        Random random = new Random(42);
+        List<String> keywords = List.of(
+                "분석", "문서 구조", "fft", "FFT", "aa", "aaa", "ab", "the", "theme", "REPORT", "셀", "없는키워드");
+
+        for (int round = 0; round < 20; round++) {
+            List<SemanticCell> cells = buildDocument(random, 300, 40);
+            assertSameLocations(referenceLocations(keywords, cells), new KeywordLocator(keywords).locate(cells));
+        }
+    }
+
+    @Test
+    void testCountsNonOverlappingOccurrences() {
+        List<SemanticCell> cells = List.of(cell(0, "aaaa aaa", 0.0), cell(1, "AbAbab", 0.0));
+        Map<String, List<LLMAdapter.KeywordLocation>> locations =
+                new KeywordLocator(List.of("aa", "aba")).locate(cells);
+
+        // indexOf 반복과 같이 겹치지 않는 출현만 셈: "aaaa aaa" → aa 3회, "ababab" → aba 1회
+        assertEquals(1.5, locations.get("aa").get(0).relevanceScore, 1e-9);
+        assertEquals(0.5, locations.get("aba").get(0).relevanceScore, 1e-9);
+    }
+
+    /**
+     * 소문자로 바꾸면 길어지는 키워드 ("İ" → "i̇") 도 소문자 길이만큼 건너뛰어 겹친 출현을 세지 않음
+     */
+    @Test
+    void testStepsByLowercasedKeywordLength() {
+        String keyword = "\u0130\u0130"; // 2자, 소문자는 "i\u0307i\u0307" 4자
+        List<SemanticCell> cells = List.of(cell(0, "i\u0307i\u0307i\u0307", 0.0));
+
+        Map<String, List<LLMAdapter.KeywordLocation>> locations = new KeywordLocator(List.of(keyword)).locate(cells);
+
+        assertEquals(4, keyword.toLowerCase().length());
+        assertEquals(0.5, locations.get(keyword).get(0).relevanceScore, 1e-9);
+        assertSameLocations(referenceLocations(List.of(keyword), cells), locations);
+    }
+
+    @Test
+    void testKeepsTopFiveWithEarlierCellsOnTies() {
+        List<SemanticCell> cells = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            cells.add(cell(i, "키워드", 0.5));
+        }
+        cells.add(cell(10, "키워드 키워드", 0.5));
+
+        List<LLMAdapter.KeywordLocation> top = new KeywordLocator(List.of("키워드")).locate(cells).get("키워드");
+
+        assertEquals(List.of("10", "0", "1", "2", "3"), top.stream().map(l -> l.cellId).toList());
+    }
+
+    @Test
+    void benchmarkAgainstNestedScan() {
+        Random random = new Random(7);
+        List<String> keywords = List.of(WORDS);
+
+        for (int size : new int[]{5_000, 20_000}) {
+            List<SemanticCell> cells = buildDocument(random, size, 60);
+
+            // 워밍업
+            for (int i = 0; i < 3; i++) {
+                referenceLocations(keywords, cells);
+                new KeywordLocator(keywords).locate(cells);
+            }
+
+            long nestedNanos = time(() -> referenceLocations(keywords, cells));
+            long automatonNanos = time(() -> new KeywordLocator(keywords).locate(cells));
+            assertSameLocations(referenceLocations(keywords, cells), new KeywordLocator(keywords).locate(cells));
+
+            System.out.printf("%,d 셀 × %d 키워드 - 중첩 탐색: %.2fms, Aho-Corasick: %.2fms%n",
+                    size, keywords.size(), nestedNanos / 1e6, automatonNanos / 1e6);
+        }
+    }
+
+    private long time(Runnable task) {
+        int runs = 5;
+        long start = System.nanoTime();
+        for (int i = 0; i < runs; i++) {
+            task.run();
+        }
+        return (System.nanoTime() - start) / runs;
+    }
+
+    private void assertSameLocations(Map<String, List<LLMAdapter.KeywordLocation>> expected,
+                                     Map<String, List<LLMAdapter.KeywordLocation>> actual) {
+        assertEquals(expected.keySet(), actual.keySet());
+        for (String keyword : expected.keySet()) {
+            List<LLMAdapter.KeywordLocation> want = expected.get(keyword);
+            List<LLMAdapter.KeywordLocation> got = actual.get(keyword);
+            assertEquals(want.size(), got.size(), keyword);
+            for (int i = 0; i < want.size(); i++) {
+                assertEquals(want.get(i).cellId, got.get(i).cellId, keyword);
+                assertEquals(want.get(i).content, got.get(i).content, keyword);
+                assertEquals(want.get(i).pageNumber, got.get(i).pageNumber, keyword);
+                assertEquals(want.get(i).relevanceScore, got.get(i).relevanceScore, keyword);
+            }
+        }
+    }
+
+    /**
+     * 기존 LLMAdapter.findKeywordLocations (키워드 × 셀 중첩 탐색, 건너뛰는 간격은 소문자 키워드 길이)
+     */
+    private Map<String, List<LLMAdapter.KeywordLocation>> referenceLocations(List<String> keywords, List<SemanticCell> cells) {
+        Map<String, List<LLMAdapter.KeywordLocation>> locations = new HashMap<>();
+        for (String keyword : keywords) {
+            List<LLMAdapter.KeywordLocation> keywordLocs = new ArrayList<>();
+            for (int i = 0; i < cells.size(); i++) {
+                SemanticCell cell = cells.get(i);
+                String content = cell.getContent().toLowerCase();
+                String keywordLower = keyword.toLowerCase();
+                if (content.contains(keywordLower)) {
+                    int occurrences = 0;
+                    int index = 0;
+                    while ((index = content.indexOf(keywordLower, index)) != -1) {
+                        occurrences++;
+                        index += keywordLower.length();
+                    }
+                    double relevanceScore = (occurrences * 0.5) + (cell.getStructuralScore() * 0.5);
+                    keywordLocs.add(new LLMAdapter.KeywordLocation(cell.getId(),
+                            cell.getContent().substring(0, Math.min(300, cell.getContent().length())), i + 1, relevanceScore));
+                }
+            }
+            keywordLocs.sort((a, b) -> Double.compare(b.relevanceScore, a.relevanceScore));
+            if (keywordLocs.size() > 5) {
+                keywordLocs = keywordLocs.subList(0, 5);
+            }
+            locations.put(keyword, keywordLocs);
+        }
+        return locations;
+    }
+
+    private List<SemanticCell> buildDocument(Random random, int cellCount, int wordsPerCell) {
+        List<SemanticCell> cells = new ArrayList<>(cellCount);
+        for (int i = 0; i < cellCount; i++) {
+            StringBuilder content = new StringBuilder();
+            int words = 1 + random.nextInt(wordsPerCell);
+            for (int w = 0; w < words; w++) {
+                content.append(WORDS[random.nextInt(WORDS.length)]);
+                content.append(random.nextInt(4) == 0 ? "" : " "); // 붙여 쓴 단어로 겹치는 출현 생성
+            }
+            // 점수를 몇 단계로만 두어 관련도 동점이 자주 생기게 함
+            cells.add(cell(i, content.toString(), random.nextInt(4) * 0.25));
+        }
+        return cells;
+    }
+
+    private SemanticCell cell(int index, String content, double structuralScore) {
+        return SemanticCell.builder()
+                .id(String.valueOf(index))
+                .type(BlockType.PARAGRAPH)
+                .content(content)
+                .structuralScore(structuralScore)
+                .build();
+    }
+}
@@ -0,0 +1,187 @@
+package com.pdfanalyzer.core.integration.llm;
+
+import com.pdfanalyzer.core.document.model.BlockType;
+import com.pdfanalyzer.core.integration.llm.provider.GeminiLlmProvider;
+import com.pdfanalyzer.core.integration.llm.provider.LlmRouter;
+import com.pdfanalyzer.core.semantic.model.SemanticCell;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 맵-리듀스 요약 테스트 (로컬 스텁 LLM 서버 사용)
+ */
+class MapReduceSummarizerTest {
+
+    private static final int MAX_CONCURRENCY = 3;
+    private static final long MAP_LATENCY_MS = 200;
+
+    private HttpServer server;
+    private final Queue<String> prompts = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+
+    private GeminiClient geminiClient;
+    private MapReduceSummarizer summarizer;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/", exchange -> {
+            String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            prompts.add(body);
+            boolean reduce = body.contains("구간별로 요약한 결과");
+
+            String text;
+            if (reduce) {
+                text = "{\\\"summary\\\": \\\"최종 요약\\\", \\\"keywords\\\": [\\\"전체\\\"]}";
+            } else {
+                maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                sleep(MAP_LATENCY_MS);
+                inFlight.decrementAndGet();
+                text = "{\\\"summary\\\": \\\"구간 요약\\\", \\\"keywords\\\": [\\\"공통\\\", \\\"구간\\\"]}";
+            }
+
+            byte[] response = ("{\"candidates\":[{\"content\":{\"parts\":[{\"text\":\"" + text + "\"}]}}]}")
+                    .getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, response.length);
+            exchange.getResponseBody().write(response);
+            exchange.close();
+        });
+        server.start();
+
+        geminiClient = new GeminiClient();
+        ReflectionTestUtils.setField(geminiClient, "apiKey", "test-key");
+        ReflectionTestUtils.setField(geminiClient, "modelName", "stub");
+        ReflectionTestUtils.setField(geminiClient, "baseUrl", "http://localhost:" + server.getAddress().getPort() + "/models/");
+        ReflectionTestUtils.setField(geminiClient, "connectTimeoutMs", 2000L);
+        ReflectionTestUtils.setField(geminiClient, "readTimeoutMs", 10000L);
+        geminiClient.initialize();
+
+        // 재시도 없이 호출 결과를 그대로 보는 설정
+        ResilienceGuard guard = new ResilienceGuard();
+        ReflectionTestUtils.setField(guard, "permitsPerSecond", 1000.0);
+        ReflectionTestUtils.setField(guard, "burst", 1000);
+        ReflectionTestUtils.setField(guard, "maxWaitMs", 1000L);
+        ReflectionTestUtils.setField(guard, "maxAttempts", 1);
+        ReflectionTestUtils.setField(guard, "retryBudgetMs", 10000L);
+        ReflectionTestUtils.setField(guard, "circuitWindow", 20);
+        ReflectionTestUtils.setField(guard, "circuitMinCalls", 1000);
+        ReflectionTestUtils.setField(guard, "circuitFailureRate", 1.0);
+
+        summarizer = new MapReduceSummarizer(new LlmRouter(List.of(new GeminiLlmProvider(geminiClient)), guard));
+        ReflectionTestUtils.setField(summarizer, "enabled", true);
+        ReflectionTestUtils.setField(summarizer, "thresholdTokens", 1000);
+        ReflectionTestUtils.setField(summarizer, "chunkTokens", 500);
+        ReflectionTestUtils.setField(summarizer, "maxChunks", 16);
+        ReflectionTestUtils.setField(summarizer, "maxConcurrency", MAX_CONCURRENCY);
+        ReflectionTestUtils.setField(summarizer, "reduceTokens", 2000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+        geminiClient.cleanup();
+        summarizer.cleanup();
+    }
+
+    @Test
+    void testChunksAreSectionAlignedAndWithinBudget() {
+        List<SemanticCell> cells = buildDocument(12, 6);
+        List<List<SemanticCell>> chunks = summarizer.chunk(cells);
+
+        assertTrue(chunks.size() > 1);
+        assertEquals(cells.size(), chunks.stream().mapToInt(List::size).sum(), "모든 셀이 정확히 한 번씩 포함되어야 합니다");
+        for (List<SemanticCell> chunk : chunks) {
+            assertTrue(chunk.get(0).isHeader(), "청크는 섹션 헤더에서 시작해야 합니다");
+            int tokens = chunk.stream().mapToInt(c -> TokenEstimator.estimate(c.getContent())).sum();
+            assertTrue(tokens <= 500, "청크 토큰 수가 예산을 넘었습니다: " + tokens);
+        }
+    }
+
+    @Test
+    void testParallelMapThenReduce() {
+        List<SemanticCell> cells = buildDocument(12, 6);
+        assertTrue(summarizer.shouldUse(cells));
+        int chunkCount = summarizer.chunk(cells).size();
+
+        long start = System.currentTimeMillis();
+        String response = summarizer.summarizeAsync(cells).join();
+        long elapsed = System.currentTimeMillis() - start;
+        System.out.printf("%d 청크, 최대 동시 호출 %d, 소요 %dms%n", chunkCount, maxInFlight.get(), elapsed);
+
+        assertTrue(response.contains("최종 요약"));
+        assertEquals(chunkCount + 1, prompts.size(), "청크별 맵 호출 + 리듀스 1회");
+        assertTrue(maxInFlight.get() <= MAX_CONCURRENCY, "동시 호출 수 제한 초과: " + maxInFlight.get());
+        assertTrue(maxInFlight.get() > 1, "맵 호출이 병렬로 실행되어야 합니다");
+
+        // 마지막 섹션 내용까지 모델에 전달되었는지 확인
+        assertTrue(prompts.stream().anyMatch(p -> p.contains("섹션 11 문단 5")));
+
+        // 순차 실행이라면 chunkCount × 지연 시간이 걸림
+        assertTrue(elapsed < chunkCount * MAP_LATENCY_MS, "병렬 실행 시간이 순차 실행보다 짧아야 합니다");
+    }
+
+    @Test
+    void testReduceFailureFallsBackToPartials() {
+        server.removeContext("/");
+        server.createContext("/", exchange -> {
+            String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            boolean reduce = body.contains("구간별로 요약한 결과");
+            byte[] response = reduce
+                    ? "{}".getBytes(StandardCharsets.UTF_8)
+                    : "{\"candidates\":[{\"content\":{\"parts\":[{\"text\":\"{\\\"summary\\\": \\\"구간 요약\\\", \\\"keywords\\\": [\\\"공통\\\"]}\"}]}}]}"
+                        .getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(reduce ? 503 : 200, response.length);
+            exchange.getResponseBody().write(response);
+            exchange.close();
+        });
+
+        String response = summarizer.summarizeAsync(buildDocument(6, 6)).join();
+
+        assertTrue(response.contains("구간 요약"));
+        assertTrue(response.contains("공통"));
+    }
+
+    private List<SemanticCell> buildDocument(int sections, int paragraphsPerSection) {
+        List<SemanticCell> cells = new ArrayList<>();
+        for (int s = 0; s < sections; s++) {
+            cells.add(cell(cells.size(), BlockType.SECTION_HEADER, "섹션 " + s));
+            for (int p = 0; p < paragraphsPerSection; p++) {
+                cells.add(cell(cells.size(), BlockType.PARAGRAPH, "섹션 " + s + " 문단 " + p + " " + "내용 ".repeat(20)));
+            }
+        }
+        return cells;
+    }
+
+    private SemanticCell cell(int index, BlockType type, String content) {
+        return SemanticCell.builder()
+                .id(String.valueOf(index))
+                .type(type)
+                .content(content)
+                .build();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
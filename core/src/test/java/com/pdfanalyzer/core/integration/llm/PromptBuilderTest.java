@@ -0,0 +1,129 @@
+package com.pdfanalyzer.core.integration.llm;
+
+import com.pdfanalyzer.core.document.model.BlockType;
+import com.pdfanalyzer.core.semantic.model.SemanticCell;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 토큰 예산 프롬프트 구성 테스트 (예산 준수, 상용구·중복 제거, MMR 다양성)
+ */
+class PromptBuilderTest {
+
+    private static final String INSTRUCTIONS = "다음 문서를 요약하세요.\n\n";
+
+    @Test
+    void testPromptStaysWithinTokenBudget() {
+        List<SemanticCell> cells = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            boolean header = i % 10 == 0;
+            cells.add(cell(i, header ? BlockType.SECTION_HEADER : BlockType.PARAGRAPH, 1 + i / 10,
+                    header ? (i / 10 + 1) + ". " + word(i) + " " + word(i + 7) : sentence(i),
+                    header ? 0.9 : (i * 53 % 100) / 100.0));
+        }
+
+        for (int budget : new int[]{50, 300, 1000, 3000}) {
+            PromptBuilder.Prompt prompt = newBuilder(budget).build(INSTRUCTIONS, cells);
+
+            assertTrue(prompt.getTokens() <= budget, "예산 " + budget + " 초과: " + prompt.getTokens());
+            assertEquals(TokenEstimator.estimate(prompt.getText()), prompt.getTokens());
+            assertTrue(prompt.getText().startsWith(INSTRUCTIONS));
+            assertTrue(prompt.getSelectedCells() > 0, "예산 " + budget);
+            assertEquals(cells.size(), prompt.getTotalCells());
+        }
+
+        // 예산이 충분하면 모든 셀이 문서 순서대로 들어감
+        PromptBuilder.Prompt full = newBuilder(100_000).build(INSTRUCTIONS, cells);
+        assertEquals(cells.size(), full.getSelectedCells());
+        int previous = -1;
+        for (SemanticCell cell : cells) {
+            int at = full.getText().indexOf(cell.getContent().trim());
+            assertTrue(at > previous, "문서 순서: 셀 " + cell.getId());
+            previous = at;
+        }
+    }
+
+    @Test
+    void testRemovesBoilerplateAndDuplicates() {
+        List<SemanticCell> cells = new ArrayList<>();
+        for (int page = 1; page <= 5; page++) {
+            cells.add(cell(cells.size(), BlockType.PARAGRAPH, page,
+                    "Confidential - Page " + page + "\n" + body(page), 0.5));
+        }
+        cells.add(cell(cells.size(), BlockType.PARAGRAPH, 5, "  " + body(1).toUpperCase() + " ", 0.5));
+
+        PromptBuilder.Prompt prompt = newBuilder(6000).build(INSTRUCTIONS, cells);
+
+        assertFalse(prompt.getText().contains("Confidential"), "모든 페이지에 반복되는 머리글은 제거");
+        assertEquals(5, prompt.getSelectedCells(), "상용구를 뺀 뒤 같은 내용의 셀은 한 번만");
+        for (int page = 1; page <= 5; page++) {
+            assertTrue(prompt.getText().contains(body(page)));
+        }
+    }
+
+    /**
+     * 셀마다 단어 구성이 다른 문단 (한 문장 이상, 40자 초과)
+     */
+    private String sentence(int i) {
+        StringBuilder text = new StringBuilder();
+        for (int w = 0; w < 8 + i % 5 * 6; w++) {
+            text.append(word(i * 31 + w * 17)).append(w % 7 == 6 ? ". " : " ");
+        }
+        return text.append(word(i)).append('.').toString();
+    }
+
+    private String word(int seed) {
+        String[] syllables = {"ka", "lo", "mi", "ren", "tas", "vo", "qui", "nel", "sar", "dum", "pe", "fio", "gra"};
+        return syllables[seed % 13] + syllables[seed / 13 % 13] + syllables[seed / 169 % 13];
+    }
+
+    private String body(int page) {
+        return "The appendix on page " + page + " lists " + (page * 11) + " supplier contracts renewed this year.";
+    }
+
+    /**
+     * 예산이 두 셀 분량일 때: 점수가 가장 높은 셀과 거의 같은 셀 대신 점수는 낮아도 다른 내용의 셀을 고름
+     */
+    @Test
+    void testMmrPrefersDiverseCellOverNearDuplicate() {
+        String original = "Revenue grew strongly in every region during the fourth quarter of the year.";
+        List<SemanticCell> cells = List.of(
+                cell(0, BlockType.PARAGRAPH, 1, original, 0.95),
+                cell(1, BlockType.PARAGRAPH, 1, original.replace("strongly", "sharply"), 0.9),
+                cell(2, BlockType.PARAGRAPH, 2, "Hiring slowed while research spending on new products doubled.", 0.6));
+        int twoCells = TokenEstimator.estimate(INSTRUCTIONS) + 2 * (TokenEstimator.estimate(original + "\n\n") + 1);
+
+        PromptBuilder.Prompt prompt = newBuilder(twoCells).build(INSTRUCTIONS, cells);
+
+        assertEquals(2, prompt.getSelectedCells());
+        assertTrue(prompt.getText().contains("grew strongly"));
+        assertTrue(prompt.getText().contains("Hiring slowed"));
+        assertFalse(prompt.getText().contains("grew sharply"));
+    }
+
+    private PromptBuilder newBuilder(int tokenBudget) {
+        PromptBuilder builder = new PromptBuilder();
+        ReflectionTestUtils.setField(builder, "tokenBudget", tokenBudget);
+        ReflectionTestUtils.setField(builder, "cellTokenLimit", 400);
+        ReflectionTestUtils.setField(builder, "headerShare", 0.2);
+        ReflectionTestUtils.setField(builder, "lambda", 0.7);
+        ReflectionTestUtils.setField(builder, "duplicateSimilarity", 0.9);
+        ReflectionTestUtils.setField(builder, "boilerplatePageRatio", 0.3);
+        return builder;
+    }
+
+    private SemanticCell cell(int index, BlockType type, int page, String content, double score) {
+        return SemanticCell.builder()
+                .id(String.valueOf(index))
+                .type(type)
+                .content(content)
+                .pageNumber(page)
+                .structuralScore(score)
+                .build();
+    }
+}
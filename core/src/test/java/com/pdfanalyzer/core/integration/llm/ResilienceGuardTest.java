@@ -0,0 +1,261 @@
+package com.pdfanalyzer.core.integration.llm;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * LLM 복원력 계층 테스트 (지연·오류를 주입하는 로컬 스텁 서버 사용)
+ */
+class ResilienceGuardTest {
+
+    private HttpServer server;
+    private GeminiClient geminiClient;
+    private ResilienceGuard guard;
+
+    /** 요청마다 꺼내 쓰는 응답 각본 (비어 있으면 200 즉시 응답) */
+    private final Queue<StubResponse> script = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger hits = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            hits.incrementAndGet();
+            StubResponse stub = script.poll();
+            if (stub == null) {
+                stub = new StubResponse(200, 0);
+            }
+            sleep(stub.latencyMs);
+
+            byte[] body = (stub.status == 200
+                    ? "{\"candidates\":[{\"content\":{\"parts\":[{\"text\":\"ok\"}]}}]}"
+                    : "{\"error\":\"injected\"}").getBytes(StandardCharsets.UTF_8);
+            try {
+                exchange.sendResponseHeaders(stub.status, body.length);
+                exchange.getResponseBody().write(body);
+            } catch (IOException e) {
+                // 헤징에서 취소된 요청
+            }
+            exchange.close();
+        });
+        server.start();
+
+        geminiClient = new GeminiClient();
+        ReflectionTestUtils.setField(geminiClient, "apiKey", "test-key");
+        ReflectionTestUtils.setField(geminiClient, "modelName", "stub");
+        ReflectionTestUtils.setField(geminiClient, "baseUrl", "http://localhost:" + server.getAddress().getPort() + "/models/");
+        ReflectionTestUtils.setField(geminiClient, "connectTimeoutMs", 2000L);
+        ReflectionTestUtils.setField(geminiClient, "readTimeoutMs", 5000L);
+        geminiClient.initialize();
+
+        guard = newGuard(3, 1000, 100, 0.5, 60_000, false);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+        geminiClient.cleanup();
+    }
+
+    @Test
+    void testRetriesTransientErrors() {
+        script.add(new StubResponse(503, 0));
+        script.add(new StubResponse(429, 0));
+
+        assertEquals("ok", call());
+        assertEquals(3, hits.get());
+        assertEquals(2L, stats().get("retries"));
+    }
+
+    @Test
+    void testClientErrorIsNotRetried() {
+        script.add(new StubResponse(400, 0));
+
+        CompletionException error = assertThrows(CompletionException.class, this::call);
+        assertInstanceOf(LlmApiException.class, error.getCause());
+        assertEquals(1, hits.get());
+    }
+
+    /**
+     * 요청을 만들지 못한 실패는 서버에 가지 않았으므로 재시도하지 않고 서킷 실패로도 세지 않음
+     */
+    @Test
+    void testRequestBuildFailureIsNotRetried() {
+        guard = newGuard(3, 1000, 2, 0.5, 60_000, false);
+        ReflectionTestUtils.setField(geminiClient, "modelName", "bad model");
+
+        for (int i = 0; i < 3; i++) {
+            CompletionException error = assertThrows(CompletionException.class, this::call);
+            LlmApiException apiError = assertInstanceOf(LlmApiException.class, error.getCause());
+            assertEquals(LlmApiException.REQUEST_INVALID, apiError.getStatusCode());
+        }
+        assertEquals(0, hits.get());
+        assertEquals(0L, stats().get("retries"));
+        assertEquals(0L, stats().get("failures"));
+        assertEquals("CLOSED", stats().get("circuitState"));
+    }
+
+    @Test
+    void testCircuitOpensAndFailsFast() {
+        guard = newGuard(1, 1000, 4, 0.5, 60_000, false);
+        for (int i = 0; i < 4; i++) {
+            script.add(new StubResponse(500, 0));
+            assertThrows(CompletionException.class, this::call);
+        }
+        assertEquals("OPEN", stats().get("circuitState"));
+
+        long start = System.currentTimeMillis();
+        CompletionException error = assertThrows(CompletionException.class, this::call);
+        assertInstanceOf(ResilienceGuard.CallNotPermittedException.class, error.getCause());
+        assertEquals(4, hits.get(), "서킷 OPEN 상태에서는 서버를 호출하지 않아야 합니다");
+        assertTrue(System.currentTimeMillis() - start < 100);
+    }
+
+    @Test
+    void testCircuitRecoversAfterHalfOpenTrial() {
+        guard = newGuard(1, 1000, 2, 0.5, 200, false);
+        for (int i = 0; i < 2; i++) {
+            script.add(new StubResponse(500, 0));
+            assertThrows(CompletionException.class, this::call);
+        }
+        assertEquals("OPEN", stats().get("circuitState"));
+
+        sleep(250);
+        assertEquals("ok", call());
+        assertEquals("CLOSED", stats().get("circuitState"));
+    }
+
+    @Test
+    void testCancelledHalfOpenTrialReleasesCircuit() {
+        guard = newGuard(1, 1000, 2, 0.5, 100, false);
+        openCircuit();
+        sleep(150);
+
+        // 시험 호출을 보내 놓고 응답 전에 취소 (라우터 경합에서 진 경우와 같음)
+        script.add(new StubResponse(200, 1000));
+        CompletableFuture<String> trial = guard.execute(GeminiClient.TARGET_NAME, () -> geminiClient.generateAsync("prompt"));
+        sleep(50);
+        trial.cancel(true);
+        assertEquals("HALF_OPEN", stats().get("circuitState"));
+
+        assertEquals("ok", call(), "취소된 시험 호출 뒤에도 다음 시험 호출은 허용되어야 합니다");
+        assertEquals("CLOSED", stats().get("circuitState"));
+    }
+
+    @Test
+    void testRateLimitedHalfOpenTrialReleasesCircuit() {
+        guard = newGuard(1, 0, 2, 0.5, 50, false);
+        ReflectionTestUtils.setField(guard, "burst", 2);
+        ReflectionTestUtils.setField(guard, "permitsPerSecond", 5.0);
+        openCircuit(); // 버킷의 토큰 2개를 모두 씀
+        sleep(60);
+
+        // 시험 호출이 속도 제한에 걸려 서버에 가지 못함
+        CompletionException error = assertThrows(CompletionException.class, this::call);
+        assertInstanceOf(ResilienceGuard.CallNotPermittedException.class, error.getCause());
+        assertEquals(2, hits.get());
+
+        sleep(250); // 토큰 보충
+        assertEquals("ok", call(), "속도 제한으로 거부된 시험 호출 뒤에도 다음 시험 호출은 허용되어야 합니다");
+        assertEquals("CLOSED", stats().get("circuitState"));
+    }
+
+    @Test
+    void testRateLimiterRejectsBeyondBurst() {
+        guard = newGuard(1, 0, 100, 0.5, 60_000, false);
+        ReflectionTestUtils.setField(guard, "burst", 2);
+        ReflectionTestUtils.setField(guard, "permitsPerSecond", 0.01);
+
+        assertEquals("ok", call());
+        assertEquals("ok", call());
+        CompletionException error = assertThrows(CompletionException.class, this::call);
+        assertInstanceOf(ResilienceGuard.CallNotPermittedException.class, error.getCause());
+        assertEquals(2, hits.get());
+    }
+
+    @Test
+    void testHedgeCutsTailLatency() {
+        guard = newGuard(1, 1000, 100, 0.5, 60_000, true);
+        script.add(new StubResponse(200, 2000)); // 첫 요청만 느림
+
+        long start = System.currentTimeMillis();
+        assertEquals("ok", call());
+        long elapsed = System.currentTimeMillis() - start;
+        System.out.printf("헤지 응답 시간: %dms%n", elapsed);
+
+        assertTrue(elapsed < 1000, "헤지 요청이 느린 첫 요청보다 먼저 응답해야 합니다: " + elapsed);
+        assertEquals(1L, stats().get("hedges"));
+    }
+
+    private void openCircuit() {
+        for (int i = 0; i < 2; i++) {
+            script.add(new StubResponse(500, 0));
+            assertThrows(CompletionException.class, this::call);
+        }
+        assertEquals("OPEN", stats().get("circuitState"));
+    }
+
+    private String call() {
+        return guard.execute(GeminiClient.TARGET_NAME, () -> geminiClient.generateAsync("prompt")).join();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> stats() {
+        return (Map<String, Object>) guard.getStats().get(GeminiClient.TARGET_NAME);
+    }
+
+    private ResilienceGuard newGuard(int maxAttempts, long maxWaitMs, int circuitMinCalls,
+                                     double failureRate, long openMs, boolean hedge) {
+        ResilienceGuard guard = new ResilienceGuard();
+        ReflectionTestUtils.setField(guard, "permitsPerSecond", 100.0);
+        ReflectionTestUtils.setField(guard, "burst", 100);
+        ReflectionTestUtils.setField(guard, "maxWaitMs", maxWaitMs);
+        ReflectionTestUtils.setField(guard, "maxAttempts", maxAttempts);
+        ReflectionTestUtils.setField(guard, "baseDelayMs", 20L);
+        ReflectionTestUtils.setField(guard, "maxDelayMs", 100L);
+        ReflectionTestUtils.setField(guard, "retryBudgetMs", 5000L);
+        ReflectionTestUtils.setField(guard, "circuitWindow", Math.max(circuitMinCalls, 4));
+        ReflectionTestUtils.setField(guard, "circuitMinCalls", circuitMinCalls);
+        ReflectionTestUtils.setField(guard, "circuitFailureRate", failureRate);
+        ReflectionTestUtils.setField(guard, "circuitOpenMs", openMs);
+        ReflectionTestUtils.setField(guard, "hedgeEnabled", hedge);
+        ReflectionTestUtils.setField(guard, "hedgeDelayMs", 100L);
+        return guard;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static class StubResponse {
+        private final int status;
+        private final long latencyMs;
+
+        private StubResponse(int status, long latencyMs) {
+            this.status = status;
+            this.latencyMs = latencyMs;
+        }
+    }
+}
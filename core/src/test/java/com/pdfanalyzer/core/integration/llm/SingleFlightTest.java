@@ -0,0 +1,129 @@
+package com.pdfanalyzer.core.integration.llm;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 동시 호출 병합 테스트 (같은 키의 동시 호출은 상류 호출 1회, 실패는 모든 대기자에게 전달)
+ */
+class SingleFlightTest {
+
+    private static final int CALLERS = 16;
+
+    @Test
+    void testConcurrentCallersShareOneUpstreamCall() throws Exception {
+        SingleFlight<String, String> flight = new SingleFlight<>();
+        CompletableFuture<String> upstream = new CompletableFuture<>();
+        AtomicInteger upstreamCalls = new AtomicInteger();
+
+        List<CompletableFuture<String>> results = callConcurrently(flight, () -> {
+            upstreamCalls.incrementAndGet();
+            return upstream;
+        });
+        assertTrue(flight.isInFlight("doc"));
+
+        upstream.complete("요약");
+        for (CompletableFuture<String> result : results) {
+            assertEquals("요약", result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, upstreamCalls.get());
+        assertEquals(1, flight.callCount());
+        assertEquals(CALLERS - 1, flight.coalescedCount());
+        assertFalse(flight.isInFlight("doc"));
+
+        // 한 호출자의 취소는 공유 호출에 영향 없음, 완료 후 같은 키는 새 호출
+        CompletableFuture<String> next = new CompletableFuture<>();
+        CompletableFuture<String> first = flight.execute("doc", () -> next);
+        CompletableFuture<String> second = flight.execute("doc", () -> next);
+        first.cancel(true);
+        next.complete("다시");
+        assertEquals("다시", second.get(5, TimeUnit.SECONDS));
+        assertEquals(2, flight.callCount());
+    }
+
+    @Test
+    void testFailurePropagatesToAllWaiters() throws Exception {
+        SingleFlight<String, String> flight = new SingleFlight<>();
+        CompletableFuture<String> upstream = new CompletableFuture<>();
+
+        List<CompletableFuture<String>> results = callConcurrently(flight, () -> upstream);
+        IllegalStateException failure = new IllegalStateException("Gemini 503");
+        upstream.completeExceptionally(failure);
+
+        for (CompletableFuture<String> result : results) {
+            ExecutionException e = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+            assertSame(failure, e.getCause());
+        }
+        assertEquals(0, flight.inFlightCount());
+
+        // 호출 자체가 던져도 키를 남기지 않음
+        CompletableFuture<String> thrown = flight.execute("doc", () -> {
+            throw new IllegalArgumentException("프롬프트 오류");
+        });
+        assertThrows(ExecutionException.class, () -> thrown.get(5, TimeUnit.SECONDS));
+        assertEquals(0, flight.inFlightCount());
+    }
+
+    /**
+     * 대기자가 하나라도 남아 있으면 상류 호출을 유지하고, 모두 취소하면 상류 호출도 취소
+     */
+    @Test
+    void testLastWaiterCancellationCancelsUpstream() throws Exception {
+        SingleFlight<String, String> flight = new SingleFlight<>();
+        CompletableFuture<String> upstream = new CompletableFuture<>();
+
+        List<CompletableFuture<String>> results = callConcurrently(flight, () -> upstream);
+        for (int i = 0; i < CALLERS - 1; i++) {
+            results.get(i).cancel(true);
+        }
+        assertFalse(upstream.isCancelled(), "남은 대기자가 있으면 취소하지 않음");
+        assertTrue(flight.isInFlight("doc"));
+
+        results.get(CALLERS - 1).cancel(true);
+        assertTrue(upstream.isCancelled());
+        assertFalse(flight.isInFlight("doc"));
+
+        // 취소된 뒤 같은 키는 새 호출
+        CompletableFuture<String> retry = flight.execute("doc", () -> CompletableFuture.completedFuture("새 호출"));
+        assertEquals("새 호출", retry.get(5, TimeUnit.SECONDS));
+        assertEquals(2, flight.callCount());
+    }
+
+    /**
+     * CALLERS 개 스레드가 동시에 같은 키로 execute (상류 future 는 아직 완료되지 않은 상태)
+     */
+    private List<CompletableFuture<String>> callConcurrently(SingleFlight<String, String> flight,
+                                                            java.util.function.Supplier<CompletableFuture<String>> call)
+            throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<java.util.concurrent.Future<CompletableFuture<String>>> submitted = new ArrayList<>();
+        try {
+            for (int i = 0; i < CALLERS; i++) {
+                submitted.add(executor.submit(() -> {
+                    start.await();
+                    return flight.execute("doc", call);
+                }));
+            }
+            start.countDown();
+            List<CompletableFuture<String>> results = new ArrayList<>();
+            for (java.util.concurrent.Future<CompletableFuture<String>> future : submitted) {
+                results.add(future.get(5, TimeUnit.SECONDS));
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
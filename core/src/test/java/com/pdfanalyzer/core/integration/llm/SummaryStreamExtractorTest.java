@@ -0,0 +1,39 @@
+package com.pdfanalyzer.core.integration.llm;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 스트리밍 응답의 summary 값 점진 추출 테스트
+ */
+class SummaryStreamExtractorTest {
+
+    @Test
+    void testEmitsSummaryAcrossChunkBoundaries() {
+        List<String> deltas = new ArrayList<>();
+        SummaryStreamExtractor extractor = new SummaryStreamExtractor(deltas::add);
+
+        // 키 이름, 이스케이프(\n, \", 가)가 조각 경계에서 잘리는 경우
+        for (String chunk : List.of("```json\n{\"sum", "mary\": \"첫 문장\\", "n\\\"인용\\\" \\u", "AC00 끝\", \"keywords\": [\"a\"]}")) {
+            extractor.accept(chunk);
+        }
+
+        assertEquals("첫 문장\n\"인용\" 가 끝", String.join("", deltas));
+        assertTrue(deltas.size() >= 3, "조각이 도착하는 대로 전달해야 합니다: " + deltas);
+    }
+
+    @Test
+    void testIgnoresTextAfterSummary() {
+        List<String> deltas = new ArrayList<>();
+        SummaryStreamExtractor extractor = new SummaryStreamExtractor(deltas::add);
+
+        extractor.accept("{\"summary\": \"요약\", \"keywords\": [\"summary\"]}");
+        extractor.accept(" 뒤따르는 텍스트");
+
+        assertEquals(List.of("요약"), deltas);
+    }
+}
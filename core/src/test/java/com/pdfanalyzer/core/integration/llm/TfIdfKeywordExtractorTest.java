@@ -0,0 +1,177 @@
+package com.pdfanalyzer.core.integration.llm;
+
+import com.pdfanalyzer.core.document.model.BlockType;
+import com.pdfanalyzer.core.semantic.model.SemanticCell;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 코퍼스 TF-IDF 키워드 추출 테스트
+ */
+class TfIdfKeywordExtractorTest {
+
+    private TfIdfKeywordExtractor extractor;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    void setUp() {
+        extractor = newExtractor("");
+    }
+
+    @Test
+    void testPrefersTermsRareInCorpus() {
+        for (int i = 0; i < 10; i++) {
+            extractor.learn(List.of(cell(0, BlockType.PARAGRAPH, "본 문서는 분석 결과 보고를 위한 문서이다. 결과 보고 일정은 " + i + "월이다.")));
+        }
+
+        List<SemanticCell> document = List.of(
+                cell(0, BlockType.SECTION_HEADER, "결과 보고"),
+                cell(1, BlockType.PARAGRAPH, "분석 결과 보고: 스펙트럼 공명은 문서 구조의 주기성을 드러낸다."),
+                cell(2, BlockType.PARAGRAPH, "결과 보고 문서에서 스펙트럼 공명 점수가 높은 셀을 고른다. 분석 결과 보고 끝."));
+        List<String> keywords = extractor.extract(document);
+
+        assertEquals("스펙트럼 공명", keywords.get(0), "코퍼스에 드문 구가 먼저 나와야 합니다: " + keywords);
+        assertTrue(keywords.indexOf("결과 보고") > keywords.indexOf("스펙트럼 공명"));
+        assertFalse(keywords.contains("스펙트럼"), "고른 구에 포함된 단어는 중복으로 내지 않습니다: " + keywords);
+    }
+
+    @Test
+    void testStripsParticlesAndStopwords() {
+        List<String> keywords = extractor.extract(List.of(
+                cell(0, BlockType.PARAGRAPH, "주파수는, 주파수를, 주파수의 그리고 the 2024")));
+
+        assertEquals(List.of("주파수"), keywords);
+    }
+
+    /**
+     * persist-interval 마다 백그라운드 저장, cleanup 은 진행 중인 저장을 기다린 뒤 남은 학습분을 저장
+     */
+    @Test
+    void testCheckpointRoundTrip() throws InterruptedException {
+        Path file = tempDir.resolve("term_stats.bin");
+        TfIdfKeywordExtractor writer = newExtractor(file.toString());
+        ReflectionTestUtils.setField(writer, "persistInterval", 3);
+        Random random = new Random(5);
+        for (int i = 0; i < 12; i++) {
+            writer.learn(buildDocument(random, 20));
+        }
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!file.toFile().exists() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertTrue(file.toFile().exists(), "persist-interval 마다 저장해야 합니다");
+        writer.learn(buildDocument(random, 20)); // 주기에 못 미친 학습분
+        writer.cleanup();
+
+        TfIdfKeywordExtractor reader = newExtractor(file.toString());
+        reader.initialize();
+
+        assertEquals(writer.getStats(), reader.getStats());
+        List<SemanticCell> document = buildDocument(random, 50);
+        assertEquals(writer.extract(document), reader.extract(document));
+    }
+
+    @Test
+    void testPrunesLowFrequencyTermsOverCapacity() {
+        ReflectionTestUtils.setField(extractor, "maxTerms", 200);
+        Random random = new Random(9);
+        for (int i = 0; i < 30; i++) {
+            extractor.learn(buildDocument(random, 20));
+        }
+
+        int terms = (int) extractor.getStats().get("terms");
+        assertTrue(terms <= 200, "용어 수가 max-terms 를 넘으면 안 됩니다: " + terms);
+        assertEquals(30, extractor.getStats().get("documents"));
+    }
+
+    @Test
+    void benchmarkExtractOnLargeDocument() {
+        Random random = new Random(11);
+        for (int i = 0; i < 200; i++) {
+            extractor.learn(buildDocument(random, 50));
+        }
+        List<SemanticCell> document = buildDocument(random, 5_000);
+
+        for (int i = 0; i < 5; i++) {
+            extractor.extract(document); // 워밍업
+        }
+        long start = System.nanoTime();
+        List<String> keywords = extractor.extract(document);
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        System.out.printf("TF-IDF 키워드 %,d 셀 (코퍼스 %s 용어): %dms → %s%n",
+                document.size(), extractor.getStats().get("terms"), elapsedMs, keywords);
+
+        assertEquals(15, keywords.size());
+        assertTrue(elapsedMs < 200, "키워드 추출이 너무 느립니다: " + elapsedMs + "ms");
+    }
+
+    @Test
+    void testLongIntHashMapMatchesHashMap() {
+        LongIntHashMap map = new LongIntHashMap(4);
+        Map<Long, Integer> reference = new HashMap<>();
+        Random random = new Random(1);
+        for (int i = 0; i < 50_000; i++) {
+            long key = 1 + random.nextInt(5_000) * 0x9E3779B97F4A7C15L;
+            int delta = random.nextInt(3);
+            assertEquals(reference.merge(key, delta, Integer::sum).intValue(), map.add(key, delta));
+        }
+        assertEquals(reference.size(), map.size());
+
+        LongIntHashMap copy = map.copy();
+        map.removeIf(value -> value < 20);
+        reference.forEach((key, value) -> assertEquals(value.intValue(), copy.get(key)));
+        assertEquals(reference.size(), copy.size());
+
+        reference.values().removeIf(value -> value < 20);
+        assertEquals(reference.size(), map.size());
+        reference.forEach((key, value) -> assertEquals(value.intValue(), map.get(key)));
+        assertEquals(0, map.get(-1L));
+    }
+
+    private TfIdfKeywordExtractor newExtractor(String path) {
+        TfIdfKeywordExtractor extractor = new TfIdfKeywordExtractor();
+        ReflectionTestUtils.setField(extractor, "statsPath", path);
+        ReflectionTestUtils.setField(extractor, "persistInterval", 10);
+        ReflectionTestUtils.setField(extractor, "maxTerms", 500_000);
+        ReflectionTestUtils.setField(extractor, "minDocuments", 5);
+        ReflectionTestUtils.setField(extractor, "maxKeywords", 15);
+        ReflectionTestUtils.setField(extractor, "maxPhraseWords", 2);
+        ReflectionTestUtils.setField(extractor, "headerBoost", 3);
+        return extractor;
+    }
+
+    private List<SemanticCell> buildDocument(Random random, int cellCount) {
+        List<SemanticCell> cells = new ArrayList<>(cellCount);
+        for (int i = 0; i < cellCount; i++) {
+            StringBuilder content = new StringBuilder();
+            for (int w = 0; w < 40; w++) {
+                // 지프 분포 비슷하게: 앞쪽 단어일수록 자주 나옴
+                int rank = (int) Math.pow(2_000, random.nextDouble());
+                content.append("용어").append(rank).append(w % 9 == 8 ? ". " : " ");
+            }
+            cells.add(cell(i, i % 25 == 0 ? BlockType.SECTION_HEADER : BlockType.PARAGRAPH, content.toString()));
+        }
+        return cells;
+    }
+
+    private SemanticCell cell(int index, BlockType type, String content) {
+        return SemanticCell.builder()
+                .id(String.valueOf(index))
+                .type(type)
+                .content(content)
+                .build();
+    }
+}
@@ -0,0 +1,41 @@
+package com.pdfanalyzer.core.integration.llm;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 토큰 수 근사 테스트 (ASCII 4자당 1토큰, 비 ASCII 1자당 1토큰, 예산 자르기)
+ */
+class TokenEstimatorTest {
+
+    @Test
+    void testEstimate() {
+        assertEquals(0, TokenEstimator.estimate(null));
+        assertEquals(0, TokenEstimator.estimate(""));
+        assertEquals(1, TokenEstimator.estimate("abcd"));
+        assertEquals(2, TokenEstimator.estimate("abcde"));
+        assertEquals(2, TokenEstimator.estimate("한글"));
+        assertEquals(3, TokenEstimator.estimate("ab 한글"));
+        // 나눠서 센 합은 이어 붙인 값보다 작지 않음 (셀별 합으로 예산을 잡아도 안전)
+        assertTrue(TokenEstimator.estimate("abcde") + TokenEstimator.estimate("fgh")
+                >= TokenEstimator.estimate("abcdefgh"));
+    }
+
+    @Test
+    void testTruncateKeepsLongestPrefixWithinBudget() {
+        String text = "Quarterly revenue 분기 매출은 12% 증가했고 operating margin 은 개선되었다. ".repeat(20);
+
+        for (int budget : new int[]{0, 1, 5, 17, 64, 200}) {
+            String truncated = TokenEstimator.truncate(text, budget);
+            assertTrue(text.startsWith(truncated));
+            assertTrue(TokenEstimator.estimate(truncated) <= budget, "예산 " + budget);
+            // 한 글자만 더 넣어도 예산 초과
+            assertTrue(TokenEstimator.estimate(text.substring(0, truncated.length() + 1)) > budget, "예산 " + budget);
+        }
+
+        String shortText = "짧은 text";
+        assertSame(shortText, TokenEstimator.truncate(shortText, 100));
+        assertNull(TokenEstimator.truncate(null, 10));
+    }
+}
@@ -0,0 +1,195 @@
+package com.pdfanalyzer.core.integration.llm.provider;
+
+import com.pdfanalyzer.core.integration.llm.ExtractiveSummarizer;
+import com.pdfanalyzer.core.integration.llm.TfIdfKeywordExtractor;
+import com.pdfanalyzer.core.integration.llm.LlmApiException;
+import com.pdfanalyzer.core.integration.llm.ResilienceGuard;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 제공자 라우터 테스트 (지연·실패를 흉내 내는 가짜 제공자 사용)
+ */
+class LlmRouterTest {
+
+    private static final LlmRequest REQUEST = new LlmRequest("prompt", List.of());
+
+    @Test
+    void testFailsOverToNextProvider() {
+        FakeProvider broken = new FakeProvider("broken", 0, true);
+        FakeProvider healthy = new FakeProvider("healthy", 0, false);
+        LlmRouter router = newRouter(List.of(broken, healthy), false);
+
+        LlmResponse response = router.generate(REQUEST).join();
+
+        assertEquals("healthy", response.getProvider());
+        assertEquals(1, broken.calls.get());
+        assertEquals(1L, router.getStats().get("failovers"));
+    }
+
+    @Test
+    void testPrefersFasterProviderAfterWarmup() {
+        FakeProvider slow = new FakeProvider("slow", 200, false);
+        FakeProvider fast = new FakeProvider("fast", 10, false);
+        LlmRouter router = newRouter(List.of(slow, fast), false);
+        ReflectionTestUtils.setField(router, "ewmaAlpha", 1.0);
+
+        // 둘 다 기록이 없으면 등록 순서대로 시도 → slow 의 지연이 가정 지연보다 커져 뒤로 밀림
+        assertEquals("slow", router.generate(REQUEST).join().getProvider());
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals("fast", router.generate(REQUEST).join().getProvider());
+        }
+        assertEquals(1, slow.calls.get());
+    }
+
+    @Test
+    void testRaceUsesFirstResponseAndCancelsLoser() {
+        FakeProvider slow = new FakeProvider("slow", 2000, false);
+        FakeProvider fast = new FakeProvider("fast", 20, false);
+        LlmRouter router = newRouter(List.of(slow, fast), true);
+
+        long start = System.currentTimeMillis();
+        LlmResponse response = router.generate(REQUEST).join();
+
+        assertEquals("fast", response.getProvider());
+        assertTrue(System.currentTimeMillis() - start < 1000);
+        assertTrue(slow.cancelled.get(), "진 쪽 호출은 취소되어야 합니다");
+    }
+
+    @Test
+    void testRaceAgainstHalfOpenProviderReleasesTrial() throws InterruptedException {
+        FakeProvider flaky = new FakeProvider("flaky", 2000, false);
+        FakeProvider fast = new FakeProvider("fast", 20, false);
+        ResilienceGuard guard = newGuard();
+        ReflectionTestUtils.setField(guard, "circuitMinCalls", 2);
+        ReflectionTestUtils.setField(guard, "circuitFailureRate", 0.5);
+        ReflectionTestUtils.setField(guard, "circuitOpenMs", 50L);
+        LlmRouter router = newRouter(List.of(flaky, fast), true, guard);
+
+        // 5xx 두 번으로 flaky 의 서킷을 엶 (경쟁 호출이라 응답은 fast 가 줌)
+        flaky.failuresLeft = 2;
+        router.generate(REQUEST).join();
+        router.generate(REQUEST).join();
+        assertEquals("OPEN", circuitState(guard, "flaky"));
+
+        // HALF_OPEN 시험 호출이 경쟁에서 져서 취소되어도 시험 자리는 돌아와야 함
+        Thread.sleep(80);
+        assertEquals("fast", router.generate(REQUEST).join().getProvider());
+        assertTrue(flaky.cancelled.get());
+        assertEquals("HALF_OPEN", circuitState(guard, "flaky"));
+
+        router.generate(REQUEST).join();
+        assertEquals(4, flaky.calls.get(), "다음 경쟁 호출에서 flaky 가 다시 시험 호출되어야 합니다");
+    }
+
+    @Test
+    void testLocalProviderIsLastResortAndRemoteOnlyFails() {
+        FakeProvider broken = new FakeProvider("broken", 0, true);
+        LlmRouter router = newRouter(List.of(new ExtractiveLlmProvider(new ExtractiveSummarizer(), new TfIdfKeywordExtractor()), broken), false);
+
+        LlmResponse response = router.generate(REQUEST).join();
+        assertEquals(ExtractiveLlmProvider.NAME, response.getProvider());
+        assertTrue(response.isLocal());
+
+        assertThrows(Exception.class, () -> router.generate(REQUEST, false).join());
+    }
+
+    @Test
+    void testLocalOnlySkipsRemoteProviders() {
+        FakeProvider remote = new FakeProvider("remote", 0, false);
+        LlmRouter router = newRouter(List.of(remote, new ExtractiveLlmProvider(new ExtractiveSummarizer(), new TfIdfKeywordExtractor())), false);
+        ReflectionTestUtils.setField(router, "localOnly", true);
+
+        assertFalse(router.hasRemoteProvider());
+        assertTrue(router.generate(REQUEST).join().isLocal());
+        assertEquals(0, remote.calls.get());
+    }
+
+    private static LlmRouter newRouter(List<LlmProvider> providers, boolean race) {
+        return newRouter(providers, race, newGuard());
+    }
+
+    private static ResilienceGuard newGuard() {
+        ResilienceGuard guard = new ResilienceGuard();
+        ReflectionTestUtils.setField(guard, "permitsPerSecond", 1000.0);
+        ReflectionTestUtils.setField(guard, "burst", 1000);
+        ReflectionTestUtils.setField(guard, "maxWaitMs", 1000L);
+        ReflectionTestUtils.setField(guard, "maxAttempts", 1);
+        ReflectionTestUtils.setField(guard, "retryBudgetMs", 10000L);
+        ReflectionTestUtils.setField(guard, "circuitWindow", 20);
+        ReflectionTestUtils.setField(guard, "circuitMinCalls", 1000);
+        ReflectionTestUtils.setField(guard, "circuitFailureRate", 1.0);
+        ReflectionTestUtils.setField(guard, "circuitOpenMs", 30_000L);
+        return guard;
+    }
+
+    private static LlmRouter newRouter(List<LlmProvider> providers, boolean race, ResilienceGuard guard) {
+        LlmRouter router = new LlmRouter(providers, guard);
+        ReflectionTestUtils.setField(router, "raceEnabled", race);
+        ReflectionTestUtils.setField(router, "ewmaAlpha", 0.2);
+        ReflectionTestUtils.setField(router, "maxErrorRate", 0.5);
+        ReflectionTestUtils.setField(router, "exploreRatio", 0.0);
+        ReflectionTestUtils.setField(router, "priorLatencyMs", 100.0);
+        return router;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static String circuitState(ResilienceGuard guard, String provider) {
+        return (String) ((Map<String, Object>) guard.getStats().get(provider)).get("circuitState");
+    }
+
+    private static class FakeProvider implements LlmProvider {
+        private final String name;
+        private final long latencyMs;
+        private final boolean failing;
+        private final AtomicInteger calls = new AtomicInteger();
+        private final AtomicBoolean cancelled = new AtomicBoolean();
+        private volatile int failuresLeft; // 남은 횟수만큼 5xx 로 즉시 실패
+
+        private FakeProvider(String name, long latencyMs, boolean failing) {
+            this.name = name;
+            this.latencyMs = latencyMs;
+            this.failing = failing;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public boolean isAvailable() {
+            return true;
+        }
+
+        @Override
+        public CompletableFuture<String> generate(LlmRequest request) {
+            calls.incrementAndGet();
+            CompletableFuture<String> result = new CompletableFuture<>();
+            if (failuresLeft > 0) {
+                failuresLeft--;
+                result.completeExceptionally(new LlmApiException(503, name + " 일시 장애", null));
+            } else if (failing) {
+                result.completeExceptionally(new LlmApiException(400, name + " 실패", null));
+            } else {
+                result.completeOnTimeout("{\"summary\":\"" + name + "\",\"keywords\":[]}", latencyMs, TimeUnit.MILLISECONDS);
+            }
+            result.whenComplete((text, error) -> {
+                if (result.isCancelled()) {
+                    cancelled.set(true);
+                }
+            });
+            return result;
+        }
+    }
+}
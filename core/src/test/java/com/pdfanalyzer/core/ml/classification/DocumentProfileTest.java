@@ -0,0 +1,147 @@
+package com.pdfanalyzer.core.ml.classification;
+
+import com.pdfanalyzer.core.analysis.scoring.SpectralScoreInjector;
+import com.pdfanalyzer.core.document.model.BlockType;
+import com.pdfanalyzer.core.frequency.fft.FFTEngine;
+import com.pdfanalyzer.core.frequency.filter.DocumentType;
+import com.pdfanalyzer.core.semantic.model.SemanticCell;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 문서 구조 프로파일 테스트 (블록 타입별 집계 표, 특징 행, 규칙 기반 문서 타입 표)
+ */
+class DocumentProfileTest {
+
+    /**
+     * 블록 타입 → 집계 항목 (null 타입은 셀 수·길이·중요도에만 반영)
+     */
+    private static final Map<BlockType, String> BUCKETS = new HashMap<>();
+
+    static {
+        BUCKETS.put(BlockType.TITLE, "headers");
+        BUCKETS.put(BlockType.SECTION_HEADER, "headers");
+        BUCKETS.put(BlockType.SUBSECTION_HEADER, "headers");
+        BUCKETS.put(BlockType.PARAGRAPH, "paragraphs");
+        BUCKETS.put(BlockType.LIST_ITEM, "lists");
+        BUCKETS.put(BlockType.TABLE, "tables");
+        BUCKETS.put(BlockType.CAPTION, "none");
+        BUCKETS.put(BlockType.FOOTER, "none");
+        BUCKETS.put(BlockType.HEADER, "none");
+        BUCKETS.put(null, "none");
+    }
+
+    @Test
+    void testBlockTypeTableIncludingNull() {
+        List<BlockType> types = new ArrayList<>(Arrays.asList(BlockType.values()));
+        types.add(null);
+        assertEquals(types.size(), BUCKETS.size(), "새 블록 타입은 표에 추가해야 합니다");
+
+        for (BlockType type : types) {
+            DocumentProfile profile = DocumentProfile.of(List.of(cell(type, 120, 0.4)));
+            String bucket = BUCKETS.get(type);
+
+            assertEquals(1, profile.getTotalCells(), String.valueOf(type));
+            assertEquals(120, profile.getLengthSum(), String.valueOf(type));
+            assertEquals(0.4, profile.getImportanceSum(), 1e-12, String.valueOf(type));
+            assertEquals(bucket.equals("headers") ? 1 : 0, profile.getHeaders(), String.valueOf(type));
+            assertEquals(bucket.equals("paragraphs") ? 1 : 0, profile.getParagraphs(), String.valueOf(type));
+            assertEquals(bucket.equals("lists") ? 1 : 0, profile.getLists(), String.valueOf(type));
+            assertEquals(bucket.equals("tables") ? 1 : 0, profile.getTables(), String.valueOf(type));
+            // 헤더 집계는 SemanticCell.isHeader() 와 같아야 함
+            if (type != null) {
+                assertEquals(cell(type, 1, 0.0).isHeader(), profile.getHeaders() == 1, String.valueOf(type));
+            }
+        }
+    }
+
+    @Test
+    void testFeatureRowMatchesPerFeatureDefinition() {
+        List<SemanticCell> cells = new ArrayList<>();
+        BlockType[] pattern = {BlockType.TITLE, BlockType.PARAGRAPH, BlockType.LIST_ITEM, BlockType.PARAGRAPH,
+                BlockType.TABLE, null, BlockType.SECTION_HEADER, BlockType.CAPTION};
+        for (int i = 0; i < 40; i++) {
+            cells.add(cell(pattern[i % pattern.length], 30 + 17 * i, 0.1 + 0.02 * i));
+        }
+
+        // 한 번에 만든 프로파일과 셀이 도착하는 대로 add() 한 프로파일이 같음
+        DocumentProfile incremental = new DocumentProfile();
+        cells.forEach(incremental::add);
+        float[] row = DocumentProfile.of(cells).toFeatureRow();
+        assertArrayEquals(row, incremental.toFeatureRow());
+
+        // 특징별로 따로 센 값 (FEATURE_NAMES 순서)
+        double n = cells.size();
+        float[] expected = {
+                (float) (cells.stream().filter(SemanticCell::isHeader).count() / n),
+                (float) (cells.stream().filter(c -> c.getType() == BlockType.LIST_ITEM).count() / n),
+                (float) (cells.stream().filter(c -> c.getType() == BlockType.PARAGRAPH).count() / n),
+                (float) (cells.stream().mapToInt(SemanticCell::getLength).average().orElse(0.0) / 1000.0),
+                (float) cells.stream().mapToDouble(SemanticCell::getImportance).average().orElse(0.0),
+                (float) (Math.log(n + 1) / 10.0)
+        };
+        assertEquals(DocumentProfile.FEATURE_NAMES.length, row.length);
+        assertArrayEquals(expected, row, 1e-6f);
+
+        assertArrayEquals(new float[DocumentProfile.FEATURE_NAMES.length], new DocumentProfile().toFeatureRow());
+    }
+
+    /**
+     * 프로파일 → 규칙 기반 문서 타입 (DJL 분류기·지문 인덱스가 꺼진 상태)
+     */
+    @Test
+    void testRuleBasedDocumentTypeTable() {
+        SpectralScoreInjector injector = new SpectralScoreInjector(null, null, null,
+                new DocumentClassifier(), null, new SpectralFingerprintIndex(new FFTEngine()));
+
+        Map<DocumentType, List<SemanticCell>> table = new HashMap<>();
+        // 문단 60% 초과 + 헤더 4개 이상
+        table.put(DocumentType.RESEARCH_PAPER, mix(4, 0, 16));
+        // 리스트 30% 초과
+        table.put(DocumentType.CONTRACT, mix(1, 4, 5));
+        // 헤더 30% 초과
+        table.put(DocumentType.PRESENTATION, mix(4, 0, 6));
+        // 헤더 3개 이상 (30% 이하)
+        table.put(DocumentType.REPORT, mix(3, 0, 9));
+        // 그 외
+        table.put(DocumentType.GENERAL, mix(1, 1, 8));
+
+        table.forEach((type, cells) ->
+                assertEquals(type, injector.detectDocumentTypeWithML(DocumentProfile.of(cells)), type.name()));
+        assertEquals(DocumentType.GENERAL, injector.detectDocumentTypeWithML(new DocumentProfile()));
+        // null 타입 셀만 있는 문서도 예외 없이 일반 문서
+        assertEquals(DocumentType.GENERAL,
+                injector.detectDocumentTypeWithML(DocumentProfile.of(Collections.nCopies(5, cell(null, 10, 0.5)))));
+    }
+
+    private List<SemanticCell> mix(int headers, int lists, int paragraphs) {
+        List<SemanticCell> cells = new ArrayList<>();
+        for (int i = 0; i < headers; i++) {
+            cells.add(cell(BlockType.SECTION_HEADER, 20, 0.9));
+        }
+        for (int i = 0; i < lists; i++) {
+            cells.add(cell(BlockType.LIST_ITEM, 60, 0.4));
+        }
+        for (int i = 0; i < paragraphs; i++) {
+            cells.add(cell(BlockType.PARAGRAPH, 300, 0.5));
+        }
+        return cells;
+    }
+
+    private SemanticCell cell(BlockType type, int length, double importance) {
+        return SemanticCell.builder()
+                .id(type + "-" + length)
+                .type(type)
+                .content("x".repeat(length))
+                .importance(importance)
+                .build();
+    }
+}
@@ -0,0 +1,68 @@
+package com.pdfanalyzer.core.ml.classification;
+
+import com.pdfanalyzer.core.frequency.fft.FFTEngine;
+import com.pdfanalyzer.core.frequency.filter.DocumentType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 스펙트럼 지문 k-NN 인덱스 테스트 (추가·검색, 오래된 지문 제거, 저장·복원)
+ */
+class SpectralFingerprintIndexTest {
+
+    private static final float[] QUERY = {0.9f, 0.1f, 0.0f, 0.0f};
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testAddSearchAndEvictOldest() {
+        Path file = tempDir.resolve("index.bin");
+        SpectralFingerprintIndex index = newIndex(file);
+
+        for (int i = 0; i < 3; i++) {
+            index.add(new float[]{1.0f, 0.01f * i, 0.0f, 0.0f}, DocumentType.REPORT);
+        }
+        for (int i = 0; i < 2; i++) {
+            index.add(new float[]{0.0f, 1.0f, 0.01f * i, 0.0f}, DocumentType.CONTRACT);
+        }
+
+        SpectralFingerprintIndex.FingerprintMatch match = index.classify(QUERY);
+        assertEquals(DocumentType.REPORT, match.getDocumentType());
+        assertTrue(index.isConfident(match));
+
+        // 최대 5개: 계약서 지문 5개를 더 넣으면 가장 오래된 보고서 지문부터 빠짐
+        for (int i = 0; i < 5; i++) {
+            index.add(new float[]{0.0f, 1.0f, 0.0f, 0.01f * i}, DocumentType.CONTRACT);
+        }
+        assertEquals(5, index.size());
+        assertEquals(DocumentType.CONTRACT, index.classify(QUERY).getDocumentType());
+
+        // 종료 시 남은 변경을 저장하고, 새 인스턴스가 같은 내용을 복원
+        index.cleanup();
+        SpectralFingerprintIndex restored = newIndex(file);
+        restored.initialize();
+        assertEquals(5, restored.size());
+        assertEquals(Map.of(DocumentType.CONTRACT, 5), restored.getStats().get("labelDistribution"));
+        restored.cleanup();
+    }
+
+    private SpectralFingerprintIndex newIndex(Path file) {
+        SpectralFingerprintIndex index = new SpectralFingerprintIndex(new FFTEngine());
+        ReflectionTestUtils.setField(index, "enabled", true);
+        ReflectionTestUtils.setField(index, "indexPath", file.toString());
+        ReflectionTestUtils.setField(index, "bands", 4);
+        ReflectionTestUtils.setField(index, "k", 3);
+        ReflectionTestUtils.setField(index, "minSize", 3);
+        ReflectionTestUtils.setField(index, "confidenceThreshold", 0.6);
+        ReflectionTestUtils.setField(index, "maxSize", 5);
+        ReflectionTestUtils.setField(index, "persistInterval", 3);
+        return index;
+    }
+}
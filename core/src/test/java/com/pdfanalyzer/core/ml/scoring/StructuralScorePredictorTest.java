@@ -0,0 +1,63 @@
+package com.pdfanalyzer.core.ml.scoring;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 점수 예측 경로 일치 테스트 (Java MLP ↔ DJL 배치 입력)
+ */
+class StructuralScorePredictorTest {
+
+    private static final double[] WEIGHT = {0.8, 0.3, -0.5, 0.2, 1.1, -0.4, 0.6};
+    private static final double BIAS = -0.2;
+
+    @TempDir
+    Path tempDir;
+
+    /**
+     * 같은 가중치의 선형 + sigmoid 모델: Java MLP 점수와 DJL 배치 번역기가 만든 입력으로 계산한 점수가 같아야 함
+     * (오프라인에서는 PyTorch 엔진을 띄울 수 없어 TorchScript 모델 대신 같은 식을 직접 계산)
+     */
+    @Test
+    void testJavaMlpAndDjlBatchInputAgree() throws Exception {
+        Path weights = Files.writeString(tempDir.resolve("score_predictor_weights.json"), """
+                {"scaler_mean": [0.5, 3.0, 0.2, 0.4, 1.0, 0.1, 0.3],
+                 "scaler_std": [0.2, 2.0, 0.4, 0.3, 0.2, 0.1, 0.2],
+                 "layers": [{"weight": [[0.8, 0.3, -0.5, 0.2, 1.1, -0.4, 0.6]], "bias": [-0.2], "activation": "sigmoid"}]}
+                """);
+        float[][] features = {
+                {0.9f, 7.5f, 1.0f, 0.05f, 1.6f, 0.0f, 0.08f},
+                {0.3f, 1.2f, 0.0f, 0.80f, 1.0f, 0.2f, 0.95f},
+                {0.5f, 3.0f, 0.0f, 0.40f, 0.9f, 0.1f, 0.30f}
+        };
+
+        float[] javaScores = JavaMlpScorer.load(weights).predict(features);
+        StructuralScorePredictor.BatchScorePredictorTranslator translator =
+                new StructuralScorePredictor.BatchScorePredictorTranslator(FeatureScaler.load(weights));
+        float[] djlScores = traced(translator.toModelInput(features));
+
+        assertArrayEquals(javaScores, djlScores, 1e-5f);
+        // 표준화 없이 원시 특징을 넣으면 점수가 달라짐 (이전 DJL 경로의 오류)
+        assertTrue(Math.abs(traced(features)[2] - javaScores[2]) > 0.3);
+    }
+
+    /**
+     * TorchScript 로 내보낸 모델과 같은 순전파: sigmoid(w·x + b)
+     */
+    private static float[] traced(float[][] input) {
+        float[] scores = new float[input.length];
+        for (int row = 0; row < input.length; row++) {
+            double sum = BIAS;
+            for (int i = 0; i < WEIGHT.length; i++) {
+                sum += WEIGHT[i] * input[row][i];
+            }
+            scores[row] = (float) (1.0 / (1.0 + Math.exp(-sum)));
+        }
+        return scores;
+    }
+}
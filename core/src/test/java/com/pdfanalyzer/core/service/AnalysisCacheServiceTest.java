@@ -0,0 +1,52 @@
+package com.pdfanalyzer.core.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 분석 캐시 테스트 (크기 한도와 LRU 제거, 동시 조회·저장)
+ */
+class AnalysisCacheServiceTest {
+
+    @Test
+    void testEvictsLeastRecentlyUsedUnderConcurrency() throws Exception {
+        AnalysisCacheService cache = new AnalysisCacheService();
+        String hot = cache.generateDocumentHash("자주 조회되는 문서");
+        cache.put(hot, "요약", List.of("키워드"), Map.of());
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int t = 0; t < 8; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 100; i++) {
+                        cache.put(cache.generateDocumentHash(thread + "-" + i), "요약", List.of(), Map.of());
+                        assertNotNull(cache.get(hot));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Map<String, Object> stats = cache.getStats();
+        assertEquals(100, stats.get("cacheSize"));
+        // 계속 조회된 항목은 800건 저장 동안 제거되지 않음
+        AnalysisCacheService.CachedAnalysis entry = cache.get(hot);
+        assertNotNull(entry);
+        assertEquals(801, entry.getHits(), "동시 조회 히트 수가 누락되면 안 됨");
+    }
+}
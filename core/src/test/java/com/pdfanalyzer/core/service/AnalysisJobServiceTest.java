@@ -0,0 +1,221 @@
+package com.pdfanalyzer.core.service;
+
+import com.pdfanalyzer.core.frequency.SpectralEngineType;
+import com.pdfanalyzer.core.frequency.filter.DocumentType;
+import com.pdfanalyzer.core.integration.llm.SummaryMode;
+import com.pdfanalyzer.core.model.AnalysisResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 비동기 분석 작업 테스트 (단계 진행, 취소, 대기열 한도, 테넌트 한도, 결과 만료)
+ */
+class AnalysisJobServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private AnalysisJobService service;
+
+    @AfterEach
+    void tearDown() {
+        service.cleanup();
+    }
+
+    @Test
+    void testReportsStageProgressAndExpiresResult() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        service = newService(new ScriptedAnalysis(release), 1, 10);
+
+        AnalysisJob job = service.submit("a.pdf", input("a"), null, null, SummaryMode.LLM);
+        awaitStatus(job, AnalysisJob.Status.RUNNING);
+        Thread.sleep(50);
+
+        Map<String, Object> running = job.snapshot();
+        List<?> stages = (List<?>) running.get("stages");
+        assertEquals("COMPLETED", ((Map<?, ?>) stages.get(0)).get("status"));
+        assertEquals("RUNNING", ((Map<?, ?>) stages.get(AnalysisStage.LLM.ordinal())).get("status"));
+        assertEquals(0.8, job.getProgress(), 1e-9);
+
+        release.countDown();
+        job.completion().get(5, TimeUnit.SECONDS);
+        assertEquals(AnalysisJob.Status.SUCCEEDED, job.getStatus());
+        assertEquals("요약", job.getResult().getSummary());
+        assertFalse(Files.exists(job.input), "끝난 작업의 임시 파일은 삭제해야 합니다");
+
+        ReflectionTestUtils.setField(service, "resultTtlMs", 0L);
+        Thread.sleep(5);
+        assertTrue(service.find(job.getId()).isEmpty(), "보관 기간이 지난 결과는 조회되지 않아야 합니다");
+    }
+
+    @Test
+    void testCancelInterruptsRunningAndRemovesQueuedJob() throws Exception {
+        service = newService(new ScriptedAnalysis(new CountDownLatch(1)), 1, 10);
+
+        AnalysisJob running = service.submit("a.pdf", input("a"), null, null, SummaryMode.LLM);
+        AnalysisJob queued = service.submit("b.pdf", input("b"), null, null, SummaryMode.LLM);
+        awaitStatus(running, AnalysisJob.Status.RUNNING);
+
+        assertTrue(service.cancel(queued.getId()));
+        assertFalse(Files.exists(queued.input), "대기 중 취소된 작업의 임시 파일은 바로 삭제해야 합니다");
+        assertTrue(service.cancel(running.getId()));
+        assertFalse(service.cancel(running.getId()), "이미 끝난 작업은 다시 취소할 수 없습니다");
+
+        running.completion().get(5, TimeUnit.SECONDS);
+        assertEquals(AnalysisJob.Status.CANCELLED, running.getStatus());
+        assertEquals(AnalysisJob.Status.CANCELLED, queued.getStatus());
+        assertEquals(0, service.getStats().get("queued"));
+    }
+
+    @Test
+    void testPipelineCancellationMarksJobCancelled() throws Exception {
+        service = newService(new DocumentAnalysisService(null, null, null, null, null, null, null, null, null, null) {
+            @Override
+            public AnalysisResult analyzePDF(File pdfFile, DocumentType documentType, SpectralEngineType engine,
+                                             SummaryMode summaryMode, AnalysisStreamListener listener, String tenant,
+                                             AnalysisDeadline deadline) {
+                throw new CancellationException("분석 작업이 취소되었습니다");
+            }
+        }, 1, 10);
+
+        AnalysisJob job = service.submit("a.pdf", input("a"), null, null, SummaryMode.LLM);
+        job.completion().get(5, TimeUnit.SECONDS);
+        assertEquals(AnalysisJob.Status.CANCELLED, job.getStatus());
+    }
+
+    @Test
+    void testRejectsWhenQueueIsFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        service = newService(new ScriptedAnalysis(release), 1, 1);
+
+        AnalysisJob first = service.submit("a.pdf", input("a"), null, null, SummaryMode.LLM);
+        awaitStatus(first, AnalysisJob.Status.RUNNING);
+        service.submit("b.pdf", input("b"), null, null, SummaryMode.LLM);
+
+        assertThrows(RejectedExecutionException.class,
+                () -> service.submit("c.pdf", input("c"), null, null, SummaryMode.LLM));
+        assertEquals(1L, service.getStats().get("rejected"));
+        assertEquals(1, service.retryAfterSeconds(), "실행 기록이 없으면 최소값");
+        release.countDown();
+    }
+
+    @Test
+    void testTenantLimitHoldsUnderConcurrentSubmits() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        service = newService(new ScriptedAnalysis(release), 1, 50);
+        ReflectionTestUtils.setField(service, "maxPerTenant", 2);
+
+        ExecutorService clients = Executors.newFixedThreadPool(8);
+        CountDownLatch go = new CountDownLatch(1);
+        List<Future<AnalysisJob>> submits = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            Path input = input("t" + i);
+            submits.add(clients.submit(() -> {
+                go.await();
+                return service.submit("t.pdf", input, null, null, SummaryMode.LLM, "tenant-a");
+            }));
+        }
+        go.countDown();
+
+        List<AnalysisJob> accepted = new ArrayList<>();
+        int quotaRejected = 0;
+        for (Future<AnalysisJob> submit : submits) {
+            try {
+                accepted.add(submit.get(5, TimeUnit.SECONDS));
+            } catch (ExecutionException e) {
+                assertInstanceOf(TenantQuotaExceededException.class, e.getCause());
+                quotaRejected++;
+            }
+        }
+        clients.shutdown();
+        // 동시에 제출해도 한도(2)를 넘는 작업은 받지 않고, 다른 테넌트는 영향을 받지 않음
+        assertEquals(2, accepted.size());
+        assertEquals(6, quotaRejected);
+        assertNotNull(service.submit("b.pdf", input("b"), null, null, SummaryMode.LLM, "tenant-b"));
+
+        // 작업이 끝나면 자리가 돌아옴
+        release.countDown();
+        for (AnalysisJob job : accepted) {
+            job.completion().get(5, TimeUnit.SECONDS);
+        }
+        assertNotNull(service.submit("c.pdf", input("c"), null, null, SummaryMode.LLM, "tenant-a"));
+    }
+
+    private AnalysisJobService newService(DocumentAnalysisService analysis, int maxConcurrency, int queueCapacity) {
+        AnalysisJobService jobService = new AnalysisJobService(analysis);
+        ReflectionTestUtils.setField(jobService, "maxConcurrency", maxConcurrency);
+        ReflectionTestUtils.setField(jobService, "queueCapacity", queueCapacity);
+        ReflectionTestUtils.setField(jobService, "resultTtlMs", 600_000L);
+        jobService.initialize();
+        return jobService;
+    }
+
+    private Path input(String name) throws IOException {
+        return Files.writeString(tempDir.resolve(name + ".pdf"), name);
+    }
+
+    private void awaitStatus(AnalysisJob job, AnalysisJob.Status status) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (job.getStatus() != status && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(status, job.getStatus());
+    }
+
+    /**
+     * LLM 단계 직전까지 단계 이벤트를 보내고, release 될 때까지 LLM 응답을 기다리는 척하는 파이프라인
+     */
+    private static class ScriptedAnalysis extends DocumentAnalysisService {
+        private final CountDownLatch release;
+
+        private ScriptedAnalysis(CountDownLatch release) {
+            super(null, null, null, null, null, null, null, null, null, null);
+            this.release = release;
+        }
+
+        @Override
+        public AnalysisResult analyzePDF(File pdfFile, DocumentType documentType, SpectralEngineType engine,
+                                         SummaryMode summaryMode, AnalysisStreamListener listener, String tenant,
+                                         AnalysisDeadline deadline) {
+            for (AnalysisStage stage : List.of(AnalysisStage.EXTRACT, AnalysisStage.CELLS, AnalysisStage.FFT,
+                    AnalysisStage.VALIDATE)) {
+                listener.onStageStarted(stage);
+                listener.onStageCompleted(stage, 1);
+            }
+            listener.onStageStarted(AnalysisStage.LLM);
+
+            AnalysisResult result = new AnalysisResult();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                result.setError("취소됨");
+                return result;
+            }
+            listener.onStageCompleted(AnalysisStage.LLM, 1);
+            result.setSummary("요약");
+            result.setSuccess(true);
+            return result;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.pdfanalyzer.core.service;
+
+import com.pdfanalyzer.core.integration.llm.SummaryMode;
+import com.pdfanalyzer.core.service.AnalysisDeadline.Degradation;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 마감에 따른 단계별 품질 저하 테스트 (페이지당 65ms, 분류 200ms, LLM 8초 기준)
+ */
+class DeadlinePlannerTest {
+
+    @Test
+    void testNoDegradationWithoutDeadlineOrWithinBudget() {
+        DeadlinePlanner planner = newPlanner();
+
+        AnalysisDeadline unbounded = AnalysisDeadline.none();
+        assertEquals(100, planner.planExtraction(unbounded, 100, SummaryMode.LLM));
+        assertFalse(unbounded.isBounded());
+
+        AnalysisDeadline generous = AnalysisDeadline.in(60_000);
+        assertEquals(100, planner.planExtraction(generous, 100, SummaryMode.LLM));
+        assertEquals(List.of(), types(generous));
+        assertFalse(planner.useLocalSummary(generous));
+    }
+
+    @Test
+    void testDegradesInStepsUntilEstimateFits() {
+        DeadlinePlanner planner = newPlanner();
+
+        // 100 페이지: 전체 14.7초, 임베딩 생략 10.7초, 규칙 기반 분류 10.5초
+        AnalysisDeadline embeddingsOnly = AnalysisDeadline.in(12_000);
+        assertEquals(100, planner.planExtraction(embeddingsOnly, 100, SummaryMode.LLM));
+        assertEquals(List.of("SKIP_EMBEDDINGS"), types(embeddingsOnly));
+
+        // 9초: LLM 8초를 남기고 페이지당 25ms → 앞쪽 약 40 페이지
+        AnalysisDeadline pageLimit = AnalysisDeadline.in(9_000);
+        int pages = planner.planExtraction(pageLimit, 100, SummaryMode.LLM);
+        assertTrue(pages >= 35 && pages <= 40, "페이지 수: " + pages);
+        assertEquals(List.of("SKIP_EMBEDDINGS", "RULE_BASED_CLASSIFIER", "PAGE_LIMIT"), types(pageLimit));
+        assertFalse(pageLimit.isApplied(Degradation.LOCAL_SUMMARY));
+    }
+
+    @Test
+    void testFallsBackToLocalSummaryWhenLlmDoesNotFit() {
+        DeadlinePlanner planner = newPlanner();
+
+        AnalysisDeadline tight = AnalysisDeadline.in(1_000);
+        int pages = planner.planExtraction(tight, 100, SummaryMode.LLM);
+        assertTrue(pages >= 3 && pages < 100, "페이지 수: " + pages);
+        assertTrue(tight.isApplied(Degradation.LOCAL_SUMMARY));
+        assertTrue(tight.isApplied(Degradation.PAGE_LIMIT));
+        assertTrue(planner.useLocalSummary(tight));
+
+        // 추출 계획 때는 LLM 이 들어갔어도 요약 단계에서 남은 예산이 모자라면 로컬 요약
+        AnalysisDeadline late = AnalysisDeadline.in(1_500);
+        assertTrue(planner.useLocalSummary(late));
+        assertEquals(List.of("LOCAL_SUMMARY"), types(late));
+    }
+
+    private DeadlinePlanner newPlanner() {
+        DeadlinePlanner planner = new DeadlinePlanner();
+        ReflectionTestUtils.setField(planner, "extractMsPerPage", 15.0);
+        ReflectionTestUtils.setField(planner, "cellsMsPerPage", 10.0);
+        ReflectionTestUtils.setField(planner, "embeddingMsPerPage", 40.0);
+        ReflectionTestUtils.setField(planner, "classifierMs", 200L);
+        ReflectionTestUtils.setField(planner, "llmMs", 8000L);
+        ReflectionTestUtils.setField(planner, "minLlmMs", 2000L);
+        ReflectionTestUtils.setField(planner, "localSummaryMs", 150L);
+        ReflectionTestUtils.setField(planner, "minPages", 3);
+        return planner;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<String> types(AnalysisDeadline deadline) {
+        List<Map<String, Object>> degradations = (List<Map<String, Object>>) deadline.report().get("degradations");
+        return degradations.stream().map(d -> (String) d.get("type")).toList();
+    }
+}
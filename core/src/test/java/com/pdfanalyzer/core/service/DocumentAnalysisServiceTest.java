@@ -0,0 +1,385 @@
+package com.pdfanalyzer.core.service;
+
+import com.pdfanalyzer.core.analysis.scoring.SpectralScoreInjector;
+import com.pdfanalyzer.core.analysis.validation.StructureValidator;
+import com.pdfanalyzer.core.document.analyzer.LayoutAnalyzer;
+import com.pdfanalyzer.core.document.extractor.PDFExtractor;
+import com.pdfanalyzer.core.document.model.BlockType;
+import com.pdfanalyzer.core.document.model.DocumentMetadata;
+import com.pdfanalyzer.core.frequency.fft.FFTEngine;
+import com.pdfanalyzer.core.frequency.filter.DocumentType;
+import com.pdfanalyzer.core.frequency.filter.ResonanceFilterRegistry;
+import com.pdfanalyzer.core.frequency.wavelet.WaveletEngine;
+import com.pdfanalyzer.core.integration.formatter.ResultFormatter;
+import com.pdfanalyzer.core.integration.llm.LLMAdapter;
+import com.pdfanalyzer.core.integration.llm.SummaryMode;
+import com.pdfanalyzer.core.ml.classification.DocumentClassifier;
+import com.pdfanalyzer.core.ml.classification.DocumentProfile;
+import com.pdfanalyzer.core.ml.classification.SpectralFingerprintIndex;
+import com.pdfanalyzer.core.ml.scoring.StructuralScorePredictor;
+import com.pdfanalyzer.core.model.AnalysisResult;
+import com.pdfanalyzer.core.semantic.builder.CellBuilder;
+import com.pdfanalyzer.core.semantic.embedding.TokenMixer;
+import com.pdfanalyzer.core.semantic.model.SemanticCell;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.ObjIntConsumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 분석 서비스 테스트 (일괄 분석 중 대화형 요청의 지연, 거절·취소 전달, 스트리밍 추측 분류 불일치,
+ * LLM 호출과 검증·포맷팅의 병행, LLM 시간 초과 시 호출 취소)
+ */
+class DocumentAnalysisServiceTest {
+
+    private static final String BULK = "bulk";
+
+    private StagedPipelineExecutor pipeline;
+
+    @AfterEach
+    void tearDown() {
+        pipeline.cleanup();
+    }
+
+    /**
+     * 입장 한도 2, 문서당 추출 20ms: 40건 일괄 분석이 도는 동안 대화형 요청(입장 + PARSE 단계 20ms)의 최대 지연
+     * 일괄 분석이 허가 하나로 40건을 한꺼번에 PARSE 대기열에 넣으면 대화형 작업은 그 뒤에서 수백 ms 를 기다린다.
+     */
+    @Test
+    void testInteractiveWaitStaysBoundedDuringBulk() throws Exception {
+        DocumentAnalysisService service = newService(new IOException("테스트용 추출 실패"));
+
+        List<MultipartFile> files = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            files.add(new MockMultipartFile("file", i + ".pdf", "application/pdf", new byte[]{1}));
+        }
+        CompletableFuture<List<AnalysisResult>> bulk = CompletableFuture.supplyAsync(() -> {
+            try {
+                return service.analyzeBulk(files, null, null, BULK);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (tenantStats(BULK) == null && System.currentTimeMillis() < deadline) {
+            Thread.sleep(1);
+        }
+
+        long worstMs = 0;
+        for (int i = 0; i < 5; i++) {
+            long start = System.nanoTime();
+            pipeline.admit("interactive", 1, 10_000);
+            try {
+                pipeline.call(StagedPipelineExecutor.Stage.PARSE, () -> {
+                    Thread.sleep(20);
+                    return null;
+                });
+            } finally {
+                pipeline.release("interactive");
+            }
+            worstMs = Math.max(worstMs, (System.nanoTime() - start) / 1_000_000);
+        }
+
+        List<AnalysisResult> results = bulk.get(10, TimeUnit.SECONDS);
+        assertEquals(40, results.size());
+        assertTrue(results.stream().noneMatch(AnalysisResult::isSuccess));
+        // 일괄 분석은 문서마다 입장하므로 공정 큐 몫(허가 하나)과 작업 하나(20ms) 정도만 기다림
+        assertTrue(worstMs < 150, "대화형 최대 지연 " + worstMs + "ms");
+        assertEquals(40L, tenantStats(BULK).get("admitted"));
+        assertEquals(0, pipeline.getTenantStats().get("inFlight"));
+    }
+
+    /**
+     * 단계 실행기 포화·취소는 실패 결과로 삼키지 않고 호출 측에 그대로 전달 (503, 작업 CANCELLED)
+     */
+    @Test
+    void testRejectionAndCancellationPropagate() {
+        File pdf = new File("unused.pdf");
+        DocumentAnalysisService cancelled = newService(new CancellationException("취소"));
+        assertThrows(CancellationException.class, () -> cancelled.analyzePDF(pdf, null, null, SummaryMode.LLM,
+                AnalysisStreamListener.NONE, "t", AnalysisDeadline.none()));
+        pipeline.cleanup();
+
+        DocumentAnalysisService rejected = newService(new RejectedExecutionException("종료 중"));
+        assertThrows(RejectedExecutionException.class, () -> rejected.analyzePDF(pdf, null, null, SummaryMode.LLM,
+                AnalysisStreamListener.NONE, "t", AnalysisDeadline.none()));
+        assertEquals(0, pipeline.getTenantStats().get("inFlight"), "입장 허가는 돌려줘야 합니다");
+    }
+
+    /**
+     * 앞쪽 5 페이지는 헤더 위주(발표 자료), 나머지는 긴 문단(연구 논문)인 문서:
+     * 스트리밍 경로의 추측 분류가 틀린 뒤 최종 점수가 비스트리밍 경로와 같아야 함
+     */
+    @Test
+    void testSpeculativeMismatchMatchesNonStreamingScores() {
+        SpectralScoreInjector injector = new SpectralScoreInjector(new FFTEngine(), new WaveletEngine(),
+                new ResonanceFilterRegistry(), new DocumentClassifier(), new StructuralScorePredictor(),
+                new SpectralFingerprintIndex(new FFTEngine()));
+        ReflectionTestUtils.setField(injector, "streamingWindowSize", 16);
+
+        List<SemanticCell> streamed = prepareCells(injector, 1);
+        List<SemanticCell> batch = prepareCells(injector, Integer.MAX_VALUE);
+
+        // 앞쪽 페이지만의 프로파일과 전체 프로파일의 분류가 실제로 다름
+        DocumentProfile speculative = DocumentProfile.of(streamed.stream().filter(c -> c.getPageNumber() <= 5).toList());
+        assertEquals(DocumentType.PRESENTATION, injector.detectDocumentTypeWithML(speculative));
+        assertEquals(DocumentType.RESEARCH_PAPER, injector.detectDocumentTypeWithML(DocumentProfile.of(streamed)));
+
+        assertEquals(batch.size(), streamed.size());
+        for (int i = 0; i < batch.size(); i++) {
+            assertEquals(batch.get(i).getContent(), streamed.get(i).getContent());
+            assertEquals(batch.get(i).getResonanceIntensity(), streamed.get(i).getResonanceIntensity(), 1e-12, "셀 " + i);
+            assertEquals(batch.get(i).getStructuralScore(), streamed.get(i).getStructuralScore(), 1e-12, "셀 " + i);
+        }
+    }
+
+    /**
+     * 검증·통계·핵심 섹션은 LLM 응답을 기다리지 않고 끝나며, 최종 결과는 한 번에 포맷팅한 것과 같음
+     */
+    @Test
+    void testFormattingOverlapsPendingLlmCall() throws Exception {
+        pipeline = newPipeline();
+        ResultFormatter formatter = new ResultFormatter();
+        DocumentAnalysisService service = new DocumentAnalysisService(null, null, null, new StructureValidator(), null,
+                formatter, null, null, pipeline, null);
+        List<SemanticCell> cells = scoredCells();
+        CompletableFuture<LLMAdapter.SummaryAndKeywords> llm = new CompletableFuture<>();
+        CountDownLatch statistics = new CountDownLatch(1);
+        AnalysisStreamListener listener = new AnalysisStreamListener() {
+            @Override
+            public void onStatistics(Map<String, Object> event) {
+                statistics.countDown();
+            }
+        };
+
+        AnalysisResult result = new AnalysisResult();
+        CompletableFuture<Void> formatting = CompletableFuture.runAsync(() -> ReflectionTestUtils.invokeMethod(service,
+                "formatConcurrently", result, "doc.pdf", cells, llm, listener));
+
+        assertTrue(statistics.await(5, TimeUnit.SECONDS), "검증·통계가 LLM 응답 전에 끝나야 합니다");
+        assertNotNull(result.getValidationResult());
+        assertFalse(formatting.isDone());
+
+        llm.complete(new LLMAdapter.SummaryAndKeywords("요약", List.of("키워드"), Map.of(), 42));
+        formatting.get(5, TimeUnit.SECONDS);
+
+        assertEquals("요약", result.getSummary());
+        assertEquals(42, result.getPromptTokens());
+        Map<String, Object> sequential = formatter.formatResult("doc.pdf", cells, "요약", List.of("키워드"), Map.of(),
+                new StructureValidator().validate(cells));
+        for (String key : List.of("fileName", "totalCells", "summary", "keywords", "statistics", "validation", "keySections")) {
+            assertEquals(sequential.get(key), result.getFormattedResult().get(key), key);
+        }
+    }
+
+    /**
+     * 병행 분기 하나가 실패하면 진행 중인 LLM 호출을 취소하고 원인 예외를 그대로 던짐
+     */
+    @Test
+    void testFormattingFailureCancelsLlmCall() {
+        pipeline = newPipeline();
+        StructureValidator failing = new StructureValidator() {
+            @Override
+            public ValidationResult validate(List<SemanticCell> cells) {
+                throw new IllegalStateException("검증 실패");
+            }
+        };
+        DocumentAnalysisService service = new DocumentAnalysisService(null, null, null, failing, null,
+                new ResultFormatter(), null, null, pipeline, null);
+        CompletableFuture<LLMAdapter.SummaryAndKeywords> llm = new CompletableFuture<>();
+
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> ReflectionTestUtils.invokeMethod(
+                service, "formatConcurrently", new AnalysisResult(), "doc.pdf", scoredCells(), llm,
+                AnalysisStreamListener.NONE));
+        assertEquals("검증 실패", e.getMessage());
+        assertTrue(llm.isCancelled());
+    }
+
+    /**
+     * 마감 안에 LLM 응답이 없으면 LLM 호출을 취소하고, 로컬 요약을 보낸 뒤 늦게 온 LLM 조각은 전달하지 않음
+     */
+    @Test
+    void testLlmTimeoutCancelsCallAndStopsDeltas() throws Exception {
+        pipeline = newPipeline();
+        CompletableFuture<LLMAdapter.SummaryAndKeywords> llm = new CompletableFuture<>();
+        List<Consumer<String>> sinks = new CopyOnWriteArrayList<>();
+        LLMAdapter adapter = new LLMAdapter(null, null, null, null, null, null, null) {
+            @Override
+            public CompletableFuture<SummaryAndKeywords> streamSummaryAndKeywordsAsync(List<SemanticCell> cells,
+                                                                                      Consumer<String> onSummaryDelta) {
+                sinks.add(onSummaryDelta);
+                onSummaryDelta.accept("LLM 첫 조각");
+                return llm;
+            }
+
+            @Override
+            public SummaryAndKeywords generateExtractiveSummaryAndKeywords(List<SemanticCell> cells) {
+                return new SummaryAndKeywords("로컬 요약", List.of("키워드"), Map.of());
+            }
+        };
+        DeadlinePlanner planner = new DeadlinePlanner();
+        ReflectionTestUtils.setField(planner, "minLlmMs", 0L);
+        ReflectionTestUtils.setField(planner, "localSummaryMs", 50L);
+        DocumentAnalysisService service = new DocumentAnalysisService(null, null, null, null, adapter,
+                null, null, null, pipeline, planner);
+        List<String> deltas = new CopyOnWriteArrayList<>();
+        AnalysisStreamListener listener = new AnalysisStreamListener() {
+            @Override
+            public void onSummaryDelta(String delta) {
+                deltas.add(delta);
+            }
+        };
+
+        CompletableFuture<LLMAdapter.SummaryAndKeywords> summary = ReflectionTestUtils.invokeMethod(service,
+                "summarize", scoredCells(), SummaryMode.LLM, listener, AnalysisDeadline.in(300));
+
+        assertEquals("로컬 요약", summary.get(5, TimeUnit.SECONDS).summary);
+        assertTrue(llm.isCancelled(), "시간 초과 후에도 LLM 호출이 계속됩니다");
+        sinks.get(0).accept("늦은 LLM 조각");
+        assertEquals(List.of("LLM 첫 조각", "로컬 요약"), deltas);
+    }
+
+    private List<SemanticCell> scoredCells() {
+        List<SemanticCell> cells = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            boolean header = i % 5 == 0;
+            cells.add(SemanticCell.builder()
+                    .id(String.valueOf(i))
+                    .type(header ? BlockType.SECTION_HEADER : BlockType.PARAGRAPH)
+                    .content(header ? (i / 5 + 1) + ". 절" : "본문 문단 " + i + " 입니다.")
+                    .position(i * 100)
+                    .endPosition(i * 100 + 50)
+                    .pageNumber(1 + i / 10)
+                    .importance(header ? 0.9 : 0.5)
+                    .structuralScore(header ? 0.8 : 0.3 + 0.01 * i)
+                    .build());
+        }
+        return cells;
+    }
+
+    /**
+     * 스트리밍 기준 페이지 수(streamingPageThreshold)만 달리 하여 Step 1-3 실행
+     */
+    private List<SemanticCell> prepareCells(SpectralScoreInjector injector, int streamingPageThreshold) {
+        pipeline = newPipeline();
+        try {
+            DocumentAnalysisService service = new DocumentAnalysisService(new PagedExtractor(30),
+                    new CellBuilder(new TokenMixer(null), new LayoutAnalyzer()), injector, null, null,
+                    null, null, null, pipeline, new DeadlinePlanner());
+            ReflectionTestUtils.setField(service, "streamingPageThreshold", streamingPageThreshold);
+            ReflectionTestUtils.setField(service, "speculativePages", 5);
+
+            AnalysisResult result = new AnalysisResult();
+            List<SemanticCell> cells = ReflectionTestUtils.invokeMethod(service, "prepareCells", new File("unused.pdf"),
+                    null, null, SummaryMode.EXTRACTIVE, result, AnalysisStreamListener.NONE, AnalysisDeadline.none());
+            assertSame(cells, result.getCells());
+            return cells;
+        } finally {
+            pipeline.cleanup();
+        }
+    }
+
+    private DocumentAnalysisService newService(Exception extractFailure) {
+        pipeline = newPipeline();
+        return new DocumentAnalysisService(new SlowExtractor(extractFailure), null, null, null, null,
+                null, null, null, pipeline, null);
+    }
+
+    private StagedPipelineExecutor newPipeline() {
+        StagedPipelineExecutor pipeline = new StagedPipelineExecutor();
+        ReflectionTestUtils.setField(pipeline, "cpuThreads", 2);
+        ReflectionTestUtils.setField(pipeline, "queueCapacity", 64);
+        ReflectionTestUtils.setField(pipeline, "llmConcurrency", 2);
+        ReflectionTestUtils.setField(pipeline, "maxInFlight", 2);
+        ReflectionTestUtils.setField(pipeline, "admissionTimeoutMs", 10_000L);
+        ReflectionTestUtils.setField(pipeline, "ewmaAlpha", 0.2);
+        ReflectionTestUtils.setField(pipeline, "defaultWeight", 1.0);
+        ReflectionTestUtils.setField(pipeline, "maxTenants", 100);
+        pipeline.initialize();
+        return pipeline;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> tenantStats(String tenant) {
+        return (Map<String, Object>) ((Map<String, Object>) pipeline.getTenantStats().get("tenants")).get(tenant);
+    }
+
+    /**
+     * 페이지 텍스트를 만들어 내는 추출기: 1~5 페이지는 섹션 헤더 둘 + 짧은 문단, 이후 페이지는 섹션 헤더 하나 + 긴 문단 열
+     */
+    private static class PagedExtractor extends PDFExtractor {
+        private final int pageCount;
+
+        private PagedExtractor(int pageCount) {
+            this.pageCount = pageCount;
+        }
+
+        @Override
+        public DocumentMetadata extractMetadata(File pdfFile) {
+            DocumentMetadata metadata = new DocumentMetadata();
+            metadata.setPageCount(pageCount);
+            return metadata;
+        }
+
+        @Override
+        public int extractTextByPages(File pdfFile, int maxPages, ObjIntConsumer<String> pageConsumer) {
+            int pages = Math.min(pageCount, maxPages);
+            for (int page = 1; page <= pages; page++) {
+                List<String> paragraphs = new ArrayList<>();
+                if (page <= 5) {
+                    paragraphs.add(page + ". 개요 " + page);
+                    paragraphs.add(page + ". 목표 " + page);
+                    paragraphs.add("이 슬라이드는 발표 자료의 한 장입니다.");
+                } else {
+                    paragraphs.add(page + ". 실험 " + page);
+                    for (int p = 0; p < 10; p++) {
+                        paragraphs.add(("페이지 " + page + " 문단 " + p + " 의 본문입니다. ").repeat(3 + (page * 7 + p) % 11));
+                    }
+                }
+                pageConsumer.accept(String.join("\n\n", paragraphs), page);
+            }
+            return pages;
+        }
+    }
+
+    /**
+     * 메타데이터 추출에 20ms 걸린 뒤 주어진 예외로 실패하는 추출기 (셀 생성 이후 단계는 타지 않음)
+     */
+    private static class SlowExtractor extends PDFExtractor {
+        private final Exception failure;
+
+        private SlowExtractor(Exception failure) {
+            this.failure = failure;
+        }
+
+        @Override
+        public DocumentMetadata extractMetadata(File pdfFile) throws IOException {
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (failure instanceof IOException io) {
+                throw io;
+            }
+            throw (RuntimeException) failure;
+        }
+    }
+}
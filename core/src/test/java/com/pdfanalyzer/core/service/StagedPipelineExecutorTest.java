@@ -0,0 +1,141 @@
+package com.pdfanalyzer.core.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 단계별 파이프라인 실행기 테스트 (CPU 허가 공유, 역압 전파, 취소)
+ */
+class StagedPipelineExecutorTest {
+
+    private StagedPipelineExecutor pipeline;
+
+    @AfterEach
+    void tearDown() {
+        pipeline.cleanup();
+    }
+
+    @Test
+    void testCpuStagesShareCoreBudget() {
+        pipeline = newPipeline(2, 16, 1);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+
+        List<CompletableFuture<Integer>> futures = new ArrayList<>();
+        for (StagedPipelineExecutor.Stage stage : List.of(StagedPipelineExecutor.Stage.PARSE,
+                StagedPipelineExecutor.Stage.SCORE, StagedPipelineExecutor.Stage.FORMAT)) {
+            for (int i = 0; i < 6; i++) {
+                futures.add(pipeline.submit(stage, () -> {
+                    peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    Thread.sleep(10);
+                    return running.decrementAndGet();
+                }));
+            }
+        }
+        futures.forEach(CompletableFuture::join);
+
+        // 세 단계가 각자 2 스레드를 가져도 동시에 도는 CPU 작업은 코어 예산(2)을 넘지 않음
+        assertEquals(2, peak.get());
+    }
+
+    @Test
+    void testFullStageBlocksSubmitterAndRejectsAdmission() throws Exception {
+        pipeline = newPipeline(1, 1, 1);
+        CountDownLatch release = new CountDownLatch(1);
+        pipeline.submit(StagedPipelineExecutor.Stage.SCORE, () -> release.await(5, TimeUnit.SECONDS));
+        pipeline.submit(StagedPipelineExecutor.Stage.SCORE, () -> true);
+
+        // 실행 1 + 대기 1 로 가득 찬 단계에 제출하면 블로킹
+        CompletableFuture<Boolean> blocked = CompletableFuture.supplyAsync(
+                () -> pipeline.call(StagedPipelineExecutor.Stage.SCORE, () -> true));
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (stageStats("SCORE").get("blockedSubmitters").equals(0) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(1, stageStats("SCORE").get("blockedSubmitters"));
+        assertFalse(blocked.isDone());
+
+        // 입장 한도 1: 앞 문서가 빠지기 전에는 다음 문서가 들어오지 못함
+        pipeline.admit();
+        assertThrows(RejectedExecutionException.class, pipeline::admit);
+        long retryAfter = pipeline.retryAfterSeconds();
+        assertTrue(retryAfter >= 1 && retryAfter <= 60, "Retry-After " + retryAfter);
+        pipeline.release();
+
+        release.countDown();
+        assertTrue(blocked.get(5, TimeUnit.SECONDS));
+        assertEquals("SCORE", pipeline.getStats().get("bottleneck"));
+    }
+
+    @Test
+    void testCancelInterruptsRunningTask() throws Exception {
+        pipeline = newPipeline(1, 1, 1);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        CompletableFuture<Object> future = pipeline.submit(StagedPipelineExecutor.Stage.PARSE, () -> {
+            started.countDown();
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                throw e;
+            }
+            return null;
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        future.cancel(true);
+
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS), "실행 중인 작업은 인터럽트되어야 합니다");
+        // 취소된 작업의 자리가 반환되어 다음 작업이 실행됨
+        assertEquals("다음", pipeline.call(StagedPipelineExecutor.Stage.PARSE, () -> "다음"));
+    }
+
+    /**
+     * 헤더의 테넌트 ID 는 allowed 목록이나 테넌트별 재정의에 있을 때만 인정, 나머지는 anonymous
+     */
+    @Test
+    void testUnknownTenantFallsBackToAnonymous() {
+        StagedPipelineExecutor executor = new StagedPipelineExecutor();
+        ReflectionTestUtils.setField(executor, "allowedTenants", "interactive, reports");
+        ReflectionTestUtils.setField(executor, "documentsPerMinute", "ingest=600");
+        ReflectionTestUtils.setField(executor, "maxTenants", 100);
+        executor.initialize();
+        pipeline = executor;
+
+        assertEquals("interactive", pipeline.resolveTenant("interactive"));
+        assertEquals("reports", pipeline.resolveTenant("reports"));
+        assertEquals("ingest", pipeline.resolveTenant("ingest"));
+        assertEquals(StagedPipelineExecutor.DEFAULT_TENANT, pipeline.resolveTenant("bulk-7f3a"));
+        assertEquals(StagedPipelineExecutor.DEFAULT_TENANT, pipeline.resolveTenant(null));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> stageStats(String stage) {
+        return (Map<String, Object>) ((Map<String, Object>) pipeline.getStats().get("stages")).get(stage);
+    }
+
+    private StagedPipelineExecutor newPipeline(int cpuThreads, int queueCapacity, int maxInFlight) {
+        StagedPipelineExecutor executor = new StagedPipelineExecutor();
+        ReflectionTestUtils.setField(executor, "cpuThreads", cpuThreads);
+        ReflectionTestUtils.setField(executor, "queueCapacity", queueCapacity);
+        ReflectionTestUtils.setField(executor, "llmConcurrency", 4);
+        ReflectionTestUtils.setField(executor, "maxInFlight", maxInFlight);
+        ReflectionTestUtils.setField(executor, "admissionTimeoutMs", 50L);
+        ReflectionTestUtils.setField(executor, "ewmaAlpha", 0.2);
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,161 @@
+package com.pdfanalyzer.core.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 테넌트별 가중 공정 큐 테스트 (순서, 동시 처리 한도·할당량, 대량 부하 중 대화형 대기 시간)
+ */
+class WeightedFairQueueTest {
+
+    @Test
+    void testInteractiveTenantOvertakesBulkBacklog() throws Exception {
+        WeightedFairQueue queue = new WeightedFairQueue(1, 100, tenant -> new WeightedFairQueue.Policy(1, 0, 0, 0));
+        List<String> order = Collections.synchronizedList(new ArrayList<>());
+        ExecutorService clients = Executors.newCachedThreadPool();
+
+        queue.acquire("bulk", 1, 1000);
+        for (int i = 0; i < 5; i++) {
+            clients.submit(() -> admitAndRecord(queue, "bulk", order));
+            awaitQueued(queue, i + 1);
+        }
+        clients.submit(() -> admitAndRecord(queue, "interactive", order));
+        awaitQueued(queue, 6);
+
+        queue.release("bulk");
+        clients.shutdown();
+        assertTrue(clients.awaitTermination(5, TimeUnit.SECONDS));
+
+        // 대량 테넌트가 다섯 건을 먼저 쌓았어도 대화형 요청은 첫 번째 순번에 입장
+        assertEquals("interactive", order.get(0), "입장 순서: " + order);
+        assertEquals(6, order.size());
+    }
+
+    @Test
+    void testCapsAndQuotasPerTenant() throws Exception {
+        WeightedFairQueue queue = new WeightedFairQueue(4, 100, tenant -> tenant.equals("ingest")
+                ? new WeightedFairQueue.Policy(1, 1, 1, 3)
+                : new WeightedFairQueue.Policy(1, 0, 0, 0));
+
+        queue.acquire("ingest", 1, 100);
+        // 동시 처리 한도 1: 자리가 남아 있어도 두 번째 요청은 대기하다 시간 초과
+        assertThrows(RejectedExecutionException.class, () -> queue.acquire("ingest", 1, 50));
+        queue.acquire("user", 1, 100);
+        assertEquals(2, queue.getInFlight());
+
+        // 분당 할당량 3건: 입장한 1건 (시간 초과된 요청은 환불) + 일괄 3건은 초과
+        TenantQuotaExceededException quota = assertThrows(TenantQuotaExceededException.class,
+                () -> queue.acquire("ingest", 3, 100));
+        assertEquals("ingest", quota.getTenant());
+        assertTrue(quota.getRetryAfterSeconds() >= 1);
+
+        queue.release("ingest");
+        queue.release("user");
+        @SuppressWarnings("unchecked")
+        Map<String, Object> ingest = (Map<String, Object>) ((Map<String, Object>) queue.getStats().get("tenants")).get("ingest");
+        assertEquals(1L, ingest.get("rejected"));
+        assertEquals(1L, ingest.get("quotaRejected"));
+        assertEquals(0, queue.getInFlight());
+    }
+
+    /**
+     * 대기하다 시간 초과되거나 인터럽트된 요청은 처리되지 않았으므로 분당 할당량을 돌려받음
+     */
+    @Test
+    void testWithdrawnRequestRefundsQuota() throws Exception {
+        WeightedFairQueue queue = new WeightedFairQueue(1, 100, tenant -> tenant.equals("ingest")
+                ? new WeightedFairQueue.Policy(1, 0, 0, 3)
+                : new WeightedFairQueue.Policy(1, 0, 0, 0));
+        queue.acquire("user", 1, 100);
+
+        assertThrows(RejectedExecutionException.class, () -> queue.acquire("ingest", 3, 50));
+
+        Thread waiting = new Thread(() -> assertThrows(InterruptedException.class, () -> queue.acquire("ingest", 3, 5_000)));
+        waiting.start();
+        awaitQueued(queue, 1);
+        waiting.interrupt();
+        waiting.join(5_000);
+        assertEquals(0, queue.getQueued());
+
+        queue.release("user");
+        queue.acquire("ingest", 3, 100);
+        assertThrows(TenantQuotaExceededException.class, () -> queue.acquire("ingest", 1, 100));
+        queue.release("ingest");
+    }
+
+    /**
+     * 입장 한도 4, 작업 5ms: 대량 테넌트 32개 클라이언트가 계속 밀어 넣는 동안 대화형 요청 20건의 입장 대기
+     * 모두 같은 테넌트로 보내면 도착 순(FIFO)과 같다.
+     */
+    @Test
+    void benchmarkInteractiveWaitUnderBulkLoad() throws Exception {
+        long fifo = interactiveP95WaitMs(false);
+        long fair = interactiveP95WaitMs(true);
+        System.out.printf("대화형 p95 입장 대기: 도착 순 %dms, 가중 공정 큐 %dms%n", fifo, fair);
+        assertTrue(fair * 2 < fifo, "공정 큐가 대화형 대기 시간을 줄여야 합니다: " + fair + " vs " + fifo);
+    }
+
+    private long interactiveP95WaitMs(boolean perTenant) throws Exception {
+        WeightedFairQueue queue = new WeightedFairQueue(4, 100, tenant -> new WeightedFairQueue.Policy(1, 0, 0, 0));
+        ExecutorService bulk = Executors.newFixedThreadPool(32);
+        CountDownLatch stop = new CountDownLatch(1);
+        String bulkTenant = "bulk";
+        String interactiveTenant = perTenant ? "interactive" : bulkTenant;
+
+        for (int i = 0; i < 32; i++) {
+            bulk.submit(() -> {
+                while (stop.getCount() > 0) {
+                    queue.acquire(bulkTenant, 1, 10_000);
+                    try {
+                        Thread.sleep(5);
+                    } finally {
+                        queue.release(bulkTenant);
+                    }
+                }
+                return null;
+            });
+        }
+        awaitQueued(queue, 20);
+
+        List<Long> waits = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            long start = System.nanoTime();
+            queue.acquire(interactiveTenant, 1, 10_000);
+            waits.add((System.nanoTime() - start) / 1_000_000);
+            Thread.sleep(5);
+            queue.release(interactiveTenant);
+        }
+        stop.countDown();
+        bulk.shutdown();
+        assertTrue(bulk.awaitTermination(10, TimeUnit.SECONDS));
+
+        Collections.sort(waits);
+        return waits.get((int) Math.ceil(waits.size() * 0.95) - 1);
+    }
+
+    private Void admitAndRecord(WeightedFairQueue queue, String tenant, List<String> order) throws InterruptedException {
+        queue.acquire(tenant, 1, 5_000);
+        order.add(tenant);
+        queue.release(tenant);
+        return null;
+    }
+
+    private void awaitQueued(WeightedFairQueue queue, int queued) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (queue.getQueued() < queued && System.currentTimeMillis() < deadline) {
+            Thread.sleep(1);
+        }
+        assertTrue(queue.getQueued() >= queued);
+    }
+}
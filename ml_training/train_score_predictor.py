@@ -146,6 +146,37 @@ def save_model(model, scaler, feature_names, test_mae, output_dir):
         json.dump(metadata, f, indent=2, ensure_ascii=False)
     print(f"✅ 메타데이터 저장: {metadata_path}")
 
+    export_java_weights(model, scaler, output_dir)
+
+def export_java_weights(model, scaler, output_dir):
+    """순수 Java MLP 추론기(JavaMlpScorer)용 가중치 내보내기"""
+    layers = []
+    for module in model.network:
+        if isinstance(module, nn.Linear):
+            layers.append({
+                'weight': module.weight.detach().cpu().tolist(),
+                'bias': module.bias.detach().cpu().tolist(),
+                'activation': 'none'
+            })
+        elif isinstance(module, nn.ReLU) and layers:
+            layers[-1]['activation'] = 'relu'
+        elif isinstance(module, nn.Sigmoid) and layers:
+            layers[-1]['activation'] = 'sigmoid'
+        elif isinstance(module, nn.Tanh) and layers:
+            layers[-1]['activation'] = 'tanh'
+        # Dropout 은 추론 시 항등 연산이므로 생략
+
+    weights = {
+        'scaler_mean': scaler.mean_.tolist(),
+        'scaler_std': scaler.scale_.tolist(),
+        'layers': layers
+    }
+
+    weights_path = Path(output_dir) / 'score_predictor_weights.json'
+    with open(weights_path, 'w', encoding='utf-8') as f:
+        json.dump(weights, f)
+    print(f"✅ Java 추론용 가중치 저장: {weights_path}")
+
 def main():
     parser = argparse.ArgumentParser(description='구조적 점수 예측 모델 학습')
     parser.add_argument('--data', type=str, required=True, help='학습 데이터 CSV 파일')
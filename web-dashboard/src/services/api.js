@@ -13,9 +13,81 @@ const apiClient = axios.create({
 const api = {
   /**
    * 문서 분석
+   * deadlineMs 를 주면 서버가 예산 안에 끝나도록 품질을 낮추고 응답의 deadline.degradations 로 알려준다.
    */
-  analyzeDocument: (formData, documentType) => {
+  analyzeDocument: (formData, documentType, deadlineMs) => {
     return apiClient.post('/api/v1/analyze', formData, {
+      headers: {
+        'Content-Type': 'multipart/form-data'
+      },
+      params: {
+        documentType: documentType,
+        deadlineMs: deadlineMs
+      }
+    })
+  },
+
+  /**
+   * 문서 분석 (SSE 스트리밍)
+   * EventSource 는 POST 업로드를 지원하지 않으므로 fetch 스트림을 직접 파싱한다.
+   * handlers: { stage, structure, statistics, summary, keywords, result, error } 이벤트별 콜백
+   */
+  analyzeDocumentStream: async (formData, documentType, handlers = {}, signal) => {
+    const params = documentType ? `?documentType=${encodeURIComponent(documentType)}` : ''
+    const response = await fetch(`${API_BASE_URL}/api/v1/analyze/stream${params}`, {
+      method: 'POST',
+      body: formData,
+      headers: { Accept: 'text/event-stream' },
+      signal
+    })
+    if (!response.ok || !response.body) {
+      throw new Error(`스트리밍 분석 실패: ${response.status}`)
+    }
+
+    const reader = response.body.getReader()
+    const decoder = new TextDecoder('utf-8')
+    let buffer = ''
+    for (;;) {
+      const { done, value } = await reader.read()
+      if (done) break
+      buffer += decoder.decode(value, { stream: true })
+
+      let boundary
+      while ((boundary = buffer.search(/\r?\n\r?\n/)) !== -1) {
+        const block = buffer.slice(0, boundary)
+        buffer = buffer.slice(boundary).replace(/^\r?\n\r?\n/, '')
+        let event = 'message'
+        const data = []
+        block.split(/\r?\n/).forEach(line => {
+          if (line.startsWith('event:')) event = line.slice(6).trim()
+          else if (line.startsWith('data:')) data.push(line.slice(5).replace(/^ /, ''))
+        })
+        if (data.length && handlers[event]) {
+          handlers[event](JSON.parse(data.join('\n')))
+        }
+      }
+    }
+  },
+
+  /**
+   * 여러 문서 일괄 분석 (formData 에 files 필드를 파일 수만큼 추가)
+   */
+  analyzeDocumentsBulk: (formData, documentType) => {
+    return apiClient.post('/api/v1/analyze/bulk', formData, {
+      headers: {
+        'Content-Type': 'multipart/form-data'
+      },
+      params: {
+        documentType: documentType
+      }
+    })
+  },
+
+  /**
+   * 비동기 분석 작업 제출 (jobId 를 바로 반환)
+   */
+  submitAnalysisJob: (formData, documentType) => {
+    return apiClient.post('/api/v1/jobs', formData, {
       headers: {
         'Content-Type': 'multipart/form-data'
       },
@@ -25,6 +97,39 @@ const api = {
     })
   },
 
+  /**
+   * 분석 작업 상태·단계별 진행 상황
+   */
+  getAnalysisJob: (jobId) => {
+    return apiClient.get(`/api/v1/jobs/${jobId}`)
+  },
+
+  /**
+   * 분석 작업 진행 이벤트 구독 (EventSource, status/stage/.../result|error|cancelled)
+   */
+  subscribeAnalysisJob: (jobId, handlers = {}) => {
+    const source = new EventSource(`${API_BASE_URL}/api/v1/jobs/${jobId}/events`)
+    Object.entries(handlers).forEach(([event, handler]) => {
+      source.addEventListener(event, e => e.data && handler(JSON.parse(e.data)))
+    })
+    ;['result', 'error', 'cancelled'].forEach(event => source.addEventListener(event, () => source.close()))
+    return source
+  },
+
+  /**
+   * 분석 작업 결과 (진행 중이면 202)
+   */
+  getAnalysisJobResult: (jobId) => {
+    return apiClient.get(`/api/v1/jobs/${jobId}/result`)
+  },
+
+  /**
+   * 분석 작업 취소
+   */
+  cancelAnalysisJob: (jobId) => {
+    return apiClient.delete(`/api/v1/jobs/${jobId}`)
+  },
+
   /**
    * 빠른 분석
    */